@@ -53,6 +53,8 @@ public enum Group
     INDEX_SAMPLING( "IndexSampling" ),
     /** Background index update applier, for eventually consistent indexes. */
     INDEX_UPDATING( "IndexUpdating", ExecutorServiceFactory.singleThread() ), // Single-threaded to serialise updates with opening/closing/flushing of indexes.
+    /** Applying committed updates to several indexes in parallel. */
+    INDEX_APPLY( "IndexApply" ),
     /** Thread pool for anyone who want some help doing file IO in parallel. */
     FILE_IO_HELPER( "FileIOHelper" ),
     NATIVE_SECURITY( "NativeSecurity" ),
@@ -61,6 +63,13 @@ public enum Group
     // CYPHER.
     /** Thread pool for parallel Cypher query execution. */
     CYPHER_WORKER( "CypherWorker", ExecutorServiceFactory.workStealing() ),
+    /** Compiling queries to warm up the query cache, and saving what queries are cached. */
+    CYPHER_CACHE_WARMUP( "CypherCacheWarmup" ),
+    /**
+     * Replanning stale queries in the background, while the stale plans are still in use.
+     * Single-threaded, so that replans do not pile up after statistics change.
+     */
+    CYPHER_REPLANNING( "CypherReplanning", ExecutorServiceFactory.singleThread() ),
 
     // DATA COLLECTOR
     DATA_COLLECTOR( "DataCollector" ),
@@ -122,6 +122,14 @@ class RootPlanAcceptanceTest extends ExecutionEngineFunSuite {
     given("match (n) return n").planDescription.getArguments.get("EstimatedRows") should equal(1) // on missing statistics, we fake cardinality to one
   }
 
+  test("planning time should only be reported by the execution that planned the query") {
+    val planned = given("match (n) return n").planDescription.getArguments
+    val cached = given("match (n) return n").planDescription.getArguments
+
+    planned.keySet() should contain allOf("planning-time", "planning-time:runtime")
+    cached.keySet() should contain noneOf("planning-time", "planning-time:runtime")
+  }
+
   def given(query: String) = TestQuery(query)
 
   case class TestQuery(query: String,
@@ -55,6 +55,7 @@ class CypherCompilerAstCacheAcceptanceTest extends CypherFunSuite with GraphData
       useErrorsOverWarnings = false,
       idpMaxTableSize = 128,
       idpIterationDuration = 1000,
+      idpTotalDuration = Long.MaxValue,
       errorIfShortestPathFallbackUsedAtRuntime = false,
       errorIfShortestPathHasCommonNodesAtRuntime = true,
       legacyCsvQuoteEscaping = false,
@@ -112,6 +113,8 @@ class CypherCompilerAstCacheAcceptanceTest extends CypherFunSuite with GraphData
                                      metaData: String): Unit = {
       counts = counts.copy(recompiled = counts.recompiled + 1)
     }
+
+    override def queryCacheReplannedInBackground(queryKey: Pair[AnyRef, ParameterTypeMap], metaData: String): Unit = {}
   }
 
   override def databaseConfig(): Map[Setting[_], String] = Map(GraphDatabaseSettings.cypher_min_replan_interval -> "0")
@@ -24,8 +24,10 @@ package org.neo4j.cypher.internal.runtime.interpreted.pipes
 
 import org.neo4j.cypher.GraphDatabaseFunSuite
 import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper.withQueryState
-import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.ShortestPathExpression
-import org.neo4j.cypher.internal.runtime.interpreted.commands.{ShortestPath, SingleNode}
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.{RelationshipFunction, ShortestPathExpression, Variable}
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.{Not, Predicate, PropertyExists}
+import org.neo4j.cypher.internal.runtime.interpreted.commands.values.TokenType.PropertyKey
+import org.neo4j.cypher.internal.runtime.interpreted.commands.{AllInList, ShortestPath, SingleNode}
 import org.neo4j.graphdb.Node
 import org.neo4j.kernel.impl.util.ValueUtils.fromNodeProxy
 import org.neo4j.values.virtual.PathValue
@@ -37,12 +39,15 @@ import scala.collection.mutable
 
 class AllShortestPathsPipeTest extends GraphDatabaseFunSuite {
 
-  def runThroughPipeAndGetPath(a: Node, b: Node) = {
+  def runThroughPipeAndGetPath(a: Node, b: Node,
+                               direction: SemanticDirection = SemanticDirection.BOTH,
+                               maxDepth: Int = 15,
+                               perStepPredicates: Seq[Predicate] = Seq.empty) = {
     val source = new FakePipe(List(mutable.Map("a" -> a, "b" -> b)), "a" -> CTNode, "b" -> CTNode)
 
     val pipe = ShortestPathPipe(source, ShortestPathExpression(ShortestPath("p", SingleNode("a"), SingleNode("b"), Seq(),
-                                                               SemanticDirection.BOTH, allowZeroLength = false, Some(15),
-                                                               single = false, relIterator = None)))()
+                                                               direction, allowZeroLength = false, Some(maxDepth),
+                                                               single = false, relIterator = None), perStepPredicates))()
     graph.withTx { tx =>
       withQueryState(graph, tx, EMPTY_MAP, { queryState =>
         pipe.createResults(queryState).toList.map(m => m("p").asInstanceOf[PathValue])
@@ -65,4 +70,56 @@ class AllShortestPathsPipeTest extends GraphDatabaseFunSuite {
       resultPath.endNode() should equal(fromNodeProxy(d))
     })
   }
+
+  test("should return all shortest paths through a grid") {
+    // a 3x3 grid has six shortest paths between opposite corners
+    val grid = Array.tabulate(3, 3)((x, y) => createNode(s"$x$y"))
+    for (x <- 0 until 3; y <- 0 until 3) {
+      if (x < 2) relate(grid(x)(y), grid(x + 1)(y))
+      if (y < 2) relate(grid(x)(y), grid(x)(y + 1))
+    }
+
+    val resultPaths = runThroughPipeAndGetPath(grid(0)(0), grid(2)(2))
+
+    resultPaths should have size 6
+    resultPaths.distinct should have size 6
+    resultPaths.foreach { resultPath =>
+      resultPath.size() should equal(4)
+      resultPath.startNode() should equal(fromNodeProxy(grid(0)(0)))
+      resultPath.endNode() should equal(fromNodeProxy(grid(2)(2)))
+    }
+  }
+
+  test("should only follow relationships in the given direction") {
+    val (a, _, _, d) = createDiamond()
+
+    runThroughPipeAndGetPath(a, d, SemanticDirection.OUTGOING) should have size 2
+    runThroughPipeAndGetPath(a, d, SemanticDirection.INCOMING) shouldBe empty
+    runThroughPipeAndGetPath(d, a, SemanticDirection.INCOMING) should have size 2
+  }
+
+  test("should not return paths longer than the max depth") {
+    val (a, _, _, d) = createDiamond()
+
+    runThroughPipeAndGetPath(a, d, maxDepth = 2) should have size 2
+    runThroughPipeAndGetPath(a, d, maxDepth = 1) shouldBe empty
+  }
+
+  test("should only follow relationships matching a predicate on all relationships") {
+    val a = createNode("a")
+    val b = createNode("b")
+    val c = createNode("c")
+    val d = createNode("d")
+    relate(a, b, "blocked" -> true)
+    relate(b, d)
+    relate(a, c)
+    relate(c, d)
+    val notBlocked = AllInList(RelationshipFunction(Variable("p")), "r",
+                               Not(PropertyExists(Variable("r"), PropertyKey("blocked"))))
+
+    val resultPaths = runThroughPipeAndGetPath(a, d, perStepPredicates = Seq(notBlocked))
+
+    resultPaths should have size 1
+    resultPaths.head.nodes().map(_.id()) should equal(Array(a.getId, c.getId, d.getId))
+  }
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.pipes
+
+import org.neo4j.cypher.GraphDatabaseFunSuite
+import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper.withQueryState
+import org.neo4j.cypher.internal.runtime.interpreted.ValueComparisonHelper.beEquivalentTo
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.{Literal, Property, Variable}
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.{Equals, Predicate, True}
+import org.neo4j.cypher.internal.runtime.interpreted.commands.values.UnresolvedProperty
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.VarLengthExpandPipeTest.createVarLengthPredicate
+import org.neo4j.cypher.internal.v3_6.expressions.SemanticDirection
+import org.neo4j.graphdb.Node
+import org.neo4j.kernel.impl.util.ValueUtils._
+import org.neo4j.values.virtual.VirtualValues.EMPTY_MAP
+
+import scala.util.Random
+
+class BFSPruningVarLengthExpandPipeTest extends GraphDatabaseFunSuite {
+  val types = new LazyTypes(Array.empty[String])
+
+  test("node without any relationships produces empty result") {
+    val n1 = createNode()
+    val src = new FakePipe(Iterator(Map("from" -> n1)))
+    val pipeUnderTest = createPipe(src, includeStartNode = false, 2, SemanticDirection.OUTGOING)
+
+    graph.withTx { tx =>
+      withQueryState(graph, tx, EMPTY_MAP, { queryState =>
+        pipeUnderTest.createResults(queryState) shouldBe empty
+      })
+    }
+  }
+
+  test("node with a single relationships produces a single output node") {
+    val n1 = createNode()
+    val n2 = createNode()
+    relate(n1, n2)
+    val src = new FakePipe(Iterator(Map("from" -> n1)))
+    val pipeUnderTest = createPipe(src, includeStartNode = false, 2, SemanticDirection.OUTGOING)
+
+    graph.withTx { tx =>
+      withQueryState(graph, tx, EMPTY_MAP, { queryState =>
+        pipeUnderTest.createResults(queryState).toList should beEquivalentTo(List(Map("from" -> n1, "to" -> n2)))
+      })
+    }
+  }
+
+  test("node with a single relationships produces a two output nodes if the start node is included") {
+    val n1 = createNode()
+    val n2 = createNode()
+    relate(n1, n2)
+    val src = new FakePipe(Iterator(Map("from" -> n1)))
+    val pipeUnderTest = createPipe(src, includeStartNode = true, 2, SemanticDirection.OUTGOING)
+
+    graph.withTx { tx =>
+      withQueryState(graph, tx, EMPTY_MAP, { queryState =>
+        pipeUnderTest.createResults(queryState).toList should beEquivalentTo(List(
+          Map("from" -> n1, "to" -> n1),
+          Map("from" -> n1, "to" -> n2)
+        ))
+      })
+    }
+  }
+
+  test("long path, take the start of it") {
+    val nodes = (0 to 10) map (_ => createNode())
+
+    nodes.tail.foldLeft(nodes.head) {
+      case (x: Node, y: Node) =>
+        relate(x, y)
+        y
+    }
+
+    val src = new FakePipe(Iterator(Map("from" -> nodes.head)))
+    val pipeUnderTest = createPipe(src, includeStartNode = false, 5, SemanticDirection.OUTGOING)
+
+    graph.withTx { tx =>
+      withQueryState(graph, tx, EMPTY_MAP, { queryState =>
+        pipeUnderTest.createResults(queryState).map(_.apply("to")).toList should equal(
+          nodes.slice(1, 6).map(fromNodeProxy).toList
+        )
+      })
+    }
+  }
+
+  test("every reachable node is produced once") {
+    val (a, b, c, d) = createDiamond()
+    relate(b, c)
+
+    val src = new FakePipe(Iterator(Map("from" -> a)))
+    val pipeUnderTest = createPipe(src, includeStartNode = false, Int.MaxValue, SemanticDirection.BOTH)
+
+    graph.withTx { tx =>
+      withQueryState(graph, tx, EMPTY_MAP, { queryState =>
+        pipeUnderTest.createResults(queryState).map(_.apply("to")).toList should contain theSameElementsAs
+          Seq(b, c, d, a).map(fromNodeProxy)
+      })
+    }
+  }
+
+  test("start node is produced if there is a cycle back to it within the max length") {
+    /*
+    (n1)-[0]->(n2)-[1]->(n3)-[2]->(n1)
+     */
+    val n1 = createNode()
+    val n2 = createNode()
+    val n3 = createNode()
+    relate(n1, n2, n3, n1)
+
+    graph.withTx { tx =>
+      withQueryState(graph, tx, EMPTY_MAP, { queryState =>
+        expand(n1, 2, SemanticDirection.OUTGOING, queryState) should equal(Set(n2, n3).map(fromNodeProxy))
+        expand(n1, 3, SemanticDirection.OUTGOING, queryState) should equal(Set(n1, n2, n3).map(fromNodeProxy))
+        expand(n1, 2, SemanticDirection.BOTH, queryState) should equal(Set(n2, n3).map(fromNodeProxy))
+        expand(n1, 3, SemanticDirection.BOTH, queryState) should equal(Set(n1, n2, n3).map(fromNodeProxy))
+      })
+    }
+  }
+
+  test("start node is not produced by following the same relationship back to it") {
+    val n1 = createNode()
+    val n2 = createNode()
+    val n3 = createNode()
+    relate(n1, n2)
+
+    graph.withTx { tx =>
+      withQueryState(graph, tx, EMPTY_MAP, { queryState =>
+        expand(n1, 5, SemanticDirection.BOTH, queryState) should equal(Set(n2).map(fromNodeProxy))
+      })
+    }
+
+    // A second relationship between the same nodes, or a self-loop, does give a cycle
+    relate(n2, n1)
+    relate(n3, n3)
+    graph.withTx { tx =>
+      withQueryState(graph, tx, EMPTY_MAP, { queryState =>
+        expand(n1, 2, SemanticDirection.BOTH, queryState) should equal(Set(n1, n2).map(fromNodeProxy))
+        expand(n3, 1, SemanticDirection.OUTGOING, queryState) should equal(Set(n3).map(fromNodeProxy))
+      })
+    }
+  }
+
+  test("var-length with relationship predicate") {
+    /*
+    (n1)-[0 {k:1}]->(n2)-[1 {k:2}]->(n3)
+    MATCH (n1)-[r*1..2 {k:1}]-(n) RETURN DISTINCT n
+     */
+    val n1 = createNode()
+    val n2 = createNode()
+    val n3 = createNode()
+    relate(n1, n2, "k" -> 1)
+    relate(n2, n3, "k" -> 2)
+
+    val src = new FakePipe(Iterator(Map("from" -> n1)))
+    val predicate = Equals(Property(Variable("r"), UnresolvedProperty("k")), Literal(1))
+    val pipeUnderTest = createPipe(src, includeStartNode = false, 2, SemanticDirection.BOTH, predicate, True())
+
+    graph.withTx { tx =>
+      withQueryState(graph, tx, EMPTY_MAP, { queryState =>
+        pipeUnderTest.createResults(queryState).toList should beEquivalentTo(List(
+          Map("from" -> n1, "to" -> n2)
+        ))
+      })
+    }
+  }
+
+  test("var-length with node predicate, which applies to the start node as well") {
+    /*
+    (n1 {k:1})-[0]->(n2 {k:1})-[1]->(n3)
+    MATCH p = (n1)-[r*1..2]-(n) WHERE all(n IN nodes(p) | n.k=1) RETURN DISTINCT n
+     */
+    val n1 = createNode("k" -> 1)
+    val n2 = createNode("k" -> 1)
+    val n3 = createNode()
+    relate(n1, n2)
+    relate(n2, n3)
+
+    val predicate = Equals(Property(Variable("to"), UnresolvedProperty("k")), Literal(1))
+    val fromN1 = createPipe(new FakePipe(Iterator(Map("from" -> n1))), includeStartNode = false, 2,
+                            SemanticDirection.BOTH, True(), predicate)
+    val fromN3 = createPipe(new FakePipe(Iterator(Map("from" -> n3))), includeStartNode = false, 2,
+                            SemanticDirection.BOTH, True(), predicate)
+
+    graph.withTx { tx =>
+      withQueryState(graph, tx, EMPTY_MAP, { queryState =>
+        fromN1.createResults(queryState).toList should beEquivalentTo(List(
+          Map("from" -> n1, "to" -> n2)
+        ))
+        fromN3.createResults(queryState) shouldBe empty
+      })
+    }
+  }
+
+  test("should register owning pipe") {
+    val src = new FakePipe(Iterator.empty)
+    val pred1 = True()
+    val pred2 = True()
+    val pipeUnderTest = createPipe(src, includeStartNode = false, 2, SemanticDirection.OUTGOING, pred1, pred2)
+
+    pred1.owningPipe.get should equal(pipeUnderTest)
+    pred2.owningPipe.get should equal(pipeUnderTest)
+  }
+
+  test("random and compare") {
+    // runs BFSPruningVarLengthExpand and a distinct VarLengthExpand side-by-side and checks that the reachable nodes are the same
+    val seed = System.currentTimeMillis()
+    val r = new Random(seed)
+    val nodes = (0 until 200) map (_ => createNode())
+    (0 until 300) foreach (_ => relate(nodes(r.nextInt(nodes.size)), nodes(r.nextInt(nodes.size))))
+
+    (0 until 100) foreach { _ =>
+      val startNode = nodes(r.nextInt(nodes.size))
+      val includeStartNode = r.nextBoolean()
+      val max = 2 + r.nextInt(3)
+      val direction = Seq(SemanticDirection.OUTGOING, SemanticDirection.INCOMING, SemanticDirection.BOTH)(r.nextInt(3))
+
+      val pipeUnderTest = createPipe(new FakePipe(Iterator(Map("from" -> startNode))), includeStartNode, max, direction)
+      val pipe = VarLengthExpandPipe(new FakePipe(Iterator(Map("from" -> startNode))), "from", "r", "to", direction,
+                                     direction, types, if (includeStartNode) 0 else 1, Some(max), nodeInScope = false)()
+      val comparison = DistinctPipe(pipe, Map("from" -> Variable("from"), "to" -> Variable("to")))()
+
+      graph.withTx { tx =>
+        withQueryState(graph, tx, EMPTY_MAP, { queryState =>
+          withClue(s"seed used: $seed, start node: $startNode, include start node: $includeStartNode, max: $max, direction: $direction") {
+            val endNodes = pipeUnderTest.createResults(queryState).map(_.apply("to")).toList
+            endNodes.distinct.size should equal(endNodes.size)
+            endNodes.toSet should equal(comparison.createResults(queryState).map(_.apply("to")).toSet)
+          }
+        })
+      }
+    }
+  }
+
+  private def expand(from: Node, max: Int, direction: SemanticDirection, queryState: QueryState) =
+    createPipe(new FakePipe(Iterator(Map("from" -> from))), includeStartNode = false, max, direction)
+      .createResults(queryState).map(_.apply("to")).toSet
+
+  private def createPipe(src: FakePipe, includeStartNode: Boolean, max: Int, direction: SemanticDirection) = {
+    BFSPruningVarLengthExpandPipe(src, "from", "to", types, direction, includeStartNode, max)()
+  }
+
+  private def createPipe(src: FakePipe,
+                         includeStartNode: Boolean,
+                         max: Int,
+                         direction: SemanticDirection,
+                         relationshipPredicate: Predicate,
+                         nodePredicate: Predicate) = {
+    val filteringStep = createVarLengthPredicate(nodePredicate, relationshipPredicate)
+    BFSPruningVarLengthExpandPipe(src, "from", "to", types, direction, includeStartNode, max, filteringStep)()
+  }
+}
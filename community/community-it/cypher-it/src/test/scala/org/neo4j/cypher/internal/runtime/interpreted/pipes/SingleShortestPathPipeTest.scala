@@ -24,10 +24,13 @@ package org.neo4j.cypher.internal.runtime.interpreted.pipes
 
 import org.neo4j.cypher.GraphDatabaseFunSuite
 import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper.withQueryState
-import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.ShortestPathExpression
-import org.neo4j.cypher.internal.runtime.interpreted.commands.{ShortestPath, SingleNode}
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.{RelationshipFunction, ShortestPathExpression, Variable}
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.{Predicate, PropertyExists}
+import org.neo4j.cypher.internal.runtime.interpreted.commands.values.TokenType.PropertyKey
+import org.neo4j.cypher.internal.runtime.interpreted.commands.{NoneInList, ShortestPath, SingleNode}
 import org.neo4j.graphdb.Node
 import org.neo4j.kernel.impl.util.ValueUtils.{fromNodeProxy, fromRelationshipProxy}
+import org.neo4j.values.AnyValue
 import org.neo4j.values.virtual.PathValue
 import org.neo4j.values.virtual.VirtualValues.EMPTY_MAP
 import org.neo4j.cypher.internal.v3_6.expressions.SemanticDirection
@@ -53,13 +56,49 @@ class SingleShortestPathPipeTest extends GraphDatabaseFunSuite {
     resultPath.endNode() should equal(fromNodeProxy(b))
   }
 
-  private def runThroughPipeAndGetPath(a: Node, b: Node, path: ShortestPath): PathValue = {
+  test("should return the shortest of several paths") {
+    val a = createNode("a")
+    val b = createNode("b")
+    relate(a, createNode("x"), createNode("y"), createNode("z"), b)
+    val middle = createNode("m")
+    relate(a, middle)
+    relate(middle, b)
+
+    val resultPath = runThroughPipeAndGetPath(a, b, path)
+
+    resultPath.size() should equal(2)
+    resultPath.nodes().map(_.id()) should equal(Array(a.getId, middle.getId, b.getId))
+  }
+
+  test("should not return a path longer than the max depth") {
+    val a = createNode("a")
+    val b = createNode("b")
+    relate(a, createNode("x"), createNode("y"), b)
+
+    runThroughPipeAndGetPath(a, b, path.copy(maxDepth = Some(3))).size() should equal(3)
+    runThroughPipe(a, b, path.copy(maxDepth = Some(2))) shouldBe empty
+  }
+
+  test("should not return a path when no relationship matches a predicate on none of the relationships") {
+    val a = createNode("a")
+    val b = createNode("b")
+    relate(a, b, "blocked" -> true)
+    val noneBlocked = NoneInList(RelationshipFunction(Variable("p")), "r",
+                                 PropertyExists(Variable("r"), PropertyKey("blocked")))
+
+    runThroughPipe(a, b, path, Seq(noneBlocked)) shouldBe empty
+  }
+
+  private def runThroughPipeAndGetPath(a: Node, b: Node, path: ShortestPath): PathValue =
+    runThroughPipe(a, b, path).head.asInstanceOf[PathValue]
+
+  private def runThroughPipe(a: Node, b: Node, path: ShortestPath, perStepPredicates: Seq[Predicate] = Seq.empty): List[AnyValue] = {
     val source = new FakePipe(List(Map("a" -> a, "b" -> b)), "a"-> CTNode, "b"-> CTNode)
 
-    val pipe = ShortestPathPipe(source, ShortestPathExpression(path))()
+    val pipe = ShortestPathPipe(source, ShortestPathExpression(path, perStepPredicates))()
     graph.withTx { tx =>
       withQueryState(graph, tx, EMPTY_MAP, { queryState =>
-        pipe.createResults(queryState).next()("p").asInstanceOf[PathValue]
+        pipe.createResults(queryState).toList.map(_("p"))
       })
     }
   }
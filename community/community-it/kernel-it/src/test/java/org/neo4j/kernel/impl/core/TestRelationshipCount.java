@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -302,6 +303,29 @@ public class TestRelationshipCount
         assertEquals( 1, node.getDegree() );
     }
 
+    @Test
+    public void degreeOfCommittedNodeWithoutChangesInTransaction()
+    {
+        Node node = getGraphDb().createNode();
+        node.createRelationshipTo( node, MyRelTypes.TEST );
+        List<Relationship> rels = new ArrayList<>();
+        for ( int i = 0; i < 10; i++ )
+        {
+            rels.add( node.createRelationshipTo( getGraphDb().createNode(), MyRelTypes.TEST ) );
+            rels.add( getGraphDb().createNode().createRelationshipTo( node, MyRelTypes.TEST2 ) );
+        }
+        newTransaction();
+        assertEquals( 21, node.getDegree() );
+        assertEquals( 21, node.getDegree( Direction.BOTH ) );
+
+        rels.get( 0 ).delete();
+        rels.get( 19 ).delete();
+        rels.get( 10 ).delete();
+        newTransaction();
+        assertEquals( 18, node.getDegree() );
+        assertEquals( 0, getGraphDb().createNode().getDegree() );
+    }
+
     @Test
     public void ensureRightDegree()
     {
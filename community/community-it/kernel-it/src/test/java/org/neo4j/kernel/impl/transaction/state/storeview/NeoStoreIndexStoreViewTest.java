@@ -34,6 +34,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Node;
@@ -47,10 +50,12 @@ import org.neo4j.internal.kernel.api.exceptions.EntityNotFoundException;
 import org.neo4j.internal.kernel.api.exceptions.KernelException;
 import org.neo4j.internal.kernel.api.schema.LabelSchemaDescriptor;
 import org.neo4j.kernel.api.index.IndexEntryUpdate;
+import org.neo4j.kernel.api.labelscan.LabelScanStore;
 import org.neo4j.kernel.api.labelscan.NodeLabelUpdate;
 import org.neo4j.kernel.api.schema.RelationTypeSchemaDescriptor;
 import org.neo4j.kernel.api.schema.SchemaDescriptorFactory;
 import org.neo4j.kernel.impl.api.index.EntityUpdates;
+import org.neo4j.kernel.impl.api.index.ParallelEntityUpdatesVisitor;
 import org.neo4j.kernel.impl.api.index.StoreScan;
 import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
 import org.neo4j.kernel.impl.locking.Lock;
@@ -59,10 +64,13 @@ import org.neo4j.kernel.impl.storageengine.impl.recordstorage.RecordStorageEngin
 import org.neo4j.kernel.impl.storageengine.impl.recordstorage.RecordStorageReader;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.logging.NullLogProvider;
 import org.neo4j.storageengine.api.StorageNodeCursor;
+import org.neo4j.storageengine.api.StoragePropertyCursor;
 import org.neo4j.storageengine.api.StorageReader;
 import org.neo4j.storageengine.api.StorageRelationshipScanCursor;
 import org.neo4j.test.rule.EmbeddedDatabaseRule;
+import org.neo4j.util.FeatureToggles;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
 
@@ -70,7 +78,9 @@ import static java.util.Collections.emptySet;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -260,6 +270,97 @@ public class NeoStoreIndexStoreViewTest
         order.verify( lock1 ).release();
     }
 
+    @Test
+    public void shouldScanNodesInPartitionsWithParallelVisitor() throws Exception
+    {
+        // given
+        Set<EntityUpdates> expected = new HashSet<>();
+        try ( Transaction tx = graphDb.beginTx() )
+        {
+            for ( int i = 0; i < 100; i++ )
+            {
+                Node node = graphDb.createNode( label );
+                node.setProperty( "name", "Node" + i );
+                expected.add( add( node.getId(), propertyKeyId, "Node" + i, new long[]{labelId} ) );
+            }
+            tx.success();
+        }
+        expected.add( add( alistair.getId(), propertyKeyId, "Alistair", new long[]{labelId} ) );
+        expected.add( add( stefan.getId(), propertyKeyId, "Stefan", new long[]{labelId} ) );
+        ParallelCollectingVisitor visitor = new ParallelCollectingVisitor();
+
+        // when
+        withPartitionedScans( () -> new NeoStoreIndexStoreView( LockService.NO_LOCK_SERVICE, neoStores )
+                .visitNodes( new int[]{labelId}, id -> id == propertyKeyId, visitor, null, false ).run() );
+
+        // then
+        assertEquals( expected, visitor.flushed );
+        assertEquals( 4, visitor.partitions.get() );
+        assertFalse( visitor.sequentialVisits.get() );
+    }
+
+    @Test
+    public void shouldScanLabeledNodesInPartitionsThroughLabelScanStore() throws Exception
+    {
+        // given
+        Set<EntityUpdates> expected = new HashSet<>();
+        try ( Transaction tx = graphDb.beginTx() )
+        {
+            for ( int i = 0; i < 100; i++ )
+            {
+                Node node = graphDb.createNode( label );
+                node.setProperty( "name", "Node" + i );
+                expected.add( add( node.getId(), propertyKeyId, "Node" + i, new long[]{labelId} ) );
+                graphDb.createNode( Label.label( "Other" ) ).setProperty( "name", "Other" + i );
+            }
+            tx.success();
+        }
+        expected.add( add( alistair.getId(), propertyKeyId, "Alistair", new long[]{labelId} ) );
+        expected.add( add( stefan.getId(), propertyKeyId, "Stefan", new long[]{labelId} ) );
+        ParallelCollectingVisitor visitor = new ParallelCollectingVisitor();
+        LabelScanStore labelScanStore = graphDb.getDependencyResolver().resolveDependency( LabelScanStore.class );
+        DynamicIndexStoreView dynamicStoreView = new DynamicIndexStoreView( new NeoStoreIndexStoreView( LockService.NO_LOCK_SERVICE, neoStores ),
+                labelScanStore, LockService.NO_LOCK_SERVICE, neoStores, NullLogProvider.getInstance() );
+
+        // when
+        withPartitionedScans( () ->
+        {
+            StoreScan<Exception> scan = dynamicStoreView.visitNodes( new int[]{labelId}, id -> id == propertyKeyId, visitor, null, false );
+            assertThat( scan, instanceOf( LabelScanViewNodeStoreScan.class ) );
+            scan.run();
+        } );
+
+        // then
+        assertEquals( expected, visitor.flushed );
+        assertEquals( 4, visitor.partitions.get() );
+        assertFalse( visitor.sequentialVisits.get() );
+    }
+
+    @Test
+    public void shouldOnlyApplyQueuedUpdatesWhenAllPartitionsHaveFlushed() throws Exception
+    {
+        // given
+        try ( Transaction tx = graphDb.beginTx() )
+        {
+            for ( int i = 0; i < 100; i++ )
+            {
+                graphDb.createNode( label ).setProperty( "name", "Node" + i );
+            }
+            tx.success();
+        }
+        ParallelCollectingVisitor visitor = new ParallelCollectingVisitor();
+        visitor.queuedUpdatesAfter = 20;
+
+        // when
+        withPartitionedScans( () -> new NeoStoreIndexStoreView( LockService.NO_LOCK_SERVICE, neoStores )
+                .visitNodes( new int[]{labelId}, id -> id == propertyKeyId, visitor, null, false ).run() );
+
+        // then
+        assertEquals( 1, visitor.appliedQueuedUpdates.get() );
+        assertFalse( "Queued updates applied before all partitions had flushed", visitor.appliedBeforeFlushed.get() );
+        assertEquals( 102, visitor.flushed.size() );
+    }
+
     @Test
     public void shouldReadProperties() throws EntityNotFoundException
     {
@@ -276,12 +377,13 @@ public class NeoStoreIndexStoreViewTest
                         null, propertyUpdateVisitor, new int[]{labelId},
                         id -> true );
 
-        try ( StorageNodeCursor nodeCursor = reader.allocateNodeCursor() )
+        try ( StorageNodeCursor nodeCursor = reader.allocateNodeCursor();
+              StoragePropertyCursor propertyCursor = reader.allocatePropertyCursor() )
         {
             nodeCursor.single( 1 );
             nodeCursor.next();
 
-            storeViewNodeStoreScan.process( nodeCursor );
+            storeViewNodeStoreScan.process( nodeCursor, propertyCursor, propertyUpdateVisitor );
         }
 
         EntityUpdates propertyUpdates = propertyUpdateVisitor.getPropertyUpdates();
@@ -309,12 +411,13 @@ public class NeoStoreIndexStoreViewTest
                 new RelationshipStoreScan( new RecordStorageReader( neoStores ), locks, propertyUpdateVisitor, new int[]{relTypeId},
                         id -> true );
 
-        try ( StorageRelationshipScanCursor relationshipScanCursor = reader.allocateRelationshipScanCursor() )
+        try ( StorageRelationshipScanCursor relationshipScanCursor = reader.allocateRelationshipScanCursor();
+              StoragePropertyCursor propertyCursor = reader.allocatePropertyCursor() )
         {
             relationshipScanCursor.single( 1 );
             relationshipScanCursor.next();
 
-            relationshipStoreScan.process( relationshipScanCursor );
+            relationshipStoreScan.process( relationshipScanCursor, propertyCursor, propertyUpdateVisitor );
         }
 
         EntityUpdates propertyUpdates = propertyUpdateVisitor.getPropertyUpdates();
@@ -382,6 +485,84 @@ public class NeoStoreIndexStoreViewTest
         }
     }
 
+    private static void withPartitionedScans( ThrowingScan scan ) throws Exception
+    {
+        FeatureToggles.set( PropertyAwareEntityStoreScan.class, PropertyAwareEntityStoreScan.PARALLEL_SCAN_WORKERS_NAME, 4 );
+        FeatureToggles.set( PropertyAwareEntityStoreScan.class, PropertyAwareEntityStoreScan.PARALLEL_SCAN_PARTITION_SIZE_NAME, 10 );
+        try
+        {
+            scan.run();
+        }
+        finally
+        {
+            FeatureToggles.clear( PropertyAwareEntityStoreScan.class, PropertyAwareEntityStoreScan.PARALLEL_SCAN_WORKERS_NAME );
+            FeatureToggles.clear( PropertyAwareEntityStoreScan.class, PropertyAwareEntityStoreScan.PARALLEL_SCAN_PARTITION_SIZE_NAME );
+        }
+    }
+
+    private interface ThrowingScan
+    {
+        void run() throws Exception;
+    }
+
+    private static class ParallelCollectingVisitor implements ParallelEntityUpdatesVisitor<Exception>
+    {
+        private final Set<EntityUpdates> flushed = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger visited = new AtomicInteger();
+        private final AtomicInteger partitions = new AtomicInteger();
+        private final AtomicInteger appliedQueuedUpdates = new AtomicInteger();
+        private final AtomicBoolean appliedBeforeFlushed = new AtomicBoolean();
+        private final AtomicBoolean sequentialVisits = new AtomicBoolean();
+        private volatile int queuedUpdatesAfter = Integer.MAX_VALUE;
+
+        @Override
+        public boolean visit( EntityUpdates element )
+        {
+            sequentialVisits.set( true );
+            return false;
+        }
+
+        @Override
+        public Partition<Exception> newPartition()
+        {
+            partitions.incrementAndGet();
+            Set<EntityUpdates> local = new HashSet<>();
+            return new Partition<Exception>()
+            {
+                @Override
+                public boolean visit( EntityUpdates element )
+                {
+                    local.add( element );
+                    visited.incrementAndGet();
+                    return false;
+                }
+
+                @Override
+                public void flush()
+                {
+                    flushed.addAll( local );
+                    local.clear();
+                }
+            };
+        }
+
+        @Override
+        public boolean hasQueuedUpdatesToApply()
+        {
+            return appliedQueuedUpdates.get() == 0 && visited.get() >= queuedUpdatesAfter;
+        }
+
+        @Override
+        public void applyQueuedUpdates()
+        {
+            appliedQueuedUpdates.incrementAndGet();
+            if ( flushed.size() != visited.get() )
+            {
+                appliedBeforeFlushed.set( true );
+            }
+        }
+    }
+
     private static class CopyUpdateVisitor implements Visitor<EntityUpdates,RuntimeException>
     {
 
@@ -121,6 +121,37 @@ case class PruningVarExpand(source: LogicalPlan,
   override val availableSymbols: Set[String] = source.availableSymbols + to
 }
 
+/**
+  * A PruningVarExpand for var-lengths with a minimum length of 0 or 1, where the end nodes are exactly the nodes
+  * reachable within maxLength relationships. These are found with a breadth first search that visits each node once,
+  * so, unlike PruningVarExpand, every end node is produced exactly once and maxLength may be unbounded.
+  *
+  * The start node is produced if includeStartNode is set, or if there is a cycle of at most maxLength relationships
+  * back to it.
+  *
+  * Only the end node is added to produced rows.
+  */
+case class BFSPruningVarExpand(source: LogicalPlan,
+                               from: String,
+                               dir: SemanticDirection,
+                               types: Seq[RelTypeName],
+                               to: String,
+                               includeStartNode: Boolean,
+                               maxLength: Int,
+                               tempNode: String,
+                               tempRelationship: String,
+                               nodePredicate: Expression,
+                               relationshipPredicate: Expression,
+                               legacyPredicates: Seq[(LogicalVariable, Expression)] = Seq.empty)
+                              (implicit idGen: IdGen)
+  extends LogicalPlan(idGen) with LazyLogicalPlan {
+
+  override val lhs = Some(source)
+  override def rhs = None
+
+  override val availableSymbols: Set[String] = source.availableSymbols + to
+}
+
 sealed trait ExpansionMode
 
 /**
@@ -133,14 +133,31 @@ object IndexSeek {
     } else if (predicates.length > 1) {
 
       val properties = new ArrayBuffer[IndexedProperty]()
-      val valueExprs = new ArrayBuffer[SingleQueryExpression[Expression]]()
+      val valueExprs = new ArrayBuffer[QueryExpression[Expression]]()
 
-      for (predicate <- predicates)
+      def range(propStr: String, wrapper: Expression): Unit = {
+        valueExprs += RangeQueryExpression(wrapper)
+        properties += prop(propStr)
+      }
+
+      for ((predicate, i) <- predicates.zipWithIndex)
         predicate match {
           case EXACT(propStr, valueStr) =>
             valueExprs += SingleQueryExpression(value(valueStr))
             properties += prop(propStr)
-          case _ => throw new IllegalArgumentException("Only exact predicates are allowed in composite seeks.")
+          case _ if i < predicates.length - 1 =>
+            throw new IllegalArgumentException("Only exact predicates are allowed in composite seeks, except for a range on the last property.")
+          case LESS_THAN(propStr, valueStr) =>
+            range(propStr, InequalitySeekRangeWrapper(RangeLessThan(NonEmptyList(ExclusiveBound(value(valueStr)))))(pos))
+          case LESS_THAN_OR_EQ(propStr, valueStr) =>
+            range(propStr, InequalitySeekRangeWrapper(RangeLessThan(NonEmptyList(InclusiveBound(value(valueStr)))))(pos))
+          case GREATER_THAN(propStr, valueStr) =>
+            range(propStr, InequalitySeekRangeWrapper(RangeGreaterThan(NonEmptyList(ExclusiveBound(value(valueStr)))))(pos))
+          case GREATER_THAN_OR_EQ(propStr, valueStr) =>
+            range(propStr, InequalitySeekRangeWrapper(RangeGreaterThan(NonEmptyList(InclusiveBound(value(valueStr)))))(pos))
+          case STARTS_WITH(propStr, string) =>
+            range(propStr, PrefixSeekRangeWrapper(PrefixRange(StringLiteral(string)(pos)))(pos))
+          case _ => throw new IllegalArgumentException("Only exact predicates are allowed in composite seeks, except for a range on the last property.")
         }
 
       NodeIndexSeek(node, label, properties, CompositeQueryExpression(valueExprs), argumentIds, indexOrder)
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.v3_6.logical.plans
+
+import org.neo4j.cypher.internal.v3_6.expressions.Expression
+import org.neo4j.cypher.internal.v3_6.util.attribution.IdGen
+
+/*
+ * Like PartialSort, but only produce the first 'limit' rows. Source rows are consumed chunk by chunk, and no more
+ * rows are read from source once the chunks sorted so far contain 'limit' rows.
+ */
+case class PartialTop(source: LogicalPlan,
+                      alreadySortedPrefix: Seq[ColumnOrder],
+                      stillToSortSuffix: Seq[ColumnOrder],
+                      limit: Expression)
+                     (implicit idGen: IdGen) extends LogicalPlan(idGen) with EagerLogicalPlan {
+  override def lhs: Option[LogicalPlan] = Some(source)
+
+  override def rhs: Option[LogicalPlan] = None
+
+  override val availableSymbols: Set[String] = source.availableSymbols
+}
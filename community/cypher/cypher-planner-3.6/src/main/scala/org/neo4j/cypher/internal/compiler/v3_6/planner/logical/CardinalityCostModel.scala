@@ -92,6 +92,7 @@ case class CardinalityCostModel(config: CypherPlannerConfiguration) extends Cost
          _: AbstractSemiApply |
          _: Skip |
          _: Sort |
+         _: PartialSort |
          _: Union |
          _: Selection |
          _: ValueHashJoin |
@@ -24,7 +24,7 @@ package org.neo4j.cypher.internal.compiler.v3_6.planner.logical
 
 import org.neo4j.cypher.internal.compiler.v3_6.phases._
 import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.Metrics.{CostModel, QueryGraphSolverInput}
-import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.steps.{LogicalPlanProducer, SystemOutCostLogger, devNullListener}
+import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.steps.{LogicalPlanProducer, SystemOutCostLogger, aggregation, devNullListener}
 import org.neo4j.cypher.internal.ir.v3_6._
 import org.neo4j.cypher.internal.planner.v3_6.spi.PlanningAttributes.{Cardinalities, Solveds}
 import org.neo4j.cypher.internal.v3_6.logical.plans._
@@ -127,7 +127,10 @@ case object planPart extends PartPlanner {
       case Some(mode) if !context.input.strictness.contains(mode) => context.withStrictness(mode)
       case _ => context
     }
-    ctx.strategy.plan(query.queryGraph, query.interestingOrder, ctx)
+    val interestingOrder =
+      if (query.interestingOrder.isEmpty) aggregation.interestingOrderFor(query.horizon)
+      else query.interestingOrder
+    ctx.strategy.plan(query.queryGraph, interestingOrder, ctx)
   }
 }
 
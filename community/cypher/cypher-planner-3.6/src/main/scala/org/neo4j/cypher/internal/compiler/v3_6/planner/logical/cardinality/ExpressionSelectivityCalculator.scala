@@ -27,7 +27,11 @@ import org.neo4j.cypher.internal.ir.v3_6.Selections
 import org.neo4j.cypher.internal.planner.v3_6.spi.GraphStatistics
 import org.neo4j.cypher.internal.planner.v3_6.spi.GraphStatistics._
 import org.neo4j.cypher.internal.planner.v3_6.spi.IndexDescriptor
+import org.neo4j.cypher.internal.v3_6.logical.plans.InequalitySeekRange
+import org.neo4j.cypher.internal.v3_6.logical.plans.ManySeekableArgs
 import org.neo4j.cypher.internal.v3_6.logical.plans.PrefixRange
+import org.neo4j.cypher.internal.v3_6.logical.plans.SeekableArgs
+import org.neo4j.cypher.internal.v3_6.logical.plans.SingleSeekableArg
 import org.neo4j.cypher.internal.v3_6.ast.semantics.SemanticTable
 import org.neo4j.cypher.internal.v3_6.expressions._
 import org.neo4j.cypher.internal.v3_6.util.Cardinality
@@ -51,7 +55,7 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
 
     // WHERE x.prop =/IN ...
     case AsPropertySeekable(seekable) =>
-      calculateSelectivityForPropertyEquality(seekable.name, seekable.args.sizeHint, selections, seekable.propertyKey)
+      calculateSelectivityForPropertyEquality(seekable.name, seekable.args, selections, seekable.propertyKey)
 
     // WHERE x.prop STARTS WITH 'prefix'
     case AsStringRangeSeekable(seekable@PrefixRangeSeekable(PrefixRange(StringLiteral(prefix)), _, _, _)) =>
@@ -161,36 +165,57 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
   }
 
   private def calculateSelectivityForPropertyEquality(variable: String,
-                                                      sizeHint: Option[Int],
+                                                      args: SeekableArgs,
                                                       selections: Selections,
                                                       propertyKey: PropertyKeyName)
                                                      (implicit semanticTable: SemanticTable): Selectivity = {
     val labels = selections.labelsOnNode(variable)
-    val indexSelectivities = labels.toIndexedSeq.flatMap {
-      labelName =>
-        (semanticTable.id(labelName), semanticTable.id(propertyKey)) match {
-          case (Some(labelId), Some(propertyKeyId)) =>
-            val descriptor = IndexDescriptor(labelId, Seq(propertyKeyId))
-            for {
-              propExists <-stats.indexPropertyExistsSelectivity(descriptor)
-              propEqualsValue <- stats.uniqueValueSelectivity(descriptor)
-              combinedSelectivity <- combiner.andTogetherSelectivities(Seq(propExists, propEqualsValue))
-            } yield combinedSelectivity
 
-          case _ =>
-            Some(Selectivity.ZERO)
-        }
+    // value is the literal value compared to, if known, for which the distribution of values in the index gives a better estimate
+    def itemSelectivity(value: Option[Any]): Selectivity = {
+      val indexSelectivities = labels.toIndexedSeq.flatMap {
+        labelName =>
+          (semanticTable.id(labelName), semanticTable.id(propertyKey)) match {
+            case (Some(labelId), Some(propertyKeyId)) =>
+              val descriptor = IndexDescriptor(labelId, Seq(propertyKeyId))
+              for {
+                propExists <-stats.indexPropertyExistsSelectivity(descriptor)
+                propEqualsValue <- stats.indexPropertyValueSelectivity(descriptor, value) orElse stats.uniqueValueSelectivity(descriptor)
+                combinedSelectivity <- combiner.andTogetherSelectivities(Seq(propExists, propEqualsValue))
+              } yield combinedSelectivity
+
+            case _ =>
+              Some(Selectivity.ZERO)
+          }
+      }
+      combiner.orTogetherSelectivities(indexSelectivities).getOrElse(DEFAULT_EQUALITY_SELECTIVITY)
     }
 
-    val itemSelectivity = combiner.orTogetherSelectivities(indexSelectivities).getOrElse(DEFAULT_EQUALITY_SELECTIVITY)
-    val size = sizeHint.getOrElse(DEFAULT_LIST_CARDINALITY.amount.toInt)
-    if (size == 0) {
+    val values = seekableValues(args)
+    if (values.isEmpty) {
       Selectivity.ZERO
     } else {
-      combiner.orTogetherSelectivities(1.to(size).map(_ => itemSelectivity)).getOrElse(DEFAULT_EQUALITY_SELECTIVITY)
+      val itemSelectivities = values.distinct.map(value => value -> itemSelectivity(value)).toMap
+      combiner.orTogetherSelectivities(values.map(itemSelectivities)).getOrElse(DEFAULT_EQUALITY_SELECTIVITY)
     }
   }
 
+  private def seekableValues(args: SeekableArgs): Seq[Option[Any]] = args match {
+    case SingleSeekableArg(expr) => Seq(literalValue(expr))
+    case ManySeekableArgs(ListLiteral(expressions)) => expressions.map(literalValue)
+    case _ => Seq.fill(args.sizeHint.getOrElse(DEFAULT_LIST_CARDINALITY.amount.toInt))(None)
+  }
+
+  private def literalRange(range: InequalitySeekRange[Expression]): Option[InequalitySeekRange[Any]] =
+    if (range.arguments.forall(literalValue(_).isDefined)) Some(range.mapBounds(expr => literalValue(expr).get)) else None
+
+  private def literalValue(expr: Expression): Option[Any] = expr match {
+    case literal: StringLiteral => Some(literal.value)
+    case literal: NumberLiteral => Some(literal.value)
+    case literal: BooleanLiteral => Some(literal.value)
+    case _ => None
+  }
+
   private def calculateSelectivityForValueRangeSeekable(seekable: InequalityRangeSeekable,
                                                         selections: Selections)
                                                        (implicit semanticTable: SemanticTable): Selectivity = {
@@ -221,7 +246,9 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
 
               val pRange = Selectivity(if (seekable.hasEquality) propEqValueSelectivity.factor + pNeqRange else pNeqRange)
               val pRangeBounded = Selectivity(math.max(propEqValueSelectivity.factor, pRange.factor))
-              pRangeBounded * propertyExistsSelectivity
+              // ranges of literal values can be estimated from the distribution of values in the index, if there is one
+              val pLiteralRange = literalRange(seekable.range).flatMap(stats.indexPropertyRangeSelectivity(descriptor, _))
+              pLiteralRange.getOrElse(pRangeBounded) * propertyExistsSelectivity
             }
 
           case _ =>
@@ -46,12 +46,14 @@ class IDPSolver[Solvable, Result, Context](generator: IDPSolverStep[Solvable, Re
                          tableFactory: (IdRegistry[Solvable], Seed[Solvable, Result]) => IDPTable[Result] = (registry: IdRegistry[Solvable], seed: Seed[Solvable, Result]) => IDPTable(registry, seed),
                          maxTableSize: Int, // limits computation effort, reducing result quality
                          iterationDurationLimit: Long, // limits computation effort, reducing result quality
-                         monitor: IDPSolverMonitor) {
+                         monitor: IDPSolverMonitor,
+                         totalDurationLimit: Long = Long.MaxValue) { // limits overall computation effort, reducing result quality
 
   def apply(seed: Seed[Solvable, Result], initialToDo: Set[Solvable], context: Context): Iterator[(Set[Solvable], Result)] = {
     val registry = registryFactory()
     val table = tableFactory(registry, seed)
     var toDo = registry.registerAll(initialToDo)
+    val solverStart = System.currentTimeMillis()
 
     // utility functions
     val goalSelector: Selector[(Goal, Result)] = projectingSelector.apply[(Goal, Result)](_._2, _)
@@ -74,8 +76,11 @@ class IDPSolver[Solvable, Result, Context](generator: IDPSolverStep[Solvable, Re
               foundNoCandidate = false
               table.put(goal, candidate)
             }
-            keepGoing = blockSize == 2 ||
-              (table.size <= maxTableSize && (System.currentTimeMillis() - start) < iterationDurationLimit)
+            // once the total duration limit is spent, every iteration only combines pairs, i.e. compacts greedily
+            keepGoing = blockSize == 2 || {
+              val now = System.currentTimeMillis()
+              table.size <= maxTableSize && (now - start) < iterationDurationLimit && (now - solverStart) < totalDurationLimit
+            }
           }
         }
         largestFinishedIteration = if (foundNoCandidate || goals.hasNext) largestFinishedIteration else blockSize
@@ -32,6 +32,7 @@ import org.neo4j.cypher.internal.v3_6.logical.plans.LogicalPlan
 trait IDPSolverConfig {
   def maxTableSize: Int = 128
   def iterationDurationLimit: Long = 1000
+  def totalDurationLimit: Long = Long.MaxValue
   def solvers(queryGraph: QueryGraph): Seq[QueryGraph => IDPSolverStep[PatternRelationship, LogicalPlan, LogicalPlanningContext]]
 }
 
@@ -49,9 +50,11 @@ case object DefaultIDPSolverConfig extends IDPSolverConfig {
 }
 
 /* The default settings for IDP uses a maxTableSize and a inner loop duration threshold
-   to improve planning performance with minimal impact of plan quality */
+   to improve planning performance with minimal impact of plan quality. The total duration
+   threshold additionally bounds the planning time of large patterns, at the cost of plan quality */
 class ConfigurableIDPSolverConfig(override val maxTableSize: Int,
-                                  override val iterationDurationLimit: Long) extends IDPSolverConfig {
+                                  override val iterationDurationLimit: Long,
+                                  override val totalDurationLimit: Long = Long.MaxValue) extends IDPSolverConfig {
   override def solvers(queryGraph: QueryGraph) = Seq(joinSolverStep(_), expandSolverStep(_))
 }
 
@@ -60,6 +60,7 @@ case class SingleComponentPlanner(monitor: IDPQueryGraphSolverMonitor,
           projectingSelector = kit.pickBest,
           maxTableSize = solverConfig.maxTableSize,
           iterationDurationLimit = solverConfig.iterationDurationLimit,
+          totalDurationLimit = solverConfig.totalDurationLimit,
           monitor = monitor
         )
 
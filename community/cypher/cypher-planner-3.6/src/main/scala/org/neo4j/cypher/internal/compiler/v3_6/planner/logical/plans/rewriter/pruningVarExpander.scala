@@ -47,7 +47,8 @@ case object pruningVarExpander extends Rewriter {
           Some(variablesInTheDistinctSet)
 
         case expand: VarExpand
-          if dependencies.nonEmpty && !distinctNeedsRelsFromExpand(dependencies, expand) && expand.length.max.nonEmpty =>
+          if dependencies.nonEmpty && !distinctNeedsRelsFromExpand(dependencies, expand) &&
+            (expand.length.max.nonEmpty || expand.length.min <= 1) =>
           distinctSet += expand
           dependencies
 
@@ -101,10 +102,16 @@ case object pruningVarExpander extends Rewriter {
         val distinctSet = findDistinctSet(plan)
 
         val innerRewriter = topDown(Rewriter.lift {
-          case expand@VarExpand(lhs, fromId, dir, _, relTypes, toId, _, length, ExpandAll, _, _, _, _, predicates) if distinctSet(expand) =>
-            if (length.max.get > 1)
+          case expand@VarExpand(lhs, fromId, dir, _, relTypes, toId, _, length, ExpandAll, tempNode, tempRelationship,
+                                nodePredicate, relationshipPredicate, predicates) if distinctSet(expand) =>
+            if (length.max.exists(_ <= 1))
+              expand
+            else if (length.min <= 1)
+              BFSPruningVarExpand(lhs, fromId, dir, relTypes, toId, includeStartNode = length.min == 0,
+                                  length.max.getOrElse(Int.MaxValue), tempNode, tempRelationship, nodePredicate,
+                                  relationshipPredicate, predicates)(SameId(expand.id))
+            else
               PruningVarExpand(lhs, fromId, dir, relTypes, toId, length.min, length.max.get, predicates)(SameId(expand.id))
-            else expand
         })
         plan.endoRewrite(innerRewriter)
 
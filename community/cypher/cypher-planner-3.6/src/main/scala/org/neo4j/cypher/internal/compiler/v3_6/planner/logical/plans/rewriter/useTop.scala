@@ -23,7 +23,7 @@
 package org.neo4j.cypher.internal.compiler.v3_6.planner.logical.plans.rewriter
 
 import org.neo4j.cypher.internal.v3_6.util.attribution.SameId
-import org.neo4j.cypher.internal.v3_6.logical.plans.{DoNotIncludeTies, Limit, Sort, Top}
+import org.neo4j.cypher.internal.v3_6.logical.plans.{DoNotIncludeTies, Limit, PartialSort, PartialTop, Sort, Top}
 import org.neo4j.cypher.internal.v3_6.util.{Rewriter, bottomUp}
 
 /**
@@ -34,6 +34,8 @@ case object useTop extends Rewriter {
   private val instance: Rewriter = bottomUp(Rewriter.lift {
     case o @ Limit(Sort(src, sortDescriptions), limit, DoNotIncludeTies) =>
       Top(src, sortDescriptions, limit)(SameId(o.id))
+    case o @ Limit(PartialSort(src, alreadySortedPrefix, stillToSortSuffix), limit, DoNotIncludeTies) =>
+      PartialTop(src, alreadySortedPrefix, stillToSortSuffix, limit)(SameId(o.id))
   })
 
   override def apply(input: AnyRef): AnyRef = instance.apply(input)
@@ -227,7 +227,7 @@ abstract class AbstractIndexSeekLeafPlanner extends LeafPlanner with LeafPlanFro
     }
 
     maybeMatchingPredicates
-      .filter(isValidPredicateCombination)
+      .filter(isValidPredicateCombination(indexDescriptor))
       .map { matchingPredicates =>
         matchPredicateWithIndexDescriptorAndInterestingOrder(matchingPredicates, indexDescriptor, interestingOrder)
       }
@@ -256,15 +256,24 @@ abstract class AbstractIndexSeekLeafPlanner extends LeafPlanner with LeafPlanFro
     (matchingPredicates, propertyBehaviours, providedOrder)
   }
 
-  private def isValidPredicateCombination(foundPredicates: Seq[IndexCompatiblePredicate]): Boolean = {
-    // We currently only support range queries against single prop indexes
-    // TODO: Consider fixing this once kernel support native composite indexes for range queries
-    foundPredicates.length == 1 ||
-      foundPredicates.forall(_.queryExpression match {
-        case _: SingleQueryExpression[_] => true
-        case _: ManyQueryExpression[_] => true
-        case _ => false
-      })
+  private def isValidPredicateCombination(indexDescriptor: IndexDescriptor)(foundPredicates: Seq[IndexCompatiblePredicate]): Boolean = {
+    def isExact(predicate: IndexCompatiblePredicate): Boolean = predicate.queryExpression match {
+      case _: SingleQueryExpression[_] => true
+      case _: ManyQueryExpression[_] => true
+      case _ => false
+    }
+
+    // Range queries against composite indexes are only supported on the last property, after exact predicates on all others,
+    // and only by indexes that can seek such a combination
+    def isExactPrefixWithTrailingRange: Boolean =
+      indexDescriptor.supportsCompositeRangeSeek &&
+        foundPredicates.init.forall(isExact) &&
+        (foundPredicates.last.queryExpression match {
+          case _: RangeQueryExpression[_] => foundPredicates.last.solvesPredicate
+          case _ => false
+        })
+
+    foundPredicates.length == 1 || foundPredicates.forall(isExact) || isExactPrefixWithTrailingRange
   }
 
   /**
@@ -23,8 +23,9 @@
 package org.neo4j.cypher.internal.compiler.v3_6.planner.logical.steps
 
 import org.neo4j.cypher.internal.compiler.v3_6.planner.logical.LogicalPlanningContext
-import org.neo4j.cypher.internal.ir.v3_6.{AggregatingQueryProjection, InterestingOrder}
-import org.neo4j.cypher.internal.v3_6.logical.plans.LogicalPlan
+import org.neo4j.cypher.internal.ir.v3_6.{AggregatingQueryProjection, InterestingOrder, PlannerQuery, ProvidedOrder, QueryHorizon}
+import org.neo4j.cypher.internal.v3_6.expressions._
+import org.neo4j.cypher.internal.v3_6.logical.plans.{DoNotIncludeTies, LogicalPlan}
 
 object aggregation {
   def apply(plan: LogicalPlan, aggregation: AggregatingQueryProjection, interestingOrder: InterestingOrder, context: LogicalPlanningContext): LogicalPlan = {
@@ -33,12 +34,57 @@ object aggregation {
     val (step1, groupingExpressions) = expressionSolver(plan, aggregation.groupingExpressions, interestingOrder, context)
     val (rewrittenPlan, aggregations) = expressionSolver(step1, aggregation.aggregationExpressions, interestingOrder, context)
 
+    val source =
+      if (onlyNeedsFirstRow(rewrittenPlan, aggregation, context)) {
+        val expr = aggregation.aggregationExpressions.values.head
+        context.logicalPlanProducer.planLimit(rewrittenPlan, SignedDecimalIntegerLiteral("1")(expr.position), DoNotIncludeTies, context)
+      } else {
+        rewrittenPlan
+      }
+
     context.logicalPlanProducer.planAggregation(
-      rewrittenPlan,
+      source,
       groupingExpressions,
       aggregations,
       aggregation.groupingExpressions,
       aggregation.aggregationExpressions,
       context)
   }
+
+  /**
+    * The order that lets a single min() or max() of a node property be answered from the first row only, e.g. by an index
+    * seek that walks the index tree from the lowest or highest key. This is an interesting order, rather than a required one,
+    * so it is only used by plans that can provide it anyway.
+    */
+  def interestingOrderFor(horizon: QueryHorizon): InterestingOrder = horizon match {
+    case MinOrMaxOfProperty(order) => InterestingOrder(Seq.empty, Seq(order))
+    case _ => InterestingOrder.empty
+  }
+
+  private def onlyNeedsFirstRow(plan: LogicalPlan, aggregation: AggregatingQueryProjection, context: LogicalPlanningContext): Boolean =
+    aggregation match {
+      // Limiting the rows below the aggregation would also limit any updates in the plan
+      case MinOrMaxOfProperty(order) if context.planningAttributes.solveds.get(plan.id).readOnly =>
+        (order, context.planningAttributes.providedOrders.get(plan.id).columns.headOption) match {
+          case (InterestingOrder.Asc(id), Some(ProvidedOrder.Asc(providedId))) => id == providedId
+          case (InterestingOrder.Desc(id), Some(ProvidedOrder.Desc(providedId))) => id == providedId
+          case _ => false
+        }
+      case _ => false
+    }
+
+  private object MinOrMaxOfProperty {
+    def unapply(horizon: QueryHorizon): Option[InterestingOrder.ColumnOrder] = horizon match {
+      case AggregatingQueryProjection(groupingKeys, aggregationExpressions, _, _)
+        if groupingKeys.isEmpty && aggregationExpressions.size == 1 =>
+        aggregationExpressions.values.head match {
+          case func@FunctionInvocation(_, _, _, Vector(Property(Variable(varName), PropertyKeyName(propName))), _) if func.function == functions.Min =>
+            Some(InterestingOrder.Asc(s"$varName.$propName"))
+          case func@FunctionInvocation(_, _, _, Vector(Property(Variable(varName), PropertyKeyName(propName))), _) if func.function == functions.Max =>
+            Some(InterestingOrder.Desc(s"$varName.$propName"))
+          case _ => None
+        }
+      case _ => None
+    }
+  }
 }
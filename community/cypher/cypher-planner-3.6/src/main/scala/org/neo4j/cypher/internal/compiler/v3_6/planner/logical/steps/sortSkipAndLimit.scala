@@ -97,10 +97,12 @@ object sortSkipAndLimit extends PlanTransformerWithRequiredOrder {
           // plan the actual sort
           val columnOrders = newSortItems.map(columnOrder)
 
+          val sortedPrefixLength = interestingOrder.satisfiedPrefixLength(context.planningAttributes.providedOrders.get(plan.id))
+
           val sortedPlan =
             // The !interestingOrder.isEmpty check is only here because we do not recognize more complex required orders
             // at the moment and do not want to abort sorting only because an empty required order is satisfied by anything.
-            if (interestingOrder.required.nonEmpty && interestingOrder.satisfiedBy(context.planningAttributes.providedOrders.get(plan.id))) {
+            if (interestingOrder.required.nonEmpty && sortedPrefixLength == interestingOrder.required.size) {
               // We can't override solved, but right now we want to set it such that it solves ORDER BY
               // on a plan that has already assigned solved.
               // Use query.interestingOrder to mark the original required order as solved.
@@ -113,7 +115,13 @@ object sortSkipAndLimit extends PlanTransformerWithRequiredOrder {
               val preProjected2 = projection(preProjected1, projectItemsForUnaliased, Map.empty, interestingOrder, context)
 
               // Use query.interestingOrder to mark the original required order as solved.
-              context.logicalPlanProducer.planSort(preProjected2, columnOrders, sortItems, query.interestingOrder, context)
+              if (sortedPrefixLength > 0 && interestingOrder.required.size == columnOrders.size) {
+                // The rows already arrive sorted by a prefix of the sort items, so only the suffix needs sorting
+                val (alreadySortedPrefix, stillToSortSuffix) = columnOrders.splitAt(sortedPrefixLength)
+                context.logicalPlanProducer.planPartialSort(preProjected2, alreadySortedPrefix, stillToSortSuffix, sortItems, query.interestingOrder, context)
+              } else {
+                context.logicalPlanProducer.planSort(preProjected2, columnOrders, sortItems, query.interestingOrder, context)
+              }
             }
 
           addLimit(limit, addSkip(skip, sortedPlan, context), context)
@@ -54,7 +54,8 @@ trait LogicalPlanningConfiguration {
 case class IndexDef(label: String, propertyKeys: Seq[String])
 class IndexType(var isUnique: Boolean = false,
                 var withValues: Boolean = false,
-                var withOrdering: IndexOrderCapability = IndexOrderCapability.NONE)
+                var withOrdering: IndexOrderCapability = IndexOrderCapability.NONE,
+                var withCompositeRangeSeek: Boolean = false)
 
 class DelegatingLogicalPlanningConfiguration(val parent: LogicalPlanningConfiguration) extends LogicalPlanningConfiguration {
   override def updateSemanticTableWithTokens(in: SemanticTable): SemanticTable = parent.updateSemanticTableWithTokens(in)
@@ -233,6 +233,7 @@ trait LogicalPlanningTestSupport extends CypherTestSupport with AstConstructionT
     useErrorsOverWarnings = false,
     idpMaxTableSize = DefaultIDPSolverConfig.maxTableSize,
     idpIterationDuration = DefaultIDPSolverConfig.iterationDurationLimit,
+    idpTotalDuration = DefaultIDPSolverConfig.totalDurationLimit,
     errorIfShortestPathFallbackUsedAtRuntime = false,
     errorIfShortestPathHasCommonNodesAtRuntime = true,
     legacyCsvQuoteEscaping = false,
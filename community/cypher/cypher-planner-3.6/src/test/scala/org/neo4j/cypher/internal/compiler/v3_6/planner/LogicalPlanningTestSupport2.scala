@@ -70,6 +70,7 @@ trait LogicalPlanningTestSupport2 extends CypherTestSupport with AstConstruction
     useErrorsOverWarnings = false,
     idpMaxTableSize = DefaultIDPSolverConfig.maxTableSize,
     idpIterationDuration = DefaultIDPSolverConfig.iterationDurationLimit,
+    idpTotalDuration = DefaultIDPSolverConfig.totalDurationLimit,
     errorIfShortestPathFallbackUsedAtRuntime = false,
     errorIfShortestPathHasCommonNodesAtRuntime = true,
     legacyCsvQuoteEscaping = false,
@@ -130,7 +131,8 @@ trait LogicalPlanningTestSupport2 extends CypherTestSupport with AstConstruction
           indexDef.propertyKeys.map(semanticTable.resolvedPropertyKeyNames(_)),
           valueCapability = valueCapability,
           orderCapability = orderCapability,
-          isUnique = indexType.isUnique
+          isUnique = indexType.isUnique,
+          supportsCompositeRangeSeek = indexType.withCompositeRangeSeek
         )
       }
 
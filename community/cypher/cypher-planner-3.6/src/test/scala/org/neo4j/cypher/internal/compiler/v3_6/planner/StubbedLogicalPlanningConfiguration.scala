@@ -66,6 +66,10 @@ class StubbedLogicalPlanningConfiguration(val parent: LogicalPlanningConfigurati
       indexType.withOrdering = order
       this
     }
+    def supportsCompositeRangeSeek(): IndexModifier = {
+      indexType.withCompositeRangeSeek = true
+      this
+    }
   }
 
   def indexOn(label: String, properties: String*): IndexModifier = {
@@ -90,6 +90,7 @@ class DefaultQueryPlannerTest extends CypherFunSuite with LogicalPlanningTestSup
     when(plannerQuery.queryGraph).thenReturn(QueryGraph.empty)
     when(plannerQuery.lastQueryGraph).thenReturn(QueryGraph.empty)
     when(plannerQuery.horizon).thenReturn(RegularQueryProjection())
+    when(plannerQuery.interestingOrder).thenReturn(InterestingOrder.empty)
     when(plannerQuery.lastQueryHorizon).thenReturn(RegularQueryProjection())
     when(plannerQuery.tail).thenReturn(None)
     when(plannerQuery.allHints).thenReturn(Seq[Hint]())
@@ -27,9 +27,10 @@ import org.neo4j.cypher.internal.ir.v3_6.RegularPlannerQuery
 import org.neo4j.cypher.internal.planner.v3_6.spi.IndexOrderCapability
 import org.neo4j.cypher.internal.planner.v3_6.spi.IndexOrderCapability.{ASC, DESC, BOTH}
 import org.neo4j.cypher.internal.v3_6.logical.plans._
-import org.neo4j.cypher.internal.v3_6.logical.plans.{Skip => SkipPlan}
+import org.neo4j.cypher.internal.v3_6.logical.plans.{Limit => LimitPlan, Skip => SkipPlan}
 import org.neo4j.cypher.internal.v3_6.ast._
 import org.neo4j.cypher.internal.v3_6.expressions._
+import org.neo4j.cypher.internal.v3_6.util.Foldable._
 import org.neo4j.cypher.internal.v3_6.util._
 import org.neo4j.cypher.internal.v3_6.util.test_helpers.CypherFunSuite
 
@@ -195,7 +196,37 @@ class IndexWithProvidedOrderPlanningIntegrationTest extends CypherFunSuite with
       )
     }
 
-    test(s"$cypherToken-$orderCapability: Order by index backed properties in a plan with an Apply needs Sort if RHS order required") {
+    test(s"$cypherToken-$orderCapability: Order by index backed property and another property should plan partial sort") {
+      val plan = new given {
+        indexOn("Awesome", "prop").providesOrder(orderCapability)
+      } getLogicalPlanFor s"MATCH (n:Awesome) WHERE n.prop > 'foo' RETURN n.prop, n.foo ORDER BY n.prop $cypherToken, n.foo ASC"
+
+      plan._2 should equal(
+        PartialSort(
+          Projection(
+            IndexSeek("n:Awesome(prop > 'foo')", indexOrder = plannedOrder),
+            Map("n.prop" -> prop("n", "prop"), "n.foo" -> prop("n", "foo"))),
+          Seq(sortOrder("n.prop")), Seq(Ascending("n.foo")))
+      )
+    }
+
+    test(s"$cypherToken-$orderCapability: Order by index backed property and another property with limit should plan partial sort and limit") {
+      val plan = new given {
+        indexOn("Awesome", "prop").providesOrder(orderCapability)
+      } getLogicalPlanFor s"MATCH (n:Awesome) WHERE n.prop > 'foo' RETURN n.prop, n.foo ORDER BY n.prop $cypherToken, n.foo ASC LIMIT 20"
+
+      plan._2 should equal(
+        LimitPlan(
+          PartialSort(
+            Projection(
+              IndexSeek("n:Awesome(prop > 'foo')", indexOrder = plannedOrder),
+              Map("n.prop" -> prop("n", "prop"), "n.foo" -> prop("n", "foo"))),
+            Seq(sortOrder("n.prop")), Seq(Ascending("n.foo"))),
+          SignedDecimalIntegerLiteral("20")(pos), DoNotIncludeTies)
+      )
+    }
+
+    test(s"$cypherToken-$orderCapability: Order by index backed properties in a plan with an Apply needs PartialSort if RHS order required") {
       val plan = new given {
         indexOn("A", "prop").providesOrder(orderCapability)
         indexOn("B", "prop").providesOrder(orderCapability)
@@ -203,7 +234,7 @@ class IndexWithProvidedOrderPlanningIntegrationTest extends CypherFunSuite with
       } getLogicalPlanFor s"MATCH (a:A), (b:B) WHERE a.prop STARTS WITH 'foo' AND b.prop > a.prop RETURN a.prop, b.prop ORDER BY a.prop $cypherToken, b.prop $cypherToken"
 
     plan._2 should equal(
-      Sort(
+      PartialSort(
         Projection(
           Apply(
             IndexSeek("a:A(prop STARTS WITH 'foo')", indexOrder = plannedOrder),
@@ -214,7 +245,7 @@ class IndexWithProvidedOrderPlanningIntegrationTest extends CypherFunSuite with
               argumentIds = Set("a"))
           ),
           Map("a.prop" -> Property(Variable("a")(pos), PropertyKeyName("prop")(pos))(pos), "b.prop" -> Property(Variable("b")(pos), PropertyKeyName("prop")(pos))(pos))),
-        Seq(sortOrder("a.prop"), sortOrder("b.prop")))
+        Seq(sortOrder("a.prop")), Seq(sortOrder("b.prop")))
     )
   }
 
@@ -313,4 +344,56 @@ class IndexWithProvidedOrderPlanningIntegrationTest extends CypherFunSuite with
       )
     }
   }
+
+  for ((function, orderCapability, plannedOrder) <- List(("min", ASC, IndexOrderAscending), ("min", BOTH, IndexOrderAscending),
+                                                         ("max", DESC, IndexOrderDescending), ("max", BOTH, IndexOrderDescending))) {
+
+    test(s"$function-$orderCapability: aggregation of index backed property should only read the first row") {
+      val plan = new given {
+        indexOn("Awesome", "prop").providesOrder(orderCapability)
+      } getLogicalPlanFor s"MATCH (n:Awesome) WHERE n.prop > 'foo' RETURN $function(n.prop)"
+
+      plan._2 should equal(
+        Aggregation(
+          LimitPlan(
+            IndexSeek("n:Awesome(prop > 'foo')", indexOrder = plannedOrder),
+            SignedDecimalIntegerLiteral("1")(pos), DoNotIncludeTies),
+          Map.empty,
+          Map(s"$function(n.prop)" -> FunctionInvocation(FunctionName(function)(pos), prop("n", "prop"))(pos)))
+      )
+    }
+  }
+
+  test("max of index backed property should read all rows if index only provides ascending order") {
+    val plan = new given {
+      indexOn("Awesome", "prop").providesOrder(ASC)
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop > 'foo' RETURN max(n.prop)"
+
+    plan._2 should equal(
+      Aggregation(
+        IndexSeek("n:Awesome(prop > 'foo')", indexOrder = IndexOrderAscending),
+        Map.empty,
+        Map("max(n.prop)" -> FunctionInvocation(FunctionName("max")(pos), prop("n", "prop"))(pos)))
+    )
+  }
+
+  test("min of index backed property should read all rows when grouping") {
+    val plan = new given {
+      indexOn("Awesome", "prop").providesOrder(BOTH)
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop > 'foo' RETURN n.other, min(n.prop)"
+
+    plan._2.treeExists {
+      case _: LimitPlan => true
+    } should be(false)
+  }
+
+  test("min of index backed property should read all rows when the query updates the graph") {
+    val plan = new given {
+      indexOn("Awesome", "prop").providesOrder(BOTH)
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop > 'foo' SET n.seen = true RETURN min(n.prop)"
+
+    plan._2.treeExists {
+      case _: LimitPlan => true
+    } should be(false)
+  }
 }
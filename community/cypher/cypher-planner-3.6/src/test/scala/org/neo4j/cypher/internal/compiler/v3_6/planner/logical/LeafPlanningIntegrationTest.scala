@@ -464,6 +464,46 @@ class LeafPlanningIntegrationTest extends CypherFunSuite with LogicalPlanningTes
     )
   }
 
+  test("should plan composite index seek with a range on the last property when the index supports it") {
+    val plan = new given {
+      indexOn("Awesome", "prop", "prop2").supportsCompositeRangeSeek()
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop = 42 AND n.prop2 > 10 RETURN n"
+
+    plan._2 should equal(
+      IndexSeek("n:Awesome(prop = 42, prop2 > 10)")
+    )
+  }
+
+  test("should plan composite index seek with a prefix on the last property when the index supports it") {
+    val plan = new given {
+      indexOn("Awesome", "prop", "prop2").supportsCompositeRangeSeek()
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop2 STARTS WITH 'foo' AND n.prop = 42 RETURN n"
+
+    plan._2 should equal(
+      IndexSeek("n:Awesome(prop = 42, prop2 STARTS WITH 'foo')")
+    )
+  }
+
+  test("should not plan composite index seek with a range on the last property when the index does not support it") {
+    val plan = new given {
+      indexOn("Awesome", "prop", "prop2")
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop = 42 AND n.prop2 > 10 RETURN n"
+
+    plan._2 should beLike {
+      case Selection(_, _: NodeByLabelScan) => ()
+    }
+  }
+
+  test("should not plan composite index seek with a range on a property other than the last") {
+    val plan = new given {
+      indexOn("Awesome", "prop", "prop2").supportsCompositeRangeSeek()
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop > 42 AND n.prop2 = 10 RETURN n"
+
+    plan._2 should beLike {
+      case Selection(_, _: NodeByLabelScan) => ()
+    }
+  }
+
   //
   // index hints
   //
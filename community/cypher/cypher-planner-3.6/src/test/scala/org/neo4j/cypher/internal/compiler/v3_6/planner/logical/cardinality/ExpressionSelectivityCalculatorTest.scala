@@ -43,6 +43,7 @@ import org.neo4j.cypher.internal.v3_6.expressions._
 import org.neo4j.cypher.internal.v3_6.expressions.functions.Distance
 import org.neo4j.cypher.internal.v3_6.expressions.functions.Exists
 import org.neo4j.cypher.internal.v3_6.util._
+import org.neo4j.cypher.internal.v3_6.util.symbols.CTAny
 import org.neo4j.cypher.internal.v3_6.util.test_helpers.CypherFunSuite
 
 class ExpressionSelectivityCalculatorTest extends CypherFunSuite with AstConstructionTestSupport {
@@ -904,6 +905,65 @@ class ExpressionSelectivityCalculatorTest extends CypherFunSuite with AstConstru
     eqResult should equal(IndependenceCombiner.orTogetherSelectivities(for (_ <- 1 to DEFAULT_LIST_CARDINALITY.amount.toInt) yield resFor1).get)
   }
 
+  // VALUE DISTRIBUTION
+
+  test("equality to literal with one label and value distribution") {
+    val equals = Predicate(Set("n"), Equals(nProp, literalInt(3)) _)
+
+    val calculator = setUpCalculator(equals, Seq(nIsPerson), mockStats(valueSelectivities = Map(Some(3L) -> 0.9)))
+    val eqResult = calculator(equals.expr)
+
+    eqResult.factor should equal(0.2 * 0.9 +- 0.00000001)
+  }
+
+  test("equality to parameter with one label and value distribution") {
+    val equals = Predicate(Set("n"), Equals(nProp, Parameter("p", CTAny) _) _)
+
+    val calculator = setUpCalculator(equals, Seq(nIsPerson), mockStats(valueSelectivities = Map(None -> 0.5)))
+    val eqResult = calculator(equals.expr)
+
+    eqResult.factor should equal(0.2 * 0.5 +- 0.00000001)
+  }
+
+  test("equality to list of literals with one label and value distribution of some values") {
+    val equals = Predicate(Set("n"), In(nProp, literalIntList(3, 4)) _)
+
+    val calculator = setUpCalculator(equals, Seq(nIsPerson), mockStats(valueSelectivities = Map(Some(3L) -> 0.9)))
+    val eqResult = calculator(equals.expr)
+
+    val resFor3 = 0.2 * 0.9
+    val resFor4 = 0.2 * (1.0 / 180.0)
+    eqResult.factor should equal(resFor3 + resFor4 - resFor3 * resFor4 +- 0.00000001)
+  }
+
+  test("range of literals with one label and value distribution") {
+    val inequality = Predicate(Set("n"), AndedPropertyInequalities(varFor("n"), nProp, NonEmptyList(
+      GreaterThan(nProp, literalInt(3)) _
+    )))
+
+    val calculator = setUpCalculator(inequality, Seq(nIsPerson), mockStats(rangeSelectivity = Some(0.25)))
+    val inequalityResult = calculator(inequality.expr)
+
+    inequalityResult.factor should equal(0.2 * 0.25 +- 0.00000001)
+  }
+
+  test("range of parameter with one label and value distribution") {
+    val inequality = Predicate(Set("n"), AndedPropertyInequalities(varFor("n"), nProp, NonEmptyList(
+      GreaterThan(nProp, literalInt(3)) _,
+      LessThan(nProp, Parameter("p", CTAny) _) _
+    )))
+
+    val calculator = setUpCalculator(inequality, Seq(nIsPerson), mockStats(rangeSelectivity = Some(0.25)))
+    val inequalityResult = calculator(inequality.expr)
+
+    inequalityResult.factor should equal(
+      personPropSel
+        * (1-indexPersonUniqueSel) // Selectivity for != x
+        * DEFAULT_RANGE_SEEK_FACTOR / 2 // Selectivity for range
+        +- 0.00000001
+    )
+  }
+
   // OTHER
 
   test("Should peek inside sub predicates") {
@@ -952,11 +1012,15 @@ class ExpressionSelectivityCalculatorTest extends CypherFunSuite with AstConstru
     * @param labelCardinalities       for each label, the number of nodes that have that label
     * @param indexCardinalities       for each index, the number of values in that index
     * @param indexUniqueCardinalities for each index, the number of unique values in that index
+    * @param valueSelectivities       for any index, the selectivity of literal values, or of an unknown value by None
+    * @param rangeSelectivity         for any index, the selectivity of any range of literal values
     */
   private def mockStats(allNodesCardinality: Double = 10000.0,
                         labelCardinalities: Map[LabelId, Double] = Map(indexPerson.label -> 1000.0),
                         indexCardinalities: Map[IndexDescriptor, Double] = Map(indexPerson -> 200.0),
-                        indexUniqueCardinalities: Map[IndexDescriptor, Double] = Map(indexPerson -> 180.0)): GraphStatistics = {
+                        indexUniqueCardinalities: Map[IndexDescriptor, Double] = Map(indexPerson -> 180.0),
+                        valueSelectivities: Map[Option[Any], Double] = Map.empty,
+                        rangeSelectivity: Option[Double] = None): GraphStatistics = {
 
     // sanity check:
     for {
@@ -1001,6 +1065,13 @@ class ExpressionSelectivityCalculatorTest extends CypherFunSuite with AstConstru
       }
     })
 
+    when(stats.indexPropertyValueSelectivity(any(), any())).thenAnswer(new Answer[Option[Selectivity]] {
+      override def answer(invocationOnMock: InvocationOnMock): Option[Selectivity] =
+        valueSelectivities.get(invocationOnMock.getArgument[Option[Any]](1)).map(Selectivity(_))
+    })
+
+    when(stats.indexPropertyRangeSelectivity(any(), any())).thenReturn(rangeSelectivity.map(Selectivity(_)))
+
     stats
   }
 }
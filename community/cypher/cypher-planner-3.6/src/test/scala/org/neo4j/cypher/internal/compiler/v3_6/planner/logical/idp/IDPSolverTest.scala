@@ -151,6 +151,29 @@ class IDPSolverTest extends CypherFunSuite {
     shortSolverIterations should be > longSolverIterations
   }
 
+  test("Compacts greedily once total time limit is spent") {
+    val depths = Seq.newBuilder[Int]
+    val monitor = new TestIDPSolverMonitor() {
+      override def endIteration(iteration: Int, depth: Int, tableSize: Int): Unit = depths += depth
+    }
+    val solver = new IDPSolver[Char, String, Unit](
+      monitor = monitor,
+      generator = stringAppendingSolverStep,
+      projectingSelector = firstLongest,
+      maxTableSize = Int.MaxValue,
+      iterationDurationLimit = Int.MaxValue,
+      totalDurationLimit = 0
+    )
+
+    val seed = ('a' to 'h').map(c => Set(c) -> c.toString)
+
+    val solution = solver(seed, ('a' to 'h').toSet, context)
+
+    solution.toList should equal(List(('a' to 'h').toSet -> "abcdefgh"))
+    depths.result() should equal(Seq(2, 2, 2, 2, 2, 3))
+    monitor.foundPlanIteration should equal(6)
+  }
+
   private object firstLongest extends ProjectingSelector[String] {
     override def apply[X](projector: (X) => String, input: Iterable[X]): Option[X] = {
       val elements = input.iterator
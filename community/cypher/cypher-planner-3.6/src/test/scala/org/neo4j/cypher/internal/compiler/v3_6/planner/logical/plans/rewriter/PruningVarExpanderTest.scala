@@ -43,7 +43,7 @@ class PruningVarExpanderTest extends CypherFunSuite with LogicalPlanningTestSupp
     val originalExpand = VarExpand(allNodes, fromId, dir, dir, Seq.empty, toId, relId, length, ExpandAll, "tempNode", "tempEdge", TRUE, TRUE, Seq.empty)
     val input = Distinct(originalExpand, Map("to" -> Variable("to")(pos)))
 
-    val rewrittenExpand = PruningVarExpand(allNodes, fromId, dir, Seq.empty, toId, 1, 3)
+    val rewrittenExpand = BFSPruningVarExpand(allNodes, fromId, dir, Seq.empty, toId, includeStartNode = false, 3, "tempNode", "tempEdge", TRUE, TRUE)
     val expectedOutput = Distinct(rewrittenExpand, Map("to" -> Variable("to")(pos)))
 
     rewrite(input) should equal(expectedOutput)
@@ -63,7 +63,7 @@ class PruningVarExpanderTest extends CypherFunSuite with LogicalPlanningTestSupp
     val aggregatingExpression = FunctionInvocation(functionName = FunctionName("count")(pos), distinct = true, args = IndexedSeq(Variable("to")(pos)))(pos)
     val input = Aggregation(originalExpand, Map.empty, Map("x" -> aggregatingExpression))
 
-    val rewrittenExpand = PruningVarExpand(allNodes, fromId, dir, Seq.empty, toId, 1, 3)
+    val rewrittenExpand = BFSPruningVarExpand(allNodes, fromId, dir, Seq.empty, toId, includeStartNode = false, 3, "tempNode", "tempEdge", TRUE, TRUE)
     val expectedOutput = Aggregation(rewrittenExpand, Map.empty, Map("x" -> aggregatingExpression))
 
     rewrite(input) should equal(expectedOutput)
@@ -84,7 +84,7 @@ class PruningVarExpanderTest extends CypherFunSuite with LogicalPlanningTestSupp
     val filter = Selection(Seq(predicate), originalExpand)
     val input = Distinct(filter, Map("to" -> Variable("to")(pos)))
 
-    val rewrittenExpand = PruningVarExpand(allNodes, fromId, dir, Seq.empty, toId, 1, 3)
+    val rewrittenExpand = BFSPruningVarExpand(allNodes, fromId, dir, Seq.empty, toId, includeStartNode = false, 3, "tempNode", "tempEdge", TRUE, TRUE)
     val filterAfterRewrite = Selection(Seq(predicate), rewrittenExpand)
     val expectedOutput = Distinct(filterAfterRewrite, Map("to" -> Variable("to")(pos)))
 
@@ -124,8 +124,8 @@ class PruningVarExpanderTest extends CypherFunSuite with LogicalPlanningTestSupp
     val originalExpand2 = VarExpand(originalExpand, bId, dir, dir, Seq(RelTypeName("T")(pos)), cId, relTId, length, ExpandAll, "tempNode", "tempEdge", TRUE, TRUE, Seq.empty)
     val input = Distinct(originalExpand2, Map("c" -> Variable("c")(pos)))
 
-    val rewrittenExpand = PruningVarExpand(allNodes, aId, dir, Seq(RelTypeName("R")(pos)), bId, 1, 3)
-    val rewrittenExpand2 = PruningVarExpand(rewrittenExpand, bId, dir, Seq(RelTypeName("T")(pos)), cId, 1, 3)
+    val rewrittenExpand = BFSPruningVarExpand(allNodes, aId, dir, Seq(RelTypeName("R")(pos)), bId, includeStartNode = false, 3, "tempNode", "tempEdge", TRUE, TRUE)
+    val rewrittenExpand2 = BFSPruningVarExpand(rewrittenExpand, bId, dir, Seq(RelTypeName("T")(pos)), cId, includeStartNode = false, 3, "tempNode", "tempEdge", TRUE, TRUE)
     val expectedOutput = Distinct(rewrittenExpand2, Map("c" -> Variable("c")(pos)))
 
     rewrite(input) should equal(expectedOutput)
@@ -147,7 +147,7 @@ class PruningVarExpanderTest extends CypherFunSuite with LogicalPlanningTestSupp
     val originalExpand2 = Expand(originalExpand, bId, dir, Seq(RelTypeName("T")(pos)), cId, relTId)
     val input = Distinct(originalExpand2, Map("c" -> Variable("c")(pos)))
 
-    val rewrittenExpand = PruningVarExpand(allNodes, aId, dir, Seq(RelTypeName("R")(pos)), bId, 1, 3)
+    val rewrittenExpand = BFSPruningVarExpand(allNodes, aId, dir, Seq(RelTypeName("R")(pos)), bId, includeStartNode = false, 3, "tempNode", "tempEdge", TRUE, TRUE)
     val rewrittenExpand2 = Expand(rewrittenExpand, bId, dir, Seq(RelTypeName("T")(pos)), cId, relTId)
     val expectedOutput = Distinct(rewrittenExpand2, Map("c" -> Variable("c")(pos)))
 
@@ -183,7 +183,7 @@ class PruningVarExpanderTest extends CypherFunSuite with LogicalPlanningTestSupp
     val apply1 = Apply(allNodes, optional1)
     val distinct1 = Distinct(apply1, Map("c" -> Variable("c")(pos)))
 
-    val rewrittenExpand = PruningVarExpand(argument, aId, dir, Seq(RelTypeName("R")(pos)), bId, 1, 3)
+    val rewrittenExpand = BFSPruningVarExpand(argument, aId, dir, Seq(RelTypeName("R")(pos)), bId, includeStartNode = false, 3, "tempNode", "tempEdge", TRUE, TRUE)
     val optional2 = Optional(rewrittenExpand, Set(aId))
     val apply2 = Apply(allNodes, optional2)
     val distinct2 = Distinct(apply2, Map("c" -> Variable("c")(pos)))
@@ -226,6 +226,62 @@ class PruningVarExpanderTest extends CypherFunSuite with LogicalPlanningTestSupp
     rewrite(input) should equal(expectedOutput)
   }
 
+  test("unbounded var-lengths use BFSPruningVarExpand") {
+    // Simplest query:
+    // match (a)-[*]->(b) return distinct b
+
+    val fromId = "from"
+    val allNodes = AllNodesScan(fromId, Set.empty)
+    val dir = SemanticDirection.OUTGOING
+    val length = VarPatternLength(1, None)
+    val toId = "to"
+    val relId = "r"
+    val originalExpand = VarExpand(allNodes, fromId, dir, dir, Seq.empty, toId, relId, length, ExpandAll, "tempNode", "tempEdge", TRUE, TRUE, Seq.empty)
+    val input = Distinct(originalExpand, Map("to" -> Variable("to")(pos)))
+
+    val rewrittenExpand = BFSPruningVarExpand(allNodes, fromId, dir, Seq.empty, toId, includeStartNode = false, Int.MaxValue, "tempNode", "tempEdge", TRUE, TRUE)
+    val expectedOutput = Distinct(rewrittenExpand, Map("to" -> Variable("to")(pos)))
+
+    rewrite(input) should equal(expectedOutput)
+  }
+
+  test("zero length var-lengths include the start node and keep their predicates") {
+    // Simplest query:
+    // match p=(a)-[*0..3]-(b) where all(n in nodes(p) where n.prop = 1) return distinct b
+
+    val fromId = "from"
+    val allNodes = AllNodesScan(fromId, Set.empty)
+    val dir = SemanticDirection.BOTH
+    val length = VarPatternLength(0, Some(3))
+    val toId = "to"
+    val relId = "r"
+    val nodePredicate = propEquality("tempNode", "prop", 1)
+    val legacyPredicates = Seq(varFor("n") -> propEquality("n", "prop", 1))
+    val originalExpand = VarExpand(allNodes, fromId, dir, dir, Seq.empty, toId, relId, length, ExpandAll, "tempNode", "tempEdge", nodePredicate, TRUE, legacyPredicates)
+    val input = Distinct(originalExpand, Map("to" -> Variable("to")(pos)))
+
+    val rewrittenExpand = BFSPruningVarExpand(allNodes, fromId, dir, Seq.empty, toId, includeStartNode = true, 3, "tempNode", "tempEdge", nodePredicate, TRUE, legacyPredicates)
+    val expectedOutput = Distinct(rewrittenExpand, Map("to" -> Variable("to")(pos)))
+
+    rewrite(input) should equal(expectedOutput)
+  }
+
+  test("do not use pruning for unbounded var-lengths longer than 1") {
+    // Simplest query:
+    // match (a)-[*2..]->(b) return distinct b
+
+    val fromId = "from"
+    val allNodes = AllNodesScan(fromId, Set.empty)
+    val dir = SemanticDirection.BOTH
+    val length = VarPatternLength(2, None)
+    val toId = "to"
+    val relId = "r"
+    val originalExpand = VarExpand(allNodes, fromId, dir, dir, Seq.empty, toId, relId, length, ExpandAll, "tempNode", "tempEdge", TRUE, TRUE, Seq.empty)
+    val input = Distinct(originalExpand, Map("to" -> Variable("to")(pos)))
+
+    assertNotRewritten(input)
+  }
+
   test("do not use pruning for length=1") {
     // Simplest query:
     // match (a)-[*1..1]->(b) return distinct b
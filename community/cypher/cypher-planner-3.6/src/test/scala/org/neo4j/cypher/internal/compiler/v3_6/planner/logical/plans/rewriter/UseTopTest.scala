@@ -46,6 +46,13 @@ class UseTopTest extends CypherFunSuite with LogicalPlanningTestSupport with Ast
     rewrite(original) should equal(original)
   }
 
+  test("should use PartialTop when possible") {
+    val partialSort = PartialSort(leaf, sortDescription, Seq(Descending("y")))
+    val limit = Limit(partialSort, lit10, DoNotIncludeTies)
+
+    rewrite(limit) should equal(PartialTop(leaf, sortDescription, Seq(Descending("y")), lit10))
+  }
+
   private def rewrite(p: LogicalPlan): LogicalPlan =
     fixedPoint((p: LogicalPlan) => p.endoRewrite(useTop))(p)
 }
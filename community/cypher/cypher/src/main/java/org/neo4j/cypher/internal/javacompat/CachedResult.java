@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.javacompat;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.neo4j.cypher.result.QueryResult;
+import org.neo4j.graphdb.ExecutionPlanDescription;
+import org.neo4j.graphdb.Notification;
+import org.neo4j.graphdb.QueryExecutionType;
+import org.neo4j.graphdb.QueryStatistics;
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.graphdb.Result;
+import org.neo4j.kernel.impl.util.ValueUtils;
+import org.neo4j.values.AnyValue;
+
+import static java.lang.System.lineSeparator;
+
+/**
+ * Fully materialized result of a query, as kept in the result cache of the Cypher execution engine.
+ * <p>
+ * The rows are immutable and shared by all results replayed from the same cached result, see {@link #replay()}, each
+ * of which iterates over them independently. Like {@link EagerResult}, this does not hold on to the transaction the
+ * query was executed in.
+ * <p>
+ * A result with more rows than can be cached is only materialized up to that number of rows, see
+ * {@link #materialize(Result, int)}. Such a result is not {@link #isComplete() complete}, and streams the remaining
+ * rows from the original result after the materialized ones.
+ */
+public class CachedResult implements Result, QueryResultProvider
+{
+    private static final String ITEM_SEPARATOR = ", ";
+    private final List<String> columns;
+    private final List<Map<String,Object>> rows;
+    private final QueryExecutionType executionType;
+    private final QueryStatistics statistics;
+    private final ExecutionPlanDescription planDescription;
+    private final List<Notification> notifications;
+    private final Result remainder;
+    private int cursor;
+
+    private CachedResult( List<String> columns, List<Map<String,Object>> rows, QueryExecutionType executionType,
+            QueryStatistics statistics, ExecutionPlanDescription planDescription, List<Notification> notifications )
+    {
+        this.columns = columns;
+        this.rows = rows;
+        this.executionType = executionType;
+        this.statistics = statistics;
+        this.planDescription = planDescription;
+        this.notifications = notifications;
+        this.remainder = null;
+    }
+
+    private CachedResult( List<String> columns, List<Map<String,Object>> rows, Result remainder )
+    {
+        this.columns = columns;
+        this.rows = rows;
+        this.executionType = remainder.getQueryExecutionType();
+        this.statistics = null;
+        this.planDescription = null;
+        this.notifications = null;
+        this.remainder = remainder;
+    }
+
+    /**
+     * Consumes and closes the given result.
+     *
+     * @param result the result to materialize.
+     * @return a cached result with all rows of the given result.
+     */
+    public static CachedResult materialize( Result result )
+    {
+        return materialize( result, Integer.MAX_VALUE );
+    }
+
+    /**
+     * Consumes and closes the given result if it has at most {@code maximumRows} rows. Otherwise only the first
+     * {@code maximumRows} rows are consumed, and the returned result is not {@link #isComplete() complete}: it
+     * streams the rest of the given result, which is closed when the returned result is closed.
+     *
+     * @param result the result to materialize.
+     * @param maximumRows the maximum number of rows to materialize.
+     * @return a cached result with at most {@code maximumRows} materialized rows of the given result.
+     */
+    public static CachedResult materialize( Result result, int maximumRows )
+    {
+        boolean streaming = false;
+        try
+        {
+            List<String> columns = Collections.unmodifiableList( new ArrayList<>( result.columns() ) );
+            List<Map<String,Object>> rows = new ArrayList<>();
+            while ( rows.size() < maximumRows && result.hasNext() )
+            {
+                rows.add( Collections.unmodifiableMap( new LinkedHashMap<>( result.next() ) ) );
+            }
+            if ( result.hasNext() )
+            {
+                streaming = true;
+                return new CachedResult( columns, Collections.unmodifiableList( rows ), result );
+            }
+            List<Notification> notifications = new ArrayList<>();
+            result.getNotifications().forEach( notifications::add );
+            return new CachedResult( columns, Collections.unmodifiableList( rows ),
+                    result.getQueryExecutionType(), result.getQueryStatistics(), result.getExecutionPlanDescription(),
+                    Collections.unmodifiableList( notifications ) );
+        }
+        finally
+        {
+            if ( !streaming )
+            {
+                result.close();
+            }
+        }
+    }
+
+    /**
+     * @return a new result over the same rows, positioned before the first row.
+     * @throws IllegalStateException if this result is not complete, since the remaining rows can only be streamed
+     * once.
+     */
+    public CachedResult replay()
+    {
+        if ( !isComplete() )
+        {
+            throw new IllegalStateException( "Only complete results can be replayed" );
+        }
+        return new CachedResult( columns, rows, executionType, statistics, planDescription, notifications );
+    }
+
+    /**
+     * @return the number of materialized rows in this result.
+     */
+    public int size()
+    {
+        return rows.size();
+    }
+
+    /**
+     * @return true if all rows of this result are materialized, and false if it streams the rest of the original
+     * result.
+     */
+    public boolean isComplete()
+    {
+        return remainder == null;
+    }
+
+    @Override
+    public QueryExecutionType getQueryExecutionType()
+    {
+        return executionType;
+    }
+
+    @Override
+    public List<String> columns()
+    {
+        return columns;
+    }
+
+    @Override
+    public <T> ResourceIterator<T> columnAs( String name )
+    {
+        return new CachedResultResourceIterator<>( name );
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        return cursor < rows.size() || ( remainder != null && remainder.hasNext() );
+    }
+
+    @Override
+    public Map<String,Object> next()
+    {
+        if ( !hasNext() )
+        {
+            throw new NoSuchElementException();
+        }
+        return cursor < rows.size() ? rows.get( cursor++ ) : remainder.next();
+    }
+
+    @Override
+    public void close()
+    {
+        // a complete result does not hold on to the transaction of the original result
+        if ( remainder != null )
+        {
+            remainder.close();
+        }
+    }
+
+    @Override
+    public QueryStatistics getQueryStatistics()
+    {
+        return remainder != null ? remainder.getQueryStatistics() : statistics;
+    }
+
+    @Override
+    public ExecutionPlanDescription getExecutionPlanDescription()
+    {
+        return remainder != null ? remainder.getExecutionPlanDescription() : planDescription;
+    }
+
+    @Override
+    public QueryResult queryResult()
+    {
+        return new CachedQueryResult();
+    }
+
+    @Override
+    public String resultAsString()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append( String.join( ITEM_SEPARATOR, columns ) );
+        while ( hasNext() )
+        {
+            builder.append( lineSeparator() );
+            Map<String,Object> row = next();
+            for ( int i = 0; i < columns.size(); i++ )
+            {
+                if ( i > 0 )
+                {
+                    builder.append( ITEM_SEPARATOR );
+                }
+                builder.append( row.get( columns.get( i ) ) );
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public void writeAsStringTo( PrintWriter writer )
+    {
+        writer.print( resultAsString() );
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException( "Not supported" );
+    }
+
+    @Override
+    public Iterable<Notification> getNotifications()
+    {
+        return remainder != null ? remainder.getNotifications() : notifications;
+    }
+
+    @Override
+    public <VisitationException extends Exception> void accept( ResultVisitor<VisitationException> visitor )
+            throws VisitationException
+    {
+        while ( hasNext() )
+        {
+            if ( !visitor.visit( new MapRow( next() ) ) )
+            {
+                break;
+            }
+        }
+    }
+
+    private class CachedResultResourceIterator<T> implements ResourceIterator<T>
+    {
+        private final String column;
+
+        CachedResultResourceIterator( String column )
+        {
+            this.column = column;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return CachedResult.this.hasNext();
+        }
+
+        @Override
+        @SuppressWarnings( "unchecked" )
+        public T next()
+        {
+            return (T) CachedResult.this.next().get( column );
+        }
+
+        @Override
+        public void close()
+        {
+            // Nothing to close.
+        }
+    }
+
+    private class CachedQueryResult implements QueryResult
+    {
+        private final String[] fields = columns.toArray( new String[0] );
+
+        @Override
+        public String[] fieldNames()
+        {
+            return fields;
+        }
+
+        @Override
+        public <E extends Exception> void accept( QueryResultVisitor<E> visitor ) throws E
+        {
+            while ( hasNext() )
+            {
+                Map<String,Object> row = next();
+                AnyValue[] anyValues = new AnyValue[fields.length];
+                for ( int i = 0; i < fields.length; i++ )
+                {
+                    anyValues[i] = ValueUtils.of( row.get( fields[i] ) );
+                }
+                if ( !visitor.visit( () -> anyValues ) )
+                {
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public QueryExecutionType executionType()
+        {
+            return executionType;
+        }
+
+        @Override
+        public QueryStatistics queryStatistics()
+        {
+            return getQueryStatistics();
+        }
+
+        @Override
+        public ExecutionPlanDescription executionPlanDescription()
+        {
+            return getExecutionPlanDescription();
+        }
+
+        @Override
+        public Iterable<Notification> getNotifications()
+        {
+            return CachedResult.this.getNotifications();
+        }
+
+        @Override
+        public void close()
+        {
+            CachedResult.this.close();
+        }
+    }
+}
@@ -33,15 +33,21 @@ import org.neo4j.cypher.internal.tracing.CompilationTracer;
 import org.neo4j.cypher.internal.tracing.TimingCompilationTracer;
 import org.neo4j.graphdb.DependencyResolver;
 import org.neo4j.graphdb.Result;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.GraphDatabaseQueryService;
+import org.neo4j.kernel.NeoStoreDataSource;
+import org.neo4j.kernel.availability.DatabaseAvailabilityGuard;
 import org.neo4j.kernel.impl.query.QueryExecution;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
 import org.neo4j.kernel.impl.query.QueryExecutionKernelException;
 import org.neo4j.kernel.impl.query.ResultBuffer;
 import org.neo4j.kernel.impl.query.TransactionalContext;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.kernel.monitoring.Monitors;
 import org.neo4j.logging.LogProvider;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.values.virtual.MapValue;
 
 /**
@@ -51,9 +57,10 @@ import org.neo4j.values.virtual.MapValue;
  * operation so please make sure this will be constructed only once and properly reused.
  *
  */
-public class ExecutionEngine implements QueryExecutionEngine
+public class ExecutionEngine extends LifecycleAdapter implements QueryExecutionEngine
 {
     private org.neo4j.cypher.internal.ExecutionEngine inner;
+    private QueryCacheWarmup warmup;
 
     /**
      * Creates an execution engine around the give graph database
@@ -77,6 +84,32 @@ public class ExecutionEngine implements QueryExecutionEngine
                                                                compilerFactory,
                                                                logProvider,
                                                                Clock.systemUTC() );
+        if ( config.get( GraphDatabaseSettings.query_cache_warmup ) )
+        {
+            warmup = new QueryCacheWarmup( inner, queryService, resolver.resolveDependency( FileSystemAbstraction.class ),
+                    config.get( GraphDatabaseSettings.query_cache_warmup_directory ),
+                    resolver.resolveDependency( NeoStoreDataSource.class ).getDatabaseLayout().getDatabaseName(),
+                    resolver.resolveDependency( JobScheduler.class ), resolver.resolveDependency( DatabaseAvailabilityGuard.class ),
+                    config.get( GraphDatabaseSettings.read_only ), logProvider );
+        }
+    }
+
+    @Override
+    public void start()
+    {
+        if ( warmup != null )
+        {
+            warmup.start();
+        }
+    }
+
+    @Override
+    public void shutdown()
+    {
+        if ( warmup != null )
+        {
+            warmup.shutdown();
+        }
     }
 
     @Override
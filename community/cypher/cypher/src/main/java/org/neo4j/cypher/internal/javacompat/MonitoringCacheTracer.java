@@ -64,6 +64,12 @@ public class MonitoringCacheTracer implements CacheTracer<Pair<String,scala.coll
         monitor.cacheDiscard( queryKey, metaData, secondsSincePlan );
     }
 
+    @Override
+    public void queryCacheReplannedInBackground( Pair<String,Map<String,Class<?>>> queryKey, String metaData )
+    {
+        monitor.cacheReplannedInBackground( queryKey );
+    }
+
     @Override
     public void queryCacheFlush( long sizeOfCacheBeforeFlush )
     {
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.javacompat;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.cypher.internal.ExecutionEngine;
+import org.neo4j.cypher.internal.PersistedQueryCache;
+import org.neo4j.helpers.collection.Pair;
+import org.neo4j.internal.kernel.api.security.LoginContext;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.kernel.GraphDatabaseQueryService;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.availability.AvailabilityListener;
+import org.neo4j.kernel.availability.DatabaseAvailabilityGuard;
+import org.neo4j.kernel.impl.coreapi.InternalTransaction;
+import org.neo4j.kernel.impl.coreapi.PropertyContainerLocker;
+import org.neo4j.kernel.impl.query.Neo4jTransactionalContextFactory;
+import org.neo4j.kernel.impl.query.TransactionalContext;
+import org.neo4j.kernel.impl.query.TransactionalContextFactory;
+import org.neo4j.kernel.impl.query.clientconnection.ClientConnectionInfo;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.Log;
+import org.neo4j.logging.LogProvider;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.values.virtual.MapValue;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Keeps the query cache warm across restarts. The keys of the cached queries are saved to a file in the query cache
+ * directory every few minutes while the database is available, and when it becomes unavailable. When the database
+ * becomes available, the queries of the saved keys are compiled again in the background. Queries that could contain
+ * a password are not saved, see {@link PersistedQueryCache#canBeWritten(String)}.
+ * <p>
+ * Only the keys are saved, not the plans, so the warmed up queries are planned from the statistics of the database
+ * as they are at that time.
+ * <p>
+ * The warmup belongs to one execution engine, and keeps listening to the availability of the database, which can
+ * come and go several times, until the execution engine is shut down.
+ */
+class QueryCacheWarmup extends LifecycleAdapter implements AvailabilityListener
+{
+    static final String FILE_NAME = "query-cache-keys";
+    private static final long SAVE_INTERVAL_MINUTES = 5;
+
+    private final ExecutionEngine engine;
+    private final GraphDatabaseQueryService queryService;
+    private final FileSystemAbstraction fs;
+    private final File file;
+    private final JobScheduler scheduler;
+    private final DatabaseAvailabilityGuard availabilityGuard;
+    private final boolean readOnly;
+    private final Log log;
+    private volatile boolean available;
+    private JobHandle warmupJob;
+    private JobHandle saveJob;
+
+    QueryCacheWarmup( ExecutionEngine engine, GraphDatabaseQueryService queryService, FileSystemAbstraction fs, File queryCacheDirectory,
+            String databaseName, JobScheduler scheduler, DatabaseAvailabilityGuard availabilityGuard, boolean readOnly, LogProvider logProvider )
+    {
+        this.engine = engine;
+        this.queryService = queryService;
+        this.fs = fs;
+        this.file = new File( new File( queryCacheDirectory, databaseName ), FILE_NAME );
+        this.scheduler = scheduler;
+        this.availabilityGuard = availabilityGuard;
+        this.readOnly = readOnly;
+        this.log = logProvider.getLog( getClass() );
+    }
+
+    @Override
+    public void start()
+    {
+        availabilityGuard.addListener( this );
+    }
+
+    @Override
+    public void shutdown()
+    {
+        availabilityGuard.removeListener( this );
+        unavailable();
+    }
+
+    @Override
+    public synchronized void available()
+    {
+        available = true;
+        warmupJob = scheduler.schedule( Group.CYPHER_CACHE_WARMUP, this::warmup );
+        if ( !readOnly )
+        {
+            saveJob = scheduler.scheduleRecurring( Group.CYPHER_CACHE_WARMUP, this::save, SAVE_INTERVAL_MINUTES, TimeUnit.MINUTES );
+        }
+    }
+
+    @Override
+    public synchronized void unavailable()
+    {
+        if ( !available )
+        {
+            return;
+        }
+        available = false;
+        warmupJob.cancel( false );
+        if ( saveJob != null )
+        {
+            saveJob.cancel( false );
+            saveJob = null;
+            save();
+        }
+    }
+
+    void warmup()
+    {
+        List<Pair<String,MapValue>> queries;
+        try ( DataInputStream in = new DataInputStream( fs.openAsInputStream( file ) ) )
+        {
+            queries = PersistedQueryCache.read( in );
+        }
+        catch ( IOException e )
+        {
+            if ( fs.fileExists( file ) )
+            {
+                log.warn( "Unable to read the saved query cache keys from " + file + ", the query cache will not be warmed up", e );
+            }
+            return;
+        }
+
+        TransactionalContextFactory contextFactory = Neo4jTransactionalContextFactory.create( queryService, new PropertyContainerLocker() );
+        int compiled = 0;
+        for ( Pair<String,MapValue> query : queries )
+        {
+            if ( !available )
+            {
+                return;
+            }
+            try ( InternalTransaction tx = queryService.beginTransaction( KernelTransaction.Type.implicit, LoginContext.AUTH_DISABLED ) )
+            {
+                TransactionalContext context =
+                        contextFactory.newContext( ClientConnectionInfo.EMBEDDED_CONNECTION, tx, query.first(), query.other() );
+                engine.compile( query.first(), query.other(), context );
+                context.close( true );
+                tx.success();
+                compiled++;
+            }
+            catch ( RuntimeException e )
+            {
+                log.debug( "Unable to warm up the query cache with query: " + query.first(), e );
+            }
+        }
+        log.info( "Warmed up the query cache with %d of %d saved queries", compiled, queries.size() );
+    }
+
+    synchronized void save()
+    {
+        File tempFile = new File( file.getParentFile(), FILE_NAME + ".tmp" );
+        try
+        {
+            fs.mkdirs( file.getParentFile() );
+            try ( DataOutputStream out = new DataOutputStream( fs.openAsOutputStream( tempFile, false ) ) )
+            {
+                PersistedQueryCache.write( engine.cachedQueries(), out );
+            }
+            fs.renameFile( tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE );
+        }
+        catch ( IOException e )
+        {
+            log.warn( "Unable to save the query cache keys to " + file, e );
+        }
+    }
+}
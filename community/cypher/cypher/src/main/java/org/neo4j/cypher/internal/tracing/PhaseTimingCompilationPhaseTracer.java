@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.tracing;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.neo4j.cypher.internal.v3_6.frontend.phases.CompilationPhaseTracer;
+import org.neo4j.cypher.internal.v3_6.frontend.phases.CompilationPhaseTracer.CompilationPhase;
+
+/**
+ * Tracer that sums up the time spent in each compilation phase of a single query, and passes all events on to a
+ * delegate tracer. Phases that are entered several times, e.g. once per query part, are reported as one total.
+ */
+public class PhaseTimingCompilationPhaseTracer implements CompilationPhaseTracer
+{
+    private final TimingCompilationTracer.Clock clock;
+    private final CompilationPhaseTracer delegate;
+    private final Map<CompilationPhase,Long> phaseTimes = new EnumMap<>( CompilationPhase.class );
+
+    public PhaseTimingCompilationPhaseTracer( CompilationPhaseTracer delegate )
+    {
+        this( TimingCompilationTracer.Clock.SYSTEM, delegate );
+    }
+
+    PhaseTimingCompilationPhaseTracer( TimingCompilationTracer.Clock clock, CompilationPhaseTracer delegate )
+    {
+        this.clock = clock;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompilationPhaseEvent beginPhase( CompilationPhase phase )
+    {
+        CompilationPhaseEvent event = delegate.beginPhase( phase );
+        long start = clock.nanoTime();
+        return () ->
+        {
+            phaseTimes.merge( phase, clock.nanoTime() - start, Long::sum );
+            event.close();
+        };
+    }
+
+    /**
+     * @return nanoseconds spent in each compilation phase entered so far, in the order of the phases.
+     */
+    public Map<CompilationPhase,Long> phaseTimes()
+    {
+        return Collections.unmodifiableMap( phaseTimes );
+    }
+}
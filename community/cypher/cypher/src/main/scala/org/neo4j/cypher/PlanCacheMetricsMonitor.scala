@@ -31,13 +31,20 @@ import org.neo4j.helpers.collection.Pair
 class PlanCacheMetricsMonitor extends StringCacheMonitor {
   private val counter = new AtomicLong()
   private val waitTime = new AtomicLong()
+  private val backgroundReplans = new AtomicLong()
 
   override def cacheDiscard(ignored1: Pair[String, ParameterTypeMap], ignored2: String, secondsSinceReplan: Int): Unit = {
     counter.incrementAndGet()
     waitTime.addAndGet(secondsSinceReplan)
   }
 
+  override def cacheReplannedInBackground(ignored: Pair[String, ParameterTypeMap]): Unit = {
+    backgroundReplans.incrementAndGet()
+  }
+
   def numberOfReplans: Long = counter.get()
 
+  def numberOfBackgroundReplans: Long = backgroundReplans.get()
+
   def replanWaitTime: Long = waitTime.get()
 }
@@ -46,6 +46,7 @@ object CypherConfiguration {
       config.get(GraphDatabaseSettings.cypher_hints_error),
       config.get(GraphDatabaseSettings.cypher_idp_solver_table_threshold).toInt,
       config.get(GraphDatabaseSettings.cypher_idp_solver_duration_threshold).toLong,
+      config.get(GraphDatabaseSettings.cypher_idp_solver_total_duration_threshold).toLong,
       config.get(GraphDatabaseSettings.forbid_exhaustive_shortestpath),
       config.get(GraphDatabaseSettings.forbid_shortestpath_common_nodes),
       config.get(GraphDatabaseSettings.csv_legacy_quote_escaping),
@@ -57,7 +58,9 @@ object CypherConfiguration {
       config.get(GraphDatabaseSettings.cypher_morsel_size),
       config.get(GraphDatabaseSettings.enable_morsel_runtime_trace),
       config.get(GraphDatabaseSettings.cypher_task_wait),
-      config.get(GraphDatabaseSettings.cypher_expression_recompilation_limit)
+      config.get(GraphDatabaseSettings.cypher_expression_recompilation_limit),
+      config.get(GraphDatabaseSettings.cypher_replan_in_background),
+      config.get(GraphDatabaseSettings.cypher_result_cache_size).toInt
     )
   }
 
@@ -83,6 +86,7 @@ case class CypherConfiguration(version: CypherVersion,
                                useErrorsOverWarnings: Boolean,
                                idpMaxTableSize: Int,
                                idpIterationDuration: Long,
+                               idpTotalDuration: Long,
                                errorIfShortestPathFallbackUsedAtRuntime: Boolean,
                                errorIfShortestPathHasCommonNodesAtRuntime: Boolean,
                                legacyCsvQuoteEscaping: Boolean,
@@ -94,7 +98,9 @@ case class CypherConfiguration(version: CypherVersion,
                                morselSize: Int,
                                doSchedulerTracing: Boolean,
                                waitTimeout: Int,
-                               recompilationLimit: Int) {
+                               recompilationLimit: Int,
+                               replanInBackground: Boolean,
+                               resultCacheSize: Int) {
 
   def toCypherRuntimeConfiguration: CypherRuntimeConfiguration =
     CypherRuntimeConfiguration(
@@ -111,6 +117,7 @@ case class CypherConfiguration(version: CypherVersion,
       useErrorsOverWarnings = useErrorsOverWarnings,
       idpMaxTableSize = idpMaxTableSize,
       idpIterationDuration = idpIterationDuration,
+      idpTotalDuration = if (idpTotalDuration > 0) idpTotalDuration else Long.MaxValue,
       errorIfShortestPathFallbackUsedAtRuntime = errorIfShortestPathFallbackUsedAtRuntime,
       errorIfShortestPathHasCommonNodesAtRuntime = errorIfShortestPathHasCommonNodesAtRuntime,
       legacyCsvQuoteEscaping = legacyCsvQuoteEscaping,
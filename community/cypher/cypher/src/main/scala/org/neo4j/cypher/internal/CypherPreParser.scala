@@ -44,7 +44,7 @@ case object CypherPreParser extends org.parboiled.scala.Parser with Base {
   def Cypher: Rule1[ConfigurationOptions] = rule("CYPHER options") {
     keyword("CYPHER") ~~
       optional(VersionNumber) ~~
-      zeroOrMore(PlannerOption | RuntimeOption | ExpressionEngineOption | StrategyOption | DebugFlag, WS) ~~> ConfigurationOptions
+      zeroOrMore(PlannerOption | RuntimeOption | ExpressionEngineOption | StrategyOption | ResultCacheFlag | DebugFlag, WS) ~~> ConfigurationOptions
   }
 
   def PlannerOption: Rule1[PreParserOption] = rule("planner option") (
@@ -66,6 +66,10 @@ case object CypherPreParser extends org.parboiled.scala.Parser with Base {
     option("updateStrategy", "eager") ~ push(EagerOption)
   )
 
+  def ResultCacheFlag: Rule1[PreParserOption] = rule("result cache option")(
+    option("resultCache", "enabled") ~ push(ResultCacheOption)
+  )
+
   def VersionNumber: Rule1[VersionOption] = rule("Version") {
     group(Digits ~ "." ~ Digits) ~> VersionOption
   }
@@ -39,9 +39,12 @@ trait ExecutableQuery {
     * @param transactionalContext the transaction in which to execute
     * @param preParsedQuery the preparsed query to execute
     * @param params the parameters
+    * @param isCacheHit true if this executable query was taken from the query cache, rather than compiled for this
+    *                   execution
     * @return the query result
     */
-  def execute(transactionalContext: TransactionalContext, preParsedQuery: PreParsedQuery, params: MapValue): Result
+  def execute(transactionalContext: TransactionalContext, preParsedQuery: PreParsedQuery, params: MapValue,
+              isCacheHit: Boolean): Result
 
   /**
     * The reusability state of this executable query.
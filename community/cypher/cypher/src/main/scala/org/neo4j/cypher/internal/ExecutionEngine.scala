@@ -33,11 +33,16 @@ import org.neo4j.cypher.internal.tracing.CompilationTracer.QueryCompilationEvent
 import org.neo4j.cypher.{CypherExecutionMode, CypherExpressionEngineOption, ParameterNotFoundException, exceptionHandler}
 import org.neo4j.graphdb.Result
 import org.neo4j.helpers.collection.Pair
-import org.neo4j.internal.kernel.api.security.AccessMode
+import org.neo4j.internal.kernel.api.Transaction
+import org.neo4j.internal.kernel.api.security.{AccessMode, LoginContext}
 import org.neo4j.kernel.GraphDatabaseQueryService
-import org.neo4j.kernel.impl.query.{QueryExecutionMonitor, TransactionalContext}
+import org.neo4j.kernel.impl.coreapi.PropertyContainerLocker
+import org.neo4j.kernel.impl.query.clientconnection.ClientConnectionInfo
+import org.neo4j.kernel.impl.query.{Neo4jTransactionalContextFactory, QueryExecutionMonitor, TransactionalContext}
+import org.neo4j.kernel.impl.transaction.log.TransactionIdStore
 import org.neo4j.kernel.monitoring.Monitors
 import org.neo4j.logging.LogProvider
+import org.neo4j.scheduler.{Group, JobScheduler}
 import org.neo4j.values.virtual.MapValue
 
 trait StringCacheMonitor extends CypherCacheMonitor[Pair[String, ParameterTypeMap]]
@@ -62,6 +67,8 @@ class ExecutionEngine(val queryService: GraphDatabaseQueryService,
 
   private val preParser = new PreParser(config.version, config.planner, config.runtime, config.expressionEngineOption, config.queryCacheSize)
   private val lastCommittedTxIdProvider = LastCommittedTxIdProvider(queryService)
+  private val lastClosedTxIdProvider: () => Long =
+    () => queryService.getDependencyResolver.resolveDependency(classOf[TransactionIdStore]).getLastClosedTransactionId
   private def planReusabilitiy(executableQuery: ExecutableQuery,
                                transactionalContext: TransactionalContext): ReusabilityState =
     executableQuery.reusabilityState(lastCommittedTxIdProvider, transactionalContext)
@@ -79,13 +86,26 @@ class ExecutionEngine(val queryService: GraphDatabaseQueryService,
                                              config.statsDivergenceCalculator,
                                              lastCommittedTxIdProvider,
                                              planReusabilitiy)
+  private val backgroundReplanning =
+    if (config.replanInBackground) {
+      val scheduler = queryService.getDependencyResolver.resolveDependency(classOf[JobScheduler])
+      Some(BackgroundReplanning(scheduler.executor(Group.CYPHER_REPLANNING), clock, config.statsDivergenceCalculator.initialMillis, log))
+    } else None
+
   private val queryCache: QueryCache[String,Pair[String, ParameterTypeMap], ExecutableQuery] =
-    new QueryCache[String, Pair[String, ParameterTypeMap], ExecutableQuery](config.queryCacheSize, planStalenessCaller, cacheTracer)
+    new QueryCache[String, Pair[String, ParameterTypeMap], ExecutableQuery](config.queryCacheSize, planStalenessCaller, cacheTracer,
+                                                                            backgroundReplanning)
 
   private val masterCompiler: MasterCompiler = new MasterCompiler(config, new CompilerLibrary(compatibilityFactory))
 
   private val schemaHelper = new SchemaHelper(queryCache)
 
+  private val resultCache =
+    if (config.resultCacheSize > 0)
+      Some(new ResultCache(config.resultCacheSize, lastCommittedTxIdProvider, lastClosedTxIdProvider,
+                           kernelMonitors.newMonitor(classOf[ResultCacheMonitor])))
+    else None
+
   // ACTUAL FUNCTIONALITY
 
   def profile(query: String, params: MapValue, context: TransactionalContext): Result =
@@ -94,17 +114,17 @@ class ExecutionEngine(val queryService: GraphDatabaseQueryService,
   def execute(query: String, params: MapValue, context: TransactionalContext, profile: Boolean = false): Result = {
     val queryTracer = tracer.compileQuery(query)
 
-    def parseAndCompile: (ExecutableQuery, PreParsedQuery, MapValue) = {
+    def parseAndCompile: (ExecutableQuery, Boolean, PreParsedQuery, MapValue) = {
       try {
         val preParsedQuery = preParser.preParseQuery(query, profile)
-        val executableQuery = getOrCompile(context, preParsedQuery, queryTracer, params)
+        val (executableQuery, isCacheHit) = getOrCompile(context, preParsedQuery, queryTracer, params)
         if (preParsedQuery.executionMode.name != "explain") {
           checkParameters(executableQuery.paramNames, params, executableQuery.extractedParams)
         }
         val combinedParams = params.updatedWith(executableQuery.extractedParams)
         context.executingQuery().compilationCompleted(executableQuery.compilerInfo, supplier(executableQuery.planDescription()))
 
-        (executableQuery, preParsedQuery, combinedParams)
+        (executableQuery, isCacheHit, preParsedQuery, combinedParams)
 
       } catch {
         case up: Throwable =>
@@ -115,8 +135,18 @@ class ExecutionEngine(val queryService: GraphDatabaseQueryService,
     }
 
     try {
-      val (executableQuery, preParsedQuery, combinedParams) = parseAndCompile
-      executableQuery.execute(context, preParsedQuery, combinedParams)
+      val (executableQuery, isCacheHit, preParsedQuery, combinedParams) = parseAndCompile
+      val execute = () => executableQuery.execute(context, preParsedQuery, combinedParams, isCacheHit)
+      resultCache match {
+        case Some(cache) if cachesResult(preParsedQuery, context) =>
+          cache.getOrExecute(preParsedQuery.statementWithVersionAndPlanner, combinedParams, context.securityContext().description(),
+                             execute, () => {
+                               context.close(true)
+                               queryExecutionMonitor.endSuccess(context.executingQuery())
+                             })
+        case _ =>
+          execute()
+      }
     } catch {
       case t: Throwable =>
         context.close(false)
@@ -124,6 +154,21 @@ class ExecutionEngine(val queryService: GraphDatabaseQueryService,
     } finally queryTracer.close()
   }
 
+  /**
+    * Compiles the query and puts it in the query cache, unless it's there already, without executing it.
+    */
+  def compile(query: String, params: MapValue, context: TransactionalContext): Unit = {
+    val queryTracer = tracer.compileQuery(query)
+    try getOrCompile(context, preParser.preParseQuery(query), queryTracer, params)
+    finally queryTracer.close()
+  }
+
+  /**
+    * @return the cache keys of all cached queries, as query text including pre-parser options together with parameter types.
+    *         Pre-parsing the query text of a key gives a query with the same cache key again.
+    */
+  def cachedQueries: Seq[Pair[String, ParameterTypeMap]] = queryCache.keys
+
   /*
    * Return the primary and secondary compile to be used
    *
@@ -157,7 +202,7 @@ class ExecutionEngine(val queryService: GraphDatabaseQueryService,
                            preParsedQuery: PreParsedQuery,
                            tracer: QueryCompilationEvent,
                            params: MapValue
-                          ): ExecutableQuery = {
+                          ): (ExecutableQuery, Boolean) = {
     val cacheKey = Pair.of(preParsedQuery.statementWithVersionAndPlanner, QueryCache.extractParameterTypeMap(params))
 
     // create transaction and query context
@@ -165,6 +210,8 @@ class ExecutionEngine(val queryService: GraphDatabaseQueryService,
     val compilerAuthorization = tc.restrictCurrentTransaction(tc.securityContext.withMode(AccessMode.Static.READ))
 
     try {
+      // the query compiled by this call, if any, which is found in the cache on the next attempt
+      var compiled: ExecutableQuery = null
       var n = 0
       while (n < ExecutionEngine.PLAN_BUILDING_TRIES) {
 
@@ -174,18 +221,21 @@ class ExecutionEngine(val queryService: GraphDatabaseQueryService,
                                                             tc,
                                                             primaryCompiler,
                                                             secondaryCompiler,
-                                                            preParsedQuery.rawStatement)
+                                                            preParsedQuery.rawStatement,
+                                                            backgroundReplanning.map(_ => () => compileInOwnTransaction(preParsedQuery, params)))
         cacheLookup match {
           case _: CacheHit[_] |
                _: CacheDisabled[_] =>
             val executableQuery = cacheLookup.executableQuery
             if (schemaHelper.lockLabels(schemaToken, executableQuery, preParsedQuery.version, tc)) {
               tc.cleanForReuse()
-              return executableQuery
+              val isCacheHit = cacheLookup.isInstanceOf[CacheHit[_]] && !(executableQuery eq compiled)
+              return (executableQuery, isCacheHit)
             }
           case CacheMiss(executableQuery) =>
             // Do nothing. In the next attempt we will find the plan in the cache and
             // used it unless the schema has changed during planning.
+            compiled = executableQuery
         }
 
         n += 1
@@ -197,8 +247,29 @@ class ExecutionEngine(val queryService: GraphDatabaseQueryService,
     throw new IllegalStateException("Could not compile query due to insanely frequent schema changes")
   }
 
+  /*
+   * Compile the query in a new transaction, for replanning it in the background.
+   */
+  private def compileInOwnTransaction(preParsedQuery: PreParsedQuery, params: MapValue): ExecutableQuery = {
+    val queryTracer = tracer.compileQuery(preParsedQuery.rawStatement)
+    val tx = queryService.beginTransaction(Transaction.Type.`implicit`, LoginContext.AUTH_DISABLED)
+    try {
+      val context = Neo4jTransactionalContextFactory.create(queryService, new PropertyContainerLocker)
+        .newContext(ClientConnectionInfo.EMBEDDED_CONNECTION, tx, preParsedQuery.rawStatement, params)
+      try {
+        val (primaryCompiler, _) = compilers(preParsedQuery, queryTracer, context, params)
+        val executableQuery = primaryCompiler()
+        tx.success()
+        executableQuery
+      } finally context.close(true)
+    } finally {
+      tx.close()
+      queryTracer.close()
+    }
+  }
+
   def clearQueryCaches(): Long =
-    List(masterCompiler.clearCaches(), queryCache.clear(), preParser.clearCache()).max
+    List(masterCompiler.clearCaches(), queryCache.clear(), preParser.clearCache(), resultCache.map(_.clear()).getOrElse(0L)).max
 
   /**
     * @return { @code true} if the query is a PERIODIC COMMIT query and not an EXPLAIN query
@@ -210,10 +281,22 @@ class ExecutionEngine(val queryService: GraphDatabaseQueryService,
 
   // HELPERS
 
+  /*
+   * Results are only cached for queries that ask for it, and not if they might depend on changes in the current transaction.
+   */
+  private def cachesResult(preParsedQuery: PreParsedQuery, context: TransactionalContext): Boolean =
+    preParsedQuery.cacheResult &&
+      preParsedQuery.executionMode == CypherExecutionMode.normal &&
+      !preParsedQuery.isPeriodicCommit &&
+      !context.stateView().hasTxStateWithChanges
+
   @throws(classOf[ParameterNotFoundException])
   private def checkParameters(queryParams: Seq[String], givenParams: MapValue, extractedParams: MapValue) {
-    exceptionHandler.runSafely {
-      val missingKeys = queryParams.filter(key => !(givenParams.containsKey(key) || extractedParams.containsKey(key))).distinct
+    def isGiven(key: String) = givenParams.containsKey(key) || extractedParams.containsKey(key)
+
+    // this runs for every execution, so only collect the missing parameters if there are any
+    if (!queryParams.forall(isGiven)) exceptionHandler.runSafely {
+      val missingKeys = queryParams.filterNot(isGiven).distinct
       if (missingKeys.nonEmpty) {
         throw new ParameterNotFoundException("Expected parameter(s): " + missingKeys.mkString(", "))
       }
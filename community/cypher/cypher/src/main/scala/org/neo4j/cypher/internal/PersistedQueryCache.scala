@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal
+
+import java.io.{DataInput, DataOutput, IOException}
+import java.nio.charset.StandardCharsets.UTF_8
+import java.time._
+import java.util.{Collections, Locale}
+
+import org.neo4j.cypher.internal.QueryCache.ParameterTypeMap
+import org.neo4j.helpers.collection.Pair
+import org.neo4j.kernel.api.query.QueryObfuscation
+import org.neo4j.kernel.impl.util.ValueUtils
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.{CoordinateReferenceSystem, Values}
+import org.neo4j.values.virtual.{MapValue, VirtualValues}
+
+import scala.collection.JavaConverters._
+
+/**
+  * Reads and writes the keys of the query cache, so that the cache can be filled again by compiling the same queries,
+  * e.g. after a restart.
+  *
+  * A key is the query text, including pre-parser options, together with the types of the parameters. The types are
+  * turned back into parameters by using a representative value of each type, which gives the same cache key again
+  * when compiling. Keys with parameter types that have no representative value are dropped when reading.
+  *
+  * The query text is written as it is, so queries that could contain a password are never written.
+  */
+object PersistedQueryCache {
+
+  private val FORMAT_VERSION = 1
+
+  private val representativeValues: Map[String, AnyValue] = {
+    val javaValues: Seq[AnyRef] = Seq(
+      Long.box(0L), Int.box(0), Short.box(0.toShort), Byte.box(0.toByte), Double.box(0.0), Float.box(0.0f),
+      Boolean.box(true), Char.box(' '), " ",
+      Array[Long](), Array[Int](), Array[Short](), Array[Byte](), Array[Double](), Array[Float](),
+      Array[Boolean](), Array[Char](), Array[String](),
+      LocalDate.MIN, LocalTime.MIN, OffsetTime.MIN, LocalDateTime.MIN, ZonedDateTime.now(ZoneOffset.UTC), Duration.ZERO,
+      Collections.emptyList(), Collections.emptyMap())
+
+    val values: Seq[AnyValue] = javaValues.map(ValueUtils.of) ++ Seq(
+      Values.EMPTY_STRING,
+      Values.utf8Value(Array[Byte](' ')),
+      Values.NO_VALUE,
+      Values.pointValue(CoordinateReferenceSystem.Cartesian, 0.0, 0.0),
+      VirtualValues.EMPTY_MAP,
+      VirtualValues.EMPTY_LIST,
+      VirtualValues.fromArray(Values.longArray(Array[Long]())),
+      VirtualValues.range(0, 0, 1),
+      VirtualValues.node(0),
+      VirtualValues.relationship(0))
+
+    values.map(value => value.getClass.getName -> value).toMap
+  }
+
+  private val SECURITY_PROCEDURE_PREFIX = "dbms.security."
+
+  /**
+    * @return false for queries that call a security procedure, or that would be obfuscated in the query log because of a
+    *         password, since those must not end up on disk
+    */
+  def canBeWritten(statement: String): Boolean = {
+    val passwordParams = new java.util.HashSet[String]()
+    !statement.toLowerCase(Locale.ROOT).contains(SECURITY_PROCEDURE_PREFIX) &&
+      QueryObfuscation.obfuscateText(statement, passwordParams) == statement &&
+      passwordParams.isEmpty
+  }
+
+  /**
+    * Writes the given query cache keys, except for the ones that [[canBeWritten]] rejects.
+    *
+    * @return the number of keys written
+    */
+  def write(allKeys: Seq[Pair[String, ParameterTypeMap]], out: DataOutput): Int = {
+    val keys = allKeys.filter(key => canBeWritten(key.first()))
+    out.writeInt(FORMAT_VERSION)
+    out.writeInt(keys.size)
+    for (key <- keys) {
+      val statement = key.first().getBytes(UTF_8)
+      out.writeInt(statement.length)
+      out.write(statement)
+      val parameterTypes = key.other()
+      out.writeInt(parameterTypes.size)
+      for ((name, parameterType) <- parameterTypes) {
+        out.writeUTF(name)
+        out.writeUTF(parameterType.getName)
+      }
+    }
+    keys.size
+  }
+
+  /**
+    * Reads keys written by [[write]] as queries with parameters to compile.
+    */
+  def read(in: DataInput): java.util.List[Pair[String, MapValue]] = {
+    val version = in.readInt()
+    if (version != FORMAT_VERSION) {
+      throw new IOException(s"Unknown format version $version of persisted query cache")
+    }
+    val queries = for (_ <- 0 until in.readInt()) yield {
+      val statement = new Array[Byte](in.readInt())
+      in.readFully(statement)
+      val parameters = for (_ <- 0 until in.readInt()) yield (in.readUTF(), representativeValues.get(in.readUTF()))
+      if (parameters.forall(_._2.isDefined)) {
+        val (names, values) = parameters.unzip
+        Some(Pair.of(new String(statement, UTF_8), VirtualValues.map(names.toArray, values.map(_.get).toArray)))
+      } else None
+    }
+    queries.flatten.asJava
+  }
+}
@@ -39,6 +39,7 @@ case class PreParsedQuery(statement: String,
                           updateStrategy: CypherUpdateStrategy,
                           expressionEngine: CypherExpressionEngineOption,
                           debugOptions: Set[String],
+                          cacheResult: Boolean = false,
                           recompilationLimitReached: Boolean = false) {
 
   val statementWithVersionAndPlanner: String = {
@@ -90,6 +90,7 @@ class PreParser(configuredVersion: CypherVersion,
     val expressionEngine: PPOption[CypherExpressionEngineOption] = new PPOption(configuredExpressionEngine)
     val updateStrategy: PPOption[CypherUpdateStrategy] = new PPOption(CypherUpdateStrategy.default)
     var debugOptions: Set[String] = Set()
+    var cacheResult = false
 
     def parseOptions(options: Seq[PreParserOption]): Unit =
       for (option <- options) {
@@ -106,6 +107,8 @@ class PreParser(configuredVersion: CypherVersion,
             runtime.selectOrThrow(CypherRuntimeOption(r.name), "Can't specify multiple conflicting Cypher runtimes")
           case u: UpdateStrategyOption =>
             updateStrategy.selectOrThrow( CypherUpdateStrategy(u.name), "Can't specify multiple conflicting update strategies")
+          case ResultCacheOption =>
+            cacheResult = true
           case DebugOption(debug) =>
             debugOptions = debugOptions + debug.toLowerCase()
           case engine: ExpressionEnginePreParserOption =>
@@ -142,7 +145,8 @@ class PreParser(configuredVersion: CypherVersion,
                    runtime.pick,
                    updateStrategy.pick,
                    expressionEngine.pick,
-                   debugOptions)
+                   debugOptions,
+                   cacheResult)
   }
 
   private class PPOption[T](val default: T) {
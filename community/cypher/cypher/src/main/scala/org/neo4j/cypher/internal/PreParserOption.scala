@@ -43,6 +43,7 @@ case object MorselRuntimeOption extends RuntimePreParserOption("morsel")
 case object CompiledRuntimeOption extends RuntimePreParserOption("compiled")
 case object EagerOption extends UpdateStrategyOption("eager")
 case class DebugOption(key: String) extends PreParserOption
+case object ResultCacheOption extends PreParserOption
 case object CompiledExpressionOption extends ExpressionEnginePreParserOption("compiled")
 case object InterpretedExpressionOption extends ExpressionEnginePreParserOption("interpreted")
 
@@ -22,13 +22,19 @@
  */
 package org.neo4j.cypher.internal
 
+import java.time.Clock
+import java.util.concurrent.{ConcurrentHashMap, Executor}
+import java.util.concurrent.atomic.AtomicBoolean
+
 import com.github.benmanes.caffeine.cache.{Cache, Caffeine}
 import org.neo4j.cypher.internal.QueryCache.ParameterTypeMap
 import org.neo4j.helpers.collection.Pair
 import org.neo4j.kernel.impl.query.TransactionalContext
+import org.neo4j.logging.Log
 import org.neo4j.values.virtual.MapValue
 
 import scala.collection.JavaConversions._
+import scala.util.control.NonFatal
 
 /**
   * The result of one cache lookup.
@@ -52,34 +58,66 @@ trait CacheTracer[QUERY_KEY] {
 
   def queryCacheStale(queryKey: QUERY_KEY, secondsSincePlan: Int, metaData: String): Unit
 
+  def queryCacheReplannedInBackground(queryKey: QUERY_KEY, metaData: String): Unit
+
   def queryCacheFlush(sizeOfCacheBeforeFlush: Long): Unit
 }
 
+/**
+  * How to replan stale queries in the background.
+  *
+  * @param executor Executor to replan on
+  * @param clock Clock for rate limiting the replans
+  * @param minIntervalMillis Minimum time between two attempts to replan the same cached query
+  * @param log Log for failed replans
+  */
+case class BackgroundReplanning(executor: Executor, clock: Clock, minIntervalMillis: Long, log: Log)
+
 /**
   * Cache which maps query strings into CachedExecutableQueries.
   *
   * This cache knows that CachedExecutableQueries can become stale, and uses a
   * PlanStalenessCaller to verify that CEQs are reusable before returning. A CEQ
-  * which is detected in the cache, but is found to be stale
+  * which is detected in the cache, but is found to be stale is either recompiled
+  * right away, or, with background replanning, kept in use until a replacement has
+  * been compiled in the background.
   *
   * @param maximumSize Maximum size of this cache
   * @param stalenessCaller Decided whether CachedExecutionPlans are stale
   * @param tracer Traces cache activity
+  * @param backgroundReplanning How to replan stale queries in the background, if at all
   */
 class QueryCache[QUERY_REP <: AnyRef, QUERY_KEY <: Pair[QUERY_REP, ParameterTypeMap], EXECUTABLE_QUERY <: AnyRef](
-    val maximumSize: Int, val stalenessCaller: PlanStalenessCaller[EXECUTABLE_QUERY], val tracer: CacheTracer[Pair[QUERY_REP, ParameterTypeMap]]) {
+    val maximumSize: Int, val stalenessCaller: PlanStalenessCaller[EXECUTABLE_QUERY], val tracer: CacheTracer[Pair[QUERY_REP, ParameterTypeMap]],
+    val backgroundReplanning: Option[BackgroundReplanning] = None) {
 
   private val inner: Cache[QUERY_KEY, CachedValue] = Caffeine.newBuilder().maximumSize(maximumSize).build[QUERY_KEY, CachedValue]()
 
+  // Keys being replanned in the background, so that a key is never replanned more than once at the same time, even
+  // if its cached value has been replaced in the meantime
+  private val replanningKeys = ConcurrentHashMap.newKeySet[QUERY_KEY]()
+
   import QueryCache.NOT_PRESENT
 
   /*
-    * The cached value wraps the value and maintains a count of how many times it has been fetched from the cache
-    * and whether or not it has been recompiled.
+    * The cached value wraps the value and maintains a count of how many times it has been fetched from the cache,
+    * whether or not it has been recompiled, and whether it is being replanned in the background.
     */
   private class CachedValue(val value: EXECUTABLE_QUERY, val recompiled: Boolean) {
 
     @volatile private var _numberOfHits = 0
+    private val replanning = new AtomicBoolean()
+    @volatile private var earliestReplanMillis = Long.MinValue
+
+    def isReplanning: Boolean = replanning.get()
+
+    def tryStartReplanning(nowMillis: Long, minIntervalMillis: Long): Boolean =
+      nowMillis >= earliestReplanMillis && replanning.compareAndSet(false, true) && {
+        earliestReplanMillis = nowMillis + minIntervalMillis
+        true
+      }
+
+    def replanningFinished(): Unit = replanning.set(false)
 
     def markHit(): Unit = {
       if (!recompiled) {
@@ -113,13 +151,16 @@ class QueryCache[QUERY_REP <: AnyRef, QUERY_KEY <: Pair[QUERY_REP, ParameterType
     * @param compile Compiler to use if the query is not cached or stale
     * @param recompile Recompile function to use if the query is deemed hot
     * @param metaData String which will be passed to the CacheTracer
+    * @param compileInBackground Compiler to use for replanning a stale query in the background, which must not
+    *                            depend on the transaction of `tc`. Stale queries are replanned right away without it.
     * @return A CacheLookup with an CachedExecutionPlan
     */
   def computeIfAbsentOrStale(queryKey: QUERY_KEY,
                              tc: TransactionalContext,
                              compile: () => EXECUTABLE_QUERY,
                              recompile: (Int) => Option[EXECUTABLE_QUERY],
-                             metaData: String = ""
+                             metaData: String = "",
+                             compileInBackground: Option[() => EXECUTABLE_QUERY] = None
                             ): CacheLookup[EXECUTABLE_QUERY] = {
     if (maximumSize == 0)
       CacheDisabled(compile())
@@ -128,6 +169,11 @@ class QueryCache[QUERY_REP <: AnyRef, QUERY_KEY <: Pair[QUERY_REP, ParameterType
         case NOT_PRESENT =>
           compileAndCache(queryKey, tc, compile, metaData)
 
+        case cachedValue if cachedValue.isReplanning =>
+          //keep using the stale query until its replacement is ready
+          cachedValue.markHit()
+          hit(queryKey, cachedValue, metaData)
+
         case cachedValue =>
           //mark as seen from cache
           cachedValue.markHit()
@@ -148,13 +194,63 @@ class QueryCache[QUERY_REP <: AnyRef, QUERY_KEY <: Pair[QUERY_REP, ParameterType
 
               hit(queryKey, newCachedValue, metaData)
             case Stale(secondsSincePlan) =>
-              tracer.queryCacheStale(queryKey, secondsSincePlan, metaData)
-              compileAndCache(queryKey, tc, compile, metaData)
+              (backgroundReplanning, compileInBackground) match {
+                case (Some(replanning), Some(compileStale)) =>
+                  if (replanningKeys.add(queryKey)) {
+                    if (cachedValue.tryStartReplanning(replanning.clock.millis(), replanning.minIntervalMillis)) {
+                      tracer.queryCacheStale(queryKey, secondsSincePlan, metaData)
+                      replanInBackground(queryKey, cachedValue, replanning, compileStale, metaData)
+                    } else {
+                      replanningKeys.remove(queryKey)
+                    }
+                  }
+                  hit(queryKey, cachedValue, metaData)
+
+                case _ =>
+                  tracer.queryCacheStale(queryKey, secondsSincePlan, metaData)
+                  compileAndCache(queryKey, tc, compile, metaData)
+              }
           }
       }
     }
   }
 
+  /**
+    * Replan a stale query in the background, and replace it in the cache with the new query when done, unless
+    * it has been replaced or removed in the meantime. Until then, and if replanning fails, the stale query stays
+    * in use. Attempts to replan the same stale query are at least `minIntervalMillis` apart, and the same key is
+    * only replanned by one job at a time.
+    */
+  private def replanInBackground(queryKey: QUERY_KEY,
+                                 staleValue: CachedValue,
+                                 replanning: BackgroundReplanning,
+                                 compile: () => EXECUTABLE_QUERY,
+                                 metaData: String): Unit = {
+    try {
+      replanning.executor.execute(new Runnable {
+        override def run(): Unit = {
+          try {
+            val replanned = new CachedValue(compile(), recompiled = false)
+            if (inner.asMap().replace(queryKey, staleValue, replanned)) {
+              tracer.queryCacheReplannedInBackground(queryKey, metaData)
+            }
+          } catch {
+            case NonFatal(e) =>
+              replanning.log.warn(s"Failed to replan stale query in the background: $metaData", e)
+          } finally {
+            staleValue.replanningFinished()
+            replanningKeys.remove(queryKey)
+          }
+        }
+      })
+    } catch {
+      case NonFatal(e) =>
+        staleValue.replanningFinished()
+        replanningKeys.remove(queryKey)
+        replanning.log.warn(s"Unable to schedule replanning of stale query in the background: $metaData", e)
+    }
+  }
+
   /**
     * Ensure this query is recompiled and put it in the cache.
     *
@@ -186,6 +282,11 @@ class QueryCache[QUERY_REP <: AnyRef, QUERY_KEY <: Pair[QUERY_REP, ParameterType
     CacheMiss(newExecutableQuery)
   }
 
+  /**
+    * @return the keys of all queries currently in the cache
+    */
+  def keys: Seq[QUERY_KEY] = inner.asMap().keySet().toList
+
   /**
     * Method for clearing the LRUCache
     *
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal
+
+import com.github.benmanes.caffeine.cache.{Cache, Caffeine, Weigher}
+import org.neo4j.cypher.internal.javacompat.CachedResult
+import org.neo4j.graphdb.QueryExecutionType.QueryType
+import org.neo4j.graphdb.Result
+import org.neo4j.values.AnyValue
+import org.neo4j.values.virtual.{ListValue, MapValue}
+
+import scala.collection.JavaConverters._
+
+/**
+  * Monitor of result cache lookups, keyed by query text.
+  *
+  * The methods are deliberately named differently from those of the plan and AST cache monitors, since monitor
+  * listeners are called by method, and would otherwise also receive the events of those caches.
+  */
+trait ResultCacheMonitor {
+  def resultCacheHit(query: String) {}
+  def resultCacheMiss(query: String) {}
+}
+
+/**
+  * Cache of the results of read-only queries.
+  *
+  * A cached result is keyed by query text, parameters and security context, and is only reused as long as the last
+  * closed transaction id is the same as when the result was computed. The security context is described by the user and
+  * the access mode, which names the roles of the user with enterprise security, so users or roles with different
+  * permissions never share results. A result is only cached if the last committed and the last closed transaction were
+  * the same both before and after computing it: a committed transaction is only visible in the store once it is closed,
+  * so otherwise the query might have seen parts of a transaction. Parameters only match if they also have the same value
+  * types, since values that are equal in Cypher, like 1 and 1.0, can give different results.
+  *
+  * Results are materialized before being cached and returned. The size of the cache is bounded by the total number of
+  * rows of all cached results. Results with more rows than that are never cached: once that many rows have been
+  * materialized, the rest of the result is streamed instead.
+  *
+  * @param maximumRows Maximum total number of rows of all cached results
+  * @param lastCommittedTxId Provider of the id of the last committed transaction
+  * @param lastClosedTxId Provider of the id of the last closed transaction, i.e. the last one applied to the store
+  * @param monitor Monitor of cache hits and misses
+  */
+class ResultCache(val maximumRows: Int, lastCommittedTxId: () => Long, lastClosedTxId: () => Long, monitor: ResultCacheMonitor) {
+
+  private val inner: Cache[ResultCache.Key, ResultCache.Entry] =
+    Caffeine.newBuilder()
+      .maximumWeight(maximumRows)
+      .weigher(new Weigher[ResultCache.Key, ResultCache.Entry] {
+        override def weigh(key: ResultCache.Key, entry: ResultCache.Entry): Int = math.max(entry.result.size(), 1)
+      })
+      .build[ResultCache.Key, ResultCache.Entry]()
+
+  /**
+    * Returns the cached result for the given query, parameters and security context if it is still valid, or otherwise
+    * executes the query and caches its result if it is read-only.
+    *
+    * @param query query text, including pre-parser options that influence the result
+    * @param params all parameters of the query
+    * @param securityContext description of the user and access mode running the query, see
+    *                        [[org.neo4j.internal.kernel.api.security.SecurityContext#description]]
+    * @param execute executes the query
+    * @param reused called instead of executing the query when a cached result is reused
+    * @return the cached or newly computed result
+    */
+  def getOrExecute(query: String, params: MapValue, securityContext: String, execute: () => Result, reused: () => Unit): Result = {
+    val key = ResultCache.Key(query, params, ResultCache.valueTypes(params), securityContext)
+    val txId = lastClosedTxId()
+    val cached = inner.getIfPresent(key)
+    if (cached != null && cached.txId == txId) {
+      monitor.resultCacheHit(query)
+      reused()
+      cached.result.replay()
+    } else {
+      monitor.resultCacheMiss(query)
+      val cacheable = lastCommittedTxId() == txId
+      val result = execute()
+      if (result.getQueryExecutionType.queryType() != QueryType.READ_ONLY) {
+        result
+      } else {
+        val materialized = CachedResult.materialize(result, maximumRows)
+        if (!materialized.isComplete) {
+          materialized
+        } else {
+          if (cacheable && lastCommittedTxId() == txId && lastClosedTxId() == txId) {
+            inner.put(key, ResultCache.Entry(txId, materialized))
+          }
+          materialized.replay()
+        }
+      }
+    }
+  }
+
+  /**
+    * Clear all cached results.
+    *
+    * @return the number of cached results before clearing
+    */
+  def clear(): Long = {
+    val priorSize = inner.estimatedSize()
+    inner.invalidateAll()
+    inner.cleanUp()
+    priorSize
+  }
+}
+
+object ResultCache {
+  /**
+    * @param paramTypes the value types of the parameters, see [[valueTypes]]
+    */
+  case class Key(query: String, params: MapValue, paramTypes: AnyRef, securityContext: String)
+  case class Entry(txId: Long, result: CachedResult)
+
+  /**
+    * The exact types of a value, including those of nested list elements and map entries. Together with the value
+    * itself, this tells apart values that are equal in Cypher but of different types, like 1 and 1.0, "a" and 'a',
+    * or a list and an array of the same numbers.
+    */
+  def valueTypes(value: AnyValue): AnyRef = value match {
+    case map: MapValue => map.keySet().asScala.map(key => key -> valueTypes(map.get(key))).toMap
+    case list: ListValue => (classOf[ListValue], list.asScala.map(valueTypes).toList)
+    case _ => value.getClass
+  }
+}
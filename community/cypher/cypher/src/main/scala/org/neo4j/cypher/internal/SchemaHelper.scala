@@ -69,7 +69,10 @@ class SchemaHelper(val queryCache: QueryCache[_,_,_]) {
     import scala.collection.JavaConverters._
 
     def planLabels = {
-      plan.compilerInfo.indexes().asScala.collect { case item: SchemaIndexUsage => item.getLabelId.toLong }
+      val indexes = plan.compilerInfo.indexes()
+      // this runs for every execution, and most plans use no indexes
+      if (indexes.isEmpty) Nil
+      else indexes.asScala.collect { case item: SchemaIndexUsage => item.getLabelId.toLong }
     }
 
     def allLabels: Seq[Long] = {
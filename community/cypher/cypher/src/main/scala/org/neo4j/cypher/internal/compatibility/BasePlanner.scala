@@ -75,6 +75,7 @@ abstract class BasePlanner[STATEMENT <: AnyRef, PARSED_STATE <: AnyRef](
       override def queryCacheMiss(queryKey: STATEMENT, metaData: String): Unit = {}
       override def queryCacheFlush(sizeOfCacheBeforeFlush: Long): Unit = {}
       override def queryCacheRecompile(queryKey: STATEMENT, metaData: String): Unit = {}
+      override def queryCacheReplannedInBackground(queryKey: STATEMENT, metaData: String): Unit = {}
     }
 
   protected def createReusabilityState(logicalPlanState: LogicalPlanState,
@@ -101,6 +102,7 @@ trait CypherCacheHitMonitor[T] {
   def cacheMiss(key: T) {}
   def cacheDiscard(key: T, userKey: String, secondsSinceReplan: Int) {}
   def cacheRecompile(key: T) {}
+  def cacheReplannedInBackground(key: T) {}
 }
 
 trait CypherCacheMonitor[T] extends CypherCacheHitMonitor[T] with CypherCacheFlushingMonitor
@@ -32,9 +32,11 @@ import org.neo4j.cypher.internal.compatibility.v3_6.runtime.{ExplainExecutionRes
 import org.neo4j.cypher.internal.compiler.v3_6.phases.LogicalPlanState
 import org.neo4j.cypher.internal.javacompat.ExecutionResult
 import org.neo4j.cypher.internal.planner.v3_6.spi.PlanningAttributes.{Cardinalities, ProvidedOrders}
+import org.neo4j.cypher.internal.tracing.PhaseTimingCompilationPhaseTracer
 import org.neo4j.cypher.internal.runtime.interpreted.TransactionBoundQueryContext.IndexSearchMonitor
 import org.neo4j.cypher.internal.runtime.interpreted.{TransactionBoundQueryContext, TransactionalContextWrapper}
-import org.neo4j.cypher.internal.runtime.planDescription.InternalPlanDescription
+import org.neo4j.cypher.internal.runtime.planDescription.{Argument, InternalPlanDescription}
+import org.neo4j.cypher.internal.runtime.planDescription.InternalPlanDescription.Arguments.{PlanningPhaseTime, PlanningTime}
 import org.neo4j.cypher.internal.runtime.{ExecutableQuery => _, _}
 import org.neo4j.cypher.internal.v3_6.logical.plans._
 import org.neo4j.cypher.{CypherException, CypherExecutionMode, CypherExpressionEngineOption}
@@ -82,8 +84,10 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](planner: CypherPlann
                        params: MapValue
                       ): ExecutableQuery = {
 
+    val planningStart = System.nanoTime()
+    val phaseTimingTracer = new PhaseTimingCompilationPhaseTracer(tracer)
     val logicalPlanResult =
-      planner.parseAndPlan(preParsedQuery, tracer, transactionalContext, params)
+      planner.parseAndPlan(preParsedQuery, phaseTimingTracer, transactionalContext, params)
 
     val planState = logicalPlanResult.logicalPlanState
     val logicalPlan = planState.logicalPlan
@@ -95,7 +99,16 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](planner: CypherPlann
                                                queryType == READ_ONLY,
                                                preParsedQuery.useCompiledExpressions)
 
+    val runtimeStart = System.nanoTime()
     val executionPlan3_5: ExecutionPlan_v3_6 = runtime.compileToExecutable(planState, runtimeContext)
+    val planningEnd = System.nanoTime()
+
+    val planningTimes =
+      PlanningTime(planningEnd - planningStart) +:
+        phaseTimingTracer.phaseTimes().asScala.toSeq.map {
+          case (phase, time) => PlanningPhaseTime(phase.name().toLowerCase, time)
+        } :+
+        PlanningPhaseTime("runtime", planningEnd - runtimeStart)
 
     new CypherExecutableQuery(
       logicalPlan,
@@ -110,7 +123,8 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](planner: CypherPlann
       logicalPlanResult.extractedParams,
       buildCompilerInfo(logicalPlan, planState.plannerName, executionPlan3_5.runtimeName),
       planState.plannerName,
-      queryType)
+      queryType,
+      planningTimes)
   }
 
   private def buildCompilerInfo(logicalPlan: LogicalPlan,
@@ -158,7 +172,8 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](planner: CypherPlann
                                         override val extractedParams: MapValue,
                                         override val compilerInfo: CompilerInfo,
                                         plannerName: PlannerName,
-                                        queryType: InternalQueryType) extends ExecutableQuery {
+                                        queryType: InternalQueryType,
+                                        planningTimes: Seq[Argument]) extends ExecutableQuery {
 
     private val searchMonitor = kernelMonitors.newMonitor(classOf[IndexSearchMonitor])
     private val resourceMonitor = kernelMonitors.newMonitor(classOf[ResourceMonitor])
@@ -169,7 +184,19 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](planner: CypherPlann
         cardinalities,
         providedOrders,
         executionPlan.runtimeName,
-        executionPlan.metadata)
+        executionPlan.metadata,
+        planningTimes)
+
+    // The planning times are only reported by the execution the query was compiled for, not when it is reused
+    private val cachedPlanDescriptionBuilder =
+      new PlanDescriptionBuilder(logicalPlan,
+        plannerName,
+        readOnly,
+        cardinalities,
+        providedOrders,
+        executionPlan.runtimeName,
+        executionPlan.metadata,
+        Seq.empty)
 
     private def getQueryContext(transactionalContext: TransactionalContext) = {
       val ctx = new TransactionBoundQueryContext(TransactionalContextWrapper(transactionalContext),
@@ -179,7 +206,7 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](planner: CypherPlann
     }
 
     override def execute(transactionalContext: TransactionalContext, preParsedQuery: PreParsedQuery,
-                params: MapValue): Result = {
+                params: MapValue, isCacheHit: Boolean): Result = {
       val innerExecutionMode = preParsedQuery.executionMode match {
         case CypherExecutionMode.explain => ExplainMode
         case CypherExecutionMode.profile => ProfileMode
@@ -212,7 +239,7 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](planner: CypherPlann
                                                 taskCloser,
                                                 queryType,
                                                 innerExecutionMode,
-                                                planDescriptionBuilder)
+                                                if (isCacheHit) cachedPlanDescriptionBuilder else planDescriptionBuilder)
           }
 
         new ExecutionResult(
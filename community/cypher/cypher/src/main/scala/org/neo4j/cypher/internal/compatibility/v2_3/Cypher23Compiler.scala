@@ -121,7 +121,8 @@ trait Cypher23Compiler extends CachingPlanner[PreparedQuery] with Compiler {
 
     override def execute(transactionalContext: TransactionalContext,
                          preParsedQuery: PreParsedQuery,
-                         params: MapValue): Result = {
+                         params: MapValue,
+                         isCacheHit: Boolean): Result = {
       var map: mutable.Map[String, Any] = mutable.Map[String, Any]()
       params.foreach(new ThrowingBiConsumer[String, AnyValue, RuntimeException] {
         override def accept(t: String, u: AnyValue): Unit = map.put(t, valueHelper.fromValue(u))
@@ -103,7 +103,8 @@ case class Cypher35Planner(config: CypherPlannerConfiguration,
         val monitor = monitors.newMonitor[IDPQueryGraphSolverMonitor]()
         val solverConfig = new ConfigurableIDPSolverConfig(
           maxTableSize = config.idpMaxTableSize,
-          iterationDurationLimit = config.idpIterationDuration
+          iterationDurationLimit = config.idpIterationDuration,
+          totalDurationLimit = config.idpTotalDuration
         )
         val singleComponentPlanner = SingleComponentPlanner(monitor, solverConfig)
         IDPQueryGraphSolver(singleComponentPlanner, cartesianProductsOrValueJoins, monitor)
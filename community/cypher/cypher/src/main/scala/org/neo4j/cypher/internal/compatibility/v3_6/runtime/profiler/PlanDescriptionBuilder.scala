@@ -37,7 +37,8 @@ class PlanDescriptionBuilder(logicalPlan: LogicalPlan,
                              cardinalities: Cardinalities,
                              providedOrders: ProvidedOrders,
                              runtimeName: RuntimeName,
-                             metadata: Seq[Argument]) {
+                             metadata: Seq[Argument],
+                             planningTimes: Seq[Argument]) {
 
   def explain(): InternalPlanDescription = {
     val description =
@@ -50,7 +51,7 @@ class PlanDescriptionBuilder(logicalPlan: LogicalPlan,
 
   def profile(queryProfile: QueryProfile): InternalPlanDescription = {
 
-    val planDescription = explain()
+    val planDescription = planningTimes.foldLeft(explain())((plan, planningTime) => plan.addArgument(planningTime))
 
     planDescription map {
       input: InternalPlanDescription =>
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.javacompat;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.time.Clock;
+
+import org.neo4j.cypher.internal.ExecutionEngine;
+import org.neo4j.kernel.GraphDatabaseQueryService;
+import org.neo4j.kernel.availability.AvailabilityRequirement;
+import org.neo4j.kernel.availability.DatabaseAvailabilityGuard;
+import org.neo4j.kernel.availability.DescriptiveAvailabilityRequirement;
+import org.neo4j.logging.NullLog;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.test.rule.fs.EphemeralFileSystemRule;
+import scala.collection.immutable.List$;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class QueryCacheWarmupTest
+{
+    private static final AvailabilityRequirement REQUIREMENT = new DescriptiveAvailabilityRequirement( "test" );
+
+    @Rule
+    public final EphemeralFileSystemRule fs = new EphemeralFileSystemRule();
+
+    private final ExecutionEngine engine = mock( ExecutionEngine.class );
+    private final JobScheduler scheduler = mock( JobScheduler.class );
+    private final DatabaseAvailabilityGuard availabilityGuard = new DatabaseAvailabilityGuard( "graph.db", Clock.systemUTC(), NullLog.getInstance() );
+    private final File queryCacheDirectory = new File( "query-cache" );
+
+    @Test
+    public void shouldWarmUpAgainEachTimeTheDatabaseBecomesAvailableUntilShutdown()
+    {
+        // given
+        QueryCacheWarmup warmup = newWarmup();
+        warmup.start();
+
+        // when
+        cycleAvailability();
+        cycleAvailability();
+
+        // then
+        verify( scheduler, times( 2 ) ).schedule( any( Group.class ), any( Runnable.class ) );
+
+        // when
+        warmup.shutdown();
+        cycleAvailability();
+
+        // then
+        verify( scheduler, times( 2 ) ).schedule( any( Group.class ), any( Runnable.class ) );
+    }
+
+    @Test
+    public void shouldSaveQueryCacheKeysOutsideOfTheDatabaseDirectory()
+    {
+        // given
+        QueryCacheWarmup warmup = newWarmup();
+        warmup.start();
+        File file = new File( new File( queryCacheDirectory, "graph.db" ), QueryCacheWarmup.FILE_NAME );
+        assertFalse( fs.fileExists( file ) );
+
+        // when
+        cycleAvailability();
+
+        // then
+        assertTrue( fs.fileExists( file ) );
+    }
+
+    private QueryCacheWarmup newWarmup()
+    {
+        when( scheduler.schedule( any( Group.class ), any( Runnable.class ) ) ).thenReturn( mock( JobHandle.class ) );
+        when( scheduler.scheduleRecurring( any( Group.class ), any( Runnable.class ), anyLong(), any() ) ).thenReturn( mock( JobHandle.class ) );
+        doReturn( List$.MODULE$.empty() ).when( engine ).cachedQueries();
+        availabilityGuard.require( REQUIREMENT );
+        return new QueryCacheWarmup( engine, mock( GraphDatabaseQueryService.class ), fs, queryCacheDirectory, "graph.db", scheduler,
+                availabilityGuard, false, NullLogProvider.getInstance() );
+    }
+
+    private void cycleAvailability()
+    {
+        availabilityGuard.fulfill( REQUIREMENT );
+        availabilityGuard.require( REQUIREMENT );
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal
+
+import java.io.{ByteArrayInputStream, ByteArrayOutputStream, DataInputStream, DataOutputStream}
+import java.util.Collections
+
+import org.neo4j.cypher._
+import org.neo4j.cypher.internal.QueryCache.ParameterTypeMap
+import org.neo4j.cypher.internal.v3_6.util.test_helpers.CypherFunSuite
+import org.neo4j.helpers.collection.Pair
+import org.neo4j.kernel.impl.util.ValueUtils
+import org.neo4j.values.storable.Values
+import org.neo4j.values.virtual.{MapValue, VirtualValues}
+
+import scala.collection.JavaConverters._
+
+class PersistedQueryCacheTest extends CypherFunSuite {
+
+  private val preParser = new PreParser(CypherVersion.default, CypherPlannerOption.default, CypherRuntimeOption.default,
+                                        CypherExpressionEngineOption.default, 0)
+
+  test("should read the cache keys that were written") {
+    val params = Seq(
+      VirtualValues.map(Array(), Array()),
+      VirtualValues.map(Array("a", "b", "c"), Array(Values.longValue(42), Values.stringValue("foo"), Values.utf8Value("bar".getBytes("UTF-8")))),
+      VirtualValues.map(Array("list", "map", "array"),
+                        Array(ValueUtils.of(Collections.singletonList(1)), ValueUtils.of(Collections.singletonMap("x", 1)),
+                              Values.of(Array(1.0, 2.0)))))
+    val keys = params.zipWithIndex.map {
+      case (p, i) => Pair.of(s"CYPHER 3.6 RETURN $i // ünïcödé", QueryCache.extractParameterTypeMap(p))
+    }
+
+    val read = roundTrip(keys)
+
+    read.map(query => Pair.of(query.first(), QueryCache.extractParameterTypeMap(query.other()))) should equal(keys)
+  }
+
+  test("should drop cache keys with parameter types that cannot be represented") {
+    val unknown: ParameterTypeMap = Map("a" -> Values.longValue(1).getClass, "b" -> classOf[String])
+    val known: ParameterTypeMap = Map("a" -> Values.longValue(1).getClass)
+
+    roundTrip(Seq(Pair.of("RETURN $a, $b", unknown), Pair.of("RETURN $a", known))).map(_.first()) should equal(Seq("RETURN $a"))
+  }
+
+  test("should not write queries that could contain a password") {
+    val noParams: ParameterTypeMap = Map.empty
+    val passwordParam: ParameterTypeMap = Map("password" -> Values.stringValue("").getClass)
+    val keys = Seq(
+      Pair.of("CALL dbms.security.createUser('alice', 'secret', false)", noParams),
+      Pair.of("CALL dbms.security.changeUserPassword('alice', $password)", passwordParam),
+      Pair.of("CALL dbms.changePassword('secret')", noParams),
+      Pair.of("CALL dbms.security.listUsers()", noParams),
+      Pair.of("CALL DBMS.SECURITY.LISTUSERS()", noParams),
+      Pair.of("CALL dbms.procedures()", noParams),
+      Pair.of("MATCH (n) RETURN n", noParams))
+
+    val bytes = new ByteArrayOutputStream()
+    PersistedQueryCache.write(keys, new DataOutputStream(bytes)) should equal(2)
+    val read = PersistedQueryCache.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray))).asScala
+
+    read.map(_.first()) should equal(Seq("CALL dbms.procedures()", "MATCH (n) RETURN n"))
+    new String(bytes.toByteArray, "UTF-8") should not include "secret"
+  }
+
+  test("should give the same cache key when pre-parsing the query of a cache key again") {
+    val queries = Seq(
+      "MATCH (n) RETURN n",
+      "CYPHER 3.6 MATCH (n) RETURN n",
+      "CYPHER planner=cost MATCH (n) RETURN n",
+      "CYPHER runtime=slotted MATCH (n) RETURN n",
+      "CYPHER expressionEngine=compiled MATCH (n) RETURN n",
+      "CYPHER debug=foo MATCH (n) RETURN n",
+      "EXPLAIN MATCH (n) RETURN n",
+      "PROFILE MATCH (n) RETURN n")
+
+    for (query <- queries) {
+      val key = preParser.preParseQuery(query).statementWithVersionAndPlanner
+      withClue(query) {
+        preParser.preParseQuery(key).statementWithVersionAndPlanner should equal(key)
+      }
+    }
+  }
+
+  private def roundTrip(keys: Seq[Pair[String, ParameterTypeMap]]): Seq[Pair[String, MapValue]] = {
+    val bytes = new ByteArrayOutputStream()
+    PersistedQueryCache.write(keys, new DataOutputStream(bytes)) should equal(keys.size)
+    PersistedQueryCache.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray))).asScala
+  }
+}
@@ -47,6 +47,12 @@ class PreParserTest extends CypherFunSuite {
     intercept[InvalidArgumentException](preParser.preParseQuery("PROFILE EXPLAIN RETURN 42"))
   }
 
+  test("should only cache results when asked for") {
+    preParser.preParseQuery("RETURN 42").cacheResult should be(false)
+    preParser.preParseQuery("CYPHER resultCache=enabled RETURN 42").cacheResult should be(true)
+    preParser.preParseQuery("CYPHER 3.6 planner=cost resultCache=enabled RETURN 42").cacheResult should be(true)
+  }
+
   test("should parse all variants of periodic commit") {
     val variants =
       List(
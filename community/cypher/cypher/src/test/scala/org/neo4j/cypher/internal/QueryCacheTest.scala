@@ -22,14 +22,20 @@
  */
 package org.neo4j.cypher.internal
 
+import java.util.concurrent.{Executor, TimeUnit}
+
 import org.mockito.ArgumentMatchers.any
 import org.mockito.Mockito.{times, verify, verifyNoMoreInteractions, when}
 import org.neo4j.cypher.internal.QueryCache.ParameterTypeMap
 import org.neo4j.helpers.collection.Pair
 import org.neo4j.kernel.impl.query.TransactionalContext
 import org.neo4j.cypher.internal.v3_6.util.test_helpers.CypherFunSuite
+import org.neo4j.logging.NullLog
+import org.neo4j.time.FakeClock
 import org.scalatest.mock.MockitoSugar
 
+import scala.collection.mutable
+
 class QueryCacheTest extends CypherFunSuite {
   import QueryCacheTest._
 
@@ -146,6 +152,94 @@ class QueryCacheTest extends CypherFunSuite {
     verify(tracer).queryCacheRecompile(key, "")
     verifyNoMoreInteractions(tracer)
   }
+
+  test("if item is stale we should keep using it while it is replanned in the background") {
+    // Given
+    val tracer = newTracer()
+    val executor = new ManualExecutor
+    val cache = newCache(tracer, alwaysStale(17), Some(BackgroundReplanning(executor, new FakeClock, 1000, NullLog.getInstance())))
+    val key = newKey("foo")
+    val replanned = MyValue("replanned")(recompiled = false)
+    cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key), compileInBackground = Some(() => replanned))
+
+    // When
+    val staleValues = (1 to 3).map(_ => cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key), compileInBackground = Some(() => replanned)))
+    executor.runAll()
+    val valueFromCache = cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key))
+
+    // Then
+    staleValues should equal(Seq.fill(3)(CacheHit(valueFromKey(key))))
+    valueFromCache should equal(CacheMiss(valueFromKey(key)))
+    verify(tracer, times(2)).queryCacheMiss(key, "")
+    verify(tracer, times(3)).queryCacheHit(key, "")
+    verify(tracer, times(2)).queryCacheStale(key, 17, "")
+    verify(tracer).queryCacheReplannedInBackground(key, "")
+    verifyNoMoreInteractions(tracer)
+  }
+
+  test("should swap in the query replanned in the background") {
+    // Given
+    val executor = new ManualExecutor
+    val cache = newCache(newTracer(), staleOnce(), Some(BackgroundReplanning(executor, new FakeClock, 1000, NullLog.getInstance())))
+    val key = newKey("foo")
+    val replanned = MyValue("replanned")(recompiled = false)
+    cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key))
+    cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key), compileInBackground = Some(() => replanned))
+
+    // When
+    executor.runAll()
+    val valueFromCache = cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key), compileInBackground = Some(() => replanned))
+
+    // Then
+    valueFromCache should equal(CacheHit(replanned))
+    executor.jobs shouldBe empty
+  }
+
+  test("should not replan the same key in the background while it is already being replanned") {
+    // Given
+    val executor = new ManualExecutor
+    val cache = newCache(newTracer(), alwaysStale(17), Some(BackgroundReplanning(executor, new FakeClock, 1000, NullLog.getInstance())))
+    val key = newKey("foo")
+    val replanned = Some(() => MyValue("replanned")(recompiled = false))
+    cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key))
+    cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key), compileInBackground = replanned)
+
+    // When the cached value is replaced while the first replanning job is still queued
+    cache.clear()
+    cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key))
+    cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key), compileInBackground = replanned)
+    val jobsWhileReplanning = executor.jobs.size
+    executor.runAll()
+    cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key), compileInBackground = replanned)
+
+    // Then
+    jobsWhileReplanning should equal(1)
+    executor.jobs.size should equal(1)
+  }
+
+  test("should not retry failed background replanning more often than the minimum interval") {
+    // Given
+    val executor = new ManualExecutor
+    val clock = new FakeClock
+    val cache = newCache(newTracer(), alwaysStale(17), Some(BackgroundReplanning(executor, clock, 1000, NullLog.getInstance())))
+    val key = newKey("foo")
+    val failing: Option[() => MyValue] = Some(() => throw new IllegalStateException("planning failed"))
+    cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key))
+    cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key), compileInBackground = failing)
+    executor.runAll()
+
+    // When
+    clock.forward(999, TimeUnit.MILLISECONDS)
+    val valueFromCache = cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key), compileInBackground = failing)
+    val jobsBeforeInterval = executor.jobs.size
+    clock.forward(1, TimeUnit.MILLISECONDS)
+    cache.computeIfAbsentOrStale(key, TC, compileKey(key), recompile(key), compileInBackground = failing)
+
+    // Then
+    valueFromCache should equal(CacheHit(valueFromKey(key)))
+    jobsBeforeInterval should equal(0)
+    executor.jobs.size should equal(1)
+  }
 }
 
   object QueryCacheTest extends MockitoSugar {
@@ -167,8 +261,9 @@ class QueryCacheTest extends CypherFunSuite {
 
     def newKey(string: String): Key = Pair.of(string, Map.empty[String, Class[_]])
 
-   def newCache(tracer: Tracer = newTracer(), stalenessCaller:PlanStalenessCaller[MyValue] = neverStale()): QueryCache[String, Pair[String, ParameterTypeMap], MyValue] = {
-    new QueryCache[String, Pair[String, ParameterTypeMap], MyValue](10, stalenessCaller, tracer)
+   def newCache(tracer: Tracer = newTracer(), stalenessCaller:PlanStalenessCaller[MyValue] = neverStale(),
+                backgroundReplanning: Option[BackgroundReplanning] = None): QueryCache[String, Pair[String, ParameterTypeMap], MyValue] = {
+    new QueryCache[String, Pair[String, ParameterTypeMap], MyValue](10, stalenessCaller, tracer, backgroundReplanning)
   }
 
    def newTracer(): Tracer = mock[Tracer]
@@ -185,5 +280,19 @@ class QueryCacheTest extends CypherFunSuite {
     stalenessCaller
   }
 
+  private def staleOnce(): PlanStalenessCaller[MyValue] = {
+    val stalenessCaller: PlanStalenessCaller[MyValue] = mock[PlanStalenessCaller[MyValue]]
+    when(stalenessCaller.staleness(any[TransactionalContext], any[MyValue])).thenReturn(Stale(17), NotStale)
+    stalenessCaller
+  }
+
+  class ManualExecutor extends Executor {
+    val jobs = new mutable.Queue[Runnable]
+
+    override def execute(command: Runnable): Unit = jobs.enqueue(command)
+
+    def runAll(): Unit = while (jobs.nonEmpty) jobs.dequeue().run()
+  }
+
   private def valueFromKey(key: Key): MyValue = MyValue(key.first())(recompiled = false)
 }
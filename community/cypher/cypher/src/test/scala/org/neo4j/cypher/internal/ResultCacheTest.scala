@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal
+
+import java.util.{Arrays, Collections, Map => JMap}
+
+import org.mockito.Mockito.{never, verify, when}
+import org.mockito.invocation.InvocationOnMock
+import org.mockito.stubbing.Answer
+import org.neo4j.cypher.internal.v3_6.util.test_helpers.CypherFunSuite
+import org.neo4j.graphdb.QueryExecutionType.{QueryType, query}
+import org.neo4j.graphdb.{Notification, QueryStatistics, Result}
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.Values.{charValue, doubleValue, intValue, longArray, longValue, stringValue}
+import org.neo4j.values.virtual.VirtualValues
+
+import scala.collection.JavaConverters._
+
+class ResultCacheTest extends CypherFunSuite {
+
+  private val params = VirtualValues.map(Array("p"), Array(intValue(1)))
+  private var txId = 0L
+  private var closedTxId = 0L
+  private var executions = 0
+  private var rowsRead = 0
+
+  override protected def initTest(): Unit = {
+    txId = 1L
+    closedTxId = 1L
+    executions = 0
+    rowsRead = 0
+  }
+
+  private def newCache(maximumRows: Int = 10) = new ResultCache(maximumRows, () => txId, () => closedTxId, mock[ResultCacheMonitor])
+
+  private def commitAndClose(): Unit = {
+    txId += 1
+    closedTxId += 1
+  }
+
+  private def newResult(rows: Int, queryType: QueryType = QueryType.READ_ONLY): () => Result = () => {
+    executions += 1
+    val values = (0 until rows).map(i => Collections.singletonMap[String, AnyRef]("x", Int.box(i))).iterator
+    val result = mock[Result]
+    when(result.columns()).thenReturn(Arrays.asList("x"))
+    when(result.hasNext).thenAnswer(new Answer[Boolean] {
+      override def answer(invocation: InvocationOnMock): Boolean = values.hasNext
+    })
+    when(result.next()).thenAnswer(new Answer[JMap[String, AnyRef]] {
+      override def answer(invocation: InvocationOnMock): JMap[String, AnyRef] = {
+        rowsRead += 1
+        values.next()
+      }
+    })
+    when(result.getNotifications).thenReturn(Collections.emptyList[Notification]())
+    when(result.getQueryStatistics).thenReturn(mock[QueryStatistics])
+    when(result.getQueryExecutionType).thenReturn(query(queryType))
+    result
+  }
+
+  private def xs(result: Result): Seq[AnyRef] = result.asScala.map(_.get("x")).toList
+
+  test("should reuse the result of the same query with the same parameters") {
+    val cache = newCache()
+    val reused = mock[Runnable]
+
+    xs(cache.getOrExecute("q", params, "user", newResult(3), () => reused.run())) should equal(Seq(0, 1, 2))
+    xs(cache.getOrExecute("q", params, "user", newResult(3), () => reused.run())) should equal(Seq(0, 1, 2))
+
+    executions should equal(1)
+    verify(reused).run()
+  }
+
+  test("should not reuse the result for other query, parameters or security context") {
+    val cache = newCache()
+    cache.getOrExecute("q", params, "user 'alice' with roles [reader]", newResult(1), () => ())
+
+    cache.getOrExecute("q2", params, "user 'alice' with roles [reader]", newResult(1), () => ())
+    cache.getOrExecute("q", VirtualValues.map(Array("p"), Array(intValue(2))), "user 'alice' with roles [reader]", newResult(1), () => ())
+    cache.getOrExecute("q", params, "user 'bob' with roles [reader]", newResult(1), () => ())
+    cache.getOrExecute("q", params, "user 'alice' with roles [admin,reader]", newResult(1), () => ())
+    cache.getOrExecute("q", params, "user 'alice' with roles [reader] restricted to read", newResult(1), () => ())
+
+    executions should equal(6)
+  }
+
+  test("should not reuse the result for parameters that are equal but of other types") {
+    val cache = newCache()
+    def execute(value: AnyValue) =
+      cache.getOrExecute("q", VirtualValues.map(Array("p"), Array(value)), "user", newResult(1), () => ())
+
+    execute(intValue(1))
+    execute(doubleValue(1.0))
+    execute(stringValue("a"))
+    execute(charValue('a'))
+    execute(VirtualValues.list(longValue(1)))
+    execute(longArray(Array(1L)))
+    execute(VirtualValues.list(doubleValue(1.0)))
+
+    executions should equal(7)
+  }
+
+  test("should reuse the result for parameters of the same types") {
+    val cache = newCache()
+    def execute(value: AnyValue) =
+      cache.getOrExecute("q", VirtualValues.map(Array("p"), Array(value)), "user", newResult(1), () => ())
+
+    execute(VirtualValues.list(doubleValue(1.0)))
+    execute(VirtualValues.list(doubleValue(1.0)))
+
+    executions should equal(1)
+  }
+
+  test("should not reuse the result after a transaction has been closed") {
+    val cache = newCache()
+    cache.getOrExecute("q", params, "user", newResult(1), () => ())
+    commitAndClose()
+    cache.getOrExecute("q", params, "user", newResult(1), () => ())
+    cache.getOrExecute("q", params, "user", newResult(1), () => ())
+
+    executions should equal(2)
+  }
+
+  test("should not cache the result while a committed transaction has not been closed yet") {
+    val cache = newCache()
+    txId += 1
+    cache.getOrExecute("q", params, "user", newResult(1), () => ())
+    closedTxId += 1
+    cache.getOrExecute("q", params, "user", newResult(1), () => ())
+    cache.getOrExecute("q", params, "user", newResult(1), () => ())
+
+    executions should equal(2)
+  }
+
+  test("should not cache the result if a transaction was committed while executing") {
+    val cache = newCache()
+    val execute = newResult(1)
+    cache.getOrExecute("q", params, "user", () => {
+      txId += 1
+      execute()
+    }, () => ())
+    closedTxId += 1
+    cache.getOrExecute("q", params, "user", newResult(1), () => ())
+    cache.getOrExecute("q", params, "user", newResult(1), () => ())
+
+    executions should equal(2)
+  }
+
+  test("should not cache results of updating queries") {
+    val cache = newCache()
+    val result = newResult(0, QueryType.READ_WRITE)
+    cache.getOrExecute("q", params, "user", result, () => ())
+    cache.getOrExecute("q", params, "user", result, () => ())
+
+    executions should equal(2)
+  }
+
+  test("should not cache results with more rows than the cache can hold") {
+    val cache = newCache(maximumRows = 2)
+    xs(cache.getOrExecute("q", params, "user", newResult(3), () => ())) should equal(Seq(0, 1, 2))
+    xs(cache.getOrExecute("q", params, "user", newResult(3), () => ())) should equal(Seq(0, 1, 2))
+
+    executions should equal(2)
+  }
+
+  test("should stream the rows of results with more rows than the cache can hold") {
+    val cache = newCache(maximumRows = 2)
+    val result = newResult(5)()
+    val streamed = cache.getOrExecute("q", params, "user", () => result, () => ())
+
+    rowsRead should equal(2)
+    verify(result, never()).close()
+    xs(streamed) should equal(Seq(0, 1, 2, 3, 4))
+    streamed.close()
+    verify(result).close()
+  }
+
+  test("should close the executed result") {
+    val cache = newCache()
+    val result = newResult(2)()
+    cache.getOrExecute("q", params, "user", () => result, () => ())
+
+    verify(result).close()
+  }
+
+  test("should count hits and misses") {
+    val monitor = mock[ResultCacheMonitor]
+    val cache = new ResultCache(10, () => txId, () => closedTxId, monitor)
+    cache.getOrExecute("q", params, "user", newResult(1), () => ())
+    cache.getOrExecute("q", params, "user", newResult(1), () => ())
+
+    verify(monitor).resultCacheMiss("q")
+    verify(monitor).resultCacheHit("q")
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.tracing
+
+import java.util.concurrent.TimeUnit.MILLISECONDS
+
+import org.mockito.Mockito
+import org.mockito.Mockito.when
+import org.neo4j.cypher.internal.v3_6.frontend.helpers.closing
+import org.neo4j.cypher.internal.v3_6.frontend.phases.CompilationPhaseTracer
+import org.neo4j.cypher.internal.v3_6.frontend.phases.CompilationPhaseTracer.CompilationPhase.{AST_REWRITE, LOGICAL_PLANNING, PARSING}
+import org.neo4j.cypher.internal.v3_6.frontend.phases.CompilationPhaseTracer.CompilationPhaseEvent
+import org.neo4j.cypher.internal.v3_6.util.test_helpers.CypherFunSuite
+
+import scala.collection.JavaConverters._
+
+class PhaseTimingCompilationPhaseTracerTest extends CypherFunSuite {
+
+  test("sums up time per phase") {
+    // given
+    val clock = new FakeClock
+    val tracer = new PhaseTimingCompilationPhaseTracer(clock, CompilationPhaseTracer.NO_TRACING)
+
+    // when
+    closing(tracer.beginPhase(PARSING)) {
+      clock.progress(11, MILLISECONDS)
+    }
+    closing(tracer.beginPhase(LOGICAL_PLANNING)) {
+      clock.progress(200, MILLISECONDS)
+    }
+    closing(tracer.beginPhase(AST_REWRITE)) {
+      clock.progress(3, MILLISECONDS)
+    }
+    closing(tracer.beginPhase(LOGICAL_PLANNING)) {
+      clock.progress(16, MILLISECONDS)
+    }
+
+    // then
+    tracer.phaseTimes().asScala.toList should equal(List(
+      PARSING -> MILLISECONDS.toNanos(11),
+      AST_REWRITE -> MILLISECONDS.toNanos(3),
+      LOGICAL_PLANNING -> MILLISECONDS.toNanos(216)))
+  }
+
+  test("passes phases on to delegate") {
+    // given
+    val delegate = mock[CompilationPhaseTracer]
+    val event = mock[CompilationPhaseEvent]
+    when(delegate.beginPhase(PARSING)).thenReturn(event)
+    val tracer = new PhaseTimingCompilationPhaseTracer(new FakeClock, delegate)
+
+    // when
+    closing(tracer.beginPhase(PARSING)) {}
+
+    // then
+    val order = Mockito.inOrder(delegate, event)
+    order.verify(delegate).beginPhase(PARSING)
+    order.verify(event).close()
+  }
+}
@@ -174,9 +174,19 @@ case class InterpretedPipeBuilder(recurse: LogicalPlan => Pipe,
         val predicate = varLengthPredicate(id, predicates)
         PruningVarLengthExpandPipe(source, from, toName, LazyTypes(types.toArray), dir, minLength, maxLength, predicate)(id = id)
 
+      case BFSPruningVarExpand(_, from, dir, types, toName, includeStartNode, maxLength, _, _, _, _, predicates) =>
+        val predicate = varLengthPredicate(id, predicates)
+        BFSPruningVarLengthExpandPipe(source, from, toName, LazyTypes(types.toArray), dir, includeStartNode, maxLength,
+                                      predicate)(id = id)
+
       case Sort(_, sortItems) =>
         SortPipe(source, sortItems.map(translateColumnOrder))(id = id)
 
+      case PartialSort(_, alreadySortedPrefix, stillToSortSuffix) =>
+        PartialSortPipe(source,
+                        ExecutionContextOrdering.asComparator(alreadySortedPrefix.map(translateColumnOrder)),
+                        ExecutionContextOrdering.asComparator(stillToSortSuffix.map(translateColumnOrder)))(id = id)
+
       case SkipPlan(_, count) =>
         SkipPipe(source, buildExpression(count))(id = id)
 
@@ -189,6 +199,11 @@ case class InterpretedPipeBuilder(recurse: LogicalPlan => Pipe,
         TopNPipe(source, buildExpression(limit),
                  ExecutionContextOrdering.asComparator(sortItems.map(translateColumnOrder).toList))(id = id)
 
+      case PartialTop(_, alreadySortedPrefix, stillToSortSuffix, limit) =>
+        PartialTopNPipe(source, buildExpression(limit),
+                        ExecutionContextOrdering.asComparator(alreadySortedPrefix.map(translateColumnOrder)),
+                        ExecutionContextOrdering.asComparator(stillToSortSuffix.map(translateColumnOrder)))(id = id)
+
       case LimitPlan(_, count, DoNotIncludeTies) =>
         LimitPipe(source, buildExpression(count))(id = id)
 
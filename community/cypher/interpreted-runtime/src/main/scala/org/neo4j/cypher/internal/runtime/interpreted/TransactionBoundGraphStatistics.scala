@@ -31,12 +31,22 @@ import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelExcept
 import org.neo4j.internal.kernel.api.Read
 import org.neo4j.internal.kernel.api.SchemaRead
 import org.neo4j.kernel.impl.query.TransactionalContext
+import org.neo4j.cypher.internal.v3_6.logical.plans.InequalitySeekRange
+import org.neo4j.cypher.internal.v3_6.logical.plans.MinMaxOrdering
+import org.neo4j.cypher.internal.v3_6.logical.plans.RangeBetween
+import org.neo4j.cypher.internal.v3_6.logical.plans.RangeGreaterThan
+import org.neo4j.cypher.internal.v3_6.logical.plans.RangeLessThan
 import org.neo4j.cypher.internal.v3_6.util.Cardinality
 import org.neo4j.cypher.internal.v3_6.util.LabelId
 import org.neo4j.cypher.internal.v3_6.util.RelTypeId
 import org.neo4j.cypher.internal.v3_6.util.Selectivity
+import org.neo4j.storageengine.api.schema.IndexValueHistogram
+import org.neo4j.values.storable.Value
+import org.neo4j.values.storable.Values
 
 object TransactionBoundGraphStatistics {
+  private val BY_VALUE: MinMaxOrdering[Value] = MinMaxOrdering(Ordering.comparatorToOrdering(Values.COMPARATOR))
+
   def apply(transactionalContext: TransactionalContext): StatisticsCompletingGraphStatistics =
     apply(transactionalContext.kernelTransaction().dataRead(), transactionalContext.kernelTransaction().schemaRead())
 
@@ -89,6 +99,57 @@ object TransactionBoundGraphStatistics {
         case _: IndexNotFoundKernelException => None
       }
 
+    override def indexPropertyValueSelectivity(index: IndexDescriptor, value: Option[Any]): Option[Selectivity] =
+      for {
+        histogram <- valueHistogram(index)
+        selectivity <- value match {
+          case Some(literal) => storableValue(literal).map(histogram.equalitySelectivity)
+          case None => Some(histogram.expectedEqualitySelectivity())
+        }
+      } yield Selectivity(min(selectivity, 1.0))
+
+    override def indexPropertyRangeSelectivity(index: IndexDescriptor, range: InequalitySeekRange[Any]): Option[Selectivity] =
+      for {
+        histogram <- valueHistogram(index)
+        valueRange <- storableRange(range)
+      } yield {
+        val groupedRanges = valueRange.groupBy(bound => bound.endPoint.valueGroup())
+        val selectivity =
+          if (groupedRanges.size > 1) {
+            // predicates of more than one value group mean that no node can ever match
+            1.0 / histogram.size()
+          } else {
+            val (lower, upper) = groupedRanges.head._2 match {
+              case rangeGreaterThan: RangeGreaterThan[Value] => (rangeGreaterThan.limit(BY_VALUE), None)
+              case rangeLessThan: RangeLessThan[Value] => (None, rangeLessThan.limit(BY_VALUE))
+              case RangeBetween(rangeGreaterThan, rangeLessThan) => (rangeGreaterThan.limit(BY_VALUE), rangeLessThan.limit(BY_VALUE))
+            }
+            histogram.rangeSelectivity(lower.map(_.endPoint).orNull, lower.exists(_.isInclusive),
+                                       upper.map(_.endPoint).orNull, upper.exists(_.isInclusive))
+          }
+        Selectivity(min(selectivity, 1.0))
+      }
+
+    private def valueHistogram(index: IndexDescriptor): Option[IndexValueHistogram] =
+      try {
+        val histogram = schemaRead.indexValueHistogram(schemaRead.indexReferenceUnchecked(index.label, index.properties.map(_.id):_*))
+        if (histogram.isEmpty) None else Some(histogram)
+      }
+      catch {
+        case _: IndexNotFoundKernelException => None
+      }
+
+    private def storableValue(literal: Any): Option[Value] =
+      try {
+        Some(Values.of(literal.asInstanceOf[AnyRef])).filter(_ != Values.NO_VALUE)
+      }
+      catch {
+        case _: IllegalArgumentException => None
+      }
+
+    private def storableRange(range: InequalitySeekRange[Any]): Option[InequalitySeekRange[Value]] =
+      if (range.arguments.forall(storableValue(_).isDefined)) Some(range.mapBounds(literal => storableValue(literal).get)) else None
+
     override def nodesWithLabelCardinality(labelId: Option[LabelId]): Cardinality =
       atLeastOne(read.countsForNodeWithoutTxState(labelId))
 
@@ -116,7 +116,7 @@ class TransactionBoundPlanContext(tc: TransactionalContextWrapper, logger: Inter
           // Also, ignore eventually consistent indexes. Those are for explicit querying via procesures.
           None
         } else {
-          Some(IndexDescriptor(label, properties, limitations, orderCapability, valueCapability, isUnique))
+          Some(IndexDescriptor(label, properties, limitations, orderCapability, valueCapability, isUnique, reference.supportsCompositeRangeSeek()))
         }
       case _ => None
     }
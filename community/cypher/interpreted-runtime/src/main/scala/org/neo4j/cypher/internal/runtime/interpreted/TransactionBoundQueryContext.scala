@@ -29,6 +29,7 @@ import org.eclipse.collections.api.iterator.LongIterator
 import org.neo4j.collection.PrimitiveLongResourceIterator
 import org.neo4j.cypher.internal.javacompat.GraphDatabaseCypherService
 import org.neo4j.cypher.internal.planner.v3_6.spi.{IdempotentResult, IndexDescriptor}
+import org.neo4j.cypher.internal.runtime.interpreted.IndexOrderConversion.asKernelIndexOrder
 import org.neo4j.cypher.internal.runtime.interpreted.TransactionBoundQueryContext.IndexSearchMonitor
 import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.DirectionConverter.toGraphDb
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.{OnlyDirectionExpander, TypeAndDirectionExpander}
@@ -292,6 +293,7 @@ sealed class TransactionBoundQueryContext(val transactionalContext: Transactiona
     val impossiblePredicate =
       predicates.exists {
         case p: IndexQuery.ExactPredicate => p.value() == Values.NO_VALUE
+        case _: IndexQuery.ExactAnyPredicate => false
         case p: IndexQuery =>
           !RANGE_SEEKABLE_VALUE_GROUPS.contains(p.valueGroup())
       }
@@ -1078,12 +1080,6 @@ sealed class TransactionBoundQueryContext(val transactionalContext: Transactiona
     cursor
   }
 
-  private def asKernelIndexOrder(indexOrder: IndexOrder): KernelIndexOrder = indexOrder match {
-    case IndexOrderAscending => KernelIndexOrder.ASCENDING
-    case IndexOrderDescending => KernelIndexOrder.DESCENDING
-    case IndexOrderNone => KernelIndexOrder.NONE
-  }
-
   abstract class CursorIterator[T] extends Iterator[T] {
     private var _next: T = fetchNext()
 
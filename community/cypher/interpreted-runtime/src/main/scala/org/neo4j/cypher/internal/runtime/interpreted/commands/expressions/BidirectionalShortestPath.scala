@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.commands.expressions
+
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList
+import org.eclipse.collections.impl.map.mutable.primitive.{LongIntHashMap, LongLongHashMap, LongObjectHashMap}
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.v3_6.expressions.SemanticDirection
+import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
+import org.neo4j.values.virtual.{NodeValue, PathValue, RelationshipValue, VirtualValues}
+
+/**
+  * Bidirectional breadth first search for the shortest paths between two nodes. Relationships are read through kernel
+  * cursors and the search state is kept in primitive collections, so no node or relationship objects are created
+  * except for the returned paths.
+  *
+  * Each step expands the smaller of the two frontiers by one level. The searches meet at the first level where one of
+  * them finds a node already found by the other, which gives the length of the shortest paths. Every shortest path
+  * goes through exactly one of the nodes found at that level, so all of them are produced by combining the paths from
+  * both ends to each of these nodes.
+  *
+  * @param relationshipFilter decides, for the relationship at the cursor, if the search may traverse it
+  */
+class BidirectionalShortestPath(query: QueryContext,
+                                direction: SemanticDirection,
+                                types: Option[Array[Int]],
+                                maxDepth: Int,
+                                relationshipFilter: RelationshipSelectionCursor => Boolean) {
+
+  def findSinglePath(start: Long, end: Long): Option[PathValue] = find(start, end, single = true).headOption
+
+  def findAllPaths(start: Long, end: Long): Seq[PathValue] = find(start, end, single = false)
+
+  private def find(start: Long, end: Long, single: Boolean): Seq[PathValue] = {
+    if (start == end) {
+      Seq(VirtualValues.path(Array(query.nodeById(start)), Array.empty[RelationshipValue]))
+    } else {
+      val fromStart = new Search(start, direction)
+      val fromEnd = new Search(end, direction.reversed)
+      val meetings = new LongArrayList()
+
+      while (meetings.isEmpty && fromStart.depth + fromEnd.depth < maxDepth &&
+             fromStart.frontier.notEmpty() && fromEnd.frontier.notEmpty()) {
+        if (fromStart.frontier.size() <= fromEnd.frontier.size()) fromStart.expand(fromEnd, single, meetings)
+        else fromEnd.expand(fromStart, single, meetings)
+      }
+
+      val paths = Seq.newBuilder[PathValue]
+      val meetingNodes = meetings.longIterator()
+      while (meetingNodes.hasNext) {
+        val meeting = meetingNodes.next()
+        for (toStart <- fromStart.pathsTo(meeting, single); toEnd <- fromEnd.pathsTo(meeting, single)) {
+          paths += toPath(toStart, toEnd)
+        }
+      }
+      paths.result()
+    }
+  }
+
+  /*
+   * Both lists start with the meeting node and alternate node and relationship ids from there back to where their
+   * search started.
+   */
+  private def toPath(toStart: List[Long], toEnd: List[Long]): PathValue = {
+    val ids = (toStart.reverse ++ toEnd.tail).toArray
+    val nodes = new Array[NodeValue](ids.length / 2 + 1)
+    val relationships = new Array[RelationshipValue](ids.length / 2)
+    var i = 0
+    while (i < ids.length) {
+      if (i % 2 == 0) nodes(i / 2) = query.nodeById(ids(i))
+      else relationships(i / 2) = query.relationshipById(ids(i))
+      i += 1
+    }
+    VirtualValues.path(nodes, relationships)
+  }
+
+  private class Search(from: Long, dir: SemanticDirection) {
+    private val depths = new LongIntHashMap()
+    // The first relationship and node each node was reached from
+    private val parentRelationships = new LongLongHashMap()
+    private val parentNodes = new LongLongHashMap()
+    // Further relationships and nodes, in pairs, each node was reached from at the same depth
+    private val moreParents = new LongObjectHashMap[LongArrayList]()
+
+    var frontier: LongArrayList = LongArrayList.newListWith(from)
+    var depth = 0
+
+    depths.put(from, 0)
+
+    def found(node: Long): Boolean = depths.containsKey(node)
+
+    def expand(other: Search, single: Boolean, meetings: LongArrayList): Unit = {
+      val nextFrontier = new LongArrayList()
+      val nextDepth = depth + 1
+      val nodes = frontier.longIterator()
+      while (nodes.hasNext && !(single && meetings.notEmpty())) {
+        val node = nodes.next()
+        val cursor = query.getRelationshipsCursor(node, dir, types)
+        try {
+          while (cursor.next() && !(single && meetings.notEmpty())) {
+            if (relationshipFilter(cursor)) {
+              val relationship = cursor.relationshipReference()
+              val otherNode = cursor.otherNodeReference()
+              val otherDepth = depths.getIfAbsent(otherNode, -1)
+              if (otherDepth == -1) {
+                depths.put(otherNode, nextDepth)
+                parentRelationships.put(otherNode, relationship)
+                parentNodes.put(otherNode, node)
+                nextFrontier.add(otherNode)
+                if (other.found(otherNode)) meetings.add(otherNode)
+              } else if (otherDepth == nextDepth && !single) {
+                moreParents.getIfAbsentPut(otherNode, new LongArrayList()).addAll(relationship, node)
+              }
+            }
+          }
+        } finally {
+          cursor.close()
+        }
+      }
+      frontier = nextFrontier
+      depth = nextDepth
+    }
+
+    /**
+      * Paths from the given node back to where this search started, as alternating node and relationship ids.
+      */
+    def pathsTo(node: Long, single: Boolean): Seq[List[Long]] =
+      if (node == from) Seq(List(node))
+      else {
+        val viaFirst = pathsTo(parentNodes.get(node), single).map(path => node :: parentRelationships.get(node) :: path)
+        val more = moreParents.get(node)
+        if (single || more == null) viaFirst
+        else viaFirst ++ (0 until more.size() by 2).flatMap { i =>
+          pathsTo(more.get(i + 1), single).map(path => node :: more.get(i) :: path)
+        }
+      }
+  }
+}
@@ -25,9 +25,10 @@ package org.neo4j.cypher.internal.runtime.interpreted.commands.expressions
 import org.neo4j.cypher.internal.runtime.interpreted.ExecutionContext
 import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates._
 import org.neo4j.cypher.internal.runtime.interpreted.commands.{Pattern, ShortestPath, SingleNode, _}
-import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.{LazyTypes, QueryState}
 import org.neo4j.cypher.internal.runtime.{Expander, KernelPredicate}
 import org.neo4j.graphdb.{Path, PropertyContainer, Relationship}
+import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
 import org.neo4j.kernel.impl.util.ValueUtils
 import org.neo4j.values.AnyValue
 import org.neo4j.values.storable.Values
@@ -47,6 +48,26 @@ case class ShortestPathExpression(shortestPathPattern: ShortestPath,
   val pathVariables = Set(shortestPathPattern.pathName, shortestPathPattern.relIterator.getOrElse(""))
   val predicates = perStepPredicates ++ fullPathPredicates
 
+  private val relTypes = new LazyTypes(shortestPathPattern.relTypes.toArray)
+
+  /*
+   * Per step predicates on all or none of the relationships hold for a path exactly when they hold for each of its
+   * relationships, so they can be checked while expanding. A relationship is only traversed when the predicate is
+   * true for all, or false for none, as a null would make the predicate on the path null as well. Any other predicate
+   * needs the nodes or the full path, and then the graph-algo path finder is used.
+   */
+  private val relationshipPredicates: Option[Seq[(Predicate, String, Boolean)]] =
+    if (fullPathPredicates.nonEmpty) None
+    else {
+      val converted = perStepPredicates.map(findPredicate).collect {
+        case AllInList(relFunction, symbolName, innerPredicate) if isRelationshipsFunction(relFunction) =>
+          (innerPredicate, symbolName, true)
+        case NoneInList(relFunction, symbolName, innerPredicate) if isRelationshipsFunction(relFunction) =>
+          (innerPredicate, symbolName, false)
+      }
+      if (converted.size == perStepPredicates.size) Some(converted) else None
+    }
+
   def apply(ctx: ExecutionContext, state: QueryState): AnyValue = {
     if (anyStartpointsContainNull(ctx)) {
       Values.NO_VALUE
@@ -59,7 +80,40 @@ case class ShortestPathExpression(shortestPathPattern: ShortestPath,
     }
   }
 
-  private def getMatches(ctx: ExecutionContext, start: NodeValue, end: NodeValue, state: QueryState): AnyValue = {
+  private def getMatches(ctx: ExecutionContext, start: NodeValue, end: NodeValue, state: QueryState): AnyValue =
+    relationshipPredicates match {
+      case Some(relPredicates) => getMatchesUsingKernel(ctx, start, end, relPredicates, state)
+      case None => getMatchesUsingGraphAlgo(ctx, start, end, state)
+    }
+
+  private def getMatchesUsingKernel(ctx: ExecutionContext, start: NodeValue, end: NodeValue,
+                                    relPredicates: Seq[(Predicate, String, Boolean)], state: QueryState): AnyValue = {
+    val relationshipFilter: RelationshipSelectionCursor => Boolean =
+      if (relPredicates.isEmpty) _ => true
+      else cursor => {
+        val relationship = state.query.getRelationshipFor(cursor.relationshipReference(), cursor.`type`(),
+                                                          cursor.sourceNodeReference(), cursor.targetNodeReference())
+        relPredicates.forall {
+          case (predicate, symbolName, all) => predicate.isMatch(ctx += (symbolName -> relationship), state).contains(all)
+        }
+      }
+    val search = new BidirectionalShortestPath(state.query, shortestPathPattern.dir, relTypes.types(state.query),
+                                               shortestPathPattern.maxDepth.getOrElse(Int.MaxValue), relationshipFilter)
+
+    if (shortestPathPattern.single) {
+      val result = search.findSinglePath(start.id(), end.id())
+      if (!shortestPathPattern.allowZeroLength && result.forall(p => p.size() == 0))
+        Values.NO_VALUE
+      else result.getOrElse(Values.NO_VALUE)
+    }
+    else {
+      val result = search.findAllPaths(start.id(), end.id())
+        .filter { p => shortestPathPattern.allowZeroLength || p.size() > 0 }
+      VirtualValues.list(result:_*)
+    }
+  }
+
+  private def getMatchesUsingGraphAlgo(ctx: ExecutionContext, start: NodeValue, end: NodeValue, state: QueryState): AnyValue = {
     val (expander, nodePredicates) = addPredicates(ctx, makeRelationshipTypeExpander(), state)
     val maybePredicate = if (predicates.isEmpty) None else Some(Ands(NonEmptyList.from(predicates)))
     /* This test is made after a full shortest path candidate has been produced,
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.pipes
+
+import org.eclipse.collections.api.iterator.LongIterator
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList
+import org.eclipse.collections.impl.map.mutable.primitive.{LongIntHashMap, LongLongHashMap}
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet
+import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.ExecutionContext
+import org.neo4j.cypher.internal.v3_6.expressions.SemanticDirection
+import org.neo4j.cypher.internal.v3_6.util.InternalException
+import org.neo4j.cypher.internal.v3_6.util.attribution.Id
+import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
+import org.neo4j.values.storable.Values
+import org.neo4j.values.virtual.VirtualNodeValue
+
+case class BFSPruningVarLengthExpandPipe(source: Pipe,
+                                         fromName: String,
+                                         toName: String,
+                                         types: LazyTypes,
+                                         dir: SemanticDirection,
+                                         includeStartNode: Boolean,
+                                         max: Int,
+                                         filteringStep: VarLengthPredicate = VarLengthPredicate.NONE)
+                                        (val id: Id = Id.INVALID_ID) extends PipeWithSource(source) {
+
+  filteringStep.predicateExpressions.foreach(_.registerOwningPipe(this))
+
+  private val hasPredicates = filteringStep.predicateExpressions.nonEmpty
+
+  protected def internalCreateResults(input: Iterator[ExecutionContext], state: QueryState): Iterator[ExecutionContext] = {
+    input.flatMap {
+      row =>
+        row.getOrElse(fromName, throw new InternalException(s"Required variable `$fromName` is not in context")) match {
+          case node: VirtualNodeValue =>
+            if (hasPredicates && !filteringStep.filterNode(row, state)(state.query.nodeById(node.id())))
+              Iterator.empty
+            else {
+              val endNodes = new BFSPruningIterator(state.query, node.id(), dir, types.types(state.query),
+                                                    includeStartNode, max, relationshipFilter(row, state))
+              new Iterator[ExecutionContext] {
+                override def hasNext: Boolean = endNodes.hasNext
+
+                override def next(): ExecutionContext =
+                  executionContextFactory.copyWith(row, toName, state.query.nodeById(endNodes.next()))
+              }
+            }
+
+          case Values.NO_VALUE => Iterator.empty
+
+          case value => throw new InternalException(s"Expected variable `$fromName` to be a node, got $value")
+        }
+    }
+  }
+
+  private def relationshipFilter(row: ExecutionContext, state: QueryState): RelationshipSelectionCursor => Boolean =
+    if (!hasPredicates) _ => true
+    else cursor => {
+      val relationship = state.query.getRelationshipFor(cursor.relationshipReference(), cursor.`type`(),
+                                                        cursor.sourceNodeReference(), cursor.targetNodeReference())
+      filteringStep.filterRelationship(row, state)(relationship) &&
+        filteringStep.filterNode(row, state)(state.query.nodeById(cursor.otherNodeReference()))
+    }
+}
+
+/**
+  * Breadth first search for the nodes reachable from 'start' within 'max' relationships. Each node is produced once,
+  * when it is first found, and only one node of the frontier is expanded at a time, so the search reads no more of
+  * the graph than needed for the nodes consumed so far.
+  *
+  * The start node is produced first if 'includeStartNode' is set. Otherwise it is produced if there is a cycle of at
+  * most 'max' relationships back to it, not using any relationship twice. Following relationships in one direction
+  * only, the shortest such cycle is a shortest path to a node with a relationship back to the start node. In both
+  * directions, it is the shortest paths to the two ends of a relationship, where the paths begin with different
+  * relationships from the start node, together with that relationship.
+  *
+  * @param relationshipFilter decides, for the relationship at the cursor, if the search may traverse it
+  */
+class BFSPruningIterator(query: QueryContext,
+                         start: Long,
+                         dir: SemanticDirection,
+                         types: Option[Array[Int]],
+                         includeStartNode: Boolean,
+                         max: Int,
+                         relationshipFilter: RelationshipSelectionCursor => Boolean) extends LongIterator {
+  private val seen = LongHashSet.newSetWith(start)
+  private var frontier = LongArrayList.newListWith(start)
+  private var frontierIndex = 0
+  private var nextFrontier = new LongArrayList()
+  private var depth = 0
+  // The nodes found by the latest expansion, which have not all been produced yet
+  private val found = new LongArrayList()
+  private var foundIndex = 0
+  private var startNodeFound = includeStartNode
+
+  // Until a cycle back to the start node is found in both directions, the depth of each node, and the relationship
+  // from the start node that the shortest path to it begins with
+  private val trackBranches = !includeStartNode && dir == SemanticDirection.BOTH
+  private val depths = new LongIntHashMap()
+  private val branches = new LongLongHashMap()
+
+  if (includeStartNode) found.add(start)
+
+  override def hasNext: Boolean = {
+    while (foundIndex == found.size() && expandNext()) {}
+    foundIndex < found.size()
+  }
+
+  override def next(): Long = {
+    if (!hasNext) throw new NoSuchElementException
+    val node = found.get(foundIndex)
+    foundIndex += 1
+    node
+  }
+
+  /*
+   * Expands the next node of the frontier, moving on to the next level when the frontier is done. Returns false when
+   * there is nothing left to expand.
+   */
+  private def expandNext(): Boolean = {
+    if (frontierIndex == frontier.size()) {
+      if (nextFrontier.isEmpty || depth + 1 >= max) return false
+      val done = frontier
+      frontier = nextFrontier
+      nextFrontier = done
+      nextFrontier.clear()
+      frontierIndex = 0
+      depth += 1
+    }
+    found.clear()
+    foundIndex = 0
+
+    val node = frontier.get(frontierIndex)
+    frontierIndex += 1
+    val cursor = query.getRelationshipsCursor(node, dir, types)
+    try {
+      while (cursor.next()) {
+        if (relationshipFilter(cursor)) {
+          val otherNode = cursor.otherNodeReference()
+          if (seen.add(otherNode)) {
+            found.add(otherNode)
+            nextFrontier.add(otherNode)
+            if (trackBranches && !startNodeFound) {
+              depths.put(otherNode, depth + 1)
+              branches.put(otherNode, if (depth == 0) cursor.relationshipReference() else branches.get(node))
+            }
+          } else if (!startNodeFound && closesCycle(node, otherNode, cursor.relationshipReference())) {
+            startNodeFound = true
+            found.add(start)
+          }
+        }
+      }
+    } finally {
+      cursor.close()
+    }
+    true
+  }
+
+  private def closesCycle(node: Long, otherNode: Long, relationship: Long): Boolean =
+    if (otherNode == start)
+      depth == 0 || !trackBranches || branches.get(node) != relationship
+    else
+      trackBranches && (depth == 0 || branches.get(node) != branches.get(otherNode)) &&
+        depth + depths.get(otherNode) + 1 <= max
+}
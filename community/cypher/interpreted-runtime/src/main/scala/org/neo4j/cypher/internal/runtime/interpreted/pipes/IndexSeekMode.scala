@@ -23,13 +23,15 @@
 package org.neo4j.cypher.internal.runtime.interpreted.pipes
 
 import org.neo4j.cypher.internal.v3_6.util.InternalException
-import org.neo4j.cypher.internal.v3_6.logical.plans.{QueryExpression, RangeQueryExpression}
+import org.neo4j.cypher.internal.v3_6.logical.plans.{CompositeQueryExpression, QueryExpression, RangeQueryExpression}
 import org.neo4j.values.virtual.NodeValue
 
 case class IndexSeekModeFactory(unique: Boolean, readOnly: Boolean) {
   def fromQueryExpression[T](qexpr: QueryExpression[T]): IndexSeekMode = qexpr match {
     case _: RangeQueryExpression[_] if unique => UniqueIndexSeekByRange
     case _: RangeQueryExpression[_] => IndexSeekByRange
+    case CompositeQueryExpression(exprs) if exprs.last.isInstanceOf[RangeQueryExpression[_]] && unique => UniqueIndexSeekByRange
+    case CompositeQueryExpression(exprs) if exprs.last.isInstanceOf[RangeQueryExpression[_]] => IndexSeekByRange
     case _ if unique && !readOnly => LockingUniqueIndexSeek
     case _ if unique => UniqueIndexSeek
     case _ => IndexSeek
@@ -56,7 +56,7 @@ trait NodeIndexSeeker {
     indexMode match {
       case _: ExactSeek |
            _: SeekByRange =>
-        val indexQueries = computeIndexQueries(state, baseContext)
+        val indexQueries = computeIndexQueries(state, baseContext, needsValues, indexOrder)
         indexQueries.toIterator.map(query => state.query.indexSeek(indexReference, needsValues, indexOrder, query))
 
       case LockingUniqueIndexSeek =>
@@ -68,81 +68,106 @@ trait NodeIndexSeeker {
 
   private val BY_VALUE: MinMaxOrdering[Value] = MinMaxOrdering(Ordering.comparatorToOrdering(Values.COMPARATOR))
 
-  private def computeIndexQueries(state: QueryState, row: ExecutionContext): Seq[Seq[IndexQuery]] =
+  private def computeIndexQueries(state: QueryState, row: ExecutionContext, needsValues: Boolean, indexOrder: IndexOrder): Seq[Seq[IndexQuery]] =
     valueExpr match {
 
+      // Index exact value seek on multiple values, by a single index seek for all of them. Values can't be
+      // taken from the predicate, as for single exact seeks, so only do this when they are not needed.
+      case ManyQueryExpression(expr) if !needsValues && indexOrder == IndexOrderNone =>
+        expr(row, state) match {
+          case IsList(coll) =>
+            val seekValues = coll.asArray().toSet[AnyValue].map(makeValueNeoSafe(_)).filter(_ != Values.NO_VALUE)
+            if (seekValues.isEmpty) Nil
+            else Array(List(IndexQuery.exactAny(propertyIds.head, seekValues.toSeq: _*)))
+
+          case v if v == Values.NO_VALUE => Nil
+          case other => throw new CypherTypeException(s"Expected list, got $other")
+        }
+
       // Index range seek over range of values
       case RangeQueryExpression(rangeWrapper) =>
         assert(propertyIds.length == 1)
-        rangeWrapper match {
-          case PrefixSeekRangeExpression(range) =>
-            val expr = range.prefix
-            expr(row, state) match {
-              case text: TextValue =>
-                Array(Seq(IndexQuery.stringPrefix(propertyIds.head, text)))
-              case Values.NO_VALUE =>
+        computeRangeQueries(state, row, rangeWrapper, propertyIds.head)
+
+      // Index range seek over range of values of the last property of a composite index, with exact values for all others
+      //    eg:   x = 1 AND y in ["a", "b"] AND z > 3.0
+      case CompositeQueryExpression(exprs) if exprs.last.isInstanceOf[RangeQueryExpression[_]] =>
+        assert(exprs.lengthCompare(propertyIds.length) == 0)
+        val RangeQueryExpression(rangeWrapper) = exprs.last
+        val exactPrefixes = computeCompositeExactQueries(state, row, exprs.init, propertyIds.init)
+        val ranges = computeRangeQueries(state, row, rangeWrapper, propertyIds.last)
+        for (exactPrefix <- exactPrefixes; range <- ranges) yield exactPrefix ++ range
+
+      case exactQuery =>
+        computeExactQueries(state, row)
+    }
+
+  private def computeRangeQueries(state: QueryState, row: ExecutionContext, rangeWrapper: Expression, propertyId: Int): Seq[Seq[IndexQuery]] =
+    rangeWrapper match {
+      case PrefixSeekRangeExpression(range) =>
+        val expr = range.prefix
+        expr(row, state) match {
+          case text: TextValue =>
+            Array(Seq(IndexQuery.stringPrefix(propertyId, text)))
+          case Values.NO_VALUE =>
+            Nil
+          case other =>
+            throw new CypherTypeException("Expected TextValue, got "+other )
+        }
+
+      case InequalitySeekRangeExpression(innerRange) =>
+        val valueRange: InequalitySeekRange[Value] = innerRange.mapBounds(expr => makeValueNeoSafe(expr(row, state)))
+        val groupedRanges = valueRange.groupBy(bound => bound.endPoint.valueGroup())
+        if (groupedRanges.size > 1) {
+          Nil // predicates of more than one value group mean that no node can ever match
+        } else {
+          val (valueGroup, range) = groupedRanges.head
+          range match {
+            case rangeLessThan: RangeLessThan[Value] =>
+              rangeLessThan.limit(BY_VALUE).map( limit =>
+                List(IndexQuery.range(propertyId, null, false, limit.endPoint, limit.isInclusive))
+              ).toSeq
+
+            case rangeGreaterThan: RangeGreaterThan[Value] =>
+              rangeGreaterThan.limit(BY_VALUE).map( limit =>
+                List(IndexQuery.range(propertyId, limit.endPoint, limit.isInclusive, null, false))
+              ).toSeq
+
+            case RangeBetween(rangeGreaterThan, rangeLessThan) =>
+              val greaterThanLimit = rangeGreaterThan.limit(BY_VALUE).get
+              val lessThanLimit = rangeLessThan.limit(BY_VALUE).get
+
+              val compare = Values.COMPARATOR.compare(greaterThanLimit.endPoint, lessThanLimit.endPoint)
+              if (compare < 0) {
+                List(List(IndexQuery.range(propertyId,
+                                     greaterThanLimit.endPoint,
+                                     greaterThanLimit.isInclusive,
+                                     lessThanLimit.endPoint,
+                                     lessThanLimit.isInclusive)))
+              } else if (compare == 0 && greaterThanLimit.isInclusive && lessThanLimit.isInclusive) {
+                List(List(IndexQuery.exact(propertyId, lessThanLimit.endPoint)))
+              } else {
                 Nil
-              case other =>
-                throw new CypherTypeException("Expected TextValue, got "+other )
-            }
-
-          case InequalitySeekRangeExpression(innerRange) =>
-            val valueRange: InequalitySeekRange[Value] = innerRange.mapBounds(expr => makeValueNeoSafe(expr(row, state)))
-            val groupedRanges = valueRange.groupBy(bound => bound.endPoint.valueGroup())
-            if (groupedRanges.size > 1) {
-              Nil // predicates of more than one value group mean that no node can ever match
-            } else {
-              val (valueGroup, range) = groupedRanges.head
-              range match {
-                case rangeLessThan: RangeLessThan[Value] =>
-                  rangeLessThan.limit(BY_VALUE).map( limit =>
-                    List(IndexQuery.range(propertyIds.head, null, false, limit.endPoint, limit.isInclusive))
-                  ).toSeq
-
-                case rangeGreaterThan: RangeGreaterThan[Value] =>
-                  rangeGreaterThan.limit(BY_VALUE).map( limit =>
-                    List(IndexQuery.range(propertyIds.head, limit.endPoint, limit.isInclusive, null, false))
-                  ).toSeq
-
-                case RangeBetween(rangeGreaterThan, rangeLessThan) =>
-                  val greaterThanLimit = rangeGreaterThan.limit(BY_VALUE).get
-                  val lessThanLimit = rangeLessThan.limit(BY_VALUE).get
-
-                  val compare = Values.COMPARATOR.compare(greaterThanLimit.endPoint, lessThanLimit.endPoint)
-                  if (compare < 0) {
-                    List(List(IndexQuery.range(propertyIds.head,
-                                         greaterThanLimit.endPoint,
-                                         greaterThanLimit.isInclusive,
-                                         lessThanLimit.endPoint,
-                                         lessThanLimit.isInclusive)))
-                  } else if (compare == 0 && greaterThanLimit.isInclusive && lessThanLimit.isInclusive) {
-                    List(List(IndexQuery.exact(propertyIds.head, lessThanLimit.endPoint)))
-                  } else {
-                    Nil
-                  }
               }
-            }
-
-          case PointDistanceSeekRangeExpression(range) =>
-            val valueRange = range.map(expr => makeValueNeoSafe(expr(row, state)))
-            (valueRange.distance, valueRange.point) match {
-              case (distance: NumberValue, point: PointValue) =>
-                val bboxes = point.getCoordinateReferenceSystem.getCalculator.boundingBox(point, distance.doubleValue()).asScala
-                // The geographic calculator pads the range to avoid numerical errors, which means we rely more on post-filtering
-                // This also means we can fix the date-line '<' case by simply being inclusive in the index seek, and again rely on post-filtering
-                val inclusive = if (bboxes.length > 1) true else range.inclusive
-                bboxes.map( bbox => List(IndexQuery.range(propertyIds.head,
-                  bbox.first(),
-                  inclusive,
-                  bbox.other(),
-                  inclusive
-                )))
-              case _ => Nil
-            }
+          }
         }
 
-      case exactQuery =>
-        computeExactQueries(state, row)
+      case PointDistanceSeekRangeExpression(range) =>
+        val valueRange = range.map(expr => makeValueNeoSafe(expr(row, state)))
+        (valueRange.distance, valueRange.point) match {
+          case (distance: NumberValue, point: PointValue) =>
+            val bboxes = point.getCoordinateReferenceSystem.getCalculator.boundingBox(point, distance.doubleValue()).asScala
+            // The geographic calculator pads the range to avoid numerical errors, which means we rely more on post-filtering
+            // This also means we can fix the date-line '<' case by simply being inclusive in the index seek, and again rely on post-filtering
+            val inclusive = if (bboxes.length > 1) true else range.inclusive
+            bboxes.map( bbox => List(IndexQuery.range(propertyId,
+              bbox.first(),
+              inclusive,
+              bbox.other(),
+              inclusive
+            )))
+          case _ => Nil
+        }
     }
 
   private def computeExactQueries(state: QueryState, row: ExecutionContext): Seq[Seq[IndexQuery.ExactPredicate]] =
@@ -173,16 +198,21 @@ trait NodeIndexSeeker {
       case CompositeQueryExpression(exprs) =>
         assert(exprs.lengthCompare(propertyIds.length) == 0)
 
-        // seekValues = [[1], ["a", "b"], [3.0]]
-        val seekValues = exprs.map(expressionValues(row, state))
-
-        // combined = [[1, "a", 3.0], [1, "b", 3.0]]
-        val combined = combine(seekValues)
-        combined.map(seekTuple => seekTuple.zip(propertyIds)
-          .map { case (v,propId) => IndexQuery.exact(propId, makeValueNeoSafe(v))}
-        )
+        computeCompositeExactQueries(state, row, exprs, propertyIds)
     }
 
+  private def computeCompositeExactQueries(state: QueryState, row: ExecutionContext, exprs: Seq[QueryExpression[Expression]],
+                                           propertyIds: Seq[Int]): Seq[Seq[IndexQuery.ExactPredicate]] = {
+    // seekValues = [[1], ["a", "b"], [3.0]]
+    val seekValues = exprs.map(expressionValues(row, state))
+
+    // combined = [[1, "a", 3.0], [1, "b", 3.0]]
+    val combined = combine(seekValues)
+    combined.map(seekTuple => seekTuple.zip(propertyIds)
+      .map { case (v,propId) => IndexQuery.exact(propId, makeValueNeoSafe(v))}
+    )
+  }
+
   private def expressionValues(m: ExecutionContext, state: QueryState)(queryExpression: QueryExpression[Expression]): Seq[AnyValue] = {
     queryExpression match {
 
@@ -200,7 +230,7 @@ trait NodeIndexSeeker {
         throw new InternalException("A CompositeQueryExpression can't be nested in a CompositeQueryExpression")
 
       case RangeQueryExpression(rangeWrapper) =>
-        throw new InternalException("Range queries on composite indexes not yet supported")
+        throw new InternalException("Range queries on composite indexes are only supported on the last property")
     }
   }
 }
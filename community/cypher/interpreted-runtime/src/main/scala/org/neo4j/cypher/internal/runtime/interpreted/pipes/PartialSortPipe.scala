@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.pipes
+
+import java.util.Comparator
+
+import org.neo4j.cypher.internal.DefaultComparatorTopTable
+import org.neo4j.cypher.internal.runtime.interpreted.ExecutionContext
+import org.neo4j.cypher.internal.v3_6.util.attribution.Id
+
+import scala.collection.JavaConverters._
+import scala.collection.mutable
+
+/*
+ * PartialSortPipe is used when the input rows already arrive sorted by a prefix of the ORDER BY columns, e.g. from an
+ * ordered index seek. Only the rows of one chunk with equal prefix values are buffered at a time, and they are sorted
+ * by the remaining columns before they are produced.
+ */
+case class PartialSortPipe(source: Pipe, prefixComparator: Comparator[ExecutionContext], suffixComparator: Comparator[ExecutionContext])
+                          (val id: Id = Id.INVALID_ID)
+  extends PipeWithSource(source) {
+
+  protected def internalCreateResults(input: Iterator[ExecutionContext], state: QueryState): Iterator[ExecutionContext] =
+    new PartialSortIterator(input, prefixComparator, suffixComparator, Long.MaxValue)
+}
+
+/**
+  * Produces the input rows sorted by 'suffixComparator' within each chunk of consecutive rows that are equal according
+  * to 'prefixComparator'. Reading a chunk reads a single row past its end, and no further input is read before the
+  * rows of the chunk have been produced. At most 'limit' rows are produced.
+  */
+class PartialSortIterator(input: Iterator[ExecutionContext],
+                          prefixComparator: Comparator[ExecutionContext],
+                          suffixComparator: Comparator[ExecutionContext],
+                          limit: Long) extends Iterator[ExecutionContext] {
+  private var remaining = limit
+  private var nextChunkStart: ExecutionContext = _
+  private var chunk: Iterator[ExecutionContext] = Iterator.empty
+
+  override def hasNext: Boolean = remaining > 0 && (chunk.hasNext || nextChunkStart != null || input.hasNext)
+
+  override def next(): ExecutionContext = {
+    if (!hasNext) Iterator.empty.next()
+    if (!chunk.hasNext) chunk = readChunk()
+    remaining -= 1
+    chunk.next()
+  }
+
+  private def readChunk(): Iterator[ExecutionContext] = {
+    val first = if (nextChunkStart != null) nextChunkStart else input.next()
+    nextChunkStart = null
+    val buffer = new mutable.ArrayBuffer[ExecutionContext]()
+    buffer += first
+    while (nextChunkStart == null && input.hasNext) {
+      val row = input.next()
+      if (prefixComparator.compare(first, row) == 0) buffer += row else nextChunkStart = row
+    }
+
+    if (buffer.size > remaining) {
+      // Only the first 'remaining' rows of this chunk will be produced
+      val topTable = new DefaultComparatorTopTable(suffixComparator, remaining.toInt)
+      buffer.foreach(topTable.add)
+      topTable.sort()
+      topTable.iterator.asScala
+    } else {
+      val array = buffer.toArray
+      java.util.Arrays.sort(array, suffixComparator)
+      array.iterator
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.pipes
+
+import java.util.Comparator
+
+import org.neo4j.cypher.internal.runtime.interpreted.ExecutionContext
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.v3_6.util.attribution.Id
+import org.neo4j.values.storable.NumberValue
+
+/*
+ * PartialTopNPipe is used for ORDER BY ... LIMIT when the input rows already arrive sorted by a prefix of the ORDER BY
+ * columns. Chunks of rows with equal prefix values are sorted one at a time, and no more input is read once the
+ * chunks sorted so far hold enough rows.
+ */
+case class PartialTopNPipe(source: Pipe,
+                           countExpression: Expression,
+                           prefixComparator: Comparator[ExecutionContext],
+                           suffixComparator: Comparator[ExecutionContext])
+                          (val id: Id = Id.INVALID_ID) extends PipeWithSource(source) {
+
+  countExpression.registerOwningPipe(this)
+
+  protected override def internalCreateResults(input: Iterator[ExecutionContext], state: QueryState): Iterator[ExecutionContext] = {
+    if (input.isEmpty) Iterator.empty
+    else {
+      val first = input.next()
+      val longCount = countExpression(first, state).asInstanceOf[NumberValue].longValue()
+      if (longCount <= 0) {
+        Iterator.empty
+      } else {
+        new PartialSortIterator(Iterator.single(first) ++ input, prefixComparator, suffixComparator, longCount)
+      }
+    }
+  }
+}
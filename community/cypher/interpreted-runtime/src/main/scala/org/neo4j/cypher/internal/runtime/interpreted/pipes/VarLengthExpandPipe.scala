@@ -22,6 +22,7 @@
  */
 package org.neo4j.cypher.internal.runtime.interpreted.pipes
 
+import org.neo4j.cypher.internal.runtime.QueryContext
 import org.neo4j.cypher.internal.runtime.interpreted.ExecutionContext
 import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
 import org.neo4j.cypher.internal.v3_6.expressions.SemanticDirection
@@ -64,8 +65,11 @@ case class VarLengthExpandPipe(source: Pipe,
 
   filteringStep.predicateExpressions.foreach(_.registerOwningPipe(this))
 
+  private val needsFlipping = if (dir == SemanticDirection.BOTH) projectedDir == SemanticDirection.INCOMING else dir != projectedDir
+
   private def varLengthExpand(node: NodeValue, state: QueryState, maxDepth: Option[Int],
-                              row: ExecutionContext): Iterator[(NodeValue, Seq[RelationshipValue])] = {
+                              row: ExecutionContext, expandDir: SemanticDirection,
+                              flipRels: Boolean): Iterator[(NodeValue, Seq[RelationshipValue])] = {
     val stack = new mutable.Stack[(NodeValue, Seq[RelationshipValue])]
     stack.push((node, Seq.empty))
 
@@ -73,7 +77,7 @@ case class VarLengthExpandPipe(source: Pipe,
       def next(): (NodeValue, Seq[RelationshipValue]) = {
         val (node, rels) = stack.pop()
         if (rels.length < maxDepth.getOrElse(Int.MaxValue) && filteringStep.filterNode(row, state)(node)) {
-          val relationships: Iterator[RelationshipValue] = state.query.getRelationshipsForIds(node.id(), dir,
+          val relationships: Iterator[RelationshipValue] = state.query.getRelationshipsForIds(node.id(), expandDir,
                                                                                       types.types(state.query))
 
           relationships.filter(filteringStep.filterRelationship(row, state)).foreach { rel =>
@@ -83,8 +87,7 @@ case class VarLengthExpandPipe(source: Pipe,
             }
           }
         }
-        val needsFlipping = if (dir == SemanticDirection.BOTH) projectedDir == SemanticDirection.INCOMING else dir != projectedDir
-        val projectedRels = if (needsFlipping) {
+        val projectedRels = if (flipRels) {
           rels.reverse
         } else {
           rels
@@ -99,7 +102,7 @@ case class VarLengthExpandPipe(source: Pipe,
   protected def internalCreateResults(input: Iterator[ExecutionContext], state: QueryState): Iterator[ExecutionContext] = {
     def expand(row: ExecutionContext, n: NodeValue) = {
       if (filteringStep.filterNode(row, state)(n)) {
-        val paths = varLengthExpand(n, state, max, row)
+        val paths = varLengthExpand(n, state, max, row, dir, needsFlipping)
         paths.collect {
           case (node, rels) if rels.length >= min && isToNodeValid(row, state, node) =>
             executionContextFactory.copyWith(row, relName, VirtualValues.list(rels: _*), toName, node)
@@ -109,15 +112,45 @@ case class VarLengthExpandPipe(source: Pipe,
       }
     }
 
+    // Expands from the node in scope at the other end, against the direction of the pattern. The paths found end in
+    // the from node and are projected as if they had been found from there.
+    def expandReversed(row: ExecutionContext, from: NodeValue, to: NodeValue) = {
+      if (filteringStep.filterNode(row, state)(to)) {
+        val paths = varLengthExpand(to, state, max, row, dir.reversed, !needsFlipping)
+        paths.collect {
+          case (node, rels) if rels.length >= min && node.id == from.id =>
+            executionContextFactory.copyWith(row, relName, VirtualValues.list(rels: _*), toName, to)
+        }
+      } else {
+        Iterator.empty
+      }
+    }
+
+    def expandFrom(row: ExecutionContext, from: NodeValue) =
+      if (nodeInScope) {
+        fetchFromContext(row, state, toName) match {
+          case toNodeRef: VirtualNodeValue if expandFromToNode(state.query, from.id, toNodeRef.id) =>
+            val to = toNodeRef match {
+              case toNode: NodeValue => toNode
+              case _ => state.query.nodeOps.getById(toNodeRef.id)
+            }
+            expandReversed(row, from, to)
+          case _ =>
+            expand(row, from)
+        }
+      } else {
+        expand(row, from)
+      }
+
     input.flatMap {
       row => {
         fetchFromContext(row, state, fromName) match {
           case node: NodeValue =>
-            expand(row, node)
+            expandFrom(row, node)
 
           case nodeRef: NodeReference =>
             val node = state.query.nodeOps.getById(nodeRef.id)
-            expand(row, node)
+            expandFrom(row, node)
 
           case Values.NO_VALUE =>
             if (nodeInScope)
@@ -131,6 +164,20 @@ case class VarLengthExpandPipe(source: Pipe,
     }
   }
 
+  /**
+    * When both ends are known, the expansion fans out from whichever end has the fewer relationships to follow. As
+    * for expand into, degrees are only compared between dense nodes, and a sparse node is always preferred.
+    */
+  private def expandFromToNode(query: QueryContext, fromNode: Long, toNode: Long): Boolean =
+    query.nodeIsDense(fromNode) &&
+      (!query.nodeIsDense(toNode) || degree(query, toNode, dir.reversed) < degree(query, fromNode, dir))
+
+  private def degree(query: QueryContext, node: Long, direction: SemanticDirection): Int =
+    types.types(query) match {
+      case Some(typeIds) => typeIds.foldLeft(0)((acc, typeId) => acc + query.nodeGetDegree(node, direction, typeId))
+      case None => query.nodeGetDegree(node, direction)
+    }
+
   private def isToNodeValid(row: ExecutionContext, state: QueryState, node: VirtualNodeValue): Boolean =
     !nodeInScope || {
       fetchFromContext(row, state, toName) match {
@@ -27,6 +27,8 @@ import org.neo4j.cypher.internal.planner.v3_6.spi.IndexDescriptor
 import org.neo4j.cypher.internal.v3_6.util.test_helpers.CypherFunSuite
 import org.neo4j.cypher.internal.v3_6.util.{LabelId, PropertyKeyId, Selectivity}
 import org.neo4j.internal.kernel.api.{Read, SchemaRead}
+import org.neo4j.storageengine.api.schema.IndexValueHistogram
+import org.neo4j.values.storable.Values
 
 class TransactionBoundGraphStatisticsTest extends CypherFunSuite {
 
@@ -132,4 +134,36 @@ class TransactionBoundGraphStatisticsTest extends CypherFunSuite {
     statistics.uniqueValueSelectivity(index) should equal(Some(Selectivity.ZERO))
   }
 
+  test("indexPropertyValueSelectivity should use the value histogram") {
+    //given
+    val read = mock[Read]
+    val schemaRead = mock[SchemaRead]
+    val builder = new IndexValueHistogram.Builder()
+    builder.include(Values.intValue(1), 90)
+    (2 to 11).foreach(i => builder.include(Values.intValue(i), 1))
+    when(schemaRead.indexValueHistogram(schemaRead.indexReferenceUnchecked(labelId, propertyId))).thenReturn(builder.build())
+
+    //when
+    val statistics = TransactionBoundGraphStatistics(read, schemaRead)
+
+    //then
+    statistics.indexPropertyValueSelectivity(index, Some(1)) should equal(Some(Selectivity(0.9)))
+    statistics.indexPropertyValueSelectivity(index, Some(5)) should equal(Some(Selectivity(0.01)))
+    statistics.indexPropertyValueSelectivity(index, Some(Seq(1))) should equal(None)
+  }
+
+  test("indexPropertyValueSelectivity should handle missing value histogram") {
+    //given
+    val read = mock[Read]
+    val schemaRead = mock[SchemaRead]
+    when(schemaRead.indexValueHistogram(schemaRead.indexReferenceUnchecked(labelId, propertyId))).thenReturn(IndexValueHistogram.EMPTY)
+
+    //when
+    val statistics = TransactionBoundGraphStatistics(read, schemaRead)
+
+    //then
+    statistics.indexPropertyValueSelectivity(index, Some(1)) should equal(None)
+    statistics.indexPropertyValueSelectivity(index, None) should equal(None)
+  }
+
 }
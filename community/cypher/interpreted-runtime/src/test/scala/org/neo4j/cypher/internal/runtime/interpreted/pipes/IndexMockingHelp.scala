@@ -43,15 +43,24 @@ trait IndexMockingHelp extends CypherFunSuite with ImplicitDummyPos {
 
   protected def indexFor[T](values: (Seq[AnyRef], Iterable[NodeValueHit])*): QueryContext = {
     val query: QueryContext = mockedQueryContext
-    when(query.indexSeek(any(), any(), any(), any())).thenReturn(PredefinedCursor())
     when(query.lockingUniqueIndexSeek(any(), any())).thenReturn(PredefinedCursor())
 
-    values.foreach {
+    val hits: Map[Seq[IndexQuery], Iterable[NodeValueHit]] = values.map {
       case (searchTerm, resultIterable) =>
         val indexQueries = propertyKeys.zip(searchTerm).map(t => IndexQuery.exact(t._1.nameId.id, t._2))
-        when(query.indexSeek(any(), any(), any(), ArgumentMatchers.eq(indexQueries))).thenReturn(PredefinedCursor(resultIterable))
         when(query.lockingUniqueIndexSeek(any(), ArgumentMatchers.eq(indexQueries))).thenReturn(PredefinedCursor(resultIterable))
-    }
+        (indexQueries: Seq[IndexQuery]) -> resultIterable
+    }.toMap
+
+    when(query.indexSeek(any(), any(), any(), any())).thenAnswer(new Answer[NodeValueIndexCursor] {
+      override def answer(invocationOnMock: InvocationOnMock): NodeValueIndexCursor =
+        invocationOnMock.getArgument[Seq[IndexQuery]](3) match {
+          case Seq(any: IndexQuery.ExactAnyPredicate) =>
+            PredefinedCursor(any.exactPredicates().toSeq.flatMap(exact => hits.getOrElse(Seq(exact), Nil)))
+          case predicates =>
+            PredefinedCursor(hits.getOrElse(predicates, Nil))
+        }
+    })
 
     query
   }
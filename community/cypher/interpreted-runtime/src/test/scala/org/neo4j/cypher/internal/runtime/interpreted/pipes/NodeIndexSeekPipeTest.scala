@@ -22,19 +22,20 @@
  */
 package org.neo4j.cypher.internal.runtime.interpreted.pipes
 
-import org.mockito.ArgumentMatchers.anyInt
+import org.mockito.ArgumentMatchers
+import org.mockito.ArgumentMatchers.{any, anyInt}
 import org.mockito.Mockito._
 import org.neo4j.cypher.internal.runtime.QueryContext
-import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.{ListLiteral, Literal, Variable}
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.{InequalitySeekRangeExpression, ListLiteral, Literal, Variable}
 import org.neo4j.cypher.internal.runtime.interpreted.{ExecutionContext, ImplicitDummyPos, QueryStateHelper}
 import org.neo4j.cypher.internal.v3_6.logical.plans._
-import org.neo4j.internal.kernel.api.IndexReference
+import org.neo4j.internal.kernel.api.{IndexQuery, IndexReference}
 import org.neo4j.values.storable.Values
 import org.neo4j.values.storable.Values.stringValue
 import org.neo4j.values.virtual.VirtualValues
 import org.neo4j.cypher.internal.v3_6.expressions.{LabelName, LabelToken, PropertyKeyName, PropertyKeyToken}
 import org.neo4j.cypher.internal.v3_6.util.test_helpers.{CypherFunSuite, WindowsStringSafe}
-import org.neo4j.cypher.internal.v3_6.util.{CypherTypeException, LabelId, PropertyKeyId}
+import org.neo4j.cypher.internal.v3_6.util.{CypherTypeException, LabelId, NonEmptyList, PropertyKeyId}
 
 class NodeIndexSeekPipeTest extends CypherFunSuite with ImplicitDummyPos with IndexMockingHelp {
 
@@ -79,6 +80,25 @@ class NodeIndexSeekPipeTest extends CypherFunSuite with ImplicitDummyPos with In
     result.map(_("n")).toList should equal(List(node, node2))
   }
 
+  test("should seek all of multiple values at once when values are not needed") {
+    // given
+    val query = indexFor[ExecutionContext](
+      Seq("hello") -> Seq(nodeValueHit(node)),
+      Seq("world") -> Seq(nodeValueHit(node2))
+    )
+    val queryState = QueryStateHelper.emptyWith(query = query)
+
+    // when
+    val properties = propertyKey.map(IndexedProperty(_, DoNotGetValue)).toArray
+    val pipe = NodeIndexSeekPipe("n", label, properties, ManyQueryExpression(ListLiteral(Literal("hello"), Literal("world"))), indexOrder = IndexOrderNone)()
+    val result = pipe.createResults(queryState).toList
+
+    // then
+    result.map(_("n")) should equal(List(node, node2))
+    verify(query).indexSeek(any(), ArgumentMatchers.eq(false), ArgumentMatchers.eq(IndexOrderNone),
+      ArgumentMatchers.eq(Seq(IndexQuery.exactAny(propertyKey.head.nameId.id, stringValue("hello"), stringValue("world")))))
+  }
+
   test("should handle unique index lookups for multiple values") {
     // given
     val queryState = QueryStateHelper.emptyWith(
@@ -236,6 +256,27 @@ class NodeIndexSeekPipeTest extends CypherFunSuite with ImplicitDummyPos with In
     result.map(_("n")).toList should equal(List(node))
   }
 
+  test("should seek composite index with exact prefix and range on the last property") {
+    // given
+    val query = indexFor[ExecutionContext]()
+    val queryState = QueryStateHelper.emptyWith(query = query) // WHERE n.prop = 'hello' AND n.prop2 > 5
+
+    // when
+    val properties = propertyKeys.map(IndexedProperty(_, DoNotGetValue)).toArray
+    val pipe = NodeIndexSeekPipe("n", label, properties,
+      CompositeQueryExpression(Seq(
+        SingleQueryExpression(Literal("hello")),
+        RangeQueryExpression(InequalitySeekRangeExpression(RangeGreaterThan(NonEmptyList(ExclusiveBound(Literal(5))))))
+      )), IndexSeekByRange, indexOrder = IndexOrderNone)()
+    pipe.createResults(queryState).toList
+
+    // then
+    verify(query).indexSeek(any(), ArgumentMatchers.eq(false), ArgumentMatchers.eq(IndexOrderNone),
+      ArgumentMatchers.eq(Seq(
+        IndexQuery.exact(propertyKeys.head.nameId.id, stringValue("hello")),
+        IndexQuery.range(propertyKeys(1).nameId.id, Values.intValue(5), false, null, false))))
+  }
+
   test("should give a helpful error message") {
     // given
     val queryContext = mock[QueryContext]
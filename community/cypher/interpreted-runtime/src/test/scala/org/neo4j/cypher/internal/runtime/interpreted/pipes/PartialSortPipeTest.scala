@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.pipes
+
+import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Literal
+import org.neo4j.kernel.impl.util.ValueUtils
+import org.neo4j.cypher.internal.v3_6.util.symbols._
+import org.neo4j.cypher.internal.v3_6.util.test_helpers.CypherFunSuite
+
+class PartialSortPipeTest extends CypherFunSuite {
+
+  private val prefix = ExecutionContextOrdering.asComparator(List(Ascending("x")))
+  private val suffix = ExecutionContextOrdering.asComparator(List(Descending("y")))
+
+  test("partial sort should sort each chunk of equal prefix values by the suffix") {
+    val input = new FakePipe(rows((1, 1), (1, 3), (1, 2), (2, 1), (3, 1), (3, 2)), "x" -> CTInteger, "y" -> CTInteger)
+
+    val pipe = PartialSortPipe(input, prefix, suffix)()
+    val result = pipe.createResults(QueryStateHelper.emptyWithValueSerialization).map(ctx => (ctx("x"), ctx("y"))).toList
+
+    result should equal(pairs((1, 3), (1, 2), (1, 1), (2, 1), (3, 2), (3, 1)))
+  }
+
+  test("partial sort should handle empty input") {
+    val input = new FakePipe(Iterator.empty, "x" -> CTInteger, "y" -> CTInteger)
+
+    val pipe = PartialSortPipe(input, prefix, suffix)()
+    pipe.createResults(QueryStateHelper.emptyWithValueSerialization).toList should equal(List.empty)
+  }
+
+  test("partial sort should not read past the chunk after the one being produced") {
+    val (input, read) = countingPipe((1, 1), (1, 2), (2, 1), (3, 1), (4, 1))
+
+    val pipe = PartialSortPipe(input, prefix, suffix)()
+    val result = pipe.createResults(QueryStateHelper.emptyWithValueSerialization)
+
+    result.next()
+    read() should equal(3)
+  }
+
+  test("partial top should return the top rows of the first chunks") {
+    val input = new FakePipe(rows((1, 1), (1, 3), (2, 1), (2, 5), (2, 4), (3, 1)), "x" -> CTInteger, "y" -> CTInteger)
+
+    val pipe = PartialTopNPipe(input, Literal(4), prefix, suffix)()
+    val result = pipe.createResults(QueryStateHelper.emptyWithValueSerialization).map(ctx => (ctx("x"), ctx("y"))).toList
+
+    result should equal(pairs((1, 3), (1, 1), (2, 5), (2, 4)))
+  }
+
+  test("partial top should return all rows when there are fewer than the limit") {
+    val input = new FakePipe(rows((1, 1), (2, 2), (2, 3)), "x" -> CTInteger, "y" -> CTInteger)
+
+    val pipe = PartialTopNPipe(input, Literal(10), prefix, suffix)()
+    val result = pipe.createResults(QueryStateHelper.emptyWithValueSerialization).map(ctx => (ctx("x"), ctx("y"))).toList
+
+    result should equal(pairs((1, 1), (2, 3), (2, 2)))
+  }
+
+  test("partial top should handle empty input and zero limit") {
+    val empty = new FakePipe(Iterator.empty, "x" -> CTInteger, "y" -> CTInteger)
+    PartialTopNPipe(empty, Literal(5), prefix, suffix)().createResults(QueryStateHelper.emptyWithValueSerialization).toList should equal(List.empty)
+
+    val nonEmpty = new FakePipe(rows((1, 1)), "x" -> CTInteger, "y" -> CTInteger)
+    PartialTopNPipe(nonEmpty, Literal(0), prefix, suffix)().createResults(QueryStateHelper.emptyWithValueSerialization).toList should equal(List.empty)
+  }
+
+  test("partial top should stop reading input once the limit is reached") {
+    val (input, read) = countingPipe((1 to 1000).map(i => (i / 10, i)): _*)
+
+    val pipe = PartialTopNPipe(input, Literal(15), prefix, suffix)()
+    val result = pipe.createResults(QueryStateHelper.emptyWithValueSerialization).map(ctx => ctx("y")).toList
+
+    result should equal(list(9, 8, 7, 6, 5, 4, 3, 2, 1, 19, 18, 17, 16, 15, 14))
+    // The first two chunks, and the first row of the third chunk
+    read() should equal(20)
+  }
+
+  private def rows(values: (Int, Int)*): Seq[Map[String, Any]] = values.map {
+    case (x, y) => Map("x" -> x, "y" -> y)
+  }
+
+  private def countingPipe(values: (Int, Int)*): (FakePipe, () => Int) = {
+    var read = 0
+    val data = rows(values: _*).iterator.map { row => read += 1; row }
+    (new FakePipe(data, "x" -> CTInteger, "y" -> CTInteger), () => read)
+  }
+
+  private def list(a: Any*) = a.map(ValueUtils.of).toList
+
+  private def pairs(a: (Any, Any)*) = a.map { case (x, y) => (ValueUtils.of(x), ValueUtils.of(y)) }.toList
+}
@@ -1073,6 +1073,118 @@ class VarLengthExpandPipeTest extends CypherFunSuite {
     single("b") should beEquivalentTo(toNode)
   }
 
+  test("should expand from the end node in scope when the start node is dense and the end node is not") {
+    // given
+    val startNode = newMockedNode(1)
+    val middleNode = newMockedNode(2)
+    val endNode = newMockedNode(3)
+
+    // a-[r1]->()-[r2]->b
+    val relationship1 = newNamedMockedRelationship(1, "r1", startNode, middleNode)
+    val relationship2 = newNamedMockedRelationship(2, "r2", middleNode, endNode)
+
+    val query = mock[QueryContext]
+    val nodeMapping: Map[(Long, SemanticDirection), Seq[RelationshipValue]] = Map(
+      (startNode.id, SemanticDirection.OUTGOING) -> Seq(relationship1),
+      (middleNode.id, SemanticDirection.INCOMING) -> Seq(relationship1),
+      (middleNode.id, SemanticDirection.OUTGOING) -> Seq(relationship2),
+      (endNode.id, SemanticDirection.INCOMING) -> Seq(relationship2)
+    )
+    replyWithMap(query, nodeMapping.withDefaultValue(Seq.empty))
+    when(query.nodeIsDense(startNode.id)).thenReturn(true)
+
+    val queryState = QueryStateHelper.emptyWith(query = query)
+
+    val left = newMockedPipe(SymbolTable(Map("a" -> CTNode, "b" -> CTNode)))
+    when(left.createResults(queryState)).thenAnswer(new Answer[Iterator[ExecutionContext]]() {
+      def answer(invocation: InvocationOnMock): Iterator[ExecutionContext] = Iterator(row("a" -> startNode, "b" -> endNode))
+    })
+
+    // when
+    val result = VarLengthExpandPipe(left, "a", "r", "b", SemanticDirection.OUTGOING, SemanticDirection.OUTGOING, LazyTypes.empty, 1, None, nodeInScope = true)().createResults(queryState).toList
+
+    // then
+    val (single :: Nil) = result
+    single("a") should beEquivalentTo(startNode)
+    single("r") should beEquivalentTo(Seq(relationship1, relationship2))
+    single("b") should beEquivalentTo(endNode)
+    verify(query).getRelationshipsForIds(endNode.id, SemanticDirection.INCOMING, None)
+    verify(query, never()).getRelationshipsForIds(startNode.id, SemanticDirection.OUTGOING, None)
+  }
+
+  test("should expand from the dense end node in scope with the lesser degree") {
+    // given
+    val startNode = newMockedNode(1)
+    val middleNode = newMockedNode(2)
+    val endNode = newMockedNode(3)
+
+    // a<-[r1]-()<-[r2]-b
+    val relationship1 = newNamedMockedRelationship(1, "r1", middleNode, startNode)
+    val relationship2 = newNamedMockedRelationship(2, "r2", endNode, middleNode)
+
+    val query = mock[QueryContext]
+    val nodeMapping: Map[(Long, SemanticDirection), Seq[RelationshipValue]] = Map(
+      (startNode.id, SemanticDirection.INCOMING) -> Seq(relationship1),
+      (middleNode.id, SemanticDirection.OUTGOING) -> Seq(relationship1),
+      (middleNode.id, SemanticDirection.INCOMING) -> Seq(relationship2),
+      (endNode.id, SemanticDirection.OUTGOING) -> Seq(relationship2)
+    )
+    replyWithMap(query, nodeMapping.withDefaultValue(Seq.empty))
+    when(query.nodeIsDense(startNode.id)).thenReturn(true)
+    when(query.nodeIsDense(endNode.id)).thenReturn(true)
+    when(query.nodeGetDegree(startNode.id, SemanticDirection.INCOMING)).thenReturn(1000)
+    when(query.nodeGetDegree(endNode.id, SemanticDirection.OUTGOING)).thenReturn(100)
+
+    val queryState = QueryStateHelper.emptyWith(query = query)
+
+    val left = newMockedPipe(SymbolTable(Map("a" -> CTNode, "b" -> CTNode)))
+    when(left.createResults(queryState)).thenAnswer(new Answer[Iterator[ExecutionContext]]() {
+      def answer(invocation: InvocationOnMock): Iterator[ExecutionContext] = Iterator(row("a" -> startNode, "b" -> endNode))
+    })
+
+    // when
+    val result = VarLengthExpandPipe(left, "a", "r", "b", SemanticDirection.INCOMING, SemanticDirection.INCOMING, LazyTypes.empty, 2, Some(2), nodeInScope = true)().createResults(queryState).toList
+
+    // then
+    val (single :: Nil) = result
+    single("a") should beEquivalentTo(startNode)
+    single("r") should beEquivalentTo(Seq(relationship1, relationship2))
+    single("b") should beEquivalentTo(endNode)
+    verify(query, never()).getRelationshipsForIds(startNode.id, SemanticDirection.INCOMING, None)
+  }
+
+  test("should expand from the dense start node when it has the lesser degree") {
+    // given
+    val startNode = newMockedNode(1)
+    val endNode = newMockedNode(2)
+    val relationship = newMockedRelationship(1, startNode, endNode)
+
+    val query = mock[QueryContext]
+    replyWithMap(query, Map[(Long, SemanticDirection), Seq[RelationshipValue]](
+      (startNode.id, SemanticDirection.OUTGOING) -> Seq(relationship),
+      (endNode.id, SemanticDirection.INCOMING) -> Seq(relationship)
+    ).withDefaultValue(Seq.empty))
+    when(query.nodeIsDense(startNode.id)).thenReturn(true)
+    when(query.nodeIsDense(endNode.id)).thenReturn(true)
+    when(query.nodeGetDegree(startNode.id, SemanticDirection.OUTGOING)).thenReturn(100)
+    when(query.nodeGetDegree(endNode.id, SemanticDirection.INCOMING)).thenReturn(1000)
+
+    val queryState = QueryStateHelper.emptyWith(query = query)
+
+    val left = newMockedPipe(SymbolTable(Map("a" -> CTNode, "b" -> CTNode)))
+    when(left.createResults(queryState)).thenAnswer(new Answer[Iterator[ExecutionContext]]() {
+      def answer(invocation: InvocationOnMock): Iterator[ExecutionContext] = Iterator(row("a" -> startNode, "b" -> endNode))
+    })
+
+    // when
+    val result = VarLengthExpandPipe(left, "a", "r", "b", SemanticDirection.OUTGOING, SemanticDirection.OUTGOING, LazyTypes.empty, 1, None, nodeInScope = true)().createResults(queryState).toList
+
+    // then
+    val (single :: Nil) = result
+    single("r") should beEquivalentTo(List(relationship))
+    verify(query, never()).getRelationshipsForIds(endNode.id, SemanticDirection.INCOMING, None)
+  }
+
   test("should register owning pipe") {
     val src = new FakePipe(Iterator.empty)
     val pred1 = True()
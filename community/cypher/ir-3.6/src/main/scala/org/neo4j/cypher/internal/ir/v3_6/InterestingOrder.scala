@@ -117,14 +117,17 @@ case class InterestingOrder(required: Seq[InterestingOrder.ColumnOrder],
   /**
     * Checks if a RequiredOrder is satisfied by a ProvidedOrder
     */
-  def satisfiedBy(providedOrder: ProvidedOrder): Boolean = {
-    required.zipAll(providedOrder.columns, null, null).forall {
-      case (null, _) => true // no required order left
-      case (_, null) => false // required order left but no provided
+  def satisfiedBy(providedOrder: ProvidedOrder): Boolean = satisfiedPrefixLength(providedOrder) == required.size
+
+  /**
+    * Returns how many of the leading required columns are satisfied by a ProvidedOrder
+    */
+  def satisfiedPrefixLength(providedOrder: ProvidedOrder): Int = {
+    required.zip(providedOrder.columns).takeWhile {
       case (InterestingOrder.Asc(requiredId), ProvidedOrder.Asc(providedId)) => requiredId == providedId
       case (InterestingOrder.Desc(requiredId), ProvidedOrder.Desc(providedId)) => requiredId == providedId
       case _ => false
-    }
+    }.size
   }
 }
 
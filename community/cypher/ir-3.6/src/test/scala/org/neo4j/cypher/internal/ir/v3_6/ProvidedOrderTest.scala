@@ -91,4 +91,15 @@ class ProvidedOrderTest extends CypherFunSuite {
     interestingOrder.satisfiedBy(ProvidedOrder.asc("x").desc("y").desc("z")) should be(false)
     interestingOrder.satisfiedBy(ProvidedOrder.asc("x").asc("y").desc("z")) should be(false)
   }
+
+  test("Multi property required order partially satisfied by matching prefix of provided order") {
+    val interestingOrder = InterestingOrder.asc("x").desc("y").asc("z")
+
+    interestingOrder.satisfiedPrefixLength(ProvidedOrder.empty) should be(0)
+    interestingOrder.satisfiedPrefixLength(ProvidedOrder.desc("x")) should be(0)
+    interestingOrder.satisfiedPrefixLength(ProvidedOrder.asc("x")) should be(1)
+    interestingOrder.satisfiedPrefixLength(ProvidedOrder.asc("x").asc("y").asc("z")) should be(1)
+    interestingOrder.satisfiedPrefixLength(ProvidedOrder.asc("x").desc("y")) should be(2)
+    interestingOrder.satisfiedPrefixLength(ProvidedOrder.asc("x").desc("y").asc("z").asc("w")) should be(3)
+  }
 }
@@ -22,6 +22,7 @@
  */
 package org.neo4j.cypher.internal.planner.v3_6.spi
 
+import org.neo4j.cypher.internal.v3_6.logical.plans.InequalitySeekRange
 import org.neo4j.cypher.internal.v3_6.util.Cardinality
 import org.neo4j.cypher.internal.v3_6.util.LabelId
 import org.neo4j.cypher.internal.v3_6.util.RelTypeId
@@ -70,6 +71,26 @@ trait GraphStatistics {
       indexPropertyExistsSelectivity(:X, prop) = s => |MATCH (a:X)| * s = |MATCH (a:X) WHERE has(x.prop)|
    */
   def indexPropertyExistsSelectivity(index: IndexDescriptor): Option[Selectivity]
+
+  /*
+      Probability of any node in the index to have the given value, estimated from the distribution of values in the index.
+      Without a value, the probability of any node in the index to have the same value as a random other node in the index,
+      which unlike uniqueValueSelectivity accounts for some values being much more common than others.
+
+      Values are literal values as in the AST, such as String, java.lang.Long and java.lang.Double.
+      None if there is no distribution of values for the index.
+
+      indexPropertyValueSelectivity(:X, prop, Some(v)) = s => |MATCH (a:X) WHERE has(x.prop)| * s = |MATCH (a:X) WHERE x.prop = v|
+   */
+  def indexPropertyValueSelectivity(index: IndexDescriptor, value: Option[Any]): Option[Selectivity] = None
+
+  /*
+      Probability of any node in the index to have a value in the given range of literal values, estimated from the
+      distribution of values in the index. None if there is no distribution of values for the index.
+
+      indexPropertyRangeSelectivity(:X, prop, > v) = s => |MATCH (a:X) WHERE has(x.prop)| * s = |MATCH (a:X) WHERE x.prop > v|
+   */
+  def indexPropertyRangeSelectivity(index: IndexDescriptor, range: InequalitySeekRange[Any]): Option[Selectivity] = None
 }
 
 class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatistics {
@@ -85,6 +106,12 @@ class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatisti
   override def indexPropertyExistsSelectivity(index: IndexDescriptor): Option[Selectivity] =
     delegate.indexPropertyExistsSelectivity(index)
 
+  override def indexPropertyValueSelectivity(index: IndexDescriptor, value: Option[Any]): Option[Selectivity] =
+    delegate.indexPropertyValueSelectivity(index, value)
+
+  override def indexPropertyRangeSelectivity(index: IndexDescriptor, range: InequalitySeekRange[Any]): Option[Selectivity] =
+    delegate.indexPropertyRangeSelectivity(index, range)
+
   override def nodesAllCardinality(): Cardinality = delegate.nodesAllCardinality()
 }
 
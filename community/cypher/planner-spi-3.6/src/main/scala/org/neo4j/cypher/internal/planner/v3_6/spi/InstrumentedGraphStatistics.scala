@@ -25,6 +25,7 @@ package org.neo4j.cypher.internal.planner.v3_6.spi
 import java.lang.Math.abs
 import java.lang.Math.max
 
+import org.neo4j.cypher.internal.v3_6.logical.plans.InequalitySeekRange
 import org.neo4j.cypher.internal.v3_6.util.Cardinality
 import org.neo4j.cypher.internal.v3_6.util.LabelId
 import org.neo4j.cypher.internal.v3_6.util.RelTypeId
@@ -38,6 +39,8 @@ case object NodesAllCardinality extends StatisticsKey
 case class CardinalityByLabelsAndRelationshipType(lhs: Option[LabelId], relType: Option[RelTypeId], rhs: Option[LabelId]) extends StatisticsKey
 case class IndexSelectivity(index: IndexDescriptor) extends StatisticsKey
 case class IndexPropertyExistsSelectivity(index: IndexDescriptor) extends StatisticsKey
+case class IndexPropertyValueSelectivity(index: IndexDescriptor, value: Option[Any]) extends StatisticsKey
+case class IndexPropertyRangeSelectivity(index: IndexDescriptor, range: InequalitySeekRange[Any]) extends StatisticsKey
 
 class MutableGraphStatisticsSnapshot(val map: mutable.Map[StatisticsKey, Double] = mutable.Map.empty) {
   def freeze: GraphStatisticsSnapshot = GraphStatisticsSnapshot(map.toMap)
@@ -58,6 +61,10 @@ case class GraphStatisticsSnapshot(statsValues: Map[StatisticsKey, Double] = Map
         instrumented.uniqueValueSelectivity(index)
       case IndexPropertyExistsSelectivity(index) =>
         instrumented.indexPropertyExistsSelectivity(index)
+      case IndexPropertyValueSelectivity(index, value) =>
+        instrumented.indexPropertyValueSelectivity(index, value)
+      case IndexPropertyRangeSelectivity(index, range) =>
+        instrumented.indexPropertyRangeSelectivity(index, range)
     }
     snapshot.freeze
   }
@@ -103,5 +110,17 @@ case class InstrumentedGraphStatistics(inner: GraphStatistics, snapshot: Mutable
     selectivity
   }
 
+  override def indexPropertyValueSelectivity(index: IndexDescriptor, value: Option[Any]): Option[Selectivity] = {
+    val selectivity = inner.indexPropertyValueSelectivity(index, value)
+    snapshot.map.getOrElseUpdate(IndexPropertyValueSelectivity(index, value), selectivity.fold(0.0)(_.factor))
+    selectivity
+  }
+
+  override def indexPropertyRangeSelectivity(index: IndexDescriptor, range: InequalitySeekRange[Any]): Option[Selectivity] = {
+    val selectivity = inner.indexPropertyRangeSelectivity(index, range)
+    snapshot.map.getOrElseUpdate(IndexPropertyRangeSelectivity(index, range), selectivity.fold(0.0)(_.factor))
+    selectivity
+  }
+
   override def nodesAllCardinality(): Cardinality = snapshot.map.getOrElseUpdate(NodesAllCardinality, inner.nodesAllCardinality().amount)
 }
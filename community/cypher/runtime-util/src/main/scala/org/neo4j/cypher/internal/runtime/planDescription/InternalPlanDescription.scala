@@ -222,6 +222,17 @@ object InternalPlanDescription {
       override def name = "runtime-impl"
     }
 
+    // Nanoseconds spent compiling the query, in total and per compilation phase
+    case class PlanningTime(value: Long) extends Argument {
+
+      override def name = "planning-time"
+    }
+
+    case class PlanningPhaseTime(phase: String, value: Long) extends Argument {
+
+      override def name = "planning-time:" + phase
+    }
+
     case class ExpandExpression(from: String, relName: String, relTypes: Seq[String], to: String,
                                 direction: SemanticDirection, minLength: Int, maxLength: Option[Int]) extends Argument
 
@@ -323,10 +334,19 @@ final case class PlanDescriptionImpl(id: Id,
     val runtimeVersion = arguments.collectFirst {
       case RuntimeVersion(n) => s"Runtime version ${n.toUpperCase}$NL"
     }
-    val prefix = version ++ planner ++ runtime ++ runtimeVersion
+    val planningTime = arguments.collectFirst {
+      case PlanningTime(t) =>
+        val phaseTimes = arguments.collect {
+          case PlanningPhaseTime(phase, phaseTime) => s"$phase ${asMillis(phaseTime)}"
+        }
+        s"Planning time ${asMillis(t)}${if (phaseTimes.isEmpty) "" else phaseTimes.mkString(" (", ", ", ")")}$NL"
+    }
+    val prefix = version ++ planner ++ runtime ++ runtimeVersion ++ planningTime
     s"${prefix.mkString("", NL, NL)}${renderAsTreeTable(this)}$NL${renderSummary(this)}$renderSources"
   }
 
+  private def asMillis(nanos: Long) = "%.3f ms".format(nanos / 1000000.0)
+
   private def renderSources = {
     arguments.flatMap {
       case SourceCode(className, sourceCode) => Some(s"=== Java Source: $className ===$NL$sourceCode")
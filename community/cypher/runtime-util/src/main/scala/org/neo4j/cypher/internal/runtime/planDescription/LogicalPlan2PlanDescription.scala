@@ -282,6 +282,12 @@ case class LogicalPlan2PlanDescription(readOnly: Boolean, cardinalities: Cardina
                                           maxLength = Some(max))
         PlanDescriptionImpl(id, s"VarLengthExpand(Pruning)", children, Seq(expandSpec), variables)
 
+      case BFSPruningVarExpand(_, fromName, dir, types, toName, includeStartNode, max, _, _, _, _, _) =>
+        val maxLength = if (max == Int.MaxValue) None else Some(max)
+        val expandSpec = ExpandExpression(fromName, "", types.map(_.name), toName, dir,
+                                          minLength = if (includeStartNode) 0 else 1, maxLength = maxLength)
+        PlanDescriptionImpl(id, s"VarLengthExpand(Pruning,BFS)", children, Seq(expandSpec), variables)
+
       case _: RemoveLabels =>
         PlanDescriptionImpl(id, "RemoveLabels", children, Seq.empty, variables)
 
@@ -308,6 +314,12 @@ case class LogicalPlan2PlanDescription(readOnly: Boolean, cardinalities: Cardina
       case Top(_, orderBy, limit) =>
         PlanDescriptionImpl(id, "Top", children, Seq(KeyNames(orderBy.map(_.id)), Expression(limit)), variables)
 
+      case PartialSort(_, alreadySortedPrefix, stillToSortSuffix) =>
+        PlanDescriptionImpl(id, "PartialSort", children, Seq(KeyNames((alreadySortedPrefix ++ stillToSortSuffix).map(_.id))), variables)
+
+      case PartialTop(_, alreadySortedPrefix, stillToSortSuffix, limit) =>
+        PlanDescriptionImpl(id, "PartialTop", children, Seq(KeyNames((alreadySortedPrefix ++ stillToSortSuffix).map(_.id)), Expression(limit)), variables)
+
       case UnwindCollection(_, _, expression) =>
         PlanDescriptionImpl(id, "Unwind", children, Seq(Expression(expression)), variables)
 
@@ -468,6 +480,9 @@ case class LogicalPlan2PlanDescription(readOnly: Boolean, cardinalities: Cardina
             (name, PointDistanceIndex(label.name, propertyKey, poi, distance.toString, inclusive))
           case _ => throw new InternalException("This should never happen. Missing a case?")
         }
+      case CompositeQueryExpression(exprs) if exprs.last.isInstanceOf[RangeQueryExpression[_]] =>
+        val name = if (unique) "NodeUniqueIndexSeekByRange" else "NodeIndexSeekByRange"
+        (name, Index(label.name, propertyKeys.map(_.name)))
       case _ =>
         val name =
           if (unique && readOnly) "NodeUniqueIndexSeek"
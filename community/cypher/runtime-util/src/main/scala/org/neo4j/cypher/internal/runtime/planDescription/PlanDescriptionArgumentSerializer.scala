@@ -77,6 +77,8 @@ object PlanDescriptionArgumentSerializer {
       case SourceCode(className, sourceCode) => sourceCode
       case ByteCode(className, byteCode) => byteCode
       case RuntimeImpl(runtimeName) => runtimeName
+      case PlanningTime(value) => Long.box(value)
+      case PlanningPhaseTime(_, value) => Long.box(value)
       case ExpandExpression(from, rel, typeNames, to, dir: SemanticDirection, min, max) =>
         val left = if (dir == SemanticDirection.INCOMING) "<-" else "-"
         val right = if (dir == SemanticDirection.OUTGOING) "->" else "-"
@@ -186,6 +186,8 @@ object renderAsTreeTable extends (InternalPlanDescription => String) {
         !x.isInstanceOf[ByteCode] &&
         !x.isInstanceOf[Time] &&
         !x.isInstanceOf[RuntimeImpl] &&
+        !x.isInstanceOf[PlanningTime] &&
+        !x.isInstanceOf[PlanningPhaseTime] &&
         !x.isInstanceOf[Version] => PlanDescriptionArgumentSerializer.serialize(x)
     }
   }
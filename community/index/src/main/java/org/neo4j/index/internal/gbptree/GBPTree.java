@@ -31,6 +31,7 @@ import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.LongSupplier;
@@ -914,6 +915,40 @@ public class GBPTree<KEY,VALUE> implements Closeable
                 exceptionDecorator, SeekCursor.DEFAULT_MAX_READ_AHEAD );
     }
 
+    /**
+     * Seeks hits in this tree, given multiple key ranges, in one pass over the tree. Hits are iterated over using the returned
+     * {@link RawCursor}, first all hits in the first range, then all in the second and so on.
+     * <p>
+     * Compared to one {@link #seek(Object, Object)} per range this avoids going down from the root for ranges that start in
+     * the same leaf as where the previous range ended, which is common when seeking many keys that lie close to each other.
+     * The same rules as for {@link #seek(Object, Object)} apply to the returned hits.
+     * <p>
+     * The ranges must be seeked forwards, i.e. {@code fromInclusive} must not be bigger than {@code toExclusive} for any of them,
+     * and they must be sorted and not overlap.
+     *
+     * @param fromInclusive lower bounds of the ranges to seek (inclusive), in order.
+     * @param toExclusive higher bounds of the ranges to seek (exclusive), in order. A range with the same lower and higher bound is
+     * an exact match.
+     * @return a {@link RawCursor} used to iterate over the hits within the specified key ranges.
+     * @throws IOException on error reading from index.
+     * @throws IllegalArgumentException if ranges are backwards, unsorted or overlapping.
+     */
+    public RawCursor<Hit<KEY,VALUE>,IOException> seek( List<KEY> fromInclusive, List<KEY> toExclusive ) throws IOException
+    {
+        SeekCursor.validateRanges( layout, fromInclusive, toExclusive );
+        long generation = this.generation;
+        long stableGeneration = stableGeneration( generation );
+        long unstableGeneration = unstableGeneration( generation );
+
+        PageCursor cursor = pagedFile.io( 0L /*ignored*/, PagedFile.PF_SHARED_READ_LOCK );
+        long rootGeneration = root.goTo( cursor );
+
+        // Returns cursor which is now initiated with left-most leaf node for the first range
+        return new SeekCursor<>( cursor, bTreeNode, fromInclusive, toExclusive, layout,
+                stableGeneration, unstableGeneration, generationSupplier, rootCatchupSupplier.get(), () -> root, rootGeneration,
+                exceptionDecorator, SeekCursor.DEFAULT_MAX_READ_AHEAD );
+    }
+
     /**
      * Checkpoints and flushes any pending changes to storage. After a successful call to this method
      * the data is durable and safe. {@link #writer() Changes} made after this call and until crashing or
@@ -23,12 +23,16 @@
 package org.neo4j.index.internal.gbptree;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 import org.neo4j.cursor.RawCursor;
 import org.neo4j.io.pagecache.PageCursor;
 
+import static java.lang.String.format;
+import static java.util.Collections.singletonList;
 import static org.neo4j.index.internal.gbptree.PageCursorUtil.checkOutOfBounds;
 import static org.neo4j.index.internal.gbptree.TreeNode.Type.INTERNAL;
 import static org.neo4j.index.internal.gbptree.TreeNode.Type.LEAF;
@@ -179,21 +183,49 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
     private boolean resultOnTrack;
 
     /**
-     * Provided when constructing the {@link SeekCursor}, marks the start (inclusive) of the key range to seek.
+     * Marks the start (inclusive) of the key range currently seeked, one of {@link #rangesFromInclusive}.
      * Comparison with {@link #toExclusive} decide if seeking forwards or backwards.
      */
-    private final KEY fromInclusive;
+    private KEY fromInclusive;
 
     /**
-     * Provided when constructing the {@link SeekCursor}, marks the end (exclusive) of the key range to seek.
+     * Marks the end (exclusive) of the key range currently seeked, one of {@link #rangesToExclusive}.
      * Comparison with {@link #fromInclusive} decide if seeking forwards or backwards.
      */
-    private final KEY toExclusive;
+    private KEY toExclusive;
 
     /**
      * True if seeker is performing an exact match lookup, {@link #toExclusive} will then be treated as inclusive.
      */
-    private final boolean exactMatch;
+    private boolean exactMatch;
+
+    /**
+     * Provided when constructing the {@link SeekCursor}, start (inclusive) of all key ranges to seek, in order.
+     */
+    private final List<KEY> rangesFromInclusive;
+
+    /**
+     * Provided when constructing the {@link SeekCursor}, end (exclusive) of all key ranges to seek, in order.
+     */
+    private final List<KEY> rangesToExclusive;
+
+    /**
+     * Index into {@link #rangesFromInclusive}/{@link #rangesToExclusive} of the range currently seeked.
+     */
+    private int currentRange;
+
+    /**
+     * Set when moving on to the next range, until the position of its start have been found in the current leaf.
+     * If the range starts after all keys in the current leaf then seek goes down from the root instead of scanning
+     * the leaves in between.
+     */
+    private boolean startOfRange;
+
+    /**
+     * Retrieves the current root, used to go down from the root to the start of the next range. Only needed when
+     * seeking multiple ranges.
+     */
+    private final Supplier<Root> rootSupplier;
 
     /**
      * {@link Layout} instance used to perform some functions around keys, like copying and comparing.
@@ -396,15 +428,31 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
      */
     private final GenerationKeeper generationKeeper = new GenerationKeeper();
 
-    @SuppressWarnings( "unchecked" )
     SeekCursor( PageCursor cursor, TreeNode<KEY,VALUE> bTreeNode, KEY fromInclusive, KEY toExclusive,
             Layout<KEY,VALUE> layout, long stableGeneration, long unstableGeneration, LongSupplier generationSupplier,
             RootCatchup rootCatchup, long lastFollowedPointerGeneration, Consumer<Throwable> exceptionDecorator, int maxReadAhead )
                     throws IOException
+    {
+        this( cursor, bTreeNode, singletonList( fromInclusive ), singletonList( toExclusive ), layout, stableGeneration, unstableGeneration,
+                generationSupplier, rootCatchup, null, lastFollowedPointerGeneration, exceptionDecorator, maxReadAhead );
+    }
+
+    /**
+     * Seeks multiple key ranges in one pass. Ranges must be seeked forwards, be sorted and not overlap. A range which starts
+     * in the leaf where the previous range ended continues from there, otherwise seek goes down from the root to where it starts.
+     */
+    @SuppressWarnings( "unchecked" )
+    SeekCursor( PageCursor cursor, TreeNode<KEY,VALUE> bTreeNode, List<KEY> rangesFromInclusive, List<KEY> rangesToExclusive,
+            Layout<KEY,VALUE> layout, long stableGeneration, long unstableGeneration, LongSupplier generationSupplier,
+            RootCatchup rootCatchup, Supplier<Root> rootSupplier, long lastFollowedPointerGeneration, Consumer<Throwable> exceptionDecorator,
+            int maxReadAhead ) throws IOException
     {
         this.cursor = cursor;
-        this.fromInclusive = fromInclusive;
-        this.toExclusive = toExclusive;
+        this.rangesFromInclusive = rangesFromInclusive;
+        this.rangesToExclusive = rangesToExclusive;
+        this.fromInclusive = rangesFromInclusive.get( 0 );
+        this.toExclusive = rangesToExclusive.get( 0 );
+        this.rootSupplier = rootSupplier;
         this.layout = layout;
         this.exceptionDecorator = exceptionDecorator;
         this.exactMatch = layout.compare( fromInclusive, toExclusive ) == 0;
@@ -414,7 +462,7 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
         this.bTreeNode = bTreeNode;
         this.rootCatchup = rootCatchup;
         this.lastFollowedPointerGeneration = lastFollowedPointerGeneration;
-        int batchSize = exactMatch ? 1 : maxReadAhead;
+        int batchSize = exactMatch && rangesFromInclusive.size() == 1 ? 1 : maxReadAhead;
         this.mutableKeys = (KEY[]) new Object[batchSize];
         this.mutableValues = (VALUE[]) new Object[batchSize];
         this.mutableKeys[0] = layout.newKey();
@@ -436,6 +484,43 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
         }
     }
 
+    /**
+     * Validates ranges given to {@link #SeekCursor(PageCursor, TreeNode, List, List, Layout, long, long, LongSupplier, RootCatchup, Supplier,
+     * long, Consumer, int)}.
+     *
+     * @throws IllegalArgumentException if there are multiple ranges and they are not forwards, sorted and non-overlapping.
+     */
+    static <KEY> void validateRanges( Layout<KEY,?> layout, List<KEY> rangesFromInclusive, List<KEY> rangesToExclusive )
+    {
+        if ( rangesFromInclusive.isEmpty() || rangesFromInclusive.size() != rangesToExclusive.size() )
+        {
+            throw new IllegalArgumentException( format( "Expected same, non-zero, number of range starts and ends, but got %d starts and %d ends",
+                    rangesFromInclusive.size(), rangesToExclusive.size() ) );
+        }
+        if ( rangesFromInclusive.size() == 1 )
+        {
+            return;
+        }
+        for ( int i = 0; i < rangesFromInclusive.size(); i++ )
+        {
+            int rangeCompare = layout.compare( rangesFromInclusive.get( i ), rangesToExclusive.get( i ) );
+            if ( rangeCompare > 0 )
+            {
+                throw new IllegalArgumentException( "Multiple ranges can only be seeked forwards, but range " + i + " is backwards" );
+            }
+            if ( i > 0 )
+            {
+                boolean previousExactMatch = layout.compare( rangesFromInclusive.get( i - 1 ), rangesToExclusive.get( i - 1 ) ) == 0;
+                int compare = layout.compare( rangesToExclusive.get( i - 1 ), rangesFromInclusive.get( i ) );
+                if ( compare > 0 || compare == 0 && previousExactMatch )
+                {
+                    throw new IllegalArgumentException( "Ranges must be sorted and not overlap, but range " + i + " starts before range " +
+                            (i - 1) + " ends" );
+                }
+            }
+        }
+    }
+
     /**
      * Traverses from the root down to the leaf containing the next key that we're looking for, or the first
      * one provided in the constructor if this no result have yet been returned.
@@ -563,6 +648,19 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
                         continue;
                     }
 
+                    if ( startOfRange )
+                    {
+                        startOfRange = false;
+                        if ( pos >= keyCount )
+                        {
+                            // The range starts after all keys in this leaf, going down from the root is typically
+                            // cheaper than scanning the leaves in between
+                            goToRoot();
+                            traverseDownToFirstLeaf();
+                            continue;
+                        }
+                    }
+
                     // Below, the cached key/value at slot [0] will be used
                     if ( !seekForward && pos >= keyCount )
                     {
@@ -578,6 +676,8 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
                         {
                             continue; // in the read loop above so that we can continue reading from next sibling
                         }
+                        // There are no more leaves and so no hits in any of the remaining ranges either
+                        return false;
                     }
                     else if ( 0 <= pos && pos < keyCount && insideEndRange( exactMatch, 0 ) )
                     {
@@ -590,7 +690,11 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
                     }
                 }
 
-                // We've come too far and so this means the end of the result set
+                // We've come too far and so this means the end of the result set, unless there are more ranges to seek
+                if ( nextRange() )
+                {
+                    continue;
+                }
                 return false;
             }
         }
@@ -711,6 +815,42 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
         return true;
     }
 
+    /**
+     * Moves on to seek the next range, if any. The start of it is searched for in the current leaf on next read,
+     * the same way as after a concurrent change.
+     *
+     * @return {@code true} if there was another range to seek, otherwise {@code false}.
+     */
+    private boolean nextRange()
+    {
+        if ( currentRange + 1 >= rangesFromInclusive.size() )
+        {
+            return false;
+        }
+        currentRange++;
+        fromInclusive = rangesFromInclusive.get( currentRange );
+        toExclusive = rangesToExclusive.get( currentRange );
+        exactMatch = layout.compare( fromInclusive, toExclusive ) == 0;
+        first = true;
+        resultOnTrack = false;
+        cachedLength = 0;
+        concurrentWriteHappened = true;
+        startOfRange = true;
+        return true;
+    }
+
+    /**
+     * Places the {@link PageCursor} at the current root, without it being counted as a {@link RootCatchup}
+     * since going there is expected. Should be followed by a call to {@link #traverseDownToFirstLeaf()}.
+     *
+     * @throws IOException on {@link PageCursor}.
+     */
+    private void goToRoot() throws IOException
+    {
+        generationCatchup();
+        lastFollowedPointerGeneration = rootSupplier.get().goTo( cursor );
+    }
+
     /**
      * Check out of bounds for cursor. If out of bounds, check if seeker has been closed and throw exception accordingly
      */
@@ -30,6 +30,7 @@ import org.junit.rules.RuleChain;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.neo4j.cursor.RawCursor;
@@ -113,6 +114,86 @@ public abstract class GBPTreeReadWriteTestBase<KEY,VALUE>
         }
     }
 
+    @Test
+    public void shouldSeeSimpleInsertionsWithMultipleRanges() throws Exception
+    {
+        try ( GBPTree<KEY,VALUE> index = index() )
+        {
+            // Only even keys, so that every other exact match is a miss
+            int count = 1000;
+            try ( Writer<KEY,VALUE> writer = index.writer() )
+            {
+                for ( int i = 0; i < count; i++ )
+                {
+                    writer.put( key( i * 2 ), value( i * 2 ) );
+                }
+            }
+
+            // A mix of exact matches and ranges, close to each other as well as far apart
+            List<KEY> from = new ArrayList<>();
+            List<KEY> to = new ArrayList<>();
+            List<Long> expected = new ArrayList<>();
+            long seed = 0;
+            while ( seed < count * 2 + 10 )
+            {
+                if ( random.nextBoolean() )
+                {
+                    from.add( key( seed ) );
+                    to.add( key( seed ) );
+                    if ( seed % 2 == 0 && seed < count * 2 )
+                    {
+                        expected.add( seed );
+                    }
+                    seed++;
+                }
+                else
+                {
+                    long end = seed + random.nextInt( 1, 10 );
+                    from.add( key( seed ) );
+                    to.add( key( end ) );
+                    for ( long i = seed; i < end; i++ )
+                    {
+                        if ( i % 2 == 0 && i < count * 2 )
+                        {
+                            expected.add( i );
+                        }
+                    }
+                    seed = end;
+                }
+                seed += random.nextBoolean() ? random.nextInt( 3 ) : random.nextInt( 300 );
+            }
+
+            try ( RawCursor<Hit<KEY,VALUE>,IOException> cursor = index.seek( from, to ) )
+            {
+                for ( long expectedSeed : expected )
+                {
+                    assertTrue( cursor.next() );
+                    assertEqualsKey( key( expectedSeed ), cursor.get().key() );
+                }
+                assertFalse( cursor.next() );
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotSeekMultipleRangesOutOfOrder() throws Exception
+    {
+        try ( GBPTree<KEY,VALUE> index = index() )
+        {
+            List<KEY> from = Arrays.asList( key( 5 ), key( 1 ) );
+            List<KEY> to = Arrays.asList( key( 5 ), key( 1 ) );
+            try
+            {
+                index.seek( from, to );
+                fail( "Should have failed" );
+            }
+            catch ( IllegalArgumentException e )
+            {
+                // good
+            }
+        }
+    }
+
     /* Randomized tests */
 
     @Test
@@ -73,6 +73,7 @@ public enum DatabaseFile
     COUNTS_STORES( false, DatabaseFileNames.COUNTS_STORE_A, DatabaseFileNames.COUNTS_STORE_B ),
     COUNTS_STORE_A( false, DatabaseFileNames.COUNTS_STORE_A ),
     COUNTS_STORE_B( false, DatabaseFileNames.COUNTS_STORE_B ),
+    COUNTS_STORE( false, DatabaseFileNames.COUNTS_STORE ),
 
     METADATA_STORE( DatabaseFileNames.METADATA_STORE ),
 
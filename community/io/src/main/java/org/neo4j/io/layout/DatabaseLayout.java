@@ -110,6 +110,11 @@ public class DatabaseLayout
         return file( DatabaseFile.COUNTS_STORE_B.getName() );
     }
 
+    public File countStore()
+    {
+        return file( DatabaseFile.COUNTS_STORE.getName() );
+    }
+
     public File propertyStringStore()
     {
         return file( DatabaseFile.PROPERTY_STRING_STORE.getName() );
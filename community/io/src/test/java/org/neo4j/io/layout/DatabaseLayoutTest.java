@@ -155,6 +155,7 @@ class DatabaseLayoutTest
         assertThat( files, hasItem( "neostore" ) );
         assertThat( files, hasItem( "neostore.counts.db.a" ) );
         assertThat( files, hasItem( "neostore.counts.db.b" ) );
+        assertThat( files, hasItem( "neostore.counts.db" ) );
         assertThat( files, hasItem( "neostore.labelscanstore.db" ) );
         assertThat( files, hasItem( "neostore.labeltokenstore.db" ) );
         assertThat( files, hasItem( "neostore.labeltokenstore.db.names" ) );
@@ -89,6 +89,19 @@ public interface IndexCapability
         return LIMITIATION_NONE;
     }
 
+    /**
+     * Is the index capable of seeking a composite query where a prefix of the properties have exact predicates and the property
+     * following that prefix has a range or string prefix predicate, e.g. {@code tenant = $t AND created > $since} on an index
+     * on {@code (tenant, created)}. Indexes without this capability only support composite queries with exact predicates on
+     * all properties, or a full scan.
+     *
+     * @return {@code true} if the index can seek composite queries ending with a range, {@code false} otherwise.
+     */
+    default boolean supportsCompositeRangeSeek()
+    {
+        return false;
+    }
+
     default boolean singleWildcard( ValueCategory[] valueCategories )
     {
         return valueCategories.length == 1 && valueCategories[0] == ValueCategory.UNKNOWN;
@@ -27,6 +27,10 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.NumberValue;
 import org.neo4j.values.storable.PointValue;
@@ -66,6 +70,19 @@ public abstract class IndexQuery
         return new ExactPredicate( propertyKeyId, value );
     }
 
+    /**
+     * Searches the index for any of a number of values. Compared to one {@link #exact(int, Object)} query per value
+     * this lets an index which supports it answer all values from a single traversal.
+     *
+     * @param propertyKeyId the property ID to match.
+     * @param values the property values to search for, at least one.
+     * @return an {@link IndexQuery} instance to be used for querying an index.
+     */
+    public static ExactAnyPredicate exactAny( int propertyKeyId, Value... values )
+    {
+        return new ExactAnyPredicate( propertyKeyId, values );
+    }
+
     /**
      * Searches the index for numeric values between {@code from} and {@code to}.
      *
@@ -246,6 +263,7 @@ public abstract class IndexQuery
     {
         exists,
         exact,
+        exactAny,
         range,
         stringPrefix,
         stringSuffix,
@@ -318,6 +336,76 @@ public abstract class IndexQuery
         }
     }
 
+    public static final class ExactAnyPredicate extends IndexQuery
+    {
+        private final Value[] values;
+        private final ValueGroup valueGroup;
+
+        ExactAnyPredicate( int propertyKeyId, Value[] values )
+        {
+            super( propertyKeyId );
+            if ( values.length == 0 )
+            {
+                throw new IllegalArgumentException( "Need at least one value to search for" );
+            }
+            // Equal values, like 1 and 1.0, would otherwise be searched for, and found, twice
+            Set<Value> distinctValues = new LinkedHashSet<>( Arrays.asList( values ) );
+            this.values = distinctValues.size() == values.length ? values : distinctValues.toArray( new Value[0] );
+            ValueGroup group = this.values[0].valueGroup();
+            for ( int i = 1; i < this.values.length && group != ValueGroup.UNKNOWN; i++ )
+            {
+                if ( this.values[i].valueGroup() != group )
+                {
+                    group = ValueGroup.UNKNOWN;
+                }
+            }
+            this.valueGroup = group;
+        }
+
+        @Override
+        public IndexQueryType type()
+        {
+            return IndexQueryType.exactAny;
+        }
+
+        @Override
+        public boolean acceptsValue( Value value )
+        {
+            for ( Value candidate : values )
+            {
+                if ( candidate.equals( value ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public ValueGroup valueGroup()
+        {
+            return valueGroup;
+        }
+
+        public Value[] values()
+        {
+            return values;
+        }
+
+        /**
+         * @return one {@link ExactPredicate} per value, for indexes which can't search for several values at once.
+         */
+        public ExactPredicate[] exactPredicates()
+        {
+            ExactPredicate[] predicates = new ExactPredicate[values.length];
+            for ( int i = 0; i < values.length; i++ )
+            {
+                predicates[i] = new ExactPredicate( propertyKeyId(), values[i] );
+            }
+            return predicates;
+        }
+    }
+
     public static class RangePredicate<T extends Value> extends IndexQuery
     {
         protected final T from;
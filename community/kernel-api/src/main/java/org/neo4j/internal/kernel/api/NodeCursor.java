@@ -45,5 +45,10 @@ public interface NodeCursor extends Cursor
 
     long propertiesReference();
 
+    /**
+     * @return the number of relationships of this node, if it is known without traversing them, otherwise {@code -1}.
+     */
+    int degreeIfKnown();
+
     boolean isDense();
 }
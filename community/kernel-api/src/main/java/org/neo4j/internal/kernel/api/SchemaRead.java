@@ -31,6 +31,7 @@ import org.neo4j.internal.kernel.api.exceptions.schema.SchemaKernelException;
 import org.neo4j.internal.kernel.api.schema.SchemaDescriptor;
 import org.neo4j.internal.kernel.api.schema.constraints.ConstraintDescriptor;
 import org.neo4j.register.Register;
+import org.neo4j.storageengine.api.schema.IndexValueHistogram;
 import org.neo4j.values.storable.Value;
 
 /**
@@ -89,6 +90,15 @@ public interface SchemaRead extends SchemaReadCore
      */
     double indexUniqueValuesSelectivity( IndexReference index ) throws IndexNotFoundKernelException;
 
+    /**
+     * Returns the distribution of the values in the index, for estimating selectivities of specific values and ranges.
+     *
+     * @param index The index of interest
+     * @return The value histogram of the given index, {@link IndexValueHistogram#EMPTY} if the index has none
+     * @throws IndexNotFoundKernelException if the index is not there
+     */
+    IndexValueHistogram indexValueHistogram( IndexReference index ) throws IndexNotFoundKernelException;
+
     /**
      * Returns the size of the index.
      *
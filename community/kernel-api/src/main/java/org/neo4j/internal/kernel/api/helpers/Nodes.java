@@ -130,6 +130,11 @@ public final class Nodes
      */
     public static int countAll( NodeCursor nodeCursor, CursorFactory cursors )
     {
+        int degree = nodeCursor.degreeIfKnown();
+        if ( degree != -1 )
+        {
+            return degree;
+        }
         if ( nodeCursor.isDense() )
         {
             try ( RelationshipGroupCursor group = cursors.allocateRelationshipGroupCursor() )
@@ -50,6 +50,15 @@ public interface StorageNodeCursor extends StorageEntityScanCursor
      */
     long allRelationshipsReference();
 
+    /**
+     * NOTE the fact that this method is here means physical details about underlying storage leaks into this API.
+     * However this method has to exist as long as the kernel API also exposes this. This needs to change at some point.
+     *
+     * @return number of relationships of the node this cursor currently is placed at, if the store keeps it such that it can
+     * be read without traversing the relationships, otherwise {@code -1}.
+     */
+    int degreeIfKnown();
+
     /**
      * A means of simplifying higher-level cursors which takes into consideration transaction-state.
      * This basically tells this cursor to be placed at nodeReference, even if it doesn't exist, such that
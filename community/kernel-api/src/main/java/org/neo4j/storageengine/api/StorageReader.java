@@ -35,6 +35,7 @@ import org.neo4j.register.Register.DoubleLongRegister;
 import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.IndexValueHistogram;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
 
 /**
@@ -232,6 +233,15 @@ public interface StorageReader extends AutoCloseable, StorageSchemaReader
      */
     double indexUniqueValuesPercentage( SchemaDescriptor descriptor ) throws IndexNotFoundKernelException;
 
+    /**
+     * Returns the distribution of the values in the given {@code index}, as of when it was last sampled in full.
+     *
+     * @param descriptor {@link SchemaDescriptor} to get the value distribution for.
+     * @return histogram of the values in this index, {@link IndexValueHistogram#EMPTY} if there is none.
+     * @throws IndexNotFoundKernelException if no such index exists.
+     */
+    IndexValueHistogram indexValueHistogram( SchemaDescriptor descriptor ) throws IndexNotFoundKernelException;
+
     long nodesGetCount();
 
     long relationshipsGetCount();
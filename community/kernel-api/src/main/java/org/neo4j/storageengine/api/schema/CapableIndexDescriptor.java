@@ -59,6 +59,12 @@ public class CapableIndexDescriptor extends StoreIndexDescriptor
         return indexCapability.limitations();
     }
 
+    @Override
+    public boolean supportsCompositeRangeSeek()
+    {
+        return indexCapability.supportsCompositeRangeSeek();
+    }
+
     @Override
     public boolean isFulltextIndex()
     {
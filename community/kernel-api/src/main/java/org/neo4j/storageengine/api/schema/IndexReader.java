@@ -72,6 +72,16 @@ public interface IndexReader extends Resource
      */
     boolean hasFullValuePrecision( IndexQuery... predicates );
 
+    /**
+     * @return whether or not {@link #query(IndexProgressor.NodeValueClient, IndexOrder, boolean, IndexQuery...)} can be given
+     * a single {@link IndexQuery.ExactAnyPredicate}, in unordered mode. If {@code false} is returned the caller will have to
+     * query for each of its values separately.
+     */
+    default boolean canQueryExactAny()
+    {
+        return false;
+    }
+
     /**
      * Initializes {@code client} to be able to progress through all distinct values in this index. {@link IndexProgressor.NodeValueClient}
      * is used because it has a perfect method signature, even if the {@code reference} argument will instead be used
@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.api.schema;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.neo4j.values.storable.NumberValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
+
+import static org.neo4j.values.storable.Values.COMPARATOR;
+
+/**
+ * Distribution of the values in a single property index, for estimating how many entries match a predicate on the
+ * property when the values are not uniformly distributed.
+ * <p>
+ * Keeps the most common values with their exact number of entries, and an equi-depth histogram over all values, i.e.
+ * buckets of consecutive values which each have roughly the same number of entries. Within a bucket the values which
+ * are not among the most common ones are assumed to be uniformly distributed. A bucket never spans values of
+ * different {@link ValueGroup}s.
+ * <p>
+ * Selectivities are fractions of the entries in the index, so nodes without the property are not accounted for.
+ * A histogram is built by {@link Builder} from all values of the index in index order, and is immutable.
+ */
+public final class IndexValueHistogram
+{
+    public static final int DEFAULT_BUCKETS = 64;
+    public static final int DEFAULT_COMMON_VALUES = 16;
+
+    /**
+     * Histogram of an index that has no value distribution, for example because it's empty or can't provide its values.
+     */
+    public static final IndexValueHistogram EMPTY = new IndexValueHistogram( 0, new Value[0], new long[0], new Bucket[0] );
+
+    private final long size;
+    private final Value[] commonValues;
+    private final long[] commonValueCounts;
+    private final Bucket[] buckets;
+    private final double expectedEqualitySelectivity;
+
+    private IndexValueHistogram( long size, Value[] commonValues, long[] commonValueCounts, Bucket[] buckets )
+    {
+        this.size = size;
+        this.commonValues = commonValues;
+        this.commonValueCounts = commonValueCounts;
+        this.buckets = buckets;
+        this.expectedEqualitySelectivity = size == 0 ? 0 : sumOfSquaredCounts() / ((double) size * size);
+    }
+
+    /**
+     * @return {@code true} if there is no distribution to estimate from.
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * @return number of entries in the index when the histogram was built.
+     */
+    public long size()
+    {
+        return size;
+    }
+
+    /**
+     * Values not seen when the histogram was built are assumed to have a single entry.
+     *
+     * @param value the value to look for.
+     * @return estimated fraction of the entries in the index having the given value.
+     */
+    public double equalitySelectivity( Value value )
+    {
+        if ( isEmpty() )
+        {
+            return 0;
+        }
+        for ( int i = 0; i < commonValues.length; i++ )
+        {
+            if ( commonValues[i].equals( value ) )
+            {
+                return (double) commonValueCounts[i] / size;
+            }
+        }
+        double entries = 0;
+        for ( Bucket bucket : buckets )
+        {
+            if ( bucket.contains( value ) )
+            {
+                entries = bucket.uncommonEntriesPerValue();
+                break;
+            }
+        }
+        return Math.max( entries, 1 ) / size;
+    }
+
+    /**
+     * Fraction of the entries in the index having the same value as an entry picked at random, which is the expected
+     * selectivity of equality to a value not known up front, such as a parameter. For uniformly distributed values this
+     * is one over the number of distinct values, while values being much more common than others make it higher.
+     *
+     * @return expected fraction of the entries in the index having the value of a random entry.
+     */
+    public double expectedEqualitySelectivity()
+    {
+        return expectedEqualitySelectivity;
+    }
+
+    /**
+     * Values are only compared with values of the same {@link ValueGroup} as the given bounds, like index range seeks do.
+     * Ranges not matching any value seen when the histogram was built are assumed to match a single entry.
+     *
+     * @param from lower bound, or {@code null} if the range has no lower bound.
+     * @param fromInclusive whether {@code from} is included in the range.
+     * @param to upper bound, or {@code null} if the range has no upper bound.
+     * @param toInclusive whether {@code to} is included in the range.
+     * @return estimated fraction of the entries in the index having a value in the given range.
+     */
+    public double rangeSelectivity( Value from, boolean fromInclusive, Value to, boolean toInclusive )
+    {
+        if ( isEmpty() || from == null && to == null )
+        {
+            return 0;
+        }
+        ValueGroup group = from != null ? from.valueGroup() : to.valueGroup();
+        if ( from != null && to != null && to.valueGroup() != group )
+        {
+            return 1.0 / size;
+        }
+        double entries = 0;
+        for ( int i = 0; i < commonValues.length; i++ )
+        {
+            Value value = commonValues[i];
+            if ( value.valueGroup() == group && above( value, from, fromInclusive ) && below( value, to, toInclusive ) )
+            {
+                entries += commonValueCounts[i];
+            }
+        }
+        for ( Bucket bucket : buckets )
+        {
+            if ( bucket.group == group )
+            {
+                entries += bucket.uncommonEntries() * bucket.fractionWithin( from, fromInclusive, to, toInclusive );
+            }
+        }
+        return Math.max( entries, 1 ) / size;
+    }
+
+    private double sumOfSquaredCounts()
+    {
+        double sum = 0;
+        for ( long count : commonValueCounts )
+        {
+            sum += (double) count * count;
+        }
+        for ( Bucket bucket : buckets )
+        {
+            long distinct = bucket.distinct - bucket.commonDistinct;
+            if ( distinct > 0 )
+            {
+                sum += (double) bucket.uncommonEntries() * bucket.uncommonEntries() / distinct;
+            }
+        }
+        return sum;
+    }
+
+    private static boolean above( Value value, Value from, boolean inclusive )
+    {
+        if ( from == null )
+        {
+            return true;
+        }
+        int compare = COMPARATOR.compare( value, from );
+        return compare > 0 || inclusive && compare == 0;
+    }
+
+    private static boolean below( Value value, Value to, boolean inclusive )
+    {
+        if ( to == null )
+        {
+            return true;
+        }
+        int compare = COMPARATOR.compare( value, to );
+        return compare < 0 || inclusive && compare == 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "IndexValueHistogram{size=" + size + ", commonValues=" + commonValues.length + ", buckets=" + buckets.length + '}';
+    }
+
+    /**
+     * Consecutive values of one {@link ValueGroup}, from {@link #lower} to {@link #upper} inclusive.
+     */
+    private static final class Bucket
+    {
+        private final ValueGroup group;
+        private final Value lower;
+        private Value upper;
+        private long count;
+        private long distinct;
+        private long commonCount;
+        private long commonDistinct;
+
+        Bucket( Value lower )
+        {
+            this.group = lower.valueGroup();
+            this.lower = lower;
+            this.upper = lower;
+        }
+
+        void include( Value value, long count )
+        {
+            this.upper = value;
+            this.count += count;
+            this.distinct++;
+        }
+
+        boolean accepts( Value value )
+        {
+            return value.valueGroup() == group && COMPARATOR.compare( upper, value ) < 0;
+        }
+
+        boolean contains( Value value )
+        {
+            return value.valueGroup() == group && COMPARATOR.compare( lower, value ) <= 0 && COMPARATOR.compare( value, upper ) <= 0;
+        }
+
+        long uncommonEntries()
+        {
+            return count - commonCount;
+        }
+
+        double uncommonEntriesPerValue()
+        {
+            long uncommonDistinct = distinct - commonDistinct;
+            return uncommonDistinct == 0 ? 0 : (double) uncommonEntries() / uncommonDistinct;
+        }
+
+        /**
+         * Fraction of the values in this bucket which are in the given range, interpolated linearly for numbers and
+         * assumed to be half of the bucket for each bound cutting through a bucket of other values.
+         */
+        double fractionWithin( Value from, boolean fromInclusive, Value to, boolean toInclusive )
+        {
+            if ( !above( upper, from, fromInclusive ) || !below( lower, to, toInclusive ) )
+            {
+                return 0;
+            }
+            boolean cutFrom = !above( lower, from, fromInclusive );
+            boolean cutTo = !below( upper, to, toInclusive );
+            if ( !cutFrom && !cutTo )
+            {
+                return 1;
+            }
+            if ( group == ValueGroup.NUMBER )
+            {
+                double low = ((NumberValue) lower).doubleValue();
+                double high = ((NumberValue) upper).doubleValue();
+                double start = cutFrom ? ((NumberValue) from).doubleValue() : low;
+                double end = cutTo ? ((NumberValue) to).doubleValue() : high;
+                return high > low ? Math.max( 0, Math.min( 1, (end - start) / (high - low) ) ) : 1;
+            }
+            return (cutFrom ? 0.5 : 1) * (cutTo ? 0.5 : 1);
+        }
+
+        static Bucket merge( Bucket first, Bucket second )
+        {
+            Bucket merged = new Bucket( first.lower );
+            merged.upper = second.upper;
+            merged.count = first.count + second.count;
+            merged.distinct = first.distinct + second.distinct;
+            return merged;
+        }
+    }
+
+    /**
+     * Builds a histogram from the distinct values of an index, which must be included in index order. Values included
+     * out of order, as happens when an index is made up of several parts, start a new bucket.
+     * <p>
+     * Buckets are filled up to a depth, which starts at one entry and doubles whenever the number of buckets reaches
+     * twice the requested number, at which point adjacent buckets are merged pairwise. This keeps between the requested
+     * number and twice as many buckets of roughly equal depth without knowing the size of the index up front.
+     */
+    public static class Builder
+    {
+        private final int maxBuckets;
+        private final int maxCommonValues;
+        private final List<Bucket> buckets = new ArrayList<>();
+        private final PriorityQueue<CommonValue> commonValues = new PriorityQueue<>( Comparator.comparingLong( common -> common.count ) );
+        private Bucket current;
+        private long depth = 1;
+        private long size;
+
+        public Builder()
+        {
+            this( DEFAULT_BUCKETS, DEFAULT_COMMON_VALUES );
+        }
+
+        /**
+         * @param buckets number of buckets to aim for.
+         * @param commonValues number of most common values to keep.
+         */
+        public Builder( int buckets, int commonValues )
+        {
+            this.maxBuckets = Math.max( buckets, 1 );
+            this.maxCommonValues = commonValues;
+        }
+
+        /**
+         * @param value the next distinct value of the index.
+         * @param count number of entries having this value.
+         */
+        public void include( Value value, long count )
+        {
+            size += count;
+            if ( count > 1 && maxCommonValues > 0 )
+            {
+                if ( commonValues.size() < maxCommonValues )
+                {
+                    commonValues.add( new CommonValue( value, count ) );
+                }
+                else if ( commonValues.peek().count < count )
+                {
+                    commonValues.poll();
+                    commonValues.add( new CommonValue( value, count ) );
+                }
+            }
+            if ( current != null && (current.count >= depth || !current.accepts( value )) )
+            {
+                closeCurrent();
+            }
+            if ( current == null )
+            {
+                current = new Bucket( value );
+            }
+            current.include( value, count );
+        }
+
+        public IndexValueHistogram build()
+        {
+            if ( current != null )
+            {
+                closeCurrent();
+            }
+            if ( size == 0 )
+            {
+                return EMPTY;
+            }
+            int common = commonValues.size();
+            Value[] values = new Value[common];
+            long[] counts = new long[common];
+            for ( int i = common - 1; i >= 0; i-- )
+            {
+                CommonValue commonValue = commonValues.poll();
+                values[i] = commonValue.value;
+                counts[i] = commonValue.count;
+                for ( Bucket bucket : buckets )
+                {
+                    if ( bucket.contains( commonValue.value ) )
+                    {
+                        bucket.commonCount += commonValue.count;
+                        bucket.commonDistinct++;
+                        break;
+                    }
+                }
+            }
+            return new IndexValueHistogram( size, values, counts, buckets.toArray( new Bucket[0] ) );
+        }
+
+        private void closeCurrent()
+        {
+            buckets.add( current );
+            current = null;
+            if ( buckets.size() >= 2 * maxBuckets && mergeAdjacentBuckets() )
+            {
+                depth *= 2;
+            }
+        }
+
+        private boolean mergeAdjacentBuckets()
+        {
+            List<Bucket> merged = new ArrayList<>( buckets.size() / 2 + 1 );
+            for ( int i = 0; i < buckets.size(); i++ )
+            {
+                Bucket bucket = buckets.get( i );
+                if ( i + 1 < buckets.size() && bucket.accepts( buckets.get( i + 1 ).lower ) )
+                {
+                    bucket = Bucket.merge( bucket, buckets.get( ++i ) );
+                }
+                merged.add( bucket );
+            }
+            boolean reduced = merged.size() < buckets.size();
+            buckets.clear();
+            buckets.addAll( merged );
+            return reduced;
+        }
+    }
+
+    private static final class CommonValue
+    {
+        private final Value value;
+        private final long count;
+
+        CommonValue( Value value, long count )
+        {
+            this.value = value;
+            this.count = count;
+        }
+    }
+}
@@ -61,6 +61,8 @@ import static org.neo4j.values.storable.CoordinateReferenceSystem.Cartesian;
 import static org.neo4j.values.storable.CoordinateReferenceSystem.Cartesian_3D;
 import static org.neo4j.values.storable.CoordinateReferenceSystem.WGS84;
 import static org.neo4j.values.storable.CoordinateReferenceSystem.WGS84_3D;
+import static org.neo4j.values.storable.Values.doubleValue;
+import static org.neo4j.values.storable.Values.intValue;
 import static org.neo4j.values.storable.Values.stringValue;
 
 public abstract class NodeValueIndexCursorTestBase<G extends KernelAPIReadTestSupport>
@@ -349,6 +351,37 @@ public abstract class NodeValueIndexCursorTestBase<G extends KernelAPIReadTestSu
         }
     }
 
+    @Test
+    public void shouldPerformExactAnyLookup() throws Exception
+    {
+        // given
+        boolean needsValues = false;
+        int label = token.nodeLabel( "Node" );
+        int prop = token.propertyKey( "prop" );
+        IndexReference index = schemaRead.index( label, prop );
+        try ( NodeValueIndexCursor node = cursors.allocateNodeValueIndexCursor() )
+        {
+            MutableLongSet uniqueIds = new LongHashSet();
+
+            // when
+            read.nodeIndexSeek( index, node, IndexOrder.NONE, needsValues,
+                    IndexQuery.exactAny( prop, stringValue( "three" ), stringValue( "zero" ), stringValue( "one" ), stringValue( "three" ) ) );
+
+            // then
+            assertThat( node.numberOfProperties(), equalTo( 1 ) );
+            assertFoundNodesAndNoValue( node, uniqueIds, strOne, strThree1, strThree2, strThree3 );
+
+            // when
+            read.nodeIndexSeek( index, node, IndexOrder.NONE, needsValues,
+                    IndexQuery.exactAny( prop, intValue( 3 ), doubleValue( 3.0 ), stringValue( "two" ), intValue( 1 ) ) );
+
+            // then
+            assertFoundNodesAndNoValue( node, 6, uniqueIds );
+            assertTrue( uniqueIds.contains( strTwo1 ) );
+            assertTrue( uniqueIds.contains( strTwo2 ) );
+        }
+    }
+
     @Test
     public void shouldPerformStringPrefixSearch() throws Exception
     {
@@ -153,6 +153,12 @@ public class StubNodeCursor implements NodeCursor
         return dense;
     }
 
+    @Override
+    public int degreeIfKnown()
+    {
+        return -1;
+    }
+
     @Override
     public boolean next()
     {
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.api.schema;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.values.storable.Values.intValue;
+import static org.neo4j.values.storable.Values.longValue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+class IndexValueHistogramTest
+{
+    @Test
+    void shouldBeEmptyWithoutValues()
+    {
+        assertSame( IndexValueHistogram.EMPTY, new IndexValueHistogram.Builder().build() );
+        assertTrue( IndexValueHistogram.EMPTY.isEmpty() );
+    }
+
+    @Test
+    void shouldEstimateCommonValuesExactly()
+    {
+        // given
+        IndexValueHistogram.Builder builder = new IndexValueHistogram.Builder( 4, 2 );
+        builder.include( stringValue( "active" ), 990 );
+        builder.include( stringValue( "deleted" ), 2 );
+        builder.include( stringValue( "inactive" ), 8 );
+
+        // when
+        IndexValueHistogram histogram = builder.build();
+
+        // then
+        assertEquals( 1000, histogram.size() );
+        assertEquals( 0.99, histogram.equalitySelectivity( stringValue( "active" ) ) );
+        assertEquals( 0.008, histogram.equalitySelectivity( stringValue( "inactive" ) ) );
+        assertEquals( 0.002, histogram.equalitySelectivity( stringValue( "deleted" ) ) );
+    }
+
+    @Test
+    void shouldAssumeUniformDistributionOfUncommonValuesWithinBucket()
+    {
+        // given
+        IndexValueHistogram.Builder builder = new IndexValueHistogram.Builder( 1, 1 );
+        builder.include( longValue( 1 ), 10 );
+        builder.include( longValue( 2 ), 2 );
+        builder.include( longValue( 3 ), 4 );
+        builder.include( longValue( 4 ), 4 );
+
+        // when
+        IndexValueHistogram histogram = builder.build();
+
+        // then
+        assertEquals( 0.5, histogram.equalitySelectivity( longValue( 1 ) ) );
+        assertEquals( 10.0 / 3 / 20, histogram.equalitySelectivity( intValue( 3 ) ), 1e-9 );
+    }
+
+    @Test
+    void shouldAssumeSingleEntryForUnknownValues()
+    {
+        // given
+        IndexValueHistogram.Builder builder = new IndexValueHistogram.Builder();
+        builder.include( longValue( 1 ), 50 );
+        builder.include( longValue( 2 ), 50 );
+
+        // when
+        IndexValueHistogram histogram = builder.build();
+
+        // then
+        assertEquals( 0.01, histogram.equalitySelectivity( longValue( 3 ) ) );
+        assertEquals( 0.01, histogram.equalitySelectivity( stringValue( "1" ) ) );
+    }
+
+    @Test
+    void shouldEstimateRangesFromBucketsOfEqualDepth()
+    {
+        // given
+        IndexValueHistogram.Builder builder = new IndexValueHistogram.Builder( 10, 0 );
+        for ( int i = 0; i < 1000; i++ )
+        {
+            builder.include( intValue( i ), 1 );
+        }
+
+        // when
+        IndexValueHistogram histogram = builder.build();
+
+        // then
+        assertEquals( 0.25, histogram.rangeSelectivity( intValue( 750 ), true, null, false ), 0.01 );
+        assertEquals( 0.1, histogram.rangeSelectivity( intValue( 100 ), true, intValue( 200 ), false ), 0.01 );
+        assertEquals( 0.001, histogram.rangeSelectivity( intValue( 1000 ), true, null, false ) );
+        assertEquals( 0.001, histogram.rangeSelectivity( stringValue( "a" ), true, null, false ) );
+    }
+
+    @Test
+    void shouldEstimateRangesOfSkewedValues()
+    {
+        // given
+        IndexValueHistogram.Builder builder = new IndexValueHistogram.Builder( 4, 4 );
+        for ( int i = 0; i < 100; i++ )
+        {
+            builder.include( intValue( i ), i == 10 ? 901 : 1 );
+        }
+
+        // when
+        IndexValueHistogram histogram = builder.build();
+
+        // then
+        assertEquals( 0.911, histogram.rangeSelectivity( null, false, intValue( 10 ), true ), 0.005 );
+        assertEquals( 0.01, histogram.rangeSelectivity( null, false, intValue( 10 ), false ), 0.005 );
+        assertEquals( 0.089, histogram.rangeSelectivity( intValue( 10 ), false, null, false ), 0.005 );
+    }
+
+    @Test
+    void shouldNotMixValueGroupsInBuckets()
+    {
+        // given
+        IndexValueHistogram.Builder builder = new IndexValueHistogram.Builder( 1, 0 );
+        for ( int i = 0; i < 10; i++ )
+        {
+            builder.include( intValue( i ), 1 );
+        }
+        for ( int i = 0; i < 10; i++ )
+        {
+            builder.include( stringValue( "v" + i ), 1 );
+        }
+
+        // when
+        IndexValueHistogram histogram = builder.build();
+
+        // then
+        assertEquals( 0.5, histogram.rangeSelectivity( stringValue( "" ), true, null, false ) );
+        assertEquals( 0.5, histogram.rangeSelectivity( null, false, intValue( 100 ), false ) );
+    }
+
+    @Test
+    void shouldExpectHigherSelectivityOfUnknownValueForSkewedValues()
+    {
+        // given
+        IndexValueHistogram.Builder uniform = new IndexValueHistogram.Builder();
+        IndexValueHistogram.Builder skewed = new IndexValueHistogram.Builder();
+        for ( int i = 0; i < 100; i++ )
+        {
+            uniform.include( intValue( i ), 10 );
+            skewed.include( intValue( i ), i == 0 ? 901 : 1 );
+        }
+
+        // then
+        assertEquals( 0.01, uniform.build().expectedEqualitySelectivity(), 1e-9 );
+        assertEquals( 0.81, skewed.build().expectedEqualitySelectivity(), 0.01 );
+    }
+}
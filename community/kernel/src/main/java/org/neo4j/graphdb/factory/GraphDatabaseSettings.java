@@ -272,6 +272,18 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Integer> query_cache_size =
             buildSetting( "dbms.query_cache_size", INTEGER, "1000" ).constraint( min( 0 ) ).build();
 
+    @Description( "Remember which queries are in the query cache across restarts, by saving them to " +
+                  "unsupported.cypher.query_cache_warmup_directory when the database stops and every few minutes while it runs, and " +
+                  "compile them again in the background once the database is available. Queries are planned from the statistics at " +
+                  "that time, so no stale plans are brought back. Queries that could contain a password are never saved." )
+    @Internal
+    public static final Setting<Boolean> query_cache_warmup = setting( "unsupported.cypher.query_cache_warmup", BOOLEAN, FALSE );
+
+    @Description( "Directory where the queries in the query cache are saved to when unsupported.cypher.query_cache_warmup is enabled." )
+    @Internal
+    public static final Setting<File> query_cache_warmup_directory = derivedSetting( "unsupported.cypher.query_cache_warmup_directory",
+            data_directory, data -> new File( data, "query-cache" ), PATH );
+
     @Description( "The threshold when a plan is considered stale. If any of the underlying " +
                   "statistics used to create the plan have changed more than this value, " +
                   "the plan will be considered stale and will be replanned. Change is calculated as " +
@@ -316,6 +328,13 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Long> cypher_idp_solver_duration_threshold = buildSetting(
             "unsupported.cypher.idp_solver_duration_threshold", LONG, "1000" ).constraint( min( 10L ) ).build();
 
+    @Description( "To bound IDP query planning time for large patterns, we can restrict the total duration of planning " +
+                  "each connected pattern. Once spent, the planner stops enumerating larger sub-plans and greedily " +
+                  "completes the best candidate plans found so far. A value of 0 means no limit." )
+    @Internal
+    public static final Setting<Long> cypher_idp_solver_total_duration_threshold = buildSetting(
+            "unsupported.cypher.idp_solver_total_duration_threshold", LONG, "0" ).constraint( min( 0L ) ).build();
+
     @Description( "The minimum time between possible cypher query replanning events. After this time, the graph " +
                   "statistics will be evaluated, and if they have changed by more than the value set by " +
                   "cypher.statistics_divergence_threshold, the query will be replanned. If the statistics have " +
@@ -336,6 +355,21 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Duration> cypher_replan_interval_target =
             setting( "unsupported.cypher.target_replan_interval", DURATION, "7h" );
 
+    @Description( "Replan queries found to be stale in the background, and keep using the stale plan until the new plan is " +
+                  "ready, instead of replanning them right away on the thread running the query. Attempts to replan the same " +
+                  "query are at least cypher.min_replan_interval apart." )
+    @Internal
+    public static final Setting<Boolean> cypher_replan_in_background = setting( "unsupported.cypher.replan_in_background", BOOLEAN, FALSE );
+
+    @Description( "The maximum total number of result rows kept in the Cypher result cache. Only the results of read-only queries " +
+                  "run with the `CYPHER resultCache=enabled` option are cached, and a cached result is only reused for the same " +
+                  "query text and parameters, by the same user with the same roles, as long as no transaction has been committed " +
+                  "since. Results are not cached while a committed transaction is still being applied to the store. " +
+                  "A value of 0 disables the result cache." )
+    @Internal
+    public static final Setting<Integer> cypher_result_cache_size =
+            buildSetting( "unsupported.cypher.result_cache_size", INTEGER, "0" ).constraint( min( 0 ) ).build();
+
     @Description( "Large databases might change slowly, and to prevent queries from never being replanned " +
                   "the divergence threshold set by cypher.statistics_divergence_threshold is configured to " +
                   "shrink over time using the algorithm set here. This will cause the threshold to reach " +
@@ -515,6 +549,13 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Duration> counts_store_rotation_timeout =
             setting( "unsupported.dbms.counts_store_rotation_timeout", DURATION, "10m" );
 
+    @Description( "Keep the counts store in a GBPTree that is updated in place, so that flushing it writes only the counts " +
+            "changed since the previous flush instead of rewriting all of them. Switching between the two kinds of counts store " +
+            "deletes the other kind and rebuilds the counts from the store files on startup." )
+    @Internal
+    public static final Setting<Boolean> counts_store_gbptree =
+            setting( "unsupported.dbms.counts_store_gbptree", BOOLEAN, FALSE );
+
     @Description( "Minimum time interval after last rotation of the user log before it may be rotated again." )
     public static final Setting<Duration> store_user_log_rotation_delay =
             setting( "dbms.logs.user.rotation.delay", DURATION, "300s" );
@@ -632,6 +673,19 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Integer> index_sampling_update_percentage =
             buildSetting( "dbms.index_sampling.update_percentage", INTEGER, "5" ).constraint( min( 0 ) ).build();
 
+    @Description( "Keep statistics of indexes that can provide their values up to date as the indexes are updated, so that " +
+            "sampling such an index only reads the whole index the first time after startup or after many entries have been removed." )
+    @Internal
+    public static final Setting<Boolean> index_sampling_incremental =
+            setting( "unsupported.dbms.index_sampling.incremental", BOOLEAN, FALSE );
+
+    @Description( "Keep a histogram and the most common values of each single property index that can provide its values, " +
+            "rebuilt by reading the whole index each time the index is sampled, for the Cypher planner to estimate selectivities of " +
+            "predicates on values that are much more or less common than others." )
+    @Internal
+    public static final Setting<Boolean> index_sampling_histograms =
+            setting( "unsupported.dbms.index_sampling.histograms", BOOLEAN, FALSE );
+
     // Lucene settings
     @Description( "The maximum number of open Lucene index searchers." )
     public static final Setting<Integer> lucene_searcher_cache_size = buildSetting( "dbms.index_searcher_cache_size",INTEGER,
@@ -1083,6 +1137,13 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Boolean> archive_failed_index = setting(
             "unsupported.dbms.index.archive_failed", BOOLEAN, FALSE );
 
+    @Description( "The number of index updates a batch of committed transactions must have, not counting the updates to the index " +
+            "with the most updates, for the updates to be applied to the affected indexes in parallel, one thread per index, instead of " +
+            "one index after the other. Updates to a single index are always applied by one thread. Zero disables parallel application." )
+    @Internal
+    public static final Setting<Integer> index_updates_parallel_threshold = buildSetting(
+            "unsupported.dbms.index.updates_parallel_threshold", INTEGER, "0" ).constraint( min( 0 ) ).build();
+
     // Needed to validate config, accessed via reflection
     @SuppressWarnings( "unused" )
     public static final BoltConnectorValidator boltValidator = new BoltConnectorValidator();
@@ -1130,6 +1191,15 @@ public class GraphDatabaseSettings implements LoadableConfig
             .constraint( min( 16 ) )
             .build();
 
+    @Description( "Defines whether transaction state that doesn't fit into dbms.tx_state.max_off_heap_memory should be spilled to " +
+            "memory mapped files in dbms.tx_state.off_heap.spill_directory instead of failing the transaction. " +
+            "Used when dbms.tx_state.memory_allocation is set to 'OFF_HEAP' and dbms.tx_state.max_off_heap_memory is not zero." )
+    public static final Setting<Boolean> tx_state_off_heap_spill_to_disk = setting( "dbms.tx_state.off_heap.spill_to_disk", BOOLEAN, FALSE );
+
+    @Description( "Directory where transaction state is spilled to when dbms.tx_state.off_heap.spill_to_disk is enabled." )
+    public static final Setting<File> tx_state_off_heap_spill_directory = derivedSetting( "dbms.tx_state.off_heap.spill_directory",
+            data_directory, data -> new File( data, "tx-state-spill" ), PATH );
+
     // Needed to validate config, accessed via reflection
     @SuppressWarnings( "unused" )
     public static final HttpConnectorValidator httpValidator = new HttpConnectorValidator();
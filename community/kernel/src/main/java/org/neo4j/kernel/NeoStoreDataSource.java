@@ -416,6 +416,10 @@ public class NeoStoreDataSource extends LifecycleAdapter
             dataSourceDependencies.satisfyDependency( storageEngine );
 
             executionEngine = QueryEngineProvider.initialize( dataSourceDependencies, facade, engineProviders );
+            if ( executionEngine instanceof Lifecycle )
+            {
+                life.add( (Lifecycle) executionEngine );
+            }
         }
         catch ( Throwable e )
         {
@@ -41,11 +41,19 @@ public class QueryObfuscation
             // password parameter, in single, double quotes, or parametrized
             "\\s*('(?:(?<=\\\\)'|[^'])*'|\"(?:(?<=\\\\)\"|[^\"])*\"|\\$\\w*|\\{\\w*})" );
 
+    // every match of the pattern contains this, and looking for it is much cheaper than running the pattern
+    private static final String PASSWORD_PROCEDURE_PREFIX = "dbms.";
+
     static final TextValue OBFUSCATED = stringValue( "******" );
     static final String OBFUSCATED_LITERAL = "'******'";
 
     public static String obfuscateText( String queryText, Set<String> passwordParams )
     {
+        if ( !queryText.contains( PASSWORD_PROCEDURE_PREFIX ) )
+        {
+            return queryText;
+        }
+
         Matcher matcher = PASSWORD_PATTERN.matcher( queryText );
 
         while ( matcher.find() )
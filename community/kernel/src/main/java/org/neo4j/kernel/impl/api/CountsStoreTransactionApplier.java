@@ -22,7 +22,6 @@
  */
 package org.neo4j.kernel.impl.api;
 
-import org.neo4j.kernel.impl.store.counts.CountsTracker;
 import org.neo4j.kernel.impl.transaction.command.Command;
 import org.neo4j.kernel.impl.transaction.command.Command.SchemaRuleCommand;
 import org.neo4j.storageengine.api.TransactionApplicationMode;
@@ -30,7 +29,7 @@ import org.neo4j.storageengine.api.TransactionApplicationMode;
 public class CountsStoreTransactionApplier extends TransactionApplier.Adapter
 {
     private final TransactionApplicationMode mode;
-    private final CountsTracker.Updater countsUpdater;
+    private final CountsAccessor.Updater countsUpdater;
     private boolean haveUpdates;
 
     public CountsStoreTransactionApplier( TransactionApplicationMode mode, CountsAccessor.Updater countsUpdater )
@@ -69,8 +69,8 @@ public class BatchingMultipleIndexPopulator extends MultipleIndexPopulator
     private static final String EOL = System.lineSeparator();
     private static final String FLUSH_THREAD_NAME_PREFIX = "Index Population Flush Thread";
 
-    // Maximum number of workers processing batches of updates from the scan. It is capped because there's only a single
-    // thread generating updates and it generally cannot saturate all the workers anyway.
+    // Maximum number of workers processing batches of updates from the scan. It is capped because the threads generating
+    // updates generally cannot saturate all the workers anyway.
     private final int MAXIMUM_NUMBER_OF_WORKERS = FeatureToggles.getInteger( getClass(), MAXIMUM_NUMBER_OF_WORKERS_NAME,
             min( 8, Runtime.getRuntime().availableProcessors() - 1 ) );
     private final int TASK_QUEUE_SIZE = FeatureToggles.getInteger( getClass(), TASK_QUEUE_SIZE_NAME,
@@ -161,15 +161,15 @@ public class BatchingMultipleIndexPopulator extends MultipleIndexPopulator
 
     /**
      * Insert the given batch of updates into the index defined by the given {@link IndexPopulation}.
-     * Called from {@link MultipleIndexPopulator#flush(IndexPopulation)}.
+     * Called from {@link MultipleIndexPopulator#flush(IndexPopulation)}, or by the threads of a partitioned store scan.
      *
      * @param population the index population.
+     * @param batch the updates to insert.
      */
     @Override
-    void doFlush( IndexPopulation population )
+    void doFlush( IndexPopulation population, List<IndexEntryUpdate<?>> batch )
     {
         activeTasks.incrementAndGet();
-        List<IndexEntryUpdate<?>> batch = population.takeCurrentBatch();
 
         executor.execute( () ->
         {
@@ -29,6 +29,7 @@ import org.neo4j.kernel.api.index.IndexAccessor;
 import org.neo4j.kernel.api.index.IndexPopulator;
 import org.neo4j.kernel.api.index.IndexProvider;
 import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
+import org.neo4j.kernel.impl.api.index.sampling.IndexValueSketches;
 import org.neo4j.kernel.impl.index.schema.ByteBufferFactory;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
@@ -47,18 +48,21 @@ class IndexProxyCreator
     private final IndexProviderMap providerMap;
     private final TokenNameLookup tokenNameLookup;
     private final LogProvider logProvider;
+    private final IndexValueSketches sketches;
 
     IndexProxyCreator( IndexSamplingConfig samplingConfig,
             IndexStoreView storeView,
             IndexProviderMap providerMap,
             TokenNameLookup tokenNameLookup,
-            LogProvider logProvider )
+            LogProvider logProvider,
+            IndexValueSketches sketches )
     {
         this.samplingConfig = samplingConfig;
         this.storeView = storeView;
         this.providerMap = providerMap;
         this.tokenNameLookup = tokenNameLookup;
         this.logProvider = logProvider;
+        this.sketches = sketches;
     }
 
     IndexProxy createPopulatingIndexProxy( final StoreIndexDescriptor descriptor, final boolean flipToTentative, final IndexingService.Monitor monitor,
@@ -87,7 +91,7 @@ class IndexProxyCreator
         {
             monitor.populationCompleteOn( descriptor );
             IndexAccessor accessor = onlineAccessorFromProvider( descriptor, samplingConfig );
-            OnlineIndexProxy onlineProxy = new OnlineIndexProxy( capableIndexDescriptor, accessor, storeView, true );
+            OnlineIndexProxy onlineProxy = new OnlineIndexProxy( capableIndexDescriptor, accessor, storeView, sketches, true );
             if ( flipToTentative )
             {
                 return new TentativeConstraintIndexProxy( flipper, onlineProxy );
@@ -112,7 +116,7 @@ class IndexProxyCreator
             IndexAccessor onlineAccessor = onlineAccessorFromProvider( descriptor, samplingConfig );
             CapableIndexDescriptor capableIndexDescriptor = providerMap.withCapabilities( descriptor );
             IndexProxy proxy;
-            proxy = new OnlineIndexProxy( capableIndexDescriptor, onlineAccessor, storeView, false );
+            proxy = new OnlineIndexProxy( capableIndexDescriptor, onlineAccessor, storeView, sketches, false );
             proxy = new ContractCheckingIndexProxy( proxy, true );
             return proxy;
         }
@@ -39,11 +39,15 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -80,10 +84,12 @@ import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.register.Register.DoubleLongRegister;
 import org.neo4j.register.Registers;
+import org.neo4j.scheduler.Group;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.storageengine.api.NodePropertyAccessor;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
+import org.neo4j.storageengine.api.schema.IndexValueHistogram;
 import org.neo4j.storageengine.api.schema.SchemaRule;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
 import org.neo4j.values.storable.Value;
@@ -127,6 +133,8 @@ public class IndexingService extends LifecycleAdapter implements IndexingUpdateS
     private final Monitor monitor;
     private final SchemaState schemaState;
     private final IndexPopulationJobController populationJobController;
+    private final Executor parallelUpdatesExecutor;
+    private final int parallelUpdatesThreshold;
     private final Map<Long,IndexProxy> indexesToDropAfterCompletedRecovery = new HashMap<>();
 
     enum State
@@ -208,7 +216,8 @@ public class IndexingService extends LifecycleAdapter implements IndexingUpdateS
             LogProvider internalLogProvider,
             LogProvider userLogProvider,
             Monitor monitor,
-            boolean readOnly )
+            boolean readOnly,
+            int parallelUpdatesThreshold )
     {
         this.indexProxyCreator = indexProxyCreator;
         this.providerMap = providerMap;
@@ -222,6 +231,8 @@ public class IndexingService extends LifecycleAdapter implements IndexingUpdateS
         this.internalLogProvider = internalLogProvider;
         this.monitor = monitor;
         this.populationJobController = new IndexPopulationJobController( scheduler );
+        this.parallelUpdatesExecutor = parallelUpdatesThreshold > 0 ? scheduler.executor( Group.INDEX_APPLY ) : null;
+        this.parallelUpdatesThreshold = parallelUpdatesThreshold;
         this.internalLog = internalLogProvider.getLog( getClass() );
         this.userLog = userLogProvider.getLog( getClass() );
         this.readOnly = readOnly;
@@ -535,6 +546,13 @@ public class IndexingService extends LifecycleAdapter implements IndexingUpdateS
         }
     }
 
+    public IndexValueHistogram indexValueHistogram( SchemaDescriptor descriptor ) throws IndexNotFoundKernelException
+    {
+        final long indexId = indexMapRef.getOnlineIndexId( descriptor );
+        IndexValueHistogram histogram = samplingController.valueHistogram( indexId );
+        return histogram == null ? IndexValueHistogram.EMPTY : histogram;
+    }
+
     @Override
     public void validateBeforeCommit( SchemaDescriptor index, Value[] tuple )
     {
@@ -592,6 +610,11 @@ public class IndexingService extends LifecycleAdapter implements IndexingUpdateS
     {
         try ( IndexUpdaterMap updaterMap = indexMapRef.createIndexUpdaterMap( updateMode ) )
         {
+            if ( parallelUpdatesThreshold > 0 )
+            {
+                applyByIndex( updates, updaterMap );
+                return;
+            }
             for ( IndexEntryUpdate<SchemaDescriptor> indexUpdate : updates )
             {
                 processUpdate( updaterMap, indexUpdate );
@@ -599,6 +622,123 @@ public class IndexingService extends LifecycleAdapter implements IndexingUpdateS
         }
     }
 
+    /**
+     * Groups the updates by index, keeping their order within each index. If the updates to other indexes than the one with the
+     * most updates are at least {@link #parallelUpdatesThreshold}, those groups are applied in parallel while this thread applies
+     * the largest group. A single index is never split up, since it has a single updater and so a single writer, which means a
+     * batch dominated by one index is applied by this thread alone. Updaters are created, and closed by the caller, in this thread
+     * since some of them hold locks for as long as they are open. Updaters that acquire their writer lazily, like the fusion
+     * updaters, acquire it on the thread that applies their group.
+     */
+    private void applyByIndex( Iterable<IndexEntryUpdate<SchemaDescriptor>> updates, IndexUpdaterMap updaterMap )
+            throws IndexEntryConflictException
+    {
+        Map<IndexUpdater,List<IndexEntryUpdate<SchemaDescriptor>>> updatesByIndex = new LinkedHashMap<>();
+        int numberOfUpdates = 0;
+        for ( IndexEntryUpdate<SchemaDescriptor> indexUpdate : updates )
+        {
+            IndexUpdater updater = updaterMap.getUpdater( indexUpdate.indexKey().schema() );
+            if ( updater != null )
+            {
+                updatesByIndex.computeIfAbsent( updater, u -> new ArrayList<>() ).add( indexUpdate );
+                numberOfUpdates++;
+            }
+        }
+
+        Map.Entry<IndexUpdater,List<IndexEntryUpdate<SchemaDescriptor>>> ownGroup = null;
+        for ( Map.Entry<IndexUpdater,List<IndexEntryUpdate<SchemaDescriptor>>> group : updatesByIndex.entrySet() )
+        {
+            if ( ownGroup == null || group.getValue().size() > ownGroup.getValue().size() )
+            {
+                ownGroup = group;
+            }
+        }
+        if ( ownGroup == null || numberOfUpdates - ownGroup.getValue().size() < parallelUpdatesThreshold )
+        {
+            for ( Map.Entry<IndexUpdater,List<IndexEntryUpdate<SchemaDescriptor>>> group : updatesByIndex.entrySet() )
+            {
+                processUpdates( group.getKey(), group.getValue() );
+            }
+            return;
+        }
+
+        // The largest group is applied by this thread, the others by the executor
+        List<CompletableFuture<Void>> futures = new ArrayList<>( updatesByIndex.size() - 1 );
+        for ( Map.Entry<IndexUpdater,List<IndexEntryUpdate<SchemaDescriptor>>> group : updatesByIndex.entrySet() )
+        {
+            if ( group == ownGroup )
+            {
+                continue;
+            }
+            futures.add( CompletableFuture.runAsync( () ->
+            {
+                try
+                {
+                    processUpdates( group.getKey(), group.getValue() );
+                }
+                catch ( IndexEntryConflictException e )
+                {
+                    throw new CompletionException( e );
+                }
+            }, parallelUpdatesExecutor ) );
+        }
+
+        Throwable failure = null;
+        try
+        {
+            processUpdates( ownGroup.getKey(), ownGroup.getValue() );
+        }
+        catch ( IndexEntryConflictException | RuntimeException | Error e )
+        {
+            failure = e;
+        }
+        // All updaters must be done before they are closed
+        for ( CompletableFuture<Void> future : futures )
+        {
+            try
+            {
+                future.join();
+            }
+            catch ( CompletionException e )
+            {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if ( failure == null )
+                {
+                    failure = cause;
+                }
+                else
+                {
+                    failure.addSuppressed( cause );
+                }
+            }
+        }
+        if ( failure instanceof IndexEntryConflictException )
+        {
+            throw (IndexEntryConflictException) failure;
+        }
+        if ( failure instanceof RuntimeException )
+        {
+            throw (RuntimeException) failure;
+        }
+        if ( failure instanceof Error )
+        {
+            throw (Error) failure;
+        }
+        if ( failure != null )
+        {
+            throw new UnderlyingStorageException( failure );
+        }
+    }
+
+    private static void processUpdates( IndexUpdater updater, List<IndexEntryUpdate<SchemaDescriptor>> updates )
+            throws IndexEntryConflictException
+    {
+        for ( IndexEntryUpdate<SchemaDescriptor> indexUpdate : updates )
+        {
+            updater.process( indexUpdate );
+        }
+    }
+
     @Override
     public Iterable<IndexEntryUpdate<SchemaDescriptor>> convertToIndexUpdates( EntityUpdates entityUpdates, EntityType type )
     {
@@ -664,6 +804,7 @@ public class IndexingService extends LifecycleAdapter implements IndexingUpdateS
             {
                 assert index != null : "Index " + rule + " doesn't exists";
                 index.drop();
+                samplingController.indexDropped( indexId );
             }
             else if ( index != null )
             {
@@ -22,12 +22,15 @@
  */
 package org.neo4j.kernel.impl.api.index;
 
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.internal.kernel.api.TokenNameLookup;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.api.SchemaState;
 import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
 import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingController;
 import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingControllerFactory;
+import org.neo4j.kernel.impl.api.index.sampling.IndexValueHistograms;
+import org.neo4j.kernel.impl.api.index.sampling.IndexValueSketches;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.schema.SchemaRule;
@@ -56,14 +59,17 @@ public class IndexingServiceFactory
         IndexSamplingConfig samplingConfig = new IndexSamplingConfig( config );
         MultiPopulatorFactory multiPopulatorFactory = MultiPopulatorFactory.forConfig( config );
         IndexMapReference indexMapRef = new IndexMapReference();
-        IndexSamplingControllerFactory factory =
-                new IndexSamplingControllerFactory( samplingConfig, storeView, scheduler, tokenNameLookup, internalLogProvider );
+        IndexValueSketches sketches = new IndexValueSketches();
+        IndexValueHistograms histograms = new IndexValueHistograms();
+        IndexSamplingControllerFactory factory = new IndexSamplingControllerFactory( samplingConfig, storeView, scheduler, tokenNameLookup,
+                internalLogProvider, sketches, histograms );
         IndexSamplingController indexSamplingController = factory.create( indexMapRef );
         IndexProxyCreator proxySetup =
-                new IndexProxyCreator( samplingConfig, storeView, providerMap, tokenNameLookup, internalLogProvider );
+                new IndexProxyCreator( samplingConfig, storeView, providerMap, tokenNameLookup, internalLogProvider, sketches );
 
         return new IndexingService( proxySetup, providerMap, indexMapRef, storeView, schemaRules,
                 indexSamplingController, tokenNameLookup, scheduler, schemaState,
-                multiPopulatorFactory, internalLogProvider, userLogProvider, monitor, readOnly );
+                multiPopulatorFactory, internalLogProvider, userLogProvider, monitor, readOnly,
+                config.get( GraphDatabaseSettings.index_updates_parallel_threshold ) );
     }
 }
@@ -38,7 +38,6 @@ import java.util.stream.IntStream;
 
 import org.neo4j.function.ThrowingConsumer;
 import org.neo4j.helpers.collection.Pair;
-import org.neo4j.helpers.collection.Visitor;
 import org.neo4j.internal.kernel.api.InternalIndexState;
 import org.neo4j.internal.kernel.api.schema.SchemaDescriptor;
 import org.neo4j.internal.kernel.api.schema.SchemaDescriptorSupplier;
@@ -76,6 +75,8 @@ import static org.neo4j.kernel.impl.api.index.IndexPopulationFailure.failure;
  * {@link #indexAllEntities()} and incorporated into that data stream. Calls to this method may come from any number
  * of concurrent threads.</li>
  * </ul>
+ * The store scan may visit entities from multiple threads, see {@link ParallelEntityUpdatesVisitor}, in which case each thread
+ * batches updates for the populators on its own.
  *
  * Usage of this class should be something like:
  * <ol>
@@ -381,10 +382,15 @@ public class MultipleIndexPopulator implements IndexPopulator
     }
 
     void doFlush( IndexPopulation population )
+    {
+        doFlush( population, population.takeCurrentBatch() );
+    }
+
+    void doFlush( IndexPopulation population, List<IndexEntryUpdate<?>> batch )
     {
         try
         {
-            population.populator.add( population.takeCurrentBatch() );
+            population.populator.add( batch );
         }
         catch ( Throwable failure )
         {
@@ -596,6 +602,26 @@ public class MultipleIndexPopulator implements IndexPopulator
             }
         }
 
+        /**
+         * Samples and adds a batch of updates from one partition of a scan. May be called by multiple partitions concurrently.
+         */
+        private void addPartitionBatch( List<IndexEntryUpdate<?>> batch )
+        {
+            if ( !populations.contains( this ) )
+            {
+                // This population has failed or been cancelled while the batch was gathered
+                return;
+            }
+            synchronized ( this )
+            {
+                for ( IndexEntryUpdate<?> update : batch )
+                {
+                    populator.includeSample( update );
+                }
+            }
+            doFlush( this, batch );
+        }
+
         private void onUpdate( IndexEntryUpdate<?> update )
         {
             populator.includeSample( update );
@@ -686,8 +712,7 @@ public class MultipleIndexPopulator implements IndexPopulator
         }
     }
 
-    private class EntityPopulationVisitor implements Visitor<EntityUpdates,
-            IndexPopulationFailedKernelException>
+    private class EntityPopulationVisitor implements ParallelEntityUpdatesVisitor<IndexPopulationFailedKernelException>
     {
         @Override
         public boolean visit( EntityUpdates updates )
@@ -709,6 +734,58 @@ public class MultipleIndexPopulator implements IndexPopulator
                 indexUpdate.indexKey().onUpdate( indexUpdate );
             }
         }
+
+        @Override
+        public Partition<IndexPopulationFailedKernelException> newPartition()
+        {
+            return new PartitionPopulationVisitor();
+        }
+
+        @Override
+        public boolean hasQueuedUpdatesToApply()
+        {
+            int queueSize = updatesQueue.size();
+            return queueSize > 0 && queueSize >= QUEUE_THRESHOLD;
+        }
+
+        @Override
+        public void applyQueuedUpdates()
+        {
+            // Which updates the scan has passed is decided by the partitions of the scan, not by a single entity id
+            populateFromQueue( 0, -1 );
+        }
+    }
+
+    /**
+     * Batches updates from one partition of a scan, so that the threads scanning partitions don't share any batches.
+     */
+    private class PartitionPopulationVisitor implements ParallelEntityUpdatesVisitor.Partition<IndexPopulationFailedKernelException>
+    {
+        private final Map<IndexPopulation,List<IndexEntryUpdate<?>>> batches = new HashMap<>();
+
+        @Override
+        public boolean visit( EntityUpdates updates )
+        {
+            for ( IndexEntryUpdate<IndexPopulation> indexUpdate : updates.forIndexKeys( populations ) )
+            {
+                IndexPopulation population = indexUpdate.indexKey();
+                List<IndexEntryUpdate<?>> batch = batches.computeIfAbsent( population, p -> new ArrayList<>( BATCH_SIZE ) );
+                batch.add( indexUpdate );
+                if ( batch.size() >= BATCH_SIZE )
+                {
+                    batches.remove( population );
+                    population.addPartitionBatch( batch );
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void flush()
+        {
+            batches.forEach( IndexPopulation::addPartitionBatch );
+            batches.clear();
+        }
     }
 
     protected static class DelegatingStoreScan<E extends Exception> implements StoreScan<E>
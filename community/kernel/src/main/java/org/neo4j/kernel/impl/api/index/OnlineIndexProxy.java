@@ -33,6 +33,7 @@ import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
 import org.neo4j.kernel.api.index.IndexAccessor;
 import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.impl.api.index.sampling.IndexValueSketches;
 import org.neo4j.kernel.impl.api.index.updater.UpdateCountingIndexUpdater;
 import org.neo4j.storageengine.api.NodePropertyAccessor;
 import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
@@ -47,6 +48,7 @@ public class OnlineIndexProxy implements IndexProxy
     final IndexAccessor accessor;
     private final IndexStoreView storeView;
     private final IndexCountsRemover indexCountsRemover;
+    private final IndexValueSketches sketches;
     private boolean started;
 
     // About this flag: there are two online "modes", you might say...
@@ -75,13 +77,15 @@ public class OnlineIndexProxy implements IndexProxy
     //   slightly more costly, but shouldn't make that big of a difference hopefully.
     private final boolean forcedIdempotentMode;
 
-    OnlineIndexProxy( CapableIndexDescriptor capableIndexDescriptor, IndexAccessor accessor, IndexStoreView storeView, boolean forcedIdempotentMode )
+    OnlineIndexProxy( CapableIndexDescriptor capableIndexDescriptor, IndexAccessor accessor, IndexStoreView storeView,
+            IndexValueSketches sketches, boolean forcedIdempotentMode )
     {
         assert accessor != null;
         this.indexId = capableIndexDescriptor.getId();
         this.capableIndexDescriptor = capableIndexDescriptor;
         this.accessor = accessor;
         this.storeView = storeView;
+        this.sketches = sketches;
         this.forcedIdempotentMode = forcedIdempotentMode;
         this.indexCountsRemover = new IndexCountsRemover( storeView, indexId );
     }
@@ -116,13 +120,14 @@ public class OnlineIndexProxy implements IndexProxy
 
     private IndexUpdater updateCountingUpdater( final IndexUpdater indexUpdater )
     {
-        return new UpdateCountingIndexUpdater( storeView, indexId, indexUpdater );
+        return new UpdateCountingIndexUpdater( storeView, indexId, indexUpdater, sketches );
     }
 
     @Override
     public void drop()
     {
         indexCountsRemover.remove();
+        sketches.remove( indexId );
         accessor.drop();
     }
 
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index;
+
+import org.neo4j.helpers.collection.Visitor;
+
+/**
+ * {@link Visitor} of {@link EntityUpdates} which a {@link StoreScan} can feed from multiple threads, each scanning its own partition
+ * of the store.
+ * <p>
+ * Every scanning thread visits its entities through its own {@link Partition}, which keeps what it has been given to itself until
+ * {@link Partition#flush() flushed}, so that no coordination between the threads is needed per entity. Queued external updates
+ * can only be applied when every partition has flushed what it has seen so far. Therefore the scan polls
+ * {@link #hasQueuedUpdatesToApply()} and, when asked to, halts all its threads, flushes their partitions and calls
+ * {@link #applyQueuedUpdates()} from one of them before continuing.
+ * <p>
+ * Used as a plain {@link Visitor} this visitor must behave like any other, for scans which only use a single thread.
+ *
+ * @param <FAILURE> type of exception thrown on failure.
+ */
+public interface ParallelEntityUpdatesVisitor<FAILURE extends Exception> extends Visitor<EntityUpdates,FAILURE>
+{
+    /**
+     * @return a new {@link Partition} for one scanning thread to visit its entities with.
+     */
+    Partition<FAILURE> newPartition();
+
+    /**
+     * @return {@code true} if enough external updates have been queued that the scan should apply them now.
+     */
+    boolean hasQueuedUpdatesToApply();
+
+    /**
+     * Applies queued external updates, for those entities which the scan has passed, see
+     * {@link StoreScan#acceptUpdate(MultipleIndexPopulator.MultipleIndexUpdater, org.neo4j.kernel.api.index.IndexEntryUpdate, long)}.
+     * Must only be called while no thread is scanning and all partitions have been flushed.
+     */
+    void applyQueuedUpdates();
+
+    /**
+     * Visitor of the entities of one partition of a scan, used by a single thread. Return value of {@link #visit(Object)} is ignored.
+     */
+    interface Partition<FAILURE extends Exception> extends Visitor<EntityUpdates,FAILURE>
+    {
+        /**
+         * Hands everything visited so far over to be indexed.
+         */
+        void flush();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index.sampling;
+
+/**
+ * HyperLogLog cardinality estimator over 64-bit hashes, with bias correction for small cardinalities using linear counting.
+ * With {@code precision} p the relative standard error of {@link #estimate()} is about {@code 1.04 / sqrt(2^p)},
+ * using {@code 2^p} bytes of memory regardless of how many hashes are added.
+ * <p>
+ * Adding the same hash any number of times has the same effect as adding it once, and there's no way of removing hashes.
+ * <p>
+ * This class is not thread safe.
+ */
+class HyperLogLog
+{
+    private final int precision;
+    private final byte[] registers;
+
+    HyperLogLog( int precision )
+    {
+        if ( precision < 4 || precision > 16 )
+        {
+            throw new IllegalArgumentException( "Precision must be in range [4,16], but was " + precision );
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * @param hash well mixed 64-bit hash of the value to add.
+     */
+    void add( long hash )
+    {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        // Position of the first 1-bit in the remaining bits, with a sentinel bit so that it's never more than 64 - precision + 1
+        int rank = Long.numberOfLeadingZeros( (hash << precision) | (1L << (precision - 1)) ) + 1;
+        if ( rank > registers[index] )
+        {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * @return estimated number of distinct hashes added.
+     */
+    long estimate()
+    {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for ( byte register : registers )
+        {
+            sum += 1.0 / (1L << register);
+            if ( register == 0 )
+            {
+                zeros++;
+            }
+        }
+        double estimate = alpha( m ) * m * m / sum;
+        if ( estimate <= 2.5 * m && zeros > 0 )
+        {
+            // Linear counting is much more accurate than the raw estimate for small cardinalities
+            estimate = m * Math.log( (double) m / zeros );
+        }
+        return Math.round( estimate );
+    }
+
+    private static double alpha( int m )
+    {
+        switch ( m )
+        {
+        case 16:
+            return 0.673;
+        case 32:
+            return 0.697;
+        case 64:
+            return 0.709;
+        default:
+            return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+}
@@ -30,19 +30,36 @@ public class IndexSamplingConfig
     private final int sampleSizeLimit;
     private final double updateRatio;
     private final boolean backgroundSampling;
+    private final boolean incrementalSampling;
+    private final boolean histograms;
 
     public IndexSamplingConfig( Config config )
     {
         this( config.get( GraphDatabaseSettings.index_sample_size_limit ),
                           config.get( GraphDatabaseSettings.index_sampling_update_percentage ) / 100.0d,
-                          config.get( GraphDatabaseSettings.index_background_sampling_enabled ) );
+                          config.get( GraphDatabaseSettings.index_background_sampling_enabled ),
+                          config.get( GraphDatabaseSettings.index_sampling_incremental ),
+                          config.get( GraphDatabaseSettings.index_sampling_histograms ) );
     }
 
     public IndexSamplingConfig( int sampleSizeLimit, double updateRatio, boolean backgroundSampling )
+    {
+        this( sampleSizeLimit, updateRatio, backgroundSampling, false );
+    }
+
+    public IndexSamplingConfig( int sampleSizeLimit, double updateRatio, boolean backgroundSampling, boolean incrementalSampling )
+    {
+        this( sampleSizeLimit, updateRatio, backgroundSampling, incrementalSampling, false );
+    }
+
+    public IndexSamplingConfig( int sampleSizeLimit, double updateRatio, boolean backgroundSampling, boolean incrementalSampling,
+            boolean histograms )
     {
         this.sampleSizeLimit = sampleSizeLimit;
         this.updateRatio = updateRatio;
         this.backgroundSampling = backgroundSampling;
+        this.incrementalSampling = incrementalSampling;
+        this.histograms = histograms;
     }
 
     public int sampleSizeLimit()
@@ -65,6 +82,16 @@ public class IndexSamplingConfig
         return backgroundSampling;
     }
 
+    public boolean incrementalSampling()
+    {
+        return incrementalSampling;
+    }
+
+    public boolean histograms()
+    {
+        return histograms;
+    }
+
     @Override
     public boolean equals( Object o )
     {
@@ -81,6 +108,8 @@ public class IndexSamplingConfig
         IndexSamplingConfig that = (IndexSamplingConfig) o;
 
         return backgroundSampling == that.backgroundSampling &&
+               incrementalSampling == that.incrementalSampling &&
+               histograms == that.histograms &&
                sampleSizeLimit == that.sampleSizeLimit &&
                Double.compare( that.updateRatio, updateRatio ) == 0;
     }
@@ -92,6 +121,8 @@ public class IndexSamplingConfig
         long temp = Double.doubleToLongBits( updateRatio );
         result = 31 * result + (int) (temp ^ (temp >>> 32));
         result = 31 * result + (backgroundSampling ? 1 : 0);
+        result = 31 * result + (incrementalSampling ? 1 : 0);
+        result = 31 * result + (histograms ? 1 : 0);
         return result;
     }
 }
@@ -41,6 +41,7 @@ import org.neo4j.scheduler.Group;
 import org.neo4j.scheduler.JobHandle;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
+import org.neo4j.storageengine.api.schema.IndexValueHistogram;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
 import org.neo4j.util.FeatureToggles;
 
@@ -58,6 +59,8 @@ public class IndexSamplingController
     private final boolean backgroundSampling;
     private final Lock samplingLock = new ReentrantLock();
     private final Log log;
+    private final IndexValueSketches sketches;
+    private final IndexValueHistograms histograms;
     static final String LOG_RECOVER_INDEX_SAMPLES_NAME = "log_recover_index_samples";
     static final String ASYNC_RECOVER_INDEX_SAMPLES_NAME = "async_recover_index_samples";
     static final String ASYNC_RECOVER_INDEX_SAMPLES_WAIT_NAME = "async_recover_index_samples_wait";
@@ -75,7 +78,9 @@ public class IndexSamplingController
                              IndexMapSnapshotProvider indexMapSnapshotProvider,
                              JobScheduler scheduler,
                              RecoveryCondition indexRecoveryCondition,
-                             LogProvider logProvider )
+                             LogProvider logProvider,
+                             IndexValueSketches sketches,
+                             IndexValueHistograms histograms )
     {
         this.backgroundSampling = config.backgroundSampling();
         this.jobFactory = jobFactory;
@@ -85,6 +90,8 @@ public class IndexSamplingController
         this.scheduler = scheduler;
         this.indexRecoveryCondition = indexRecoveryCondition;
         this.log = logProvider.getLog( getClass() );
+        this.sketches = sketches;
+        this.histograms = histograms;
         this.logRecoverIndexSamples = FeatureToggles.flag( IndexSamplingController.class, LOG_RECOVER_INDEX_SAMPLES_NAME, false );
         this.asyncRecoverIndexSamples = FeatureToggles.flag( IndexSamplingController.class, ASYNC_RECOVER_INDEX_SAMPLES_NAME, false );
         this.asyncRecoverIndexSamplesWait =
@@ -93,6 +100,11 @@ public class IndexSamplingController
 
     public void sampleIndexes( IndexSamplingMode mode )
     {
+        if ( !mode.sampleOnlyIfUpdated )
+        {
+            // Sampling was explicitly requested for all indexes, so don't settle for what incremental sketches say
+            sketches.clear();
+        }
         IndexMap indexMap = indexMapSnapshotProvider.indexMapSnapshot();
         jobQueue.addAll( !mode.sampleOnlyIfUpdated, PrimitiveLongCollections.toIterator( indexMap.indexIds() ) );
         scheduleSampling( mode, indexMap );
@@ -100,11 +112,37 @@ public class IndexSamplingController
 
     public void sampleIndex( long indexId, IndexSamplingMode mode )
     {
+        if ( !mode.sampleOnlyIfUpdated )
+        {
+            sketches.remove( indexId );
+        }
         IndexMap indexMap = indexMapSnapshotProvider.indexMapSnapshot();
         jobQueue.add( !mode.sampleOnlyIfUpdated, indexId );
         scheduleSampling( mode, indexMap );
     }
 
+    /**
+     * @param indexId id of the index.
+     * @return the value histogram of the index, {@link IndexValueHistogram#EMPTY} if the index can't have one, or {@code null}
+     * if it hasn't been built.
+     */
+    public IndexValueHistogram valueHistogram( long indexId )
+    {
+        return histograms.histogram( indexId );
+    }
+
+    /**
+     * Forgets the statistics kept in memory for the index, which would otherwise be mistaken for statistics of a later index
+     * getting the same id.
+     *
+     * @param indexId id of the dropped index.
+     */
+    public void indexDropped( long indexId )
+    {
+        sketches.remove( indexId );
+        histograms.remove( indexId );
+    }
+
     public void recoverIndexSamples()
     {
         samplingLock.lock();
@@ -42,22 +42,26 @@ public class IndexSamplingControllerFactory
     private final JobScheduler scheduler;
     private final TokenNameLookup tokenNameLookup;
     private final LogProvider logProvider;
+    private final IndexValueSketches sketches;
+    private final IndexValueHistograms histograms;
 
     public IndexSamplingControllerFactory( IndexSamplingConfig config, IndexStoreView storeView,
                                            JobScheduler scheduler, TokenNameLookup tokenNameLookup,
-                                           LogProvider logProvider )
+                                           LogProvider logProvider, IndexValueSketches sketches, IndexValueHistograms histograms )
     {
         this.config = config;
         this.storeView = storeView;
         this.scheduler = scheduler;
         this.tokenNameLookup = tokenNameLookup;
         this.logProvider = logProvider;
+        this.sketches = sketches;
+        this.histograms = histograms;
     }
 
     public IndexSamplingController create( IndexMapSnapshotProvider snapshotProvider )
     {
-        OnlineIndexSamplingJobFactory jobFactory =
-                new OnlineIndexSamplingJobFactory( storeView, tokenNameLookup, logProvider );
+        OnlineIndexSamplingJobFactory jobFactory = new OnlineIndexSamplingJobFactory( storeView, tokenNameLookup, logProvider,
+                config.incrementalSampling() ? sketches : null, config.histograms() ? histograms : null, config.updateRatio() );
         Predicate<Long> samplingUpdatePredicate = createSamplingPredicate();
         IndexSamplingJobQueue<Long> jobQueue = new IndexSamplingJobQueue<>( samplingUpdatePredicate );
         IndexSamplingJobTracker jobTracker = new IndexSamplingJobTracker( config, scheduler );
@@ -65,7 +69,7 @@ public class IndexSamplingControllerFactory
                 indexRecoveryCondition = createIndexRecoveryCondition( logProvider, tokenNameLookup );
         return new IndexSamplingController(
                 config, jobFactory, jobQueue, jobTracker, snapshotProvider, scheduler, indexRecoveryCondition,
-                logProvider );
+                logProvider, sketches, histograms );
     }
 
     private Predicate<Long> createSamplingPredicate()
@@ -81,7 +85,8 @@ public class IndexSamplingControllerFactory
                 long updates = output.readFirst();
                 long size = output.readSecond();
                 long threshold = Math.round( config.updateRatio() * size );
-                return updates > threshold;
+                // an index without histogram hasn't been sampled since startup, sample it to build one
+                return updates > threshold || config.histograms() && histograms.histogram( indexId ) == null;
             }
         };
     }
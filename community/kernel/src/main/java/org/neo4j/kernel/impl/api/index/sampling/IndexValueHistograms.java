@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index.sampling;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.neo4j.storageengine.api.schema.IndexValueHistogram;
+
+/**
+ * The {@link IndexValueHistogram value histograms} of all indexes, by index id, as of when each index was last read in full
+ * by index sampling. Histograms only live in memory, so after a restart every index gets sampled once to build its histogram.
+ */
+public class IndexValueHistograms
+{
+    private final ConcurrentMap<Long,IndexValueHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * @param indexId id of the index.
+     * @return the histogram of the index, {@link IndexValueHistogram#EMPTY} if the index can't have one, or {@code null}
+     * if the index hasn't been sampled yet.
+     */
+    public IndexValueHistogram histogram( long indexId )
+    {
+        return histograms.get( indexId );
+    }
+
+    void put( long indexId, IndexValueHistogram histogram )
+    {
+        histograms.put( indexId, histogram );
+    }
+
+    /**
+     * Forgets the histogram of the index, so that it's built again the next time the index is sampled.
+     *
+     * @param indexId id of the index.
+     */
+    public void remove( long indexId )
+    {
+        histograms.remove( indexId );
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index.sampling;
+
+import org.neo4j.hashing.HashFunction;
+import org.neo4j.kernel.api.index.IndexEntryUpdate;
+import org.neo4j.storageengine.api.schema.IndexSample;
+import org.neo4j.values.storable.Value;
+
+/**
+ * Streaming statistics of the entries in one index, which can produce an {@link IndexSample} at any time without reading the index.
+ * Distinct values are estimated with a {@link HyperLogLog} over hashes of the indexed values and the index size is kept exact
+ * by counting added and removed entries.
+ * <p>
+ * A sketch is seeded with every entry in the index, see {@link IndexValueSketches#startFullScan(long)}, and after that kept up to date
+ * by {@link #update(IndexEntryUpdate)} from the online updaters of the index. Distinct values can't be removed from the estimator,
+ * so once enough entries have been removed since seeding, see {@link #needsFullScan(double)}, the sketch needs to be seeded again.
+ * <p>
+ * This class is thread safe.
+ */
+public class IndexValueSketch
+{
+    /**
+     * 4096 registers, for a standard error of the distinct values estimate of about 1.6%.
+     */
+    static final int PRECISION = 12;
+    private static final long HASH_SEED = 1;
+
+    private final HyperLogLog distinctValues = new HyperLogLog( PRECISION );
+    private final HashFunction hashFunction = HashFunction.incrementalXXH64();
+    private long size;
+    private long removed;
+
+    public synchronized void update( IndexEntryUpdate<?> update )
+    {
+        switch ( update.updateMode() )
+        {
+        case ADDED:
+            include( 1, update.values() );
+            break;
+        case CHANGED:
+            exclude();
+            include( 1, update.values() );
+            break;
+        case REMOVED:
+            exclude();
+            break;
+        default:
+            throw new IllegalArgumentException( "Unknown update mode " + update.updateMode() );
+        }
+    }
+
+    /**
+     * Includes {@code count} entries all having the given values.
+     *
+     * @param count number of entries with these values.
+     * @param values the indexed values, one per property of the index.
+     */
+    synchronized void include( long count, Value... values )
+    {
+        long hash = hashFunction.initialise( HASH_SEED );
+        for ( Value value : values )
+        {
+            hash = value.updateHash( hashFunction, hash );
+        }
+        distinctValues.add( hashFunction.finalise( hash ) );
+        size += count;
+    }
+
+    private void exclude()
+    {
+        size--;
+        removed++;
+    }
+
+    /**
+     * @param updateRatio ratio of the index size which updates must exceed before an index gets sampled.
+     * @return {@code true} if more entries have been removed since seeding than the given ratio of the index size,
+     * which means the distinct values estimate may be too high to be trusted.
+     */
+    synchronized boolean needsFullScan( double updateRatio )
+    {
+        return removed > Math.round( updateRatio * Math.max( size, 0 ) );
+    }
+
+    synchronized IndexSample sample()
+    {
+        long indexSize = Math.max( size, 0 );
+        return new IndexSample( indexSize, Math.min( distinctValues.estimate(), indexSize ), indexSize );
+    }
+}
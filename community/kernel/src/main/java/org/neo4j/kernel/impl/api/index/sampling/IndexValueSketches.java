@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index.sampling;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@link IndexValueSketch sketches} of all indexes that are sampled incrementally, by index id.
+ * Sketches only live in memory, so after a restart every index gets seeded by a full scan the first time it's sampled.
+ */
+public class IndexValueSketches
+{
+    private final ConcurrentMap<Long,IndexValueSketch> sketches = new ConcurrentHashMap<>();
+
+    /**
+     * @param indexId id of the index.
+     * @return the sketch of the index, or {@code null} if the index doesn't have one.
+     */
+    public IndexValueSketch sketch( long indexId )
+    {
+        return sketches.get( indexId );
+    }
+
+    /**
+     * Replaces the sketch of the index with a new empty one, which gets all updates from now on and which the caller
+     * is expected to seed with all the entries in the index. Entries updated while the caller scans the index may be
+     * counted twice, which makes the size of the sketch off by at most the number of such updates.
+     *
+     * @param indexId id of the index.
+     * @return the new sketch.
+     */
+    IndexValueSketch startFullScan( long indexId )
+    {
+        IndexValueSketch sketch = new IndexValueSketch();
+        sketches.put( indexId, sketch );
+        return sketch;
+    }
+
+    /**
+     * Forgets the sketch of the index, so that it's seeded again the next time the index is sampled.
+     *
+     * @param indexId id of the index.
+     */
+    public void remove( long indexId )
+    {
+        sketches.remove( indexId );
+    }
+
+    /**
+     * Forgets the sketches of all indexes.
+     */
+    public void clear()
+    {
+        sketches.clear();
+    }
+}
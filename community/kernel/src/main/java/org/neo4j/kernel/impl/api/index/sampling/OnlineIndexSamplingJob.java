@@ -22,15 +22,26 @@
  */
 package org.neo4j.kernel.impl.api.index.sampling;
 
+import java.util.Arrays;
+
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.internal.kernel.api.IndexValueCapability;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
 import org.neo4j.kernel.impl.api.index.IndexProxy;
 import org.neo4j.kernel.impl.api.index.IndexStoreView;
 import org.neo4j.kernel.impl.util.DurationLogger;
 import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
+import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
+import org.neo4j.storageengine.api.schema.IndexDescriptor;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.IndexSample;
 import org.neo4j.storageengine.api.schema.IndexSampler;
+import org.neo4j.storageengine.api.schema.IndexValueHistogram;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueCategory;
 
 import static java.lang.String.format;
 import static org.neo4j.internal.kernel.api.InternalIndexState.ONLINE;
@@ -42,15 +53,34 @@ class OnlineIndexSamplingJob implements IndexSamplingJob
     private final IndexStoreView storeView;
     private final Log log;
     private final String indexUserDescription;
+    private final IndexValueSketches sketches;
+    private final IndexValueHistograms histograms;
+    private final double updateRatio;
 
     OnlineIndexSamplingJob( long indexId, IndexProxy indexProxy, IndexStoreView storeView, String indexUserDescription,
             LogProvider logProvider )
+    {
+        this( indexId, indexProxy, storeView, indexUserDescription, logProvider, null, null, 0 );
+    }
+
+    /**
+     * @param sketches if not {@code null}, indexes that can provide their values are sampled from their {@link IndexValueSketch},
+     * which is seeded by a full scan of the index when missing or when more than {@code updateRatio} of the entries have been removed.
+     * @param histograms if not {@code null}, single property indexes that can provide their values get an {@link IndexValueHistogram}
+     * rebuilt by a full scan each time they are sampled, also when they have a sketch, so the histogram follows the updates
+     * that made the index need sampling. Other indexes get {@link IndexValueHistogram#EMPTY}.
+     */
+    OnlineIndexSamplingJob( long indexId, IndexProxy indexProxy, IndexStoreView storeView, String indexUserDescription,
+            LogProvider logProvider, IndexValueSketches sketches, IndexValueHistograms histograms, double updateRatio )
     {
         this.indexId = indexId;
         this.indexProxy = indexProxy;
         this.storeView = storeView;
         this.log = logProvider.getLog( getClass() );
         this.indexUserDescription = indexUserDescription;
+        this.sketches = sketches;
+        this.histograms = histograms;
+        this.updateRatio = updateRatio;
     }
 
     @Override
@@ -66,10 +96,9 @@ class OnlineIndexSamplingJob implements IndexSamplingJob
         {
             try
             {
-                try ( IndexReader reader = indexProxy.newReader();
-                      IndexSampler sampler = reader.createSampler() )
+                try ( IndexReader reader = indexProxy.newReader() )
                 {
-                    IndexSample sample = sampler.sampleIndex();
+                    IndexSample sample = sample( reader );
 
                     // check again if the index is online before saving the counts in the store
                     if ( indexProxy.getState() == ONLINE )
@@ -97,4 +126,143 @@ class OnlineIndexSamplingJob implements IndexSamplingJob
         }
     }
 
+    private IndexSample sample( IndexReader reader ) throws IndexNotFoundKernelException
+    {
+        CapableIndexDescriptor descriptor = indexProxy.getDescriptor();
+        boolean providesAllValues = (sketches != null || histograms != null) && providesAllValues( descriptor );
+        boolean buildHistogram = histograms != null && providesAllValues && descriptor.properties().length == 1;
+        if ( histograms != null && !buildHistogram )
+        {
+            histograms.put( indexId, IndexValueHistogram.EMPTY );
+        }
+        if ( sketches != null && providesAllValues )
+        {
+            IndexValueSketch sketch = sketches.sketch( indexId );
+            if ( sketch == null || sketch.needsFullScan( updateRatio ) || buildHistogram )
+            {
+                sketch = sketches.startFullScan( indexId );
+                if ( scan( reader, sketch, buildHistogram ) == null )
+                {
+                    sketches.remove( indexId );
+                    return sampleFully( reader );
+                }
+            }
+            return sketch.sample();
+        }
+        if ( buildHistogram )
+        {
+            IndexSample sample = scan( reader, null, true );
+            if ( sample != null )
+            {
+                return sample;
+            }
+        }
+        return sampleFully( reader );
+    }
+
+    private static IndexSample sampleFully( IndexReader reader ) throws IndexNotFoundKernelException
+    {
+        try ( IndexSampler sampler = reader.createSampler() )
+        {
+            return sampler.sampleIndex();
+        }
+    }
+
+    private static boolean providesAllValues( CapableIndexDescriptor descriptor )
+    {
+        ValueCategory[] categories = new ValueCategory[descriptor.properties().length];
+        for ( ValueCategory category : ValueCategory.values() )
+        {
+            if ( category != ValueCategory.UNKNOWN && category != ValueCategory.NO_CATEGORY )
+            {
+                Arrays.fill( categories, category );
+                if ( descriptor.valueCapability( categories ) != IndexValueCapability.YES )
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads every distinct value of the index, together with its number of entries, including them in the sketch, if any,
+     * and in a new histogram of the index if asked to build one.
+     *
+     * @return sample of the whole index, or {@code null} if the index didn't provide all values after all, in which case the
+     * sketch is incomplete and no histogram is built.
+     */
+    private IndexSample scan( IndexReader reader, IndexValueSketch sketch, boolean buildHistogram )
+    {
+        ScanningClient client = new ScanningClient( sketch, buildHistogram ? new IndexValueHistogram.Builder() : null );
+        reader.distinctValues( client, storeView, true );
+        try ( IndexProgressor progressor = client.progressor )
+        {
+            while ( client.complete && progressor.next() )
+            {
+                // the client includes each value in the sketch and histogram
+            }
+        }
+        if ( !client.complete )
+        {
+            return null;
+        }
+        if ( client.histogram != null )
+        {
+            histograms.put( indexId, client.histogram.build() );
+        }
+        return new IndexSample( client.size, client.distinctValues, client.size );
+    }
+
+    private static class ScanningClient implements IndexProgressor.NodeValueClient
+    {
+        private final IndexValueSketch sketch;
+        private final IndexValueHistogram.Builder histogram;
+        private IndexProgressor progressor = IndexProgressor.EMPTY;
+        private boolean complete = true;
+        private long size;
+        private long distinctValues;
+
+        ScanningClient( IndexValueSketch sketch, IndexValueHistogram.Builder histogram )
+        {
+            this.sketch = sketch;
+            this.histogram = histogram;
+        }
+
+        @Override
+        public void initialize( IndexDescriptor descriptor, IndexProgressor progressor, IndexQuery[] query, IndexOrder indexOrder,
+                boolean needsValues )
+        {
+            this.progressor = progressor;
+        }
+
+        @Override
+        public boolean acceptNode( long count, Value... values )
+        {
+            if ( values == null || Arrays.asList( values ).contains( null ) )
+            {
+                complete = false;
+            }
+            else
+            {
+                size += count;
+                distinctValues++;
+                if ( sketch != null )
+                {
+                    sketch.include( count, values );
+                }
+                if ( histogram != null )
+                {
+                    histogram.include( values[0], count );
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean needsValues()
+        {
+            return true;
+        }
+    }
 }
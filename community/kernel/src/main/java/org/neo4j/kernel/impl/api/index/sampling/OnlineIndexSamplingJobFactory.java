@@ -32,18 +32,35 @@ public class OnlineIndexSamplingJobFactory implements IndexSamplingJobFactory
     private final IndexStoreView storeView;
     private final LogProvider logProvider;
     private final TokenNameLookup nameLookup;
+    private final IndexValueSketches sketches;
+    private final IndexValueHistograms histograms;
+    private final double updateRatio;
 
     public OnlineIndexSamplingJobFactory( IndexStoreView storeView, TokenNameLookup nameLookup, LogProvider logProvider )
+    {
+        this( storeView, nameLookup, logProvider, null, null, 0 );
+    }
+
+    /**
+     * @param sketches for sampling indexes incrementally, or {@code null} for always sampling the whole index.
+     * @param histograms for keeping value histograms of indexes, or {@code null} for not building any.
+     * @param updateRatio ratio of removed entries after which an incrementally sampled index is scanned again.
+     */
+    public OnlineIndexSamplingJobFactory( IndexStoreView storeView, TokenNameLookup nameLookup, LogProvider logProvider,
+            IndexValueSketches sketches, IndexValueHistograms histograms, double updateRatio )
     {
         this.storeView = storeView;
         this.logProvider = logProvider;
         this.nameLookup = nameLookup;
+        this.sketches = sketches;
+        this.histograms = histograms;
+        this.updateRatio = updateRatio;
     }
 
     @Override
     public IndexSamplingJob create( long indexId, IndexProxy indexProxy )
     {
         final String indexUserDescription = indexProxy.getDescriptor().userDescription( nameLookup );
-        return new OnlineIndexSamplingJob( indexId, indexProxy, storeView, indexUserDescription, logProvider );
+        return new OnlineIndexSamplingJob( indexId, indexProxy, storeView, indexUserDescription, logProvider, sketches, histograms, updateRatio );
     }
 }
@@ -26,19 +26,23 @@ import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
 import org.neo4j.kernel.api.index.IndexEntryUpdate;
 import org.neo4j.kernel.api.index.IndexUpdater;
 import org.neo4j.kernel.impl.api.index.IndexStoreView;
+import org.neo4j.kernel.impl.api.index.sampling.IndexValueSketch;
+import org.neo4j.kernel.impl.api.index.sampling.IndexValueSketches;
 
 public class UpdateCountingIndexUpdater implements IndexUpdater
 {
     private final IndexStoreView storeView;
     private final long indexId;
     private final IndexUpdater delegate;
+    private final IndexValueSketches sketches;
     private long updates;
 
-    public UpdateCountingIndexUpdater( IndexStoreView storeView, long indexId, IndexUpdater delegate )
+    public UpdateCountingIndexUpdater( IndexStoreView storeView, long indexId, IndexUpdater delegate, IndexValueSketches sketches )
     {
         this.storeView = storeView;
         this.indexId = indexId;
         this.delegate = delegate;
+        this.sketches = sketches;
     }
 
     @Override
@@ -46,6 +50,11 @@ public class UpdateCountingIndexUpdater implements IndexUpdater
     {
         delegate.process( update );
         updates++;
+        IndexValueSketch sketch = sketches.sketch( indexId );
+        if ( sketch != null )
+        {
+            sketch.update( update );
+        }
     }
 
     @Override
@@ -105,6 +105,13 @@ abstract class AbstractArrayType<T> extends Type
         into.arrayLength = length;
     }
 
+    @Override
+    void minimalPrefix( GenericKey state, GenericKey into )
+    {
+        copyValue( into, state, 0 );
+        into.arrayLength = 0;
+    }
+
     @Override
     int compareValue( GenericKey left, GenericKey right )
     {
@@ -87,6 +87,7 @@ import static org.neo4j.util.concurrent.Runnables.runAll;
 public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,VALUE extends NativeIndexValue> extends NativeIndexPopulator<KEY,VALUE>
 {
     public static final String BLOCK_SIZE_NAME = "blockSize";
+    public static final String FILL_FACTOR_NAME = "fillFactor";
 
     private final IndexDirectoryStructure directoryStructure;
     private final IndexDropAction dropAction;
@@ -172,6 +173,20 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,V
         return (int) blockSize;
     }
 
+    /**
+     * Share of the entries kept in the left node when a node splits while writing the merged, sorted scan updates to the tree.
+     * Since entries arrive in ascending order the left node is never written to again after a split, so this is effectively
+     * the fill factor of the built tree. The default of 1 packs nodes as densely as possible, which gives the smallest tree
+     * and fastest scans. A lower value leaves room in every node for later updates to be inserted without splitting,
+     * at the cost of a bigger tree.
+     */
+    public static double parseFillFactor()
+    {
+        double fillFactor = FeatureToggles.getDouble( BlockBasedIndexPopulator.class, FILL_FACTOR_NAME, 1 );
+        Preconditions.checkArgument( fillFactor >= 0.5 && fillFactor <= 1, "Fill factor need to be in range [0.5, 1]. Was " + fillFactor );
+        return fillFactor;
+    }
+
     @Override
     public void create()
     {
@@ -431,8 +446,7 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>,V
                 }
             }
 
-            int asMuchAsPossibleToTheLeft = 1;
-            try ( Writer<KEY,VALUE> writer = tree.writer( asMuchAsPossibleToTheLeft ) )
+            try ( Writer<KEY,VALUE> writer = tree.writer( parseFillFactor() ) )
             {
                 while ( allEntries.next() && !cancellation.cancelled() )
                 {
@@ -213,11 +213,14 @@ class CompositeGenericKey extends GenericKey
         {
             into.stateSlot( i ).copyFromInternal( right.stateSlot( i ) );
         }
-        for ( int i = firstStateToDiffer; i < stateCount; i++ )
+        GenericKey leftState = left.stateSlot( firstStateToDiffer );
+        GenericKey rightState = right.stateSlot( firstStateToDiffer );
+        rightState.minimalSplitterInternal( leftState, rightState, into.stateSlot( firstStateToDiffer ) );
+        // The splitter is already greater than left because of the first state to differ, so the remaining states only need to
+        // keep it less than or equal to right. The smallest prefix of each remaining state of right does that in the least space.
+        for ( int i = firstStateToDiffer + 1; i < stateCount; i++ )
         {
-            GenericKey leftState = left.stateSlot( i );
-            GenericKey rightState = right.stateSlot( i );
-            rightState.minimalSplitterInternal( leftState, rightState, into.stateSlot( i ) );
+            right.stateSlot( i ).minimalPrefixInternal( into.stateSlot( i ) );
         }
     }
 
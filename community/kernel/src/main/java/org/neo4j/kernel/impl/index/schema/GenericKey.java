@@ -331,6 +331,13 @@ public class GenericKey extends NativeIndexKey<GenericKey>
         right.type.minimalSplitter( left, right, into );
     }
 
+    void minimalPrefixInternal( GenericKey into )
+    {
+        into.clear();
+        into.copyMetaFrom( this );
+        type.minimalPrefix( this, into );
+    }
+
     int size()
     {
         return ENTITY_ID_SIZE + sizeInternal();
@@ -112,7 +112,8 @@ public class GenericNativeIndexProvider extends NativeIndexProvider<GenericKey,N
     public static final IndexProviderDescriptor DESCRIPTOR = new IndexProviderDescriptor( KEY, NATIVE_BTREE10.providerVersion() );
     public static final IndexCapability CAPABILITY = new GenericIndexCapability();
     public static final String BLOCK_BASED_POPULATION_NAME = "blockBasedPopulation";
-    // todo turn OFF by default before releasing next patch. For now ON by default to test it.
+    // Builds the tree from sorted scan updates, filling nodes left to right, instead of inserting entries in scan order.
+    // Off by default until it has had more time under load, operators can opt in by turning on the feature toggle.
     private final boolean blockBasedPopulation = FeatureToggles.flag( GenericNativeIndexPopulator.class, BLOCK_BASED_POPULATION_NAME, false );
 
     /**
@@ -217,6 +218,12 @@ public class GenericNativeIndexProvider extends NativeIndexProvider<GenericKey,N
             return false;
         }
 
+        @Override
+        public boolean supportsCompositeRangeSeek()
+        {
+            return true;
+        }
+
         private boolean supportOrdering( ValueCategory[] valueCategories )
         {
             for ( ValueCategory valueCategory : valueCategories )
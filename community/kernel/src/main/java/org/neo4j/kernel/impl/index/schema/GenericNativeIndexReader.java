@@ -22,14 +22,21 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.neo4j.gis.spatial.index.curves.SpaceFillingCurve;
 import org.neo4j.gis.spatial.index.curves.SpaceFillingCurveConfiguration;
+import org.neo4j.cursor.RawCursor;
 import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Hit;
 import org.neo4j.internal.kernel.api.IndexOrder;
 import org.neo4j.internal.kernel.api.IndexQuery;
+import org.neo4j.internal.kernel.api.IndexQuery.ExactAnyPredicate;
 import org.neo4j.internal.kernel.api.IndexQuery.ExactPredicate;
+import org.neo4j.internal.kernel.api.IndexQuery.IndexQueryType;
 import org.neo4j.internal.kernel.api.IndexQuery.RangePredicate;
 import org.neo4j.internal.kernel.api.IndexQuery.StringPrefixPredicate;
 import org.neo4j.kernel.impl.api.schema.BridgingIndexProgressor;
@@ -41,6 +48,7 @@ import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueGroup;
 import org.neo4j.values.storable.Values;
 
+import static java.lang.String.format;
 import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.HIGH;
 import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.LOW;
 import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
@@ -64,8 +72,17 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
     {
         for ( IndexQuery predicate : predicates )
         {
-            ValueGroup valueGroup = predicate.valueGroup();
-            if ( valueGroup == ValueGroup.GEOMETRY_ARRAY || valueGroup == ValueGroup.GEOMETRY )
+            if ( predicate instanceof ExactAnyPredicate )
+            {
+                for ( Value value : ((ExactAnyPredicate) predicate).values() )
+                {
+                    if ( isGeometry( value.valueGroup() ) )
+                    {
+                        return false;
+                    }
+                }
+            }
+            else if ( isGeometry( predicate.valueGroup() ) )
             {
                 return false;
             }
@@ -73,6 +90,17 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
         return true;
     }
 
+    private static boolean isGeometry( ValueGroup valueGroup )
+    {
+        return valueGroup == ValueGroup.GEOMETRY_ARRAY || valueGroup == ValueGroup.GEOMETRY;
+    }
+
+    @Override
+    public boolean canQueryExactAny()
+    {
+        return true;
+    }
+
     @Override
     void validateQuery( IndexOrder indexOrder, IndexQuery[] predicates )
     {
@@ -114,12 +142,64 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
                 client.initialize( descriptor, IndexProgressor.EMPTY, query, indexOrder, needsValues );
             }
         }
+        else if ( query.length == 1 && query[0] instanceof ExactAnyPredicate )
+        {
+            seekExactAny( client, indexOrder, needsValues, (ExactAnyPredicate) query[0] );
+        }
         else
         {
             super.query( client, indexOrder, needsValues, query );
         }
     }
 
+    /**
+     * Seeks all values of an {@link ExactAnyPredicate} using a single seeker over the tree, going through the values in key order
+     * so that values ending up in the same leaf are found without going down from the root again.
+     */
+    private void seekExactAny( IndexProgressor.NodeValueClient client, IndexOrder indexOrder, boolean needsValues, ExactAnyPredicate predicate )
+    {
+        if ( indexOrder != IndexOrder.NONE )
+        {
+            throw new UnsupportedOperationException( format( "Tried to query index with unsupported order %s. Supported orders for query %s are %s.",
+                    indexOrder, predicate, IndexOrder.NONE ) );
+        }
+        Value[] values = predicate.values();
+        List<GenericKey> keys = new ArrayList<>( values.length );
+        for ( Value value : values )
+        {
+            GenericKey key = layout.newKey();
+            key.initialize( Long.MIN_VALUE );
+            key.initFromValue( 0, value, NEUTRAL );
+            keys.add( key );
+        }
+        keys.sort( layout );
+        List<GenericKey> treeKeysFrom = new ArrayList<>( keys.size() );
+        List<GenericKey> treeKeysTo = new ArrayList<>( keys.size() );
+        for ( GenericKey key : keys )
+        {
+            // The ranges given to the tree must be strictly ordered, so never seek the same key twice
+            if ( treeKeysFrom.isEmpty() || layout.compare( treeKeysFrom.get( treeKeysFrom.size() - 1 ), key ) != 0 )
+            {
+                GenericKey treeKeyTo = layout.newKey();
+                layout.copyKey( key, treeKeyTo );
+                treeKeyTo.setEntityId( Long.MAX_VALUE );
+                treeKeysFrom.add( key );
+                treeKeysTo.add( treeKeyTo );
+            }
+        }
+        try
+        {
+            RawCursor<Hit<GenericKey,NativeIndexValue>,IOException> seeker = tree.seek( treeKeysFrom, treeKeysTo );
+            openSeekers.add( seeker );
+            IndexQuery[] query = {predicate};
+            client.initialize( descriptor, new NativeHitIndexProgressor<>( seeker, client, openSeekers ), query, indexOrder, needsValues );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
     /**
      * Initializes {@code treeKeyFrom} and {@code treeKeyTo} from the {@link IndexQuery query}.
      * Geometry range queries makes an otherwise straight-forward key construction complex in that a geometry range internally is performed
@@ -141,9 +221,16 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
             IndexQuery[] query, CoordinateReferenceSystem crs, SpaceFillingCurve.LongRange range )
     {
         boolean needsFiltering = false;
+        boolean seenNonExact = false;
         for ( int i = 0; i < query.length; i++ )
         {
             IndexQuery predicate = query[i];
+            if ( seenNonExact && predicate.type() != IndexQueryType.exists )
+            {
+                // The key range is only tight on the exact prefix and the first non-exact predicate,
+                // any restriction on later properties has to be applied to the results
+                needsFiltering = true;
+            }
             switch ( predicate.type() )
             {
             case exists:
@@ -186,6 +273,7 @@ class GenericNativeIndexReader extends NativeIndexReader<GenericKey,NativeIndexV
             default:
                 throw new IllegalArgumentException( "IndexQuery of type " + predicate.type() + " is not supported." );
             }
+            seenNonExact |= predicate.type() != IndexQueryType.exact;
         }
         return needsFiltering;
     }
@@ -89,6 +89,12 @@ class TextType extends Type
         into.writeUTF8( right.byteArray, 0, length );
     }
 
+    @Override
+    void minimalPrefix( GenericKey state, GenericKey into )
+    {
+        into.writeUTF8( state.byteArray, 0, 0 );
+    }
+
     @Override
     Value asValue( GenericKey state )
     {
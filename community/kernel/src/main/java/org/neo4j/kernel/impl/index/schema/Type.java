@@ -106,6 +106,18 @@ abstract class Type
         into.copyFromInternal( right );
     }
 
+    /**
+     * Initializes {@code into} with the smallest prefix of the value in {@code state}, i.e. a value of the same type which is less than
+     * or equal to it and takes as little space as possible.
+     * @param state key state to take the prefix of.
+     * @param into state which gets initialized with the smallest prefix of {@code state}.
+     */
+    void minimalPrefix( GenericKey state, GenericKey into )
+    {
+        // if not a specific implementation then default is to just copy from 'state'
+        into.copyFromInternal( state );
+    }
+
     /**
      * Materializes the key state into an actual {@link Value} object.
      * @param state key state to materialize a {@link Value} from.
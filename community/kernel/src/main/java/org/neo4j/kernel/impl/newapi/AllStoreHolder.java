@@ -81,6 +81,7 @@ import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexDescriptorFactory;
 import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.IndexValueHistogram;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
 import org.neo4j.storageengine.api.schema.SchemaRule;
@@ -594,6 +595,16 @@ public class AllStoreHolder extends Read
         return storageReader.indexUniqueValuesPercentage( schema );
     }
 
+    @Override
+    public IndexValueHistogram indexValueHistogram( IndexReference index ) throws IndexNotFoundKernelException
+    {
+        assertValidIndex( index );
+        SchemaDescriptor schema = index.schema();
+        acquireSharedSchemaLock( schema );
+        ktx.assertOpen();
+        return storageReader.indexValueHistogram( schema );
+    }
+
     @Override
     public long indexSize( IndexReference index ) throws IndexNotFoundKernelException
     {
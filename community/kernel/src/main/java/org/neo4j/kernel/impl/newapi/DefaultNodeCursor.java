@@ -168,6 +168,13 @@ class DefaultNodeCursor implements NodeCursor
         return storeCursor.propertiesReference();
     }
 
+    @Override
+    public int degreeIfKnown()
+    {
+        // relationships added or removed in this transaction aren't part of the stored count
+        return read.hasTxStateWithChanges() ? -1 : storeCursor.degreeIfKnown();
+    }
+
     @Override
     public boolean isDense()
     {
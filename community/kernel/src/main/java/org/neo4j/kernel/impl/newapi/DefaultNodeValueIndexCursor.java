@@ -46,14 +46,18 @@ import org.neo4j.values.storable.Value;
 
 import static java.util.Arrays.stream;
 import static org.neo4j.collection.PrimitiveLongCollections.mergeToSet;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForCompositeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSeek;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSeekAny;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSuffixOrContains;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForCompositeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForScan;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForSeekAny;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForSuffixOrContains;
 import static org.neo4j.kernel.impl.store.record.AbstractBaseRecord.NO_ID;
 
@@ -100,9 +104,24 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
             switch ( firstPredicate.type() )
             {
             case exact:
-                // No need to order, all values are the same
+                if ( isOnlyExactPredicates( query ) )
+                {
+                    // No need to order, all values are the same
+                    this.indexOrder = IndexOrder.NONE;
+                    seekQuery( descriptor, query );
+                }
+                else
+                {
+                    // Composite query with exact predicates on a prefix of the properties, followed by a range or similar
+                    setNeedsValuesIfRequiresOrder();
+                    compositeQuery( descriptor, query );
+                }
+                break;
+
+            case exactAny:
+                assert query.length == 1;
                 this.indexOrder = IndexOrder.NONE;
-                seekQuery( descriptor, query );
+                seekAnyQuery( descriptor, (IndexQuery.ExactAnyPredicate) firstPredicate );
                 break;
 
             case exists:
@@ -387,6 +406,24 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         }
     }
 
+    private void compositeQuery( IndexDescriptor descriptor, IndexQuery[] query )
+    {
+        TransactionState txState = read.txState();
+
+        if ( needsValues )
+        {
+            AddedWithValuesAndRemoved changes = indexUpdatesWithValuesForCompositeSeek( txState, descriptor, query, indexOrder );
+            addedWithValues = changes.getAdded().iterator();
+            removed = removed( txState, changes.getRemoved() );
+        }
+        else
+        {
+            AddedAndRemoved changes = indexUpdatesForCompositeSeek( txState, descriptor, query, indexOrder );
+            added = changes.getAdded().longIterator();
+            removed = removed( txState, changes.getRemoved() );
+        }
+    }
+
     private void seekQuery( IndexDescriptor descriptor, IndexQuery[] query )
     {
         IndexQuery.ExactPredicate[] exactPreds = assertOnlyExactPredicates( query );
@@ -397,11 +434,41 @@ final class DefaultNodeValueIndexCursor extends IndexCursor<IndexProgressor>
         removed = removed( txState, changes.getRemoved() );
     }
 
+    private void seekAnyQuery( IndexDescriptor descriptor, IndexQuery.ExactAnyPredicate predicate )
+    {
+        TransactionState txState = read.txState();
+
+        if ( needsValues )
+        {
+            AddedWithValuesAndRemoved changes = indexUpdatesWithValuesForSeekAny( txState, descriptor, predicate.values() );
+            addedWithValues = changes.getAdded().iterator();
+            removed = removed( txState, changes.getRemoved() );
+        }
+        else
+        {
+            AddedAndRemoved changes = indexUpdatesForSeekAny( txState, descriptor, predicate.values() );
+            added = changes.getAdded().longIterator();
+            removed = removed( txState, changes.getRemoved() );
+        }
+    }
+
     private LongSet removed( TransactionState txState, LongSet removedFromIndex )
     {
         return mergeToSet( txState.addedAndRemovedNodes().getRemoved(), removedFromIndex );
     }
 
+    private static boolean isOnlyExactPredicates( IndexQuery[] predicates )
+    {
+        for ( IndexQuery predicate : predicates )
+        {
+            if ( !(predicate instanceof IndexQuery.ExactPredicate) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static IndexQuery.ExactPredicate[] assertOnlyExactPredicates( IndexQuery[] predicates )
     {
         IndexQuery.ExactPredicate[] exactPredicates;
@@ -50,10 +50,12 @@ import org.neo4j.kernel.api.txstate.TransactionState;
 import org.neo4j.kernel.api.txstate.TxStateHolder;
 import org.neo4j.kernel.api.txstate.auxiliary.AuxiliaryTransactionState;
 import org.neo4j.kernel.impl.api.KernelTransactionImplementation;
+import org.neo4j.kernel.impl.api.schema.BridgingIndexProgressor;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.locking.ResourceTypes;
 import org.neo4j.storageengine.api.lock.LockTracer;
 import org.neo4j.storageengine.api.lock.ResourceType;
+import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexProgressor;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
@@ -98,8 +100,35 @@ abstract class Read implements TxStateHolder,
         DefaultNodeValueIndexCursor cursorImpl = (DefaultNodeValueIndexCursor) cursor;
         IndexReader reader = indexReader( index, false );
         cursorImpl.setRead( this );
-        IndexProgressor.NodeValueClient withFullPrecision = injectFullValuePrecision( cursorImpl, query, reader );
-        reader.query( withFullPrecision, indexOrder, needsValues, query );
+        if ( query.length == 1 && query[0] instanceof IndexQuery.ExactAnyPredicate && !reader.canQueryExactAny() )
+        {
+            seekEachExact( (IndexDescriptor) index, reader, cursorImpl, indexOrder, needsValues, (IndexQuery.ExactAnyPredicate) query[0] );
+        }
+        else
+        {
+            IndexProgressor.NodeValueClient withFullPrecision = injectFullValuePrecision( cursorImpl, query, reader );
+            reader.query( withFullPrecision, indexOrder, needsValues, query );
+        }
+    }
+
+    /**
+     * Answers an {@link IndexQuery.ExactAnyPredicate} for an index which can't do so itself, by bridging one exact seek per value.
+     */
+    private void seekEachExact( IndexDescriptor descriptor, IndexReader reader, IndexProgressor.NodeValueClient client,
+            IndexOrder indexOrder, boolean needsValues, IndexQuery.ExactAnyPredicate predicate ) throws IndexNotApplicableKernelException
+    {
+        if ( indexOrder != IndexOrder.NONE )
+        {
+            throw new UnsupportedOperationException( format( "Tried to query index with unsupported order %s. Supported orders for query %s are %s.",
+                    indexOrder, predicate, IndexOrder.NONE ) );
+        }
+        BridgingIndexProgressor multiProgressor = new BridgingIndexProgressor( client, descriptor.schema().getPropertyIds() );
+        client.initialize( descriptor, multiProgressor, new IndexQuery[]{predicate}, indexOrder, needsValues );
+        for ( IndexQuery.ExactPredicate exact : predicate.exactPredicates() )
+        {
+            IndexQuery[] exactQuery = {exact};
+            reader.query( injectFullValuePrecision( multiProgressor, exactQuery, reader ), indexOrder, needsValues, exactQuery );
+        }
     }
 
     @Override
@@ -147,6 +176,20 @@ abstract class Read implements TxStateHolder,
                         }
                     }
                     break;
+                case exactAny:
+                    for ( Value anyValue : ((IndexQuery.ExactAnyPredicate) q).values() )
+                    {
+                        if ( anyValue.valueGroup() == ValueGroup.NUMBER || Values.isArrayValue( anyValue ) || anyValue.valueGroup() == ValueGroup.GEOMETRY )
+                        {
+                            if ( !reader.hasFullValuePrecision( q ) )
+                            {
+                                filters[i] = q;
+                                count++;
+                                break;
+                            }
+                        }
+                    }
+                    break;
                 default:
                     break;
                 }
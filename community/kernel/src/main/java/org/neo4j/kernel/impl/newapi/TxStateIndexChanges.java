@@ -59,19 +59,20 @@ class TxStateIndexChanges
     private static final AddedAndRemoved EMPTY_ADDED_AND_REMOVED =
             new AddedAndRemoved( LongLists.immutable.empty(), LongSets.immutable.empty() );
     private static final ValueTuple MAX_STRING_TUPLE = ValueTuple.of( Values.MAX_STRING );
+    private static final IndexQuery[] NO_FILTER = new IndexQuery[0];
 
     // SCAN
 
     static AddedAndRemoved indexUpdatesForScan( ReadableTransactionState txState, IndexDescriptor descriptor, IndexOrder indexOrder )
     {
-        return indexUpdatesForScanAndFilter( txState, descriptor, null, indexOrder );
+        return indexUpdatesForScanAndFilter( txState, descriptor, NO_FILTER, indexOrder );
     }
 
     static AddedWithValuesAndRemoved indexUpdatesWithValuesForScan( ReadableTransactionState txState,
                                                                     IndexDescriptor descriptor,
                                                                     IndexOrder indexOrder )
     {
-        return indexUpdatesWithValuesScanAndFilter( txState, descriptor, null, indexOrder );
+        return indexUpdatesWithValuesScanAndFilter( txState, descriptor, NO_FILTER, indexOrder );
     }
 
     // SUFFIX
@@ -85,7 +86,7 @@ class TxStateIndexChanges
         {
             throw new IllegalStateException( "Suffix and contains queries are only supported for single property queries" );
         }
-        return indexUpdatesForScanAndFilter( txState, descriptor, query, indexOrder );
+        return indexUpdatesForScanAndFilter( txState, descriptor, new IndexQuery[]{query}, indexOrder );
     }
 
     static AddedWithValuesAndRemoved indexUpdatesWithValuesForSuffixOrContains( ReadableTransactionState txState,
@@ -97,6 +98,24 @@ class TxStateIndexChanges
         {
             throw new IllegalStateException( "Suffix and contains queries are only supported for single property queries" );
         }
+        return indexUpdatesWithValuesScanAndFilter( txState, descriptor, new IndexQuery[]{query}, indexOrder );
+    }
+
+    // COMPOSITE
+
+    static AddedAndRemoved indexUpdatesForCompositeSeek( ReadableTransactionState txState,
+                                                         IndexDescriptor descriptor,
+                                                         IndexQuery[] query,
+                                                         IndexOrder indexOrder )
+    {
+        return indexUpdatesForScanAndFilter( txState, descriptor, query, indexOrder );
+    }
+
+    static AddedWithValuesAndRemoved indexUpdatesWithValuesForCompositeSeek( ReadableTransactionState txState,
+                                                                             IndexDescriptor descriptor,
+                                                                             IndexQuery[] query,
+                                                                             IndexOrder indexOrder )
+    {
         return indexUpdatesWithValuesScanAndFilter( txState, descriptor, query, indexOrder );
     }
 
@@ -116,6 +135,53 @@ class TxStateIndexChanges
         return EMPTY_ADDED_AND_REMOVED;
     }
 
+    static AddedAndRemoved indexUpdatesForSeekAny( ReadableTransactionState txState,
+                                                   IndexDescriptor descriptor,
+                                                   Value[] values )
+    {
+        UnmodifiableMap<ValueTuple,? extends LongDiffSets> updates = txState.getIndexUpdates( descriptor.schema() );
+        if ( updates != null )
+        {
+            MutableLongList added = LongLists.mutable.empty();
+            MutableLongSet removed = LongSets.mutable.empty();
+            for ( Value value : values )
+            {
+                LongDiffSets diffSets = updates.get( ValueTuple.of( value ) );
+                if ( diffSets != null )
+                {
+                    added.addAll( diffSets.getAdded() );
+                    removed.addAll( diffSets.getRemoved() );
+                }
+            }
+            return new AddedAndRemoved( added, removed );
+        }
+        return EMPTY_ADDED_AND_REMOVED;
+    }
+
+    static AddedWithValuesAndRemoved indexUpdatesWithValuesForSeekAny( ReadableTransactionState txState,
+                                                                       IndexDescriptor descriptor,
+                                                                       Value[] values )
+    {
+        UnmodifiableMap<ValueTuple,? extends LongDiffSets> updates = txState.getIndexUpdates( descriptor.schema() );
+        if ( updates != null )
+        {
+            MutableList<NodeWithPropertyValues> added = Lists.mutable.empty();
+            MutableLongSet removed = LongSets.mutable.empty();
+            for ( Value value : values )
+            {
+                LongDiffSets diffSets = updates.get( ValueTuple.of( value ) );
+                if ( diffSets != null )
+                {
+                    Value[] nodeValues = {value};
+                    diffSets.getAdded().each( nodeId -> added.add( new NodeWithPropertyValues( nodeId, nodeValues ) ) );
+                    removed.addAll( diffSets.getRemoved() );
+                }
+            }
+            return new AddedWithValuesAndRemoved( added, removed );
+        }
+        return EMPTY_ADDED_AND_REMOVED_WITH_VALUES;
+    }
+
     // RANGE SEEK
 
     static AddedAndRemoved indexUpdatesForRangeSeek( ReadableTransactionState txState,
@@ -321,7 +387,7 @@ class TxStateIndexChanges
 
     private static AddedAndRemoved indexUpdatesForScanAndFilter( ReadableTransactionState txState,
                                                                  IndexDescriptor descriptor,
-                                                                 IndexQuery filter,
+                                                                 IndexQuery[] filter,
                                                                  IndexOrder indexOrder )
     {
         Map<ValueTuple,? extends LongDiffSets> updates = getUpdates( txState, descriptor, indexOrder );
@@ -337,7 +403,7 @@ class TxStateIndexChanges
         for ( Map.Entry<ValueTuple,? extends LongDiffSets> entry : updates.entrySet() )
         {
             ValueTuple key = entry.getKey();
-            if ( filter == null || filter.acceptsValue( key.getOnlyValue() ) )
+            if ( accepts( filter, key ) )
             {
                 LongDiffSets diffSet = entry.getValue();
                 added.addAll( diffSet.getAdded() );
@@ -349,7 +415,7 @@ class TxStateIndexChanges
 
     private static AddedWithValuesAndRemoved indexUpdatesWithValuesScanAndFilter( ReadableTransactionState txState,
                                                                                   IndexDescriptor descriptor,
-                                                                                  IndexQuery filter,
+                                                                                  IndexQuery[] filter,
                                                                                   IndexOrder indexOrder )
     {
         Map<ValueTuple,? extends LongDiffSets> updates = getUpdates( txState, descriptor, indexOrder );
@@ -365,7 +431,7 @@ class TxStateIndexChanges
         for ( Map.Entry<ValueTuple,? extends LongDiffSets> entry : updates.entrySet() )
         {
             ValueTuple key = entry.getKey();
-            if ( filter == null || filter.acceptsValue( key.getOnlyValue() ) )
+            if ( accepts( filter, key ) )
             {
                 Value[] values = key.getValues();
                 LongDiffSets diffSet = entry.getValue();
@@ -376,6 +442,18 @@ class TxStateIndexChanges
         return new AddedWithValuesAndRemoved( indexOrder == IndexOrder.DESCENDING ? added.asReversed() : added, removed );
     }
 
+    private static boolean accepts( IndexQuery[] filter, ValueTuple key )
+    {
+        for ( int i = 0; i < filter.length; i++ )
+        {
+            if ( !filter[i].acceptsValue( key.valueAt( i ) ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static Map<ValueTuple,? extends LongDiffSets> getUpdates( ReadableTransactionState txState,
                                                                       IndexDescriptor descriptor,
                                                                       IndexOrder indexOrder )
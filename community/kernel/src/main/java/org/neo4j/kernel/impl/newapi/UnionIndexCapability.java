@@ -91,6 +91,20 @@ public class UnionIndexCapability implements IndexCapability
         return limitationsUnion;
     }
 
+    @Override
+    public boolean supportsCompositeRangeSeek()
+    {
+        // Which of the parts a query goes to is not known up front, so all of them must support it
+        for ( IndexCapability capability : capabilities )
+        {
+            if ( !capability.supportsCompositeRangeSeek() )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private IndexLimitation[] limitationsUnion( Iterable<IndexCapability> capabilities )
     {
         HashSet<IndexLimitation> union = new HashSet<>();
@@ -28,23 +28,31 @@ import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.kernel.impl.newapi.RelationshipReferenceEncoding;
 import org.neo4j.kernel.impl.store.NodeLabelsField;
 import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.RecordLoad;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.storageengine.api.StorageNodeCursor;
 
+import static org.neo4j.kernel.impl.storageengine.impl.recordstorage.RelationshipCreator.relCount;
+
 public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
 {
     private NodeStore read;
+    private final RelationshipStore relationshipStore;
+    private final RelationshipRecord firstRelationship = new RelationshipRecord( NO_ID );
     private PageCursor pageCursor;
+    private PageCursor relationshipPageCursor;
     private long next;
     private long highMark;
     private long nextStoreReference;
     private boolean open;
 
-    RecordNodeCursor( NodeStore read )
+    RecordNodeCursor( NodeStore read, RelationshipStore relationshipStore )
     {
         super( NO_ID );
         this.read = read;
+        this.relationshipStore = relationshipStore;
     }
 
     @Override
@@ -128,6 +136,38 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
         return isDense() ? RelationshipReferenceEncoding.encodeGroup( getNextRel() ) : getNextRel();
     }
 
+    /**
+     * The first relationship in the chain of a node that isn't dense keeps the length of the chain, in place of the
+     * previous relationship, so the degree is one record read away.
+     */
+    @Override
+    public int degreeIfKnown()
+    {
+        if ( isDense() )
+        {
+            return -1;
+        }
+        long reference = getNextRel();
+        if ( reference == NO_ID )
+        {
+            return 0;
+        }
+        if ( relationshipPageCursor == null )
+        {
+            relationshipPageCursor = relationshipStore.openPageCursorForReading( reference );
+        }
+        relationshipStore.getRecordByCursor( reference, firstRelationship, RecordLoad.CHECK, relationshipPageCursor );
+        long nodeId = getId();
+        boolean headsFirstChain = firstRelationship.getFirstNode() == nodeId && firstRelationship.isFirstInFirstChain();
+        boolean headsSecondChain = firstRelationship.getSecondNode() == nodeId && firstRelationship.isFirstInSecondChain();
+        if ( !firstRelationship.inUse() || !(headsFirstChain || headsSecondChain) )
+        {
+            // concurrently changed, or reused for other nodes, let the caller traverse the chain instead
+            return -1;
+        }
+        return relCount( nodeId, firstRelationship );
+    }
+
     @Override
     public long propertiesReference()
     {
@@ -241,6 +281,11 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
             pageCursor.close();
             pageCursor = null;
         }
+        if ( relationshipPageCursor != null )
+        {
+            relationshipPageCursor.close();
+            relationshipPageCursor = null;
+        }
     }
 
     private PageCursor nodePage( long reference )
@@ -46,7 +46,7 @@ import org.neo4j.kernel.impl.store.RelationshipGroupStore;
 import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.kernel.impl.store.SchemaStorage;
 import org.neo4j.kernel.impl.store.StoreType;
-import org.neo4j.kernel.impl.store.counts.CountsTracker;
+import org.neo4j.kernel.impl.store.counts.CountsStore;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.register.Register;
 import org.neo4j.register.Register.DoubleLongRegister;
@@ -60,6 +60,7 @@ import org.neo4j.storageengine.api.StorageSchemaReader;
 import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.IndexValueHistogram;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
@@ -82,7 +83,7 @@ public class RecordStorageReader implements StorageReader
     private final RelationshipGroupStore relationshipGroupStore;
     private final PropertyStore propertyStore;
     private final SchemaStorage schemaStorage;
-    private final CountsTracker counts;
+    private final CountsStore counts;
     private final SchemaCache schemaCache;
 
     private final Supplier<IndexReaderFactory> indexReaderFactorySupplier;
@@ -214,6 +215,12 @@ public class RecordStorageReader implements StorageReader
         return indexService.indexUniqueValuesPercentage( descriptor );
     }
 
+    @Override
+    public IndexValueHistogram indexValueHistogram( SchemaDescriptor descriptor ) throws IndexNotFoundKernelException
+    {
+        return indexService.indexValueHistogram( descriptor );
+    }
+
     @Override
     public String indexGetFailure( SchemaDescriptor descriptor ) throws IndexNotFoundKernelException
     {
@@ -483,7 +490,7 @@ public class RecordStorageReader implements StorageReader
     @Override
     public RecordNodeCursor allocateNodeCursor()
     {
-        return new RecordNodeCursor( nodeStore );
+        return new RecordNodeCursor( nodeStore, relationshipStore );
     }
 
     @Override
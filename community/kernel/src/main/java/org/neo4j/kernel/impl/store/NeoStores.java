@@ -46,7 +46,9 @@ import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
 import org.neo4j.kernel.NeoStoresDiagnostics;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.api.CountsAccessor;
+import org.neo4j.kernel.impl.store.counts.CountsStore;
 import org.neo4j.kernel.impl.store.counts.CountsTracker;
+import org.neo4j.kernel.impl.store.counts.GBPTreeCountsStore;
 import org.neo4j.kernel.impl.store.counts.ReadOnlyCountsTracker;
 import org.neo4j.kernel.impl.store.format.CapabilityType;
 import org.neo4j.kernel.impl.store.format.FormatFamily;
@@ -61,6 +63,8 @@ import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.logging.Logger;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.neo4j.helpers.collection.Iterators.iterator;
 import static org.neo4j.helpers.collection.Iterators.loop;
 import static org.neo4j.kernel.impl.store.MetaDataStore.Position.STORE_VERSION;
@@ -248,7 +252,7 @@ public class NeoStores implements AutoCloseable
     {
         try
         {
-            CountsTracker counts = (CountsTracker) stores[StoreType.COUNTS.ordinal()];
+            CountsStore counts = (CountsStore) stores[StoreType.COUNTS.ordinal()];
             if ( counts != null )
             {
                 counts.rotate( getMetaDataStore().getLastCommittedTransactionId() );
@@ -426,9 +430,9 @@ public class NeoStores implements AutoCloseable
         return (SchemaStore) getStore( StoreType.SCHEMA );
     }
 
-    public CountsTracker getCounts()
+    public CountsStore getCounts()
     {
-        return (CountsTracker) getStore( StoreType.COUNTS );
+        return (CountsStore) getStore( StoreType.COUNTS );
     }
 
     private CountsTracker createWritableCountsTracker( DatabaseLayout databaseLayout )
@@ -624,12 +628,24 @@ public class NeoStores implements AutoCloseable
                 TokenStore.NAME_STORE_BLOCK_SIZE );
     }
 
-    CountsTracker createCountStore()
+    CountsStore createCountStore()
     {
         boolean readOnly = config.get( GraphDatabaseSettings.read_only );
-        CountsTracker counts = readOnly
-                               ? createReadOnlyCountsTracker( layout )
-                               : createWritableCountsTracker( layout );
+        boolean gbpTree = config.get( GraphDatabaseSettings.counts_store_gbptree );
+        if ( !readOnly )
+        {
+            // Only one kind of counts store may exist, a left over one of the other kind would be stale if switching back
+            deleteCountStoreFiles( gbpTree ? asList( layout.countStoreA(), layout.countStoreB() ) : singletonList( layout.countStore() ) );
+        }
+        CountsStore counts;
+        if ( gbpTree )
+        {
+            counts = new GBPTreeCountsStore( logProvider, fileSystemAbstraction, pageCache, layout, readOnly );
+        }
+        else
+        {
+            counts = readOnly ? createReadOnlyCountsTracker( layout ) : createWritableCountsTracker( layout );
+        }
         NeoStores neoStores = this;
         counts.setInitializer( new DataInitializer<CountsAccessor.Updater>()
         {
@@ -661,6 +677,24 @@ public class NeoStores implements AutoCloseable
         return counts;
     }
 
+    private void deleteCountStoreFiles( Iterable<File> files )
+    {
+        for ( File file : files )
+        {
+            if ( fileSystemAbstraction.fileExists( file ) )
+            {
+                try
+                {
+                    fileSystemAbstraction.deleteFileOrThrow( file );
+                }
+                catch ( IOException e )
+                {
+                    throw new UnderlyingStorageException( "Failed to delete counts store file " + file, e );
+                }
+            }
+        }
+    }
+
     CommonAbstractStore createMetadataStore()
     {
         return initialize(
@@ -27,7 +27,7 @@ import java.util.Objects;
 import java.util.Optional;
 
 import org.neo4j.io.layout.DatabaseFile;
-import org.neo4j.kernel.impl.store.counts.CountsTracker;
+import org.neo4j.kernel.impl.store.counts.CountsStore;
 
 public enum StoreType
 {
@@ -146,7 +146,7 @@ public enum StoreType
     COUNTS( DatabaseFile.COUNTS_STORES, false, false )
             {
                 @Override
-                public CountsTracker open( NeoStores neoStores )
+                public CountsStore open( NeoStores neoStores )
                 {
                     return neoStores.createCountStore();
                 }
@@ -156,7 +156,7 @@ public enum StoreType
                 {
                     try
                     {
-                        ((CountsTracker) object).shutdown();
+                        ((CountsStore) object).shutdown();
                     }
                     catch ( IOException e )
                     {
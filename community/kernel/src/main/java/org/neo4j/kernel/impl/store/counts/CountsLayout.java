@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.counts;
+
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.io.pagecache.PageCursor;
+
+/**
+ * {@link Layout} for the {@link GBPTree} used by {@link GBPTreeCountsStore}.
+ * <p>
+ * Keys are compared as unsigned, which orders them the same way as the entries of the key/value counts store files.
+ */
+class CountsLayout extends Layout.Adapter<CountsTreeKey,CountsTreeValue>
+{
+    private static final String IDENTIFIER_NAME = "CNT";
+    private static final int SIZE = Long.BYTES * 2;
+
+    @Override
+    public int compare( CountsTreeKey o1, CountsTreeKey o2 )
+    {
+        int highComparison = Long.compareUnsigned( o1.high, o2.high );
+        return highComparison != 0 ? highComparison : Long.compareUnsigned( o1.low, o2.low );
+    }
+
+    @Override
+    public CountsTreeKey newKey()
+    {
+        return new CountsTreeKey();
+    }
+
+    @Override
+    public CountsTreeKey copyKey( CountsTreeKey key, CountsTreeKey into )
+    {
+        return into.set( key.high, key.low );
+    }
+
+    @Override
+    public CountsTreeValue newValue()
+    {
+        return new CountsTreeValue();
+    }
+
+    @Override
+    public int keySize( CountsTreeKey key )
+    {
+        return SIZE;
+    }
+
+    @Override
+    public int valueSize( CountsTreeValue value )
+    {
+        return SIZE;
+    }
+
+    @Override
+    public void writeKey( PageCursor cursor, CountsTreeKey key )
+    {
+        cursor.putLong( key.high );
+        cursor.putLong( key.low );
+    }
+
+    @Override
+    public void writeValue( PageCursor cursor, CountsTreeValue value )
+    {
+        cursor.putLong( value.first );
+        cursor.putLong( value.second );
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, CountsTreeKey into, int keySize )
+    {
+        into.high = cursor.getLong();
+        into.low = cursor.getLong();
+    }
+
+    @Override
+    public void readValue( PageCursor cursor, CountsTreeValue into, int valueSize )
+    {
+        into.first = cursor.getLong();
+        into.second = cursor.getLong();
+    }
+
+    @Override
+    public boolean fixedSize()
+    {
+        return true;
+    }
+
+    @Override
+    public long identifier()
+    {
+        return Layout.namedIdentifier( IDENTIFIER_NAME, SIZE );
+    }
+
+    @Override
+    public int majorVersion()
+    {
+        return 0;
+    }
+
+    @Override
+    public int minorVersion()
+    {
+        return 1;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.counts;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+
+import org.neo4j.kernel.impl.api.CountsAccessor;
+import org.neo4j.kernel.impl.store.counts.keys.CountsKey;
+import org.neo4j.kernel.impl.store.kvstore.DataInitializer;
+import org.neo4j.kernel.lifecycle.Lifecycle;
+import org.neo4j.register.Register;
+
+/**
+ * The counts store, as seen by the rest of the record storage engine. Implemented by {@link CountsTracker}, which keeps
+ * the counts in immutable key/value files that are rotated on every flush, and by {@link GBPTreeCountsStore}, which
+ * keeps them in a {@link org.neo4j.index.internal.gbptree.GBPTree} that is updated in place.
+ */
+public interface CountsStore extends CountsAccessor, Lifecycle
+{
+    /**
+     * @param initializer used for building the store from scratch when it is missing, on {@link #start()}.
+     * @return this store, for convenience.
+     */
+    CountsStore setInitializer( DataInitializer<CountsAccessor.Updater> initializer );
+
+    /**
+     * Makes the changes applied so far durable.
+     *
+     * @param txId the lowest transaction id that must be included in the snapshot created by the rotation.
+     * @return the highest transaction id that was included in the snapshot created by the rotation.
+     */
+    long rotate( long txId ) throws IOException;
+
+    /**
+     * @return the transaction id the store was last rotated at.
+     */
+    long txId();
+
+    Register.DoubleLongRegister get( CountsKey key, Register.DoubleLongRegister target );
+
+    /**
+     * @param txId id of the transaction to apply counts changes of.
+     * @return an updater for the changes of the given transaction, or {@link Optional#empty()} if the store already
+     * includes that transaction, which may be the case during recovery.
+     */
+    Optional<CountsAccessor.Updater> apply( long txId );
+
+    CountsAccessor.IndexStatsUpdater updateIndexCounts();
+
+    /**
+     * @param txId the transaction id that the counts written to the returned updater are correct for.
+     * @return an updater that replaces all counts in the store with the counts written to it, when closed.
+     */
+    CountsAccessor.Updater reset( long txId );
+
+    /**
+     * @return the files of this store that currently exist.
+     */
+    Iterable<File> allFiles();
+
+    @Override
+    void init() throws IOException;
+
+    @Override
+    void start() throws IOException;
+
+    @Override
+    void shutdown() throws IOException;
+}
@@ -0,0 +1,631 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.counts;
+
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.kernel.impl.api.CountsAccessor;
+import org.neo4j.kernel.impl.api.CountsVisitor;
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
+import org.neo4j.kernel.impl.store.counts.keys.CountsKey;
+import org.neo4j.kernel.impl.store.kvstore.BigEndianByteArrayBuffer;
+import org.neo4j.kernel.impl.store.kvstore.DataInitializer;
+import org.neo4j.kernel.impl.store.kvstore.UnknownKey;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.Log;
+import org.neo4j.logging.LogProvider;
+import org.neo4j.register.Register;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.ignore;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.kernel.impl.store.counts.keys.CountsKeyFactory.indexSampleKey;
+import static org.neo4j.kernel.impl.store.counts.keys.CountsKeyFactory.indexStatisticsKey;
+import static org.neo4j.kernel.impl.store.counts.keys.CountsKeyFactory.nodeKey;
+import static org.neo4j.kernel.impl.store.counts.keys.CountsKeyFactory.relationshipKey;
+
+/**
+ * Counts store keeping the counts in a {@link GBPTree}, which is updated in place, instead of in the immutable key/value
+ * files of {@link CountsTracker}, which are rewritten in full on every rotation.
+ * <p>
+ * Updates are applied to a map of the entries changed since the last {@link #rotate(long) rotation}, holding the
+ * absolute values of those entries. Rotating writes only those entries into the tree and checkpoints it, so its cost is
+ * proportional to the number of entries changed since the previous rotation rather than to the total number of entries.
+ * <p>
+ * Rotating doesn't wait for any particular transaction to be applied either, only for the updaters open at the time to
+ * be closed. Instead the header of the tree records exactly which transactions it includes: the highest transaction id
+ * such that all transactions up to and including it are included, followed by the ids of transactions above it that were
+ * applied out of order. {@link #apply(long)} returns nothing for the transactions that are included, so recovery applies
+ * the changes of exactly the transactions that are not.
+ * <p>
+ * Updaters hold a shared lock until closed, and must be closed by the thread that opened them.
+ */
+public class GBPTreeCountsStore extends LifecycleAdapter implements CountsStore
+{
+    /**
+     * Transaction id in the header of a tree that is being built, and should be rebuilt if found when opening it.
+     */
+    private static final long NEEDS_REBUILD = -1;
+    private static final long[] ZERO = new long[2];
+
+    private final CountsLayout layout = new CountsLayout();
+    private final ReentrantReadWriteLock updateLock = new ReentrantReadWriteLock();
+    private final Object rotationLock = new Object();
+    private final PageCache pageCache;
+    private final FileSystemAbstraction fs;
+    private final File file;
+    private final boolean readOnly;
+    private final Log log;
+    private DataInitializer<CountsAccessor.Updater> initializer;
+    private GBPTree<CountsTreeKey,CountsTreeValue> tree;
+    private boolean started;
+
+    /**
+     * Absolute values of the entries changed since the last rotation, replaced under the exclusive update lock.
+     */
+    private volatile ConcurrentMap<CountsKey,long[]> changes = new ConcurrentHashMap<>();
+    /**
+     * Absolute values of the entries that an ongoing rotation is writing into the tree.
+     */
+    private volatile Map<CountsKey,long[]> rotating = emptyMap();
+    private volatile long rotatedTxId;
+
+    // Guarded by this
+    private long highestGapFreeTxId;
+    private final MutableLongSet appliedOutOfOrder = new LongHashSet();
+
+    public GBPTreeCountsStore( LogProvider logProvider, FileSystemAbstraction fs, PageCache pageCache, DatabaseLayout databaseLayout,
+            boolean readOnly )
+    {
+        this.fs = fs;
+        this.pageCache = pageCache;
+        this.file = databaseLayout.countStore();
+        this.readOnly = readOnly;
+        this.log = logProvider.getLog( GBPTreeCountsStore.class );
+    }
+
+    @Override
+    public GBPTreeCountsStore setInitializer( DataInitializer<CountsAccessor.Updater> initializer )
+    {
+        this.initializer = initializer;
+        return this;
+    }
+
+    @Override
+    public void init() throws IOException
+    {
+        if ( tree != null || !fs.fileExists( file ) )
+        {
+            return;
+        }
+        tree = openTree( NEEDS_REBUILD );
+        if ( highestGapFreeTxId == NEEDS_REBUILD )
+        {
+            log.warn( "Counts store " + file + " was not completely built and will be rebuilt." );
+            tree.close();
+            tree = null;
+            if ( !readOnly )
+            {
+                fs.deleteFile( file );
+            }
+        }
+    }
+
+    @Override
+    public void start() throws IOException
+    {
+        if ( started )
+        {
+            return;
+        }
+        if ( tree == null )
+        {
+            if ( initializer == null )
+            {
+                throw new IllegalStateException( "Store needs to be created, and no initializer is given." );
+            }
+            long txId = initializer.initialVersion();
+            ConcurrentMap<CountsKey,long[]> counts = new ConcurrentHashMap<>();
+            try ( CountsChanges updater = new CountsChanges( counts, key -> ZERO, () -> {} ) )
+            {
+                initializer.initialize( updater );
+            }
+            if ( !readOnly )
+            {
+                tree = openTree( NEEDS_REBUILD );
+            }
+            resetTo( txId, counts );
+        }
+        started = true;
+    }
+
+    @Override
+    public void shutdown() throws IOException
+    {
+        started = false;
+        if ( tree != null )
+        {
+            tree.close();
+            tree = null;
+        }
+    }
+
+    @Override
+    public long rotate( long txId ) throws IOException
+    {
+        if ( readOnly )
+        {
+            return rotatedTxId;
+        }
+        synchronized ( rotationLock )
+        {
+            Map<CountsKey,long[]> snapshot;
+            long snapshotTxId;
+            long[] snapshotOutOfOrder;
+            Lock lock = updateLock.writeLock();
+            lock.lock();
+            try
+            {
+                snapshot = changes;
+                synchronized ( this )
+                {
+                    snapshotTxId = highestGapFreeTxId;
+                    snapshotOutOfOrder = appliedOutOfOrder.toSortedArray();
+                }
+                if ( snapshot.isEmpty() && snapshotTxId == rotatedTxId && snapshotOutOfOrder.length == 0 )
+                {
+                    return rotatedTxId;
+                }
+                rotating = snapshot;
+                changes = new ConcurrentHashMap<>();
+            }
+            finally
+            {
+                lock.unlock();
+            }
+
+            try
+            {
+                writeAndCheckpoint( snapshot, snapshotTxId, snapshotOutOfOrder );
+            }
+            catch ( Throwable e )
+            {
+                // Keep the changes around for the next rotation, values changed after the snapshot already include these
+                snapshot.forEach( changes::putIfAbsent );
+                throw e;
+            }
+            finally
+            {
+                rotating = emptyMap();
+            }
+            rotatedTxId = snapshotTxId;
+            return snapshotTxId;
+        }
+    }
+
+    @Override
+    public long txId()
+    {
+        return rotatedTxId;
+    }
+
+    @Override
+    public Register.DoubleLongRegister get( CountsKey key, Register.DoubleLongRegister target )
+    {
+        long[] value = changes.get( key );
+        if ( value == null )
+        {
+            value = storedValue( key );
+        }
+        target.write( value[0], value[1] );
+        return target;
+    }
+
+    @Override
+    public Register.DoubleLongRegister nodeCount( int labelId, Register.DoubleLongRegister target )
+    {
+        return get( nodeKey( labelId ), target );
+    }
+
+    @Override
+    public Register.DoubleLongRegister relationshipCount( int startLabelId, int typeId, int endLabelId,
+            Register.DoubleLongRegister target )
+    {
+        return get( relationshipKey( startLabelId, typeId, endLabelId ), target );
+    }
+
+    @Override
+    public Register.DoubleLongRegister indexUpdatesAndSize( long indexId, Register.DoubleLongRegister target )
+    {
+        return get( indexStatisticsKey( indexId ), target );
+    }
+
+    @Override
+    public Register.DoubleLongRegister indexSample( long indexId, Register.DoubleLongRegister target )
+    {
+        return get( indexSampleKey( indexId ), target );
+    }
+
+    @Override
+    public Optional<CountsAccessor.Updater> apply( long txId )
+    {
+        Lock lock = updateLock.readLock();
+        lock.lock();
+        if ( !markApplied( txId ) )
+        {
+            lock.unlock();
+            return Optional.empty();
+        }
+        return Optional.of( new CountsChanges( changes, this::storedValue, lock::unlock ) );
+    }
+
+    @Override
+    public CountsAccessor.IndexStatsUpdater updateIndexCounts()
+    {
+        Lock lock = updateLock.readLock();
+        lock.lock();
+        return new CountsChanges( changes, this::storedValue, lock::unlock );
+    }
+
+    @Override
+    public CountsAccessor.Updater reset( long txId )
+    {
+        ConcurrentMap<CountsKey,long[]> counts = new ConcurrentHashMap<>();
+        return new CountsChanges( counts, key -> ZERO, () ->
+        {
+            try
+            {
+                resetTo( txId, counts );
+            }
+            catch ( IOException e )
+            {
+                throw new UnderlyingStorageException( e );
+            }
+        } );
+    }
+
+    @Override
+    public Iterable<File> allFiles()
+    {
+        return fs.fileExists( file ) ? singletonList( file ) : emptyList();
+    }
+
+    @Override
+    public void accept( CountsVisitor visitor )
+    {
+        Map<CountsKey,long[]> all = new TreeMap<>();
+        Lock lock = updateLock.readLock();
+        lock.lock();
+        try
+        {
+            if ( tree != null )
+            {
+                try ( RawCursor<Hit<CountsTreeKey,CountsTreeValue>,IOException> seek = seekAll() )
+                {
+                    while ( seek.next() )
+                    {
+                        CountsTreeValue value = seek.get().value();
+                        all.put( countsKey( seek.get().key() ), new long[]{value.first, value.second} );
+                    }
+                }
+            }
+            all.putAll( rotating );
+            all.putAll( changes );
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        all.forEach( ( key, value ) ->
+        {
+            if ( value[0] != 0 || value[1] != 0 )
+            {
+                key.accept( visitor, value[0], value[1] );
+            }
+        } );
+    }
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + "[" + file + ",txId:" + rotatedTxId + "]";
+    }
+
+    private synchronized boolean markApplied( long txId )
+    {
+        if ( txId <= highestGapFreeTxId || !appliedOutOfOrder.add( txId ) )
+        {
+            return false;
+        }
+        while ( appliedOutOfOrder.remove( highestGapFreeTxId + 1 ) )
+        {
+            highestGapFreeTxId++;
+        }
+        return true;
+    }
+
+    /**
+     * Replaces all counts with the given ones, correct as of the given transaction.
+     */
+    private void resetTo( long txId, Map<CountsKey,long[]> counts ) throws IOException
+    {
+        synchronized ( rotationLock )
+        {
+            Lock lock = updateLock.writeLock();
+            lock.lock();
+            try
+            {
+                synchronized ( this )
+                {
+                    highestGapFreeTxId = txId;
+                    appliedOutOfOrder.clear();
+                }
+                if ( tree == null )
+                {
+                    // Read only and without a store file, so the counts can only be kept in memory
+                    changes = new ConcurrentHashMap<>( counts );
+                }
+                else
+                {
+                    changes = new ConcurrentHashMap<>();
+                    removeAll();
+                    writeAndCheckpoint( counts, txId, EMPTY_LONG_ARRAY );
+                }
+                rotatedTxId = txId;
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void removeAll() throws IOException
+    {
+        List<CountsTreeKey> keys = new ArrayList<>();
+        try ( RawCursor<Hit<CountsTreeKey,CountsTreeValue>,IOException> seek = seekAll() )
+        {
+            while ( seek.next() )
+            {
+                keys.add( layout.copyKey( seek.get().key(), new CountsTreeKey() ) );
+            }
+        }
+        try ( Writer<CountsTreeKey,CountsTreeValue> writer = tree.writer() )
+        {
+            for ( CountsTreeKey key : keys )
+            {
+                writer.remove( key );
+            }
+        }
+    }
+
+    private void writeAndCheckpoint( Map<CountsKey,long[]> entries, long txId, long[] outOfOrder ) throws IOException
+    {
+        try ( Writer<CountsTreeKey,CountsTreeValue> writer = tree.writer() )
+        {
+            CountsTreeKey treeKey = new CountsTreeKey();
+            CountsTreeValue treeValue = new CountsTreeValue();
+            for ( Map.Entry<CountsKey,long[]> entry : entries.entrySet() )
+            {
+                treeKey( entry.getKey(), treeKey );
+                long[] value = entry.getValue();
+                if ( value[0] == 0 && value[1] == 0 )
+                {
+                    writer.remove( treeKey );
+                }
+                else
+                {
+                    treeValue.first = value[0];
+                    treeValue.second = value[1];
+                    writer.put( treeKey, treeValue );
+                }
+            }
+        }
+        tree.checkpoint( IOLimiter.UNLIMITED, cursor -> writeHeader( cursor, txId, outOfOrder ) );
+    }
+
+    private long[] storedValue( CountsKey key )
+    {
+        long[] value = rotating.get( key );
+        if ( value != null )
+        {
+            return value;
+        }
+        GBPTree<CountsTreeKey,CountsTreeValue> current = tree;
+        if ( current == null )
+        {
+            return ZERO;
+        }
+        CountsTreeKey treeKey = treeKey( key, new CountsTreeKey() );
+        try ( RawCursor<Hit<CountsTreeKey,CountsTreeValue>,IOException> seek = current.seek( treeKey, treeKey ) )
+        {
+            if ( seek.next() )
+            {
+                CountsTreeValue treeValue = seek.get().value();
+                return new long[]{treeValue.first, treeValue.second};
+            }
+            return ZERO;
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+    }
+
+    private RawCursor<Hit<CountsTreeKey,CountsTreeValue>,IOException> seekAll() throws IOException
+    {
+        return tree.seek( new CountsTreeKey( 0, 0 ), new CountsTreeKey( -1, -1 ) );
+    }
+
+    private GBPTree<CountsTreeKey,CountsTreeValue> openTree( long initialTxId )
+    {
+        return new GBPTree<>( pageCache, file, layout, 0, GBPTree.NO_MONITOR, this::readHeader,
+                cursor -> writeHeader( cursor, initialTxId, EMPTY_LONG_ARRAY ), readOnly ? ignore() : immediate(), readOnly );
+    }
+
+    /**
+     * Header format: the highest gap free transaction id, followed by the number of transactions applied out of order
+     * above it and their ids.
+     */
+    private synchronized void readHeader( ByteBuffer header )
+    {
+        highestGapFreeTxId = header.getLong();
+        appliedOutOfOrder.clear();
+        int outOfOrderCount = header.getInt();
+        for ( int i = 0; i < outOfOrderCount; i++ )
+        {
+            appliedOutOfOrder.add( header.getLong() );
+        }
+        rotatedTxId = highestGapFreeTxId;
+    }
+
+    private static void writeHeader( PageCursor cursor, long txId, long[] outOfOrder )
+    {
+        cursor.putLong( txId );
+        cursor.putInt( outOfOrder.length );
+        for ( long outOfOrderTxId : outOfOrder )
+        {
+            cursor.putLong( outOfOrderTxId );
+        }
+    }
+
+    private static CountsTreeKey treeKey( CountsKey key, CountsTreeKey into )
+    {
+        BigEndianByteArrayBuffer buffer = new BigEndianByteArrayBuffer( new byte[16] );
+        key.accept( new KeyFormat( buffer ), 0, 0 );
+        return into.set( buffer.getLong( 0 ), buffer.getLong( 8 ) );
+    }
+
+    private static CountsKey countsKey( CountsTreeKey key )
+    {
+        BigEndianByteArrayBuffer buffer = new BigEndianByteArrayBuffer( new byte[16] );
+        buffer.putLong( 0, key.high ).putLong( 8, key.low );
+        try
+        {
+            return KeyFormat.readKey( buffer );
+        }
+        catch ( UnknownKey e )
+        {
+            throw new IllegalStateException( "Unknown key in counts store " + key, e );
+        }
+    }
+
+    /**
+     * Applies updates to a map of absolute values, reading the value to apply an increment to from {@code base}
+     * the first time an entry is updated.
+     */
+    private static class CountsChanges implements CountsAccessor.Updater, CountsAccessor.IndexStatsUpdater
+    {
+        private final ConcurrentMap<CountsKey,long[]> target;
+        private final Function<CountsKey,long[]> base;
+        private final Runnable onClose;
+        private boolean closed;
+
+        CountsChanges( ConcurrentMap<CountsKey,long[]> target, Function<CountsKey,long[]> base, Runnable onClose )
+        {
+            this.target = target;
+            this.base = base;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public void incrementNodeCount( long labelId, long delta )
+        {
+            increment( nodeKey( labelId ), 0, delta );
+        }
+
+        @Override
+        public void incrementRelationshipCount( long startLabelId, int typeId, long endLabelId, long delta )
+        {
+            increment( relationshipKey( startLabelId, typeId, endLabelId ), 0, delta );
+        }
+
+        @Override
+        public void replaceIndexUpdateAndSize( long indexId, long updates, long size )
+        {
+            target.put( indexStatisticsKey( indexId ), new long[]{updates, size} );
+        }
+
+        @Override
+        public void replaceIndexSample( long indexId, long unique, long size )
+        {
+            target.put( indexSampleKey( indexId ), new long[]{unique, size} );
+        }
+
+        @Override
+        public void incrementIndexUpdates( long indexId, long delta )
+        {
+            increment( indexStatisticsKey( indexId ), delta, 0 );
+        }
+
+        private void increment( CountsKey key, long firstDelta, long secondDelta )
+        {
+            target.compute( key, ( k, value ) ->
+            {
+                long[] current = value != null ? value : base.apply( k );
+                return new long[]{current[0] + firstDelta, current[1] + secondDelta};
+            } );
+        }
+
+        @Override
+        public void close()
+        {
+            if ( !closed )
+            {
+                closed = true;
+                onClose.run();
+            }
+        }
+    }
+}
@@ -23,17 +23,22 @@
 package org.neo4j.kernel.impl.transaction.state.storeview;
 
 import java.util.function.IntPredicate;
+import java.util.function.LongSupplier;
 
+import org.neo4j.collection.PrimitiveLongResourceIterator;
 import org.neo4j.helpers.collection.Visitor;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
 import org.neo4j.kernel.api.labelscan.NodeLabelUpdate;
 import org.neo4j.kernel.impl.api.index.EntityUpdates;
 import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.storageengine.api.StorageReader;
+import org.neo4j.storageengine.api.schema.LabelScanReader;
 
 /**
  * Store scan view that will try to minimize amount of scanned nodes by using label scan store {@link LabelScanStore}
  * as a source of known labeled node ids.
+ * <p>
+ * When partitioned, each partition reads the labeled nodes in its own id range from a reader of its own.
  * @param <FAILURE> type of exception thrown on failure
  */
 public class LabelScanViewNodeStoreScan<FAILURE extends Exception> extends StoreViewNodeStoreScan<FAILURE>
@@ -44,9 +49,20 @@ public class LabelScanViewNodeStoreScan<FAILURE extends Exception> extends Store
             LabelScanStore labelScanStore, Visitor<NodeLabelUpdate,FAILURE> labelUpdateVisitor,
             Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor, int[] labelIds,
             IntPredicate propertyKeyIdFilter )
+    {
+        this( storageReader, locks, labelScanStore, labelUpdateVisitor, propertyUpdatesVisitor, labelIds, propertyKeyIdFilter, null );
+    }
+
+    /**
+     * @param highNodeId supplier of the high id of the node store, allowing the scan to be partitioned, or {@code null}.
+     */
+    public LabelScanViewNodeStoreScan( StorageReader storageReader, LockService locks,
+            LabelScanStore labelScanStore, Visitor<NodeLabelUpdate,FAILURE> labelUpdateVisitor,
+            Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor, int[] labelIds,
+            IntPredicate propertyKeyIdFilter, LongSupplier highNodeId )
     {
         super( storageReader, locks, labelUpdateVisitor, propertyUpdatesVisitor, labelIds,
-                propertyKeyIdFilter );
+                propertyKeyIdFilter, highNodeId );
         this.labelScanStore = labelScanStore;
     }
 
@@ -55,4 +71,75 @@ public class LabelScanViewNodeStoreScan<FAILURE extends Exception> extends Store
     {
         return new LabelScanViewIdIterator<>( labelScanStore.newReader(), labelIds, entityCursor );
     }
+
+    @Override
+    protected EntityIdIterator getEntityIdIterator( long from, long to )
+    {
+        return new PartitionIdIterator( labelScanStore.newReader(), from, to );
+    }
+
+    /**
+     * Labeled node ids in the range of one partition, without reading the nodes.
+     */
+    private class PartitionIdIterator implements EntityIdIterator
+    {
+        private final LabelScanReader labelScanReader;
+        private final long to;
+        private PrimitiveLongResourceIterator idIterator;
+        private long lastReturnedId;
+        private boolean hasNext;
+        private boolean hasSeenNext;
+        private long next;
+
+        PartitionIdIterator( LabelScanReader labelScanReader, long from, long to )
+        {
+            this.labelScanReader = labelScanReader;
+            this.to = to;
+            this.lastReturnedId = from - 1;
+            this.idIterator = labelScanReader.nodesWithAnyOfLabels( lastReturnedId, labelIds );
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if ( !hasSeenNext )
+            {
+                hasNext = idIterator.hasNext();
+                if ( hasNext )
+                {
+                    next = idIterator.next();
+                    hasNext = to == OPEN_ENDED || next < to;
+                }
+                hasSeenNext = true;
+            }
+            return hasNext;
+        }
+
+        @Override
+        public long next()
+        {
+            if ( !hasNext() )
+            {
+                throw new IllegalStateException();
+            }
+            hasSeenNext = false;
+            lastReturnedId = next;
+            return next;
+        }
+
+        @Override
+        public void invalidateCache()
+        {
+            idIterator.close();
+            idIterator = labelScanReader.nodesWithAnyOfLabels( lastReturnedId, labelIds );
+            hasSeenNext = false;
+        }
+
+        @Override
+        public void close()
+        {
+            idIterator.close();
+            labelScanReader.close();
+        }
+    }
 }
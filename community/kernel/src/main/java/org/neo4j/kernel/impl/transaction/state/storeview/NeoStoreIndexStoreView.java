@@ -39,7 +39,7 @@ import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.NodeStore;
 import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.RelationshipStore;
-import org.neo4j.kernel.impl.store.counts.CountsTracker;
+import org.neo4j.kernel.impl.store.counts.CountsStore;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
@@ -62,7 +62,7 @@ public class NeoStoreIndexStoreView implements IndexStoreView
     protected final NodeStore nodeStore;
     protected final RelationshipStore relationshipStore;
     protected final LockService locks;
-    private final CountsTracker counts;
+    private final CountsStore counts;
     private final NeoStores neoStores;
 
     public NeoStoreIndexStoreView( LockService locks, NeoStores neoStores )
@@ -114,14 +114,15 @@ public class NeoStoreIndexStoreView implements IndexStoreView
             boolean forceStoreScan )
     {
         return new StoreViewNodeStoreScan<>( new RecordStorageReader( neoStores ), locks, labelUpdateVisitor,
-                propertyUpdatesVisitor, labelIds, propertyKeyIdFilter );
+                propertyUpdatesVisitor, labelIds, propertyKeyIdFilter, nodeStore::getHighId );
     }
 
     @Override
     public <FAILURE extends Exception> StoreScan<FAILURE> visitRelationships( final int[] relationshipTypeIds, IntPredicate propertyKeyIdFilter,
             final Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor )
     {
-        return new RelationshipStoreScan<>( new RecordStorageReader( neoStores ), locks, propertyUpdatesVisitor, relationshipTypeIds, propertyKeyIdFilter );
+        return new RelationshipStoreScan<>( new RecordStorageReader( neoStores ), locks, propertyUpdatesVisitor, relationshipTypeIds, propertyKeyIdFilter,
+                relationshipStore::getHighId );
     }
 
     @Override
@@ -24,13 +24,24 @@ package org.neo4j.kernel.impl.transaction.state.storeview;
 
 import org.apache.commons.lang3.ArrayUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
 import java.util.function.IntPredicate;
 import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
 
+import org.neo4j.helpers.Exceptions;
+import org.neo4j.helpers.collection.Visitor;
 import org.neo4j.io.IOUtils;
 import org.neo4j.kernel.api.index.IndexEntryUpdate;
 import org.neo4j.kernel.impl.api.index.EntityUpdates;
 import org.neo4j.kernel.impl.api.index.MultipleIndexPopulator;
+import org.neo4j.kernel.impl.api.index.ParallelEntityUpdatesVisitor;
 import org.neo4j.kernel.impl.api.index.PhaseTracker;
 import org.neo4j.kernel.impl.api.index.StoreScan;
 import org.neo4j.kernel.impl.locking.Lock;
@@ -38,22 +49,64 @@ import org.neo4j.storageengine.api.StorageEntityScanCursor;
 import org.neo4j.storageengine.api.StoragePropertyCursor;
 import org.neo4j.storageengine.api.StorageReader;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
+import org.neo4j.util.FeatureToggles;
 import org.neo4j.values.storable.Value;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static org.neo4j.helpers.NamedThreadFactory.daemon;
+
+/**
+ * Scan of all entities in a store, feeding those with properties of interest to a visitor.
+ * <p>
+ * If the scan knows the high id of the store and the visitor is a {@link ParallelEntityUpdatesVisitor}, the id range is split into
+ * partitions which are scanned by one thread each. The ids visited in each partition come from {@link #getEntityIdIterator(long, long)}.
+ * Such a scan keeps track of how far each partition has come, which is what
+ * {@link #acceptUpdate(MultipleIndexPopulator.MultipleIndexUpdater, IndexEntryUpdate, long)} decides on for queued updates.
+ */
 public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityScanCursor, FAILURE extends Exception> implements StoreScan<FAILURE>
 {
+    public static final String PARALLEL_SCAN_WORKERS_NAME = "parallel_scan_workers";
+    public static final String PARALLEL_SCAN_PARTITION_SIZE_NAME = "parallel_scan_partition_size";
+
+    private static final String SCAN_THREAD_NAME_PREFIX = "Index Population Scan Thread";
+    static final long OPEN_ENDED = -1;
+
+    // Maximum number of threads scanning partitions of the store, if the visitor allows it.
+    private final int PARALLEL_SCAN_WORKERS = FeatureToggles.getInteger( PropertyAwareEntityStoreScan.class, PARALLEL_SCAN_WORKERS_NAME,
+            min( 8, Runtime.getRuntime().availableProcessors() ) );
+    // Minimum number of ids in each partition. Stores with a high id lower than twice this are scanned by a single thread.
+    private final long PARALLEL_SCAN_PARTITION_SIZE = FeatureToggles.getLong( PropertyAwareEntityStoreScan.class, PARALLEL_SCAN_PARTITION_SIZE_NAME,
+            1_000_000 );
+
     final CURSOR entityCursor;
     private final StoragePropertyCursor propertyCursor;
     private final StorageReader storageReader;
+    private final Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor;
+    private final LongSupplier highEntityId;
     private volatile boolean continueScanning;
+    private volatile boolean applyQueuedUpdates;
     private long count;
     private long totalCount;
     private final IntPredicate propertyKeyIdFilter;
     private final LongFunction<Lock> lockFunction;
     private PhaseTracker phaseTracker;
+    private volatile List<Partition> partitions;
+    private long partitionSize;
 
     protected PropertyAwareEntityStoreScan( StorageReader storageReader, long totalEntityCount, IntPredicate propertyKeyIdFilter,
             LongFunction<Lock> lockFunction )
+    {
+        this( storageReader, totalEntityCount, propertyKeyIdFilter, lockFunction, null, null );
+    }
+
+    /**
+     * @param propertyUpdatesVisitor visitor of entities with relevant properties, passed to {@link #process(StorageEntityScanCursor,
+     * StoragePropertyCursor, Visitor)}.
+     * @param highEntityId supplier of the high id of the store, or {@code null} if the store should not be scanned in partitions.
+     */
+    protected PropertyAwareEntityStoreScan( StorageReader storageReader, long totalEntityCount, IntPredicate propertyKeyIdFilter,
+            LongFunction<Lock> lockFunction, Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor, LongSupplier highEntityId )
     {
         this.storageReader = storageReader;
         this.entityCursor = allocateCursor( storageReader );
@@ -62,6 +115,8 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
         this.lockFunction = lockFunction;
         this.totalCount = totalEntityCount;
         this.phaseTracker = PhaseTracker.nullInstance;
+        this.propertyUpdatesVisitor = propertyUpdatesVisitor;
+        this.highEntityId = highEntityId;
     }
 
     protected abstract CURSOR allocateCursor( StorageReader storageReader );
@@ -78,7 +133,7 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
         return false;
     }
 
-    boolean hasRelevantProperty( CURSOR cursor, EntityUpdates.Builder updates )
+    boolean hasRelevantProperty( CURSOR cursor, StoragePropertyCursor propertyCursor, EntityUpdates.Builder updates )
     {
         if ( !cursor.hasProperties() )
         {
@@ -106,6 +161,13 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
     @Override
     public void run() throws FAILURE
     {
+        int numberOfPartitions = numberOfPartitions();
+        if ( numberOfPartitions > 1 )
+        {
+            runPartitioned( numberOfPartitions );
+            return;
+        }
+
         entityCursor.scan();
         try ( EntityIdIterator entityIdIterator = getEntityIdIterator() )
         {
@@ -117,7 +179,7 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
                 try ( Lock ignored = lockFunction.apply( id ) )
                 {
                     count++;
-                    if ( process( entityCursor ) )
+                    if ( process( entityCursor, propertyCursor, propertyUpdatesVisitor ) )
                     {
                         entityIdIterator.invalidateCache();
                     }
@@ -130,11 +192,17 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
         }
     }
 
+    /**
+     * Applies the given queued update if the scan has already passed its entity, i.e. if the scan won't see the changes itself.
+     * For scans of a single thread that is decided by {@code currentlyIndexedNodeId}, for partitioned scans by how far the partition
+     * of the entity has come. A {@code currentlyIndexedNodeId} of {@link Long#MAX_VALUE} always applies the update.
+     */
     @Override
     public void acceptUpdate( MultipleIndexPopulator.MultipleIndexUpdater updater, IndexEntryUpdate<?> update,
             long currentlyIndexedNodeId )
     {
-        if ( update.getEntityId() <= currentlyIndexedNodeId )
+        long entityId = update.getEntityId();
+        if ( entityId <= currentlyIndexedNodeId || hasPartitionPassed( entityId ) )
         {
             updater.process( update );
         }
@@ -144,11 +212,23 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
      * Process the given {@code record}.
      *
      * @param cursor CURSOR with information to process.
+     * @param propertyCursor cursor for reading the properties of the entity, see {@link #hasRelevantProperty(StorageEntityScanCursor,
+     * StoragePropertyCursor, EntityUpdates.Builder)}.
+     * @param propertyUpdatesVisitor visitor of the entity, if it has relevant properties.
      * @return {@code true} if external updates have been applied such that the scan iterator needs to be 100% up to date with store,
      * i.e. invalidate any caches if it has any.
      * @throws FAILURE on failure.
      */
-    protected abstract boolean process( CURSOR cursor ) throws FAILURE;
+    protected abstract boolean process( CURSOR cursor, StoragePropertyCursor propertyCursor,
+            Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor ) throws FAILURE;
+
+    /**
+     * @return whether or not entities can be visited by multiple threads, given that the property updates visitor allows it.
+     */
+    protected boolean canScanInParallel()
+    {
+        return true;
+    }
 
     @Override
     public void stop()
@@ -161,7 +241,16 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
     {
         if ( totalCount > 0 )
         {
-            return PopulationProgress.single( count, totalCount );
+            long completed = count;
+            List<Partition> scanPartitions = partitions;
+            if ( scanPartitions != null )
+            {
+                for ( Partition partition : scanPartitions )
+                {
+                    completed += partition.count;
+                }
+            }
+            return PopulationProgress.single( completed, totalCount );
         }
 
         // nothing to do 100% completed
@@ -217,4 +306,290 @@ public abstract class PropertyAwareEntityStoreScan<CURSOR extends StorageEntityS
             }
         };
     }
+
+    /**
+     * Ids of the entities to visit in one partition of a partitioned scan, in ascending order. The scan locks each id before reading
+     * the entity and skips ids of entities that don't exist. By default all ids in the range are visited.
+     *
+     * @param from first id of the partition.
+     * @param to id after the last id of the partition, or {@link #OPEN_ENDED} for the last partition, which also covers entities
+     * created while scanning.
+     */
+    protected EntityIdIterator getEntityIdIterator( long from, long to )
+    {
+        return new EntityIdIterator()
+        {
+            private long next = from;
+            private long highId;
+
+            @Override
+            public void invalidateCache()
+            {
+                // Nothing to invalidate, all ids are visited
+            }
+
+            @Override
+            public long next()
+            {
+                if ( !hasNext() )
+                {
+                    throw new IllegalStateException();
+                }
+                return next++;
+            }
+
+            @Override
+            public boolean hasNext()
+            {
+                if ( to != OPEN_ENDED )
+                {
+                    return next < to;
+                }
+                if ( next >= highId )
+                {
+                    highId = highEntityId.getAsLong();
+                }
+                return next < highId;
+            }
+
+            @Override
+            public void close()
+            {
+                // Nothing to close
+            }
+        };
+    }
+
+    private int numberOfPartitions()
+    {
+        if ( highEntityId == null || !(propertyUpdatesVisitor instanceof ParallelEntityUpdatesVisitor) || !canScanInParallel() )
+        {
+            return 1;
+        }
+        long partitionsOfMinimumSize = highEntityId.getAsLong() / max( 1, PARALLEL_SCAN_PARTITION_SIZE );
+        return (int) max( 1, min( PARALLEL_SCAN_WORKERS, partitionsOfMinimumSize ) );
+    }
+
+    private void runPartitioned( int numberOfPartitions ) throws FAILURE
+    {
+        ParallelEntityUpdatesVisitor<FAILURE> visitor = (ParallelEntityUpdatesVisitor<FAILURE>) propertyUpdatesVisitor;
+        partitionSize = (highEntityId.getAsLong() + numberOfPartitions - 1) / numberOfPartitions;
+        List<Partition> scanPartitions = new ArrayList<>( numberOfPartitions );
+        for ( int i = 0; i < numberOfPartitions; i++ )
+        {
+            long from = i * partitionSize;
+            // The last partition also covers entities created while scanning, just like a scan of a single thread does
+            scanPartitions.add( new Partition( from, i == numberOfPartitions - 1 ? OPEN_ENDED : from + partitionSize ) );
+        }
+        partitions = scanPartitions;
+
+        phaseTracker.enterPhase( PhaseTracker.Phase.SCAN );
+        continueScanning = true;
+        QueuedUpdatesPhaser phaser = new QueuedUpdatesPhaser( visitor, numberOfPartitions );
+        ExecutorService executor = Executors.newFixedThreadPool( numberOfPartitions, daemon( SCAN_THREAD_NAME_PREFIX ) );
+        Throwable failure = null;
+        try
+        {
+            List<Future<Void>> scans = new ArrayList<>( numberOfPartitions );
+            for ( Partition partition : scanPartitions )
+            {
+                scans.add( executor.submit( () ->
+                {
+                    partition.scan( visitor, phaser );
+                    return null;
+                } ) );
+            }
+            for ( Future<Void> scan : scans )
+            {
+                failure = Exceptions.chain( failure, awaitScan( scan ) );
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+            IOUtils.closeAllUnchecked( propertyCursor, entityCursor, storageReader );
+        }
+        failure = Exceptions.chain( failure, phaser.failure );
+        if ( failure != null )
+        {
+            throwFailure( failure );
+        }
+    }
+
+    /**
+     * Waits for the given partition scan to finish, stopping all partitions if the scan fails or the wait is interrupted.
+     * Keeps waiting when interrupted, since the partitions share the storage reader which can't be closed until they are done.
+     */
+    private Throwable awaitScan( Future<Void> scan )
+    {
+        boolean interrupted = false;
+        try
+        {
+            while ( true )
+            {
+                try
+                {
+                    scan.get();
+                    return null;
+                }
+                catch ( InterruptedException e )
+                {
+                    interrupted = true;
+                    stop();
+                }
+                catch ( ExecutionException e )
+                {
+                    stop();
+                    return e.getCause();
+                }
+            }
+        }
+        finally
+        {
+            if ( interrupted )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private void throwFailure( Throwable failure ) throws FAILURE
+    {
+        if ( failure instanceof RuntimeException )
+        {
+            throw (RuntimeException) failure;
+        }
+        if ( failure instanceof Error )
+        {
+            throw (Error) failure;
+        }
+        // Process only throws checked exceptions of type FAILURE
+        throw (FAILURE) failure;
+    }
+
+    private boolean hasPartitionPassed( long entityId )
+    {
+        List<Partition> scanPartitions = partitions;
+        if ( scanPartitions == null || entityId < 0 )
+        {
+            return false;
+        }
+        int index = (int) min( scanPartitions.size() - 1, entityId / partitionSize );
+        return entityId <= scanPartitions.get( index ).position;
+    }
+
+    /**
+     * Range of ids scanned by one thread, into its own {@link ParallelEntityUpdatesVisitor.Partition}.
+     */
+    private class Partition
+    {
+        private final long from;
+        private final long to;
+        // Highest id this partition has locked, which means changes to entities up to that id won't be seen by the scan anymore
+        private volatile long position;
+        private volatile long count;
+
+        Partition( long from, long to )
+        {
+            this.from = from;
+            this.to = to;
+            this.position = from - 1;
+        }
+
+        void scan( ParallelEntityUpdatesVisitor<FAILURE> visitor, Phaser phaser ) throws FAILURE
+        {
+            ParallelEntityUpdatesVisitor.Partition<FAILURE> partitionVisitor = visitor.newPartition();
+            try ( CURSOR cursor = allocateCursor( storageReader );
+                  StoragePropertyCursor partitionPropertyCursor = storageReader.allocatePropertyCursor();
+                  EntityIdIterator entityIdIterator = getEntityIdIterator( from, to ) )
+            {
+                boolean exhausted = false;
+                while ( continueScanning )
+                {
+                    if ( applyQueuedUpdates )
+                    {
+                        partitionVisitor.flush();
+                        phaser.arriveAndAwaitAdvance();
+                        // Entities changed by the applied updates must be seen as they are now
+                        entityIdIterator.invalidateCache();
+                    }
+                    if ( !entityIdIterator.hasNext() )
+                    {
+                        exhausted = true;
+                        break;
+                    }
+                    long id = entityIdIterator.next();
+                    try ( Lock ignored = lockFunction.apply( id ) )
+                    {
+                        position = id;
+                        cursor.single( id );
+                        if ( cursor.next() )
+                        {
+                            count++;
+                            process( cursor, partitionPropertyCursor, partitionVisitor );
+                        }
+                    }
+                    if ( !applyQueuedUpdates && visitor.hasQueuedUpdatesToApply() )
+                    {
+                        applyQueuedUpdates = true;
+                    }
+                }
+                if ( exhausted )
+                {
+                    // Entities created from now on are not seen by this partition, nor by any other
+                    position = Long.MAX_VALUE;
+                }
+            }
+            finally
+            {
+                try
+                {
+                    partitionVisitor.flush();
+                }
+                finally
+                {
+                    phaser.arriveAndDeregister();
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies queued updates, from the last partition arriving, whenever a partition has requested it.
+     */
+    private class QueuedUpdatesPhaser extends Phaser
+    {
+        private final ParallelEntityUpdatesVisitor<FAILURE> visitor;
+        private volatile Throwable failure;
+
+        QueuedUpdatesPhaser( ParallelEntityUpdatesVisitor<FAILURE> visitor, int partitions )
+        {
+            super( partitions );
+            this.visitor = visitor;
+        }
+
+        @Override
+        protected boolean onAdvance( int phase, int registeredParties )
+        {
+            if ( applyQueuedUpdates )
+            {
+                try
+                {
+                    visitor.applyQueuedUpdates();
+                }
+                catch ( Throwable t )
+                {
+                    // Throwing from here would leave the other partitions waiting forever
+                    failure = Exceptions.chain( failure, t );
+                    stop();
+                }
+                finally
+                {
+                    applyQueuedUpdates = false;
+                }
+            }
+            return registeredParties == 0;
+        }
+    }
 }
@@ -23,25 +23,35 @@
 package org.neo4j.kernel.impl.transaction.state.storeview;
 
 import java.util.function.IntPredicate;
+import java.util.function.LongSupplier;
 
 import org.neo4j.helpers.collection.Visitor;
 import org.neo4j.kernel.impl.api.index.EntityUpdates;
 import org.neo4j.kernel.impl.locking.LockService;
+import org.neo4j.storageengine.api.StoragePropertyCursor;
 import org.neo4j.storageengine.api.StorageReader;
 import org.neo4j.storageengine.api.StorageRelationshipScanCursor;
 
 public class RelationshipStoreScan<FAILURE extends Exception> extends PropertyAwareEntityStoreScan<StorageRelationshipScanCursor,FAILURE>
 {
     private final int[] relationshipTypeIds;
-    private final Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor;
 
     public RelationshipStoreScan( StorageReader storageReader, LockService locks,
             Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor, int[] relationshipTypeIds, IntPredicate propertyKeyIdFilter )
+    {
+        this( storageReader, locks, propertyUpdatesVisitor, relationshipTypeIds, propertyKeyIdFilter, null );
+    }
+
+    /**
+     * @param highRelationshipId supplier of the high id of the relationship store, allowing the scan to be partitioned, or {@code null}.
+     */
+    public RelationshipStoreScan( StorageReader storageReader, LockService locks,
+            Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor, int[] relationshipTypeIds, IntPredicate propertyKeyIdFilter,
+            LongSupplier highRelationshipId )
     {
         super( storageReader, storageReader.relationshipsGetCount(), propertyKeyIdFilter,
-                id -> locks.acquireRelationshipLock( id, LockService.LockType.READ_LOCK ) );
+                id -> locks.acquireRelationshipLock( id, LockService.LockType.READ_LOCK ), propertyUpdatesVisitor, highRelationshipId );
         this.relationshipTypeIds = relationshipTypeIds;
-        this.propertyUpdatesVisitor = propertyUpdatesVisitor;
     }
 
     @Override
@@ -51,7 +61,8 @@ public class RelationshipStoreScan<FAILURE extends Exception> extends PropertyAw
     }
 
     @Override
-    protected boolean process( StorageRelationshipScanCursor cursor ) throws FAILURE
+    protected boolean process( StorageRelationshipScanCursor cursor, StoragePropertyCursor propertyCursor,
+            Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor ) throws FAILURE
     {
         int reltype = cursor.type();
 
@@ -60,7 +71,7 @@ public class RelationshipStoreScan<FAILURE extends Exception> extends PropertyAw
             // Notify the property update visitor
             EntityUpdates.Builder updates = EntityUpdates.forEntity( cursor.entityReference(), true ).withTokens( reltype );
 
-            if ( hasRelevantProperty( cursor, updates ) )
+            if ( hasRelevantProperty( cursor, propertyCursor, updates ) )
             {
                 return propertyUpdatesVisitor.visit( updates.build() );
             }
@@ -23,12 +23,14 @@
 package org.neo4j.kernel.impl.transaction.state.storeview;
 
 import java.util.function.IntPredicate;
+import java.util.function.LongSupplier;
 
 import org.neo4j.helpers.collection.Visitor;
 import org.neo4j.kernel.api.labelscan.NodeLabelUpdate;
 import org.neo4j.kernel.impl.api.index.EntityUpdates;
 import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.storageengine.api.StorageNodeCursor;
+import org.neo4j.storageengine.api.StoragePropertyCursor;
 import org.neo4j.storageengine.api.StorageReader;
 
 import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
@@ -37,7 +39,6 @@ import static org.neo4j.kernel.api.labelscan.NodeLabelUpdate.labelChanges;
 public class StoreViewNodeStoreScan<FAILURE extends Exception> extends PropertyAwareEntityStoreScan<StorageNodeCursor,FAILURE>
 {
     private final Visitor<NodeLabelUpdate,FAILURE> labelUpdateVisitor;
-    private final Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor;
     protected final int[] labelIds;
 
     public StoreViewNodeStoreScan( StorageReader storageReader, LockService locks,
@@ -45,9 +46,20 @@ public class StoreViewNodeStoreScan<FAILURE extends Exception> extends PropertyA
             Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor,
             int[] labelIds, IntPredicate propertyKeyIdFilter )
     {
-        super( storageReader, storageReader.nodesGetCount(), propertyKeyIdFilter, id -> locks.acquireNodeLock( id, LockService.LockType.READ_LOCK ) );
+        this( storageReader, locks, labelUpdateVisitor, propertyUpdatesVisitor, labelIds, propertyKeyIdFilter, null );
+    }
+
+    /**
+     * @param highNodeId supplier of the high id of the node store, allowing the scan to be partitioned, or {@code null}.
+     */
+    public StoreViewNodeStoreScan( StorageReader storageReader, LockService locks,
+            Visitor<NodeLabelUpdate,FAILURE> labelUpdateVisitor,
+            Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor,
+            int[] labelIds, IntPredicate propertyKeyIdFilter, LongSupplier highNodeId )
+    {
+        super( storageReader, storageReader.nodesGetCount(), propertyKeyIdFilter, id -> locks.acquireNodeLock( id, LockService.LockType.READ_LOCK ),
+                propertyUpdatesVisitor, highNodeId );
         this.labelUpdateVisitor = labelUpdateVisitor;
-        this.propertyUpdatesVisitor = propertyUpdatesVisitor;
         this.labelIds = labelIds;
     }
 
@@ -58,7 +70,15 @@ public class StoreViewNodeStoreScan<FAILURE extends Exception> extends PropertyA
     }
 
     @Override
-    public boolean process( StorageNodeCursor cursor ) throws FAILURE
+    protected boolean canScanInParallel()
+    {
+        // Label updates are visited by a single thread
+        return labelUpdateVisitor == null;
+    }
+
+    @Override
+    public boolean process( StorageNodeCursor cursor, StoragePropertyCursor propertyCursor,
+            Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor ) throws FAILURE
     {
         long[] labels = cursor.labels();
         if ( labels.length == 0 && labelIds.length != 0 )
@@ -78,7 +98,7 @@ public class StoreViewNodeStoreScan<FAILURE extends Exception> extends PropertyA
             // Notify the property update visitor
             EntityUpdates.Builder updates = EntityUpdates.forEntity( cursor.entityReference(), true ).withTokens( labels );
 
-            if ( hasRelevantProperty( cursor, updates ) )
+            if ( hasRelevantProperty( cursor, propertyCursor, updates ) )
             {
                 return propertyUpdatesVisitor.visit( updates.build() );
             }
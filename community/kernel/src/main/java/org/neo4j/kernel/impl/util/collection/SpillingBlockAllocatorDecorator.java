@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.logging.Log;
+import org.neo4j.memory.MemoryAllocationTracker;
+import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static org.neo4j.util.Preconditions.requirePositive;
+
+/**
+ * Block allocator that serves blocks from the decorated allocator as long as the total amount of allocated memory stays within
+ * {@link #maxMemory}. Once the limit is reached, new blocks are backed by memory mapped files in {@link #spillDirectory} instead,
+ * which lets the operating system page transaction state out to disk rather than failing the transaction.
+ * <p>
+ * Blocks larger than {@link Integer#MAX_VALUE} bytes can't be mapped, so allocating one of those beyond the limit fails the same way
+ * {@link CapacityLimitingBlockAllocatorDecorator} does.
+ * <p>
+ * Spilled blocks are reported to the {@link MemoryAllocationTracker} of the allocation like any other block, so the memory used by
+ * a transaction includes what it has spilled.
+ * <p>
+ * This class is thread safe.
+ */
+public class SpillingBlockAllocatorDecorator implements OffHeapBlockAllocator
+{
+    private final OffHeapBlockAllocator impl;
+    private final long maxMemory;
+    private final File spillDirectory;
+    private final Log log;
+    private final AtomicLong usedMemory = new AtomicLong();
+    private final AtomicLong spilledMemory = new AtomicLong();
+    private final Set<MappedMemoryBlock> spilledBlocks = ConcurrentHashMap.newKeySet();
+
+    public SpillingBlockAllocatorDecorator( OffHeapBlockAllocator impl, long maxMemory, File spillDirectory, Log log )
+    {
+        this.impl = requireNonNull( impl );
+        this.maxMemory = requirePositive( maxMemory );
+        this.spillDirectory = requireNonNull( spillDirectory );
+        this.log = requireNonNull( log );
+    }
+
+    @Override
+    public MemoryBlock allocate( long size, MemoryAllocationTracker tracker )
+    {
+        while ( true )
+        {
+            final long usedMemoryBefore = usedMemory.get();
+            final long usedMemoryAfter = usedMemoryBefore + size;
+            if ( usedMemoryAfter > maxMemory )
+            {
+                return spill( size, tracker );
+            }
+            if ( usedMemory.compareAndSet( usedMemoryBefore, usedMemoryAfter ) )
+            {
+                break;
+            }
+        }
+        try
+        {
+            return impl.allocate( size, tracker );
+        }
+        catch ( Throwable t )
+        {
+            usedMemory.addAndGet( -size );
+            throw t;
+        }
+    }
+
+    @Override
+    public void free( MemoryBlock block, MemoryAllocationTracker tracker )
+    {
+        if ( block instanceof MappedMemoryBlock )
+        {
+            final MappedMemoryBlock mappedBlock = (MappedMemoryBlock) block;
+            if ( spilledBlocks.remove( mappedBlock ) )
+            {
+                spilledMemory.addAndGet( -mappedBlock.size );
+                unmap( mappedBlock );
+            }
+            return;
+        }
+        try
+        {
+            impl.free( block, tracker );
+        }
+        finally
+        {
+            usedMemory.addAndGet( -block.size );
+        }
+    }
+
+    @Override
+    public void release()
+    {
+        try
+        {
+            impl.release();
+        }
+        finally
+        {
+            usedMemory.set( 0 );
+            for ( MappedMemoryBlock block : spilledBlocks )
+            {
+                if ( spilledBlocks.remove( block ) )
+                {
+                    unmap( block );
+                }
+            }
+            spilledMemory.set( 0 );
+        }
+    }
+
+    /**
+     * @return number of bytes currently backed by spill files rather than by memory allocated by the decorated allocator.
+     */
+    public long spilledMemory()
+    {
+        return spilledMemory.get();
+    }
+
+    private MemoryBlock spill( long size, MemoryAllocationTracker tracker )
+    {
+        if ( size > Integer.MAX_VALUE )
+        {
+            throw new RuntimeException( format( "Can't allocate %d bytes due to exceeding memory limit and block being too large to spill to disk; " +
+                    "used=%d, max=%d", size, usedMemory.get(), maxMemory ) );
+        }
+        try
+        {
+            if ( !spillDirectory.exists() && !spillDirectory.mkdirs() && !spillDirectory.exists() )
+            {
+                throw new IOException( "Unable to create transaction state spill directory " + spillDirectory );
+            }
+            final File file = File.createTempFile( "tx-state-", ".spill", spillDirectory );
+            final MappedByteBuffer buffer;
+            try ( RandomAccessFile raf = new RandomAccessFile( file, "rw" ) )
+            {
+                raf.setLength( size );
+                buffer = raf.getChannel().map( FileChannel.MapMode.READ_WRITE, 0, size );
+            }
+            // The mapping stays valid after the channel is closed. Deleting the file right away means it can't be leaked
+            // by a crash, on platforms that allow it. Otherwise it's deleted when the block is freed.
+            final boolean deleted = file.delete();
+            final MappedMemoryBlock block = new MappedMemoryBlock( buffer, size, deleted ? null : file, tracker );
+            spilledBlocks.add( block );
+            spilledMemory.addAndGet( size );
+            tracker.allocated( size );
+            return block;
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( format( "Can't spill %d bytes of transaction state to disk", size ), e );
+        }
+    }
+
+    private void unmap( MappedMemoryBlock block )
+    {
+        block.tracker.deallocated( block.size );
+        try
+        {
+            UnsafeUtil.invokeCleaner( block.buffer );
+        }
+        catch ( Throwable t )
+        {
+            log.warn( format( "Unable to unmap %d bytes of spilled transaction state, the mapping is released when it's garbage collected instead",
+                    block.size ), t );
+        }
+        if ( block.file != null && !block.file.delete() )
+        {
+            log.warn( "Unable to delete transaction state spill file %s", block.file );
+        }
+    }
+
+    static class MappedMemoryBlock extends MemoryBlock
+    {
+        private final MappedByteBuffer buffer;
+        private final File file;
+        private final MemoryAllocationTracker tracker;
+
+        MappedMemoryBlock( MappedByteBuffer buffer, long size, File file, MemoryAllocationTracker tracker )
+        {
+            super( UnsafeUtil.getDirectByteBufferAddress( buffer ), size, UnsafeUtil.getDirectByteBufferAddress( buffer ), size );
+            this.buffer = buffer;
+            this.file = file;
+            this.tracker = tracker;
+        }
+    }
+}
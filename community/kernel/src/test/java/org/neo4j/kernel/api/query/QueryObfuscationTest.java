@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.query;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class QueryObfuscationTest
+{
+    @Test
+    public void shouldObfuscatePasswordLiterals()
+    {
+        Set<String> passwordParams = new HashSet<>();
+        assertEquals( "CALL dbms.security.changePassword('******')",
+                QueryObfuscation.obfuscateText( "CALL dbms.security.changePassword('abc123')", passwordParams ) );
+        assertEquals( "call dbms.security.createUser('user', '******', false)",
+                QueryObfuscation.obfuscateText( "call dbms.security.createUser('user', 'abc123', false)", passwordParams ) );
+        assertTrue( passwordParams.isEmpty() );
+    }
+
+    @Test
+    public void shouldCollectPasswordParameters()
+    {
+        Set<String> passwordParams = new HashSet<>();
+        String query = "CALL dbms.changePassword($password)";
+        assertEquals( query, QueryObfuscation.obfuscateText( query, passwordParams ) );
+        assertEquals( singleton( "password" ), passwordParams );
+    }
+
+    @Test
+    public void shouldReturnQueriesWithoutPasswordProceduresAsIs()
+    {
+        Set<String> passwordParams = new HashSet<>();
+        String query = "MATCH (n {password: 'abc123'}) CALL db.changePassword('abc123') RETURN n";
+        assertSame( query, QueryObfuscation.obfuscateText( query, passwordParams ) );
+        assertTrue( passwordParams.isEmpty() );
+    }
+}
@@ -39,6 +39,7 @@ import org.neo4j.kernel.api.schema.LabelSchemaDescriptor;
 import org.neo4j.kernel.api.schema.SchemaDescriptorFactory;
 import org.neo4j.kernel.api.schema.index.TestIndexDescriptorFactory;
 import org.neo4j.kernel.impl.api.SchemaState;
+import org.neo4j.kernel.impl.api.index.sampling.IndexValueSketches;
 import org.neo4j.logging.NullLogProvider;
 import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
@@ -78,7 +79,7 @@ public class IndexPopulationTest
 
     private OnlineIndexProxy onlineIndexProxy( IndexStoreView storeView )
     {
-        return new OnlineIndexProxy( dummyMeta(), IndexAccessor.EMPTY, storeView, false );
+        return new OnlineIndexProxy( dummyMeta(), IndexAccessor.EMPTY, storeView, new IndexValueSketches(), false );
     }
 
     private FailedIndexProxy failedIndexProxy( IndexStoreView storeView, IndexPopulator.Adapter populator )
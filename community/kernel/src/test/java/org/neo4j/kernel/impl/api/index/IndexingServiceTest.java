@@ -44,6 +44,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -117,6 +119,7 @@ import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
@@ -846,6 +849,127 @@ public class IndexingServiceTest
         verify( updater2 ).close();
     }
 
+    @Test
+    public void applicationOfUpdatesToSeveralIndexesInParallelShouldProcessInOrderPerIndexAndCloseUpdaters() throws Exception
+    {
+        // Given
+        long indexId1 = 1;
+        long indexId2 = 2;
+
+        int labelId1 = 24;
+        int labelId2 = 42;
+
+        StoreIndexDescriptor index1 = storeIndex( indexId1, labelId1, propertyKeyId, PROVIDER_DESCRIPTOR );
+        StoreIndexDescriptor index2 = storeIndex( indexId2, labelId2, propertyKeyId, PROVIDER_DESCRIPTOR );
+
+        IndexingService indexing = newIndexingServiceWithMockedDependencies( populator, accessor, withData(), IndexingService.NO_MONITOR,
+                Config.defaults( GraphDatabaseSettings.index_updates_parallel_threshold, "1" ) );
+
+        IndexAccessor accessor1 = mock( IndexAccessor.class );
+        IndexUpdater updater1 = mock( IndexUpdater.class );
+        when( accessor1.newUpdater( any( IndexUpdateMode.class ) ) ).thenReturn( updater1 );
+
+        IndexAccessor accessor2 = mock( IndexAccessor.class );
+        IndexUpdater updater2 = mock( IndexUpdater.class );
+        when( accessor2.newUpdater( any( IndexUpdateMode.class ) ) ).thenReturn( updater2 );
+
+        when( indexProvider.getOnlineAccessor( eq( index1 ), any( IndexSamplingConfig.class ) ) ).thenReturn( accessor1 );
+        when( indexProvider.getOnlineAccessor( eq( index2 ), any( IndexSamplingConfig.class ) ) ).thenReturn( accessor2 );
+
+        life.start();
+
+        indexing.createIndexes( index1 );
+        indexing.createIndexes( index2 );
+
+        waitForIndexesToComeOnline( indexing, indexId1, indexId2 );
+
+        verify( populator, timeout( 10000 ).times( 2 ) ).close( true );
+
+        // When
+        indexing.apply( updates( asList(
+                add( 1, "foo", labelId1 ),
+                add( 2, "bar", labelId2 ),
+                add( 3, "baz", labelId1 ),
+                add( 4, "qux", labelId2 ) ) ) );
+
+        // Then
+        InOrder inOrder1 = inOrder( updater1 );
+        inOrder1.verify( updater1 ).process( add( 1, "foo", labelId1 ) );
+        inOrder1.verify( updater1 ).process( add( 3, "baz", labelId1 ) );
+        inOrder1.verify( updater1 ).close();
+        InOrder inOrder2 = inOrder( updater2 );
+        inOrder2.verify( updater2 ).process( add( 2, "bar", labelId2 ) );
+        inOrder2.verify( updater2 ).process( add( 4, "qux", labelId2 ) );
+        inOrder2.verify( updater2 ).close();
+    }
+
+    @Test
+    public void shouldApplyTheIndexWithMostUpdatesOnTheCommittingThreadAndOnlyGoParallelWithEnoughOtherUpdates() throws Exception
+    {
+        // Given
+        long indexId1 = 1;
+        long indexId2 = 2;
+
+        int labelId1 = 24;
+        int labelId2 = 42;
+
+        StoreIndexDescriptor index1 = storeIndex( indexId1, labelId1, propertyKeyId, PROVIDER_DESCRIPTOR );
+        StoreIndexDescriptor index2 = storeIndex( indexId2, labelId2, propertyKeyId, PROVIDER_DESCRIPTOR );
+
+        IndexingService indexing = newIndexingServiceWithMockedDependencies( populator, accessor, withData(), IndexingService.NO_MONITOR,
+                Config.defaults( GraphDatabaseSettings.index_updates_parallel_threshold, "2" ) );
+
+        Set<Thread> threads1 = ConcurrentHashMap.newKeySet();
+        IndexAccessor accessor1 = mock( IndexAccessor.class );
+        IndexUpdater updater1 = mock( IndexUpdater.class );
+        doAnswer( invocation -> threads1.add( Thread.currentThread() ) ).when( updater1 ).process( any() );
+        when( accessor1.newUpdater( any( IndexUpdateMode.class ) ) ).thenReturn( updater1 );
+
+        Set<Thread> threads2 = ConcurrentHashMap.newKeySet();
+        IndexAccessor accessor2 = mock( IndexAccessor.class );
+        IndexUpdater updater2 = mock( IndexUpdater.class );
+        doAnswer( invocation -> threads2.add( Thread.currentThread() ) ).when( updater2 ).process( any() );
+        when( accessor2.newUpdater( any( IndexUpdateMode.class ) ) ).thenReturn( updater2 );
+
+        when( indexProvider.getOnlineAccessor( eq( index1 ), any( IndexSamplingConfig.class ) ) ).thenReturn( accessor1 );
+        when( indexProvider.getOnlineAccessor( eq( index2 ), any( IndexSamplingConfig.class ) ) ).thenReturn( accessor2 );
+
+        life.start();
+
+        indexing.createIndexes( index1 );
+        indexing.createIndexes( index2 );
+
+        waitForIndexesToComeOnline( indexing, indexId1, indexId2 );
+
+        verify( populator, timeout( 10000 ).times( 2 ) ).close( true );
+
+        // When one index dominates the batch
+        indexing.apply( updates( asList(
+                add( 1, "foo", labelId2 ),
+                add( 2, "bar", labelId1 ),
+                add( 3, "baz", labelId1 ),
+                add( 4, "qux", labelId1 ) ) ) );
+
+        // Then everything is applied by the committing thread
+        assertEquals( asSet( Thread.currentThread() ), threads1 );
+        assertEquals( asSet( Thread.currentThread() ), threads2 );
+
+        // When there are enough updates to other indexes
+        threads1.clear();
+        threads2.clear();
+        indexing.apply( updates( asList(
+                add( 5, "foo", labelId2 ),
+                add( 6, "bar", labelId2 ),
+                add( 7, "baz", labelId1 ),
+                add( 8, "qux", labelId1 ),
+                add( 9, "quux", labelId1 ) ) ) );
+
+        // Then the index with most updates is still applied by the committing thread, and the other one in parallel
+        assertEquals( asSet( Thread.currentThread() ), threads1 );
+        assertEquals( 1, threads2.size() );
+        assertFalse( threads2.contains( Thread.currentThread() ) );
+    }
+
     private void waitForIndexesToComeOnline( IndexingService indexing, long... indexRuleIds )
             throws IndexNotFoundKernelException
     {
@@ -1375,7 +1499,7 @@ public class IndexingServiceTest
         IndexingService.Monitor monitor = mock( IndexingService.Monitor.class );
         IndexingService indexingService =
                 new IndexingService( indexProxyCreator, indexProviderMap, indexMapReference, null, schemaRules, samplingController, idTokenNameLookup,
-                        scheduler, null, multiPopulatorFactory, logProvider, logProvider, monitor, false );
+                        scheduler, null, multiPopulatorFactory, logProvider, logProvider, monitor, false, 0 );
         // and where index population starts
         indexingService.init();
 
@@ -1501,6 +1625,16 @@ public class IndexingServiceTest
                                                                       DataUpdates data,
                                                                       IndexingService.Monitor monitor,
                                                                       StoreIndexDescriptor... rules ) throws IOException
+    {
+        return newIndexingServiceWithMockedDependencies( populator, accessor, data, monitor, Config.defaults(), rules );
+    }
+
+    private IndexingService newIndexingServiceWithMockedDependencies( IndexPopulator populator,
+                                                                      IndexAccessor accessor,
+                                                                      DataUpdates data,
+                                                                      IndexingService.Monitor monitor,
+                                                                      Config config,
+                                                                      StoreIndexDescriptor... rules ) throws IOException
     {
         when( indexProvider.getInitialState( any( StoreIndexDescriptor.class ) ) ).thenReturn( ONLINE );
         when( indexProvider.getProviderDescriptor() ).thenReturn( PROVIDER_DESCRIPTOR );
@@ -1515,7 +1649,7 @@ public class IndexingServiceTest
         when( nameLookup.labelGetName( anyInt() ) ).thenAnswer( new NameLookupAnswer( "label" ) );
         when( nameLookup.propertyKeyGetName( anyInt() ) ).thenAnswer( new NameLookupAnswer( "property" ) );
 
-        Config config = Config.defaults( multi_threaded_schema_index_population_enabled, "false" );
+        config.augment( multi_threaded_schema_index_population_enabled, "false" );
         config.augment( GraphDatabaseSettings.default_schema_provider, PROVIDER_DESCRIPTOR.name() );
 
         DefaultIndexProviderMap providerMap = life.add( new DefaultIndexProviderMap( buildIndexDependencies( indexProvider ), config ) );
@@ -1690,7 +1824,7 @@ public class IndexingServiceTest
                 indexMapReference, mock( IndexStoreView.class ), Collections.emptyList(),
                 mock( IndexSamplingController.class ), mock( TokenNameLookup.class ),
                 mock( JobScheduler.class ), mock( SchemaState.class ), mock( MultiPopulatorFactory.class ),
-                internalLogProvider, userLogProvider, IndexingService.NO_MONITOR, false );
+                internalLogProvider, userLogProvider, IndexingService.NO_MONITOR, false, 0 );
     }
 
     private static DependencyResolver buildIndexDependencies( IndexProvider provider )
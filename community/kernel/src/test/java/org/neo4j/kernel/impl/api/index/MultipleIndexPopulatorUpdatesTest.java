@@ -55,6 +55,7 @@ import org.neo4j.kernel.impl.util.Listener;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.storageengine.api.StorageNodeCursor;
+import org.neo4j.storageengine.api.StoragePropertyCursor;
 import org.neo4j.storageengine.api.StorageReader;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
@@ -192,10 +193,11 @@ public class MultipleIndexPopulatorUpdatesTest
         }
 
         @Override
-        public boolean process( StorageNodeCursor cursor ) throws FAILURE
+        public boolean process( StorageNodeCursor cursor, StoragePropertyCursor propertyCursor,
+                Visitor<EntityUpdates,FAILURE> propertyUpdatesVisitor ) throws FAILURE
         {
             processListener.receive( cursor );
-            return super.process( cursor );
+            return super.process( cursor, propertyCursor, propertyUpdatesVisitor );
         }
     }
 }
@@ -29,6 +29,7 @@ import java.io.IOException;
 import org.neo4j.internal.kernel.api.schema.IndexProviderDescriptor;
 import org.neo4j.kernel.api.index.IndexAccessor;
 import org.neo4j.kernel.api.schema.index.TestIndexDescriptorFactory;
+import org.neo4j.kernel.impl.api.index.sampling.IndexValueSketches;
 import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 
@@ -49,7 +50,7 @@ public class OnlineIndexProxyTest
     {
         // given
         CapableIndexDescriptor capableIndexDescriptor = descriptor.withId( indexId ).withoutCapabilities();
-        OnlineIndexProxy index = new OnlineIndexProxy( capableIndexDescriptor, accessor, storeView, false );
+        OnlineIndexProxy index = new OnlineIndexProxy( capableIndexDescriptor, accessor, storeView, new IndexValueSketches(), false );
 
         // when
         index.drop();
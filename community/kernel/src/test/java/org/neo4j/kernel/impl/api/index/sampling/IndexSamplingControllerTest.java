@@ -182,7 +182,8 @@ public class IndexSamplingControllerTest
         };
 
         final IndexSamplingController controller = new IndexSamplingController(
-                samplingConfig, jobFactory, jobQueue, tracker, snapshotProvider, scheduler, always( false ), logProvider );
+                samplingConfig, jobFactory, jobQueue, tracker, snapshotProvider, scheduler, always( false ), logProvider,
+                new IndexValueSketches(), new IndexValueHistograms() );
         when( tracker.canExecuteMoreSamplingJobs() ).thenReturn( true );
         when( indexProxy.getState() ).thenReturn( ONLINE );
 
@@ -278,7 +279,7 @@ public class IndexSamplingControllerTest
 
         final IndexSamplingController controller = new IndexSamplingController(
                 samplingConfig, jobFactory, jobQueue, tracker, snapshotProvider, scheduler, always( true ),
-                logProvider );
+                logProvider, new IndexValueSketches(), new IndexValueHistograms() );
         when( tracker.canExecuteMoreSamplingJobs() ).thenReturn( true );
         when( indexProxy.getState() ).thenReturn( ONLINE );
 
@@ -506,7 +507,8 @@ public class IndexSamplingControllerTest
 
     private IndexSamplingController newSamplingController( IndexSamplingController.RecoveryCondition recoveryPredicate, LogProvider logProvider )
     {
-        return new IndexSamplingController( samplingConfig, jobFactory, jobQueue, tracker, snapshotProvider, scheduler, recoveryPredicate, logProvider );
+        return new IndexSamplingController( samplingConfig, jobFactory, jobQueue, tracker, snapshotProvider, scheduler, recoveryPredicate, logProvider,
+                new IndexValueSketches(), new IndexValueHistograms() );
     }
 
     private Runnable runController( final IndexSamplingController controller, final IndexSamplingMode mode )
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.index.sampling;
+
+import org.junit.Test;
+
+import org.neo4j.kernel.api.schema.LabelSchemaDescriptor;
+import org.neo4j.kernel.api.schema.SchemaDescriptorFactory;
+import org.neo4j.storageengine.api.schema.IndexSample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.kernel.api.index.IndexEntryUpdate.add;
+import static org.neo4j.kernel.api.index.IndexEntryUpdate.change;
+import static org.neo4j.kernel.api.index.IndexEntryUpdate.remove;
+import static org.neo4j.values.storable.Values.intValue;
+import static org.neo4j.values.storable.Values.longValue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+public class IndexValueSketchTest
+{
+    private final LabelSchemaDescriptor schema = SchemaDescriptorFactory.forLabel( 1, 2 );
+
+    @Test
+    public void shouldSampleNothing()
+    {
+        // given
+        IndexValueSketch sketch = new IndexValueSketch();
+
+        // then
+        assertSample( sketch.sample(), 0, 0 );
+    }
+
+    @Test
+    public void shouldEstimateDistinctValuesOfSeed()
+    {
+        // given
+        IndexValueSketch sketch = new IndexValueSketch();
+
+        // when
+        for ( int i = 0; i < 100_000; i++ )
+        {
+            sketch.include( 3, stringValue( "value" + i ) );
+        }
+
+        // then
+        IndexSample sample = sketch.sample();
+        assertEquals( 300_000, sample.indexSize() );
+        assertEquals( 300_000, sample.sampleSize() );
+        assertWithinError( 100_000, sample.uniqueValues() );
+    }
+
+    @Test
+    public void shouldCountSmallNumberOfDistinctValuesExactly()
+    {
+        // given
+        IndexValueSketch sketch = new IndexValueSketch();
+
+        // when
+        for ( int i = 0; i < 1000; i++ )
+        {
+            sketch.update( add( i, schema, intValue( i % 10 ) ) );
+        }
+
+        // then
+        assertSample( sketch.sample(), 1000, 10 );
+    }
+
+    @Test
+    public void shouldTreatEqualNumbersOfDifferentTypesAsSameValue()
+    {
+        // given
+        IndexValueSketch sketch = new IndexValueSketch();
+
+        // when
+        sketch.update( add( 1, schema, intValue( 42 ) ) );
+        sketch.update( add( 2, schema, longValue( 42 ) ) );
+
+        // then
+        assertSample( sketch.sample(), 2, 1 );
+    }
+
+    @Test
+    public void shouldKeepSizeUpToDateWithUpdates()
+    {
+        // given
+        IndexValueSketch sketch = new IndexValueSketch();
+        sketch.include( 10, stringValue( "a" ) );
+
+        // when
+        sketch.update( add( 11, schema, stringValue( "b" ) ) );
+        sketch.update( change( 1, schema, stringValue( "a" ), stringValue( "c" ) ) );
+        sketch.update( remove( 2, schema, stringValue( "a" ) ) );
+
+        // then
+        assertSample( sketch.sample(), 10, 3 );
+    }
+
+    @Test
+    public void shouldNeverEstimateMoreDistinctValuesThanEntries()
+    {
+        // given
+        IndexValueSketch sketch = new IndexValueSketch();
+        for ( int i = 0; i < 10; i++ )
+        {
+            sketch.update( add( i, schema, intValue( i ) ) );
+        }
+
+        // when
+        for ( int i = 0; i < 5; i++ )
+        {
+            sketch.update( remove( i, schema, intValue( i ) ) );
+        }
+
+        // then
+        assertSample( sketch.sample(), 5, 5 );
+    }
+
+    @Test
+    public void shouldNeedFullScanWhenEnoughEntriesHaveBeenRemoved()
+    {
+        // given
+        IndexValueSketch sketch = new IndexValueSketch();
+        sketch.include( 100, stringValue( "a" ) );
+        for ( int i = 0; i < 100; i++ )
+        {
+            sketch.update( add( i, schema, intValue( i ) ) );
+        }
+        assertFalse( sketch.needsFullScan( 0.05 ) );
+
+        // when
+        for ( int i = 0; i < 11; i++ )
+        {
+            sketch.update( remove( i, schema, intValue( i ) ) );
+        }
+
+        // then
+        assertFalse( sketch.needsFullScan( 0.1 ) );
+        assertTrue( sketch.needsFullScan( 0.05 ) );
+    }
+
+    private static void assertSample( IndexSample sample, long indexSize, long uniqueValues )
+    {
+        assertEquals( indexSize, sample.indexSize() );
+        assertEquals( uniqueValues, sample.uniqueValues() );
+        assertEquals( indexSize, sample.sampleSize() );
+    }
+
+    private static void assertWithinError( long expected, long actual )
+    {
+        // Three times the standard error of the estimator
+        double error = 3 * 1.04 / Math.sqrt( 1 << IndexValueSketch.PRECISION );
+        assertTrue( "Expected about " + expected + " but was " + actual, Math.abs( actual - expected ) <= expected * error );
+    }
+}
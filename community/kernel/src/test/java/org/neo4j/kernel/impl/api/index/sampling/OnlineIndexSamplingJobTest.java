@@ -25,25 +25,44 @@ package org.neo4j.kernel.impl.api.index.sampling;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.neo4j.internal.kernel.api.IndexCapability;
+import org.neo4j.internal.kernel.api.IndexOrder;
+import org.neo4j.internal.kernel.api.IndexQuery;
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
 import org.neo4j.internal.kernel.api.schema.IndexProviderDescriptor;
 import org.neo4j.kernel.impl.api.index.IndexProxy;
 import org.neo4j.kernel.impl.api.index.IndexStoreView;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.logging.NullLogProvider;
+import org.neo4j.storageengine.api.NodePropertyAccessor;
 import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
+import org.neo4j.storageengine.api.schema.IndexProgressor;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.IndexSample;
 import org.neo4j.storageengine.api.schema.IndexSampler;
+import org.neo4j.storageengine.api.schema.IndexValueHistogram;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueCategory;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.neo4j.internal.kernel.api.IndexValueCapability.YES;
 import static org.neo4j.internal.kernel.api.InternalIndexState.FAILED;
 import static org.neo4j.internal.kernel.api.InternalIndexState.ONLINE;
 import static org.neo4j.kernel.api.schema.SchemaDescriptorFactory.forLabel;
 import static org.neo4j.storageengine.api.schema.IndexDescriptorFactory.forSchema;
+import static org.neo4j.values.storable.Values.stringValue;
 
 public class OnlineIndexSamplingJobTest
 {
@@ -76,6 +95,138 @@ public class OnlineIndexSamplingJobTest
         verifyNoMoreInteractions( indexStoreView );
     }
 
+    @Test
+    public void shouldSeedSketchWithAllValuesAndThenSampleFromItWithoutReadingTheIndex()
+    {
+        // given
+        IndexValueSketches sketches = new IndexValueSketches();
+        givenIndexProvidingValues( new Object[]{3L, stringValue( "a" )}, new Object[]{2L, stringValue( "b" )} );
+        OnlineIndexSamplingJob job = new OnlineIndexSamplingJob( indexId, indexProxy, indexStoreView, "Foo", logProvider, sketches, null, 0.05 );
+        when( indexProxy.getState() ).thenReturn( ONLINE );
+
+        // when
+        job.run();
+        job.run();
+
+        // then
+        verify( indexStoreView, times( 2 ) ).replaceIndexCounts( indexId, 2, 5, 5 );
+        verify( indexReader, times( 1 ) ).distinctValues( any(), any(), anyBoolean() );
+        verify( indexReader, never() ).createSampler();
+    }
+
+    @Test
+    public void shouldSampleWholeIndexIfItDoesNotProvideAllValues()
+    {
+        // given
+        IndexValueSketches sketches = new IndexValueSketches();
+        givenIndexProvidingValues( new Object[]{3L, stringValue( "a" )}, new Object[]{2L, null} );
+        OnlineIndexSamplingJob job = new OnlineIndexSamplingJob( indexId, indexProxy, indexStoreView, "Foo", logProvider, sketches, null, 0.05 );
+        when( indexProxy.getState() ).thenReturn( ONLINE );
+
+        // when
+        job.run();
+
+        // then
+        verify( indexStoreView ).replaceIndexCounts( indexId, indexUniqueValues, indexSize, indexSize );
+        assertNull( sketches.sketch( indexId ) );
+    }
+
+    @Test
+    public void shouldBuildHistogramFromAllValuesWhileSampling()
+    {
+        // given
+        IndexValueHistograms histograms = new IndexValueHistograms();
+        givenIndexProvidingValues( new Object[]{3L, stringValue( "a" )}, new Object[]{2L, stringValue( "b" )} );
+        OnlineIndexSamplingJob job = new OnlineIndexSamplingJob( indexId, indexProxy, indexStoreView, "Foo", logProvider, null, histograms, 0.05 );
+        when( indexProxy.getState() ).thenReturn( ONLINE );
+
+        // when
+        job.run();
+
+        // then
+        verify( indexStoreView ).replaceIndexCounts( indexId, 2, 5, 5 );
+        verify( indexReader, never() ).createSampler();
+        IndexValueHistogram histogram = histograms.histogram( indexId );
+        assertEquals( 5, histogram.size() );
+        assertEquals( 0.6, histogram.equalitySelectivity( stringValue( "a" ) ), 0.0 );
+    }
+
+    @Test
+    public void shouldRebuildHistogramEachTimeTheIndexIsSampledAlsoWhenItHasASketch()
+    {
+        // given
+        IndexValueSketches sketches = new IndexValueSketches();
+        IndexValueHistograms histograms = new IndexValueHistograms();
+        givenIndexProvidingValues( new Object[]{3L, stringValue( "a" )}, new Object[]{2L, stringValue( "b" )} );
+        OnlineIndexSamplingJob job = new OnlineIndexSamplingJob( indexId, indexProxy, indexStoreView, "Foo", logProvider, sketches, histograms, 0.05 );
+        when( indexProxy.getState() ).thenReturn( ONLINE );
+        job.run();
+        IndexValueHistogram first = histograms.histogram( indexId );
+
+        // when
+        givenIndexProvidingValues( new Object[]{1L, stringValue( "a" )}, new Object[]{9L, stringValue( "b" )} );
+        job.run();
+
+        // then
+        verify( indexReader, times( 2 ) ).distinctValues( any(), any(), anyBoolean() );
+        verify( indexStoreView ).replaceIndexCounts( indexId, 2, 10, 10 );
+        IndexValueHistogram second = histograms.histogram( indexId );
+        assertNotSame( first, second );
+        assertEquals( 10, second.size() );
+        assertEquals( 0.1, second.equalitySelectivity( stringValue( "a" ) ), 0.0 );
+    }
+
+    @Test
+    public void shouldNotBuildHistogramForIndexNotProvidingAllValues()
+    {
+        // given
+        IndexValueHistograms histograms = new IndexValueHistograms();
+        OnlineIndexSamplingJob job = new OnlineIndexSamplingJob( indexId, indexProxy, indexStoreView, "Foo", logProvider, null, histograms, 0.05 );
+        when( indexProxy.getState() ).thenReturn( ONLINE );
+
+        // when
+        job.run();
+
+        // then
+        verify( indexStoreView ).replaceIndexCounts( indexId, indexUniqueValues, indexSize, indexSize );
+        assertSame( IndexValueHistogram.EMPTY, histograms.histogram( indexId ) );
+    }
+
+    private void givenIndexProvidingValues( Object[]... countsAndValues )
+    {
+        IndexCapability capability = mock( IndexCapability.class );
+        when( capability.valueCapability( any( ValueCategory.class ) ) ).thenReturn( YES );
+        when( indexProxy.getDescriptor() ).thenReturn( new CapableIndexDescriptor( forSchema( forLabel( 1, 2 ) ).withId( indexId ), capability ) );
+        doAnswer( invocation ->
+        {
+            IndexProgressor.NodeValueClient client = invocation.getArgument( 0 );
+            client.initialize( indexDescriptor, new IndexProgressor()
+            {
+                private int next;
+
+                @Override
+                public boolean next()
+                {
+                    while ( next < countsAndValues.length )
+                    {
+                        Object[] countAndValue = countsAndValues[next++];
+                        if ( client.acceptNode( (Long) countAndValue[0], (Value) countAndValue[1] ) )
+                        {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+
+                @Override
+                public void close()
+                {
+                }
+            }, new IndexQuery[0], IndexOrder.NONE, true );
+            return null;
+        } ).when( indexReader ).distinctValues( any( IndexProgressor.NodeValueClient.class ), any( NodePropertyAccessor.class ), anyBoolean() );
+    }
+
     private final LogProvider logProvider = NullLogProvider.getInstance();
     private final long indexId = 1;
     private final IndexProxy indexProxy = mock( IndexProxy.class );
@@ -54,10 +54,14 @@ import org.neo4j.test.Barrier;
 import org.neo4j.test.Race;
 import org.neo4j.test.rule.PageCacheAndDependenciesRule;
 import org.neo4j.test.rule.concurrent.OtherThreadRule;
+import org.neo4j.util.FeatureToggles;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.neo4j.kernel.api.index.IndexDirectoryStructure.directoriesByProvider;
 import static org.neo4j.kernel.api.index.IndexProvider.Monitor.EMPTY;
 import static org.neo4j.kernel.impl.api.index.PhaseTracker.nullInstance;
@@ -343,6 +347,52 @@ public class BlockBasedIndexPopulatorTest
         }
     }
 
+    @Test
+    public void shouldUseFullFillFactorByDefault()
+    {
+        assertEquals( 1, BlockBasedIndexPopulator.parseFillFactor(), 0 );
+    }
+
+    @Test
+    public void shouldParseFillFactorInRange()
+    {
+        for ( double fillFactor : new double[]{0.5, 0.75, 1} )
+        {
+            FeatureToggles.set( BlockBasedIndexPopulator.class, BlockBasedIndexPopulator.FILL_FACTOR_NAME, fillFactor );
+            try
+            {
+                assertEquals( fillFactor, BlockBasedIndexPopulator.parseFillFactor(), 0 );
+            }
+            finally
+            {
+                FeatureToggles.clear( BlockBasedIndexPopulator.class, BlockBasedIndexPopulator.FILL_FACTOR_NAME );
+            }
+        }
+    }
+
+    @Test
+    public void shouldRejectFillFactorOutOfRange()
+    {
+        for ( double fillFactor : new double[]{0, 0.49, 1.01, 2} )
+        {
+            FeatureToggles.set( BlockBasedIndexPopulator.class, BlockBasedIndexPopulator.FILL_FACTOR_NAME, fillFactor );
+            try
+            {
+                BlockBasedIndexPopulator.parseFillFactor();
+                fail( "Should have rejected fill factor " + fillFactor );
+            }
+            catch ( IllegalArgumentException e )
+            {
+                // good
+                assertThat( e.getMessage(), containsString( Double.toString( fillFactor ) ) );
+            }
+            finally
+            {
+                FeatureToggles.clear( BlockBasedIndexPopulator.class, BlockBasedIndexPopulator.FILL_FACTOR_NAME );
+            }
+        }
+    }
+
     private void externalUpdates( BlockBasedIndexPopulator<GenericKey,NativeIndexValue> populator, int firstId, int lastId )
             throws IndexEntryConflictException
     {
@@ -628,6 +628,38 @@ class GenericKeyTest
                         "left=" + leftValue + ", right=" + rightValue );
     }
 
+    @Test
+    void minimalSplitterShouldTruncateStatesAfterFirstStateToDifferCompositeKey()
+    {
+        // Given composite keys that differ in the first slot, but not in how long the values in the trailing slots are
+        GenericLayout layout = newLayout( 3 );
+        GenericKey left = layout.newKey();
+        GenericKey right = layout.newKey();
+        GenericKey minimalSplitter = layout.newKey();
+        left.initialize( 1 );
+        right.initialize( 2 );
+        left.initFromValue( 0, Values.stringValue( "tenant-1" ), NEUTRAL );
+        left.initFromValue( 1, Values.stringValue( "a rather long name, shared by left and right" ), NEUTRAL );
+        left.initFromValue( 2, intArray( new int[]{1, 2, 3, 4, 5, 6, 7, 8} ), NEUTRAL );
+        right.initFromValue( 0, Values.stringValue( "tenant-2" ), NEUTRAL );
+        right.initFromValue( 1, Values.stringValue( "a rather long name, shared by left and right" ), NEUTRAL );
+        right.initFromValue( 2, intArray( new int[]{1, 2, 3, 4, 5, 6, 7, 8} ), NEUTRAL );
+
+        // When creating minimal splitter
+        layout.minimalSplitter( left, right, minimalSplitter );
+
+        // Then it should still divide left and right, using only what's needed from the trailing slots
+        assertTrue( layout.compare( left, minimalSplitter ) < 0, "Expected minimal splitter to be strictly greater than left" );
+        assertTrue( layout.compare( minimalSplitter, right ) <= 0, "Expected right to be greater than or equal to minimal splitter" );
+        GenericKey onlyFirstSlot = layout.newKey();
+        onlyFirstSlot.initialize( NO_ENTITY_ID );
+        onlyFirstSlot.initFromValue( 0, Values.stringValue( "tenant-2" ), NEUTRAL );
+        onlyFirstSlot.initFromValue( 1, Values.stringValue( "" ), NEUTRAL );
+        onlyFirstSlot.initFromValue( 2, intArray( new int[0] ), NEUTRAL );
+        assertEquals( layout.keySize( onlyFirstSlot ), layout.keySize( minimalSplitter ) );
+        assertTrue( layout.keySize( minimalSplitter ) < layout.keySize( right ) );
+    }
+
     private void shouldReadBackToExactOriginalValue( Value srcValue )
     {
         // given
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.neo4j.kernel.api.index.IndexPopulator;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
+import org.neo4j.storageengine.api.schema.IndexDescriptorFactory;
+import org.neo4j.storageengine.api.schema.StoreIndexDescriptor;
+import org.neo4j.test.rule.PageCacheAndDependenciesRule;
+import org.neo4j.util.FeatureToggles;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertThat;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.kernel.api.index.IndexDirectoryStructure.directoriesByProvider;
+import static org.neo4j.kernel.api.index.IndexProvider.Monitor.EMPTY;
+import static org.neo4j.kernel.api.schema.SchemaDescriptorFactory.forLabel;
+import static org.neo4j.kernel.impl.index.schema.ByteBufferFactory.heapBufferFactory;
+
+public class GenericNativeIndexProviderTest
+{
+    private static final StoreIndexDescriptor DESCRIPTOR =
+            IndexDescriptorFactory.forSchema( forLabel( 1, 1 ), GenericNativeIndexProvider.DESCRIPTOR ).withId( 1 );
+
+    @Rule
+    public final PageCacheAndDependenciesRule rules = new PageCacheAndDependenciesRule();
+
+    @Test
+    public void shouldPopulateByInsertingByDefault()
+    {
+        // when
+        IndexPopulator populator = newPopulator();
+
+        // then
+        assertThat( populator, instanceOf( WorkSyncedNativeIndexPopulator.class ) );
+    }
+
+    @Test
+    public void shouldPopulateBlockBasedIfBlockBasedPopulationIsTurnedOn()
+    {
+        FeatureToggles.set( GenericNativeIndexPopulator.class, GenericNativeIndexProvider.BLOCK_BASED_POPULATION_NAME, true );
+        try
+        {
+            // when
+            IndexPopulator populator = newPopulator();
+
+            // then
+            assertThat( populator, instanceOf( BlockBasedIndexPopulator.class ) );
+        }
+        finally
+        {
+            FeatureToggles.clear( GenericNativeIndexPopulator.class, GenericNativeIndexProvider.BLOCK_BASED_POPULATION_NAME );
+        }
+    }
+
+    private IndexPopulator newPopulator()
+    {
+        GenericNativeIndexProvider provider = new GenericNativeIndexProvider( directoriesByProvider( rules.directory().absolutePath() ),
+                rules.pageCache(), rules.fileSystem(), EMPTY, immediate(), false, Config.defaults() );
+        IndexPopulator populator = provider.getPopulator( DESCRIPTOR, new IndexSamplingConfig( Config.defaults() ), heapBufferFactory( 1024 ) );
+        populator.create();
+        populator.close( true );
+        return populator;
+    }
+}
@@ -64,14 +64,18 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForCompositeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForScan;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSeek;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSeekAny;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesForSuffixOrContains;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForCompositeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeek;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForRangeSeekByPrefix;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForScan;
+import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForSeekAny;
 import static org.neo4j.kernel.impl.newapi.TxStateIndexChanges.indexUpdatesWithValuesForSuffixOrContains;
 import static org.neo4j.values.storable.Values.NO_VALUE;
 import static org.neo4j.values.storable.Values.stringValue;
@@ -172,6 +176,30 @@ class TxStateIndexChangesTest
         assertContains( changes.getAdded(), 43L );
     }
 
+    @Test
+    void shouldComputeIndexUpdatesForSeekAnyWhenThereAreNewAndRemovedNodes()
+    {
+        // GIVEN
+        final ReadableTransactionState state = new TxStateBuilder()
+                .withAdded( 42L, "foo" )
+                .withAdded( 43L, "bar" )
+                .withAdded( 44L, "baz" )
+                .withRemoved( 45L, "bar" )
+                .withRemoved( 46L, "qux" )
+                .build();
+        Value[] values = {stringValue( "bar" ), stringValue( "foo" ), stringValue( "missing" )};
+
+        // WHEN
+        AddedAndRemoved changes = indexUpdatesForSeekAny( state, index, values );
+        AddedWithValuesAndRemoved changesWithValues = indexUpdatesWithValuesForSeekAny( state, index, values );
+
+        // THEN
+        assertContains( changes.getAdded(), 42L, 43L );
+        assertContains( changes.getRemoved(), 45L );
+        assertContains( changesWithValues.getAdded(), nodeWithPropertyValues( 42L, "foo" ), nodeWithPropertyValues( 43L, "bar" ) );
+        assertContains( changesWithValues.getRemoved(), 45L );
+    }
+
     @TestFactory
     Collection<DynamicTest> rangeTests()
     {
@@ -670,6 +698,53 @@ class TxStateIndexChangesTest
             assertContains( indexUpdatesForSeek( state, compositeIndex, ValueTuple.of( 40.1, 40.2 ) ).getAdded(), 14L );
         }
 
+        @Test
+        void shouldComputeIndexUpdatesForCompositeSeekWithExactPrefixAndRange()
+        {
+            // GIVEN
+            ReadableTransactionState state = new TxStateBuilder()
+                    .withAdded( 42L, "tenant1", 10 )
+                    .withAdded( 43L, "tenant1", 20 )
+                    .withAdded( 44L, "tenant1", 30 )
+                    .withAdded( 45L, "tenant2", 20 )
+                    .withRemoved( 46L, "tenant1", 25 )
+                    .withRemoved( 47L, "tenant1", 5 )
+                    .build();
+            IndexQuery[] query = {IndexQuery.exact( 1, "tenant1" ), IndexQuery.range( 2, 15, true, null, false )};
+
+            // WHEN
+            AddedAndRemoved changes = indexUpdatesForCompositeSeek( state, compositeIndex, query, IndexOrder.NONE );
+            AddedWithValuesAndRemoved changesWithValues =
+                    indexUpdatesWithValuesForCompositeSeek( state, compositeIndex, query, IndexOrder.DESCENDING );
+
+            // THEN
+            assertContains( changes.getAdded(), 43L, 44L );
+            assertContains( changes.getRemoved(), 46L );
+            assertContainsInOrder( changesWithValues.getAdded(),
+                    nodeWithPropertyValues( 44L, "tenant1", 30 ),
+                    nodeWithPropertyValues( 43L, "tenant1", 20 ) );
+            assertContains( changesWithValues.getRemoved(), 46L );
+        }
+
+        @Test
+        void shouldComputeIndexUpdatesForCompositeSeekWithExactPrefixAndStringPrefix()
+        {
+            // GIVEN
+            ReadableTransactionState state = new TxStateBuilder()
+                    .withAdded( 42L, 1, "apa" )
+                    .withAdded( 43L, 1, "bepa" )
+                    .withAdded( 44L, 2, "apa" )
+                    .withAdded( 45L, 1, 100 )
+                    .build();
+            IndexQuery[] query = {IndexQuery.exact( 1, 1 ), IndexQuery.stringPrefix( 2, stringValue( "ap" ) )};
+
+            // WHEN
+            AddedAndRemoved changes = indexUpdatesForCompositeSeek( state, compositeIndex, query, IndexOrder.NONE );
+
+            // THEN
+            assertContains( changes.getAdded(), 42L );
+        }
+
     }
 
     private void assertContains( IndexOrder indexOrder,
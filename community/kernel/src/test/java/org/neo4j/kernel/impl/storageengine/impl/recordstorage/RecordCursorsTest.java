@@ -45,7 +45,7 @@ class RecordCursorsTest
         PageCursor pageCursor = mock( PageCursor.class );
         when( store.openPageCursorForReading( anyLong() ) ).thenReturn( pageCursor );
 
-        try ( RecordNodeCursor cursor = new RecordNodeCursor( store ) )
+        try ( RecordNodeCursor cursor = new RecordNodeCursor( store, mock( RelationshipStore.class ) ) )
         {
             cursor.single( 0 );
         }
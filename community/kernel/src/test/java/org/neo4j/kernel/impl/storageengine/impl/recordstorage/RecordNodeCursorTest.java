@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.storageengine.impl.recordstorage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.StoreFactory;
+import org.neo4j.kernel.impl.store.id.DefaultIdGeneratorFactory;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.test.rule.PageCacheAndDependenciesRule;
+import org.neo4j.test.rule.fs.DefaultFileSystemRule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_PROPERTY;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_RELATIONSHIP;
+
+public class RecordNodeCursorTest
+{
+    private static final long RELATIONSHIP_ID = 0;
+    private static final long FIRST_NODE = 1;
+    private static final long SECOND_NODE = 2;
+    private static final long OTHER_NODE = 3;
+
+    @Rule
+    public final PageCacheAndDependenciesRule storage = new PageCacheAndDependenciesRule().with( new DefaultFileSystemRule() );
+
+    private NeoStores neoStores;
+
+    @Before
+    public void setUp()
+    {
+        StoreFactory storeFactory = new StoreFactory(
+                storage.directory().databaseLayout(), Config.defaults(), new DefaultIdGeneratorFactory( storage.fileSystem() ),
+                storage.pageCache(), storage.fileSystem(), NullLogProvider.getInstance(), EmptyVersionContextSupplier.EMPTY );
+        neoStores = storeFactory.openAllNeoStores( true );
+    }
+
+    @After
+    public void tearDown()
+    {
+        if ( neoStores != null )
+        {
+            neoStores.close();
+        }
+    }
+
+    @Test
+    public void degreeOfNodeWithoutRelationships()
+    {
+        createNode( FIRST_NODE, NO_NEXT_RELATIONSHIP.longValue() );
+
+        assertEquals( 0, degreeIfKnown( FIRST_NODE ) );
+    }
+
+    @Test
+    public void degreeOfNodeOnFirstSideOfItsFirstRelationship()
+    {
+        createRelationship( FIRST_NODE, SECOND_NODE, 3, 5, true, true );
+        createNode( FIRST_NODE, RELATIONSHIP_ID );
+
+        assertEquals( 3, degreeIfKnown( FIRST_NODE ) );
+    }
+
+    @Test
+    public void degreeOfNodeOnSecondSideOfItsFirstRelationship()
+    {
+        createRelationship( FIRST_NODE, SECOND_NODE, 3, 5, true, true );
+        createNode( SECOND_NODE, RELATIONSHIP_ID );
+
+        assertEquals( 5, degreeIfKnown( SECOND_NODE ) );
+    }
+
+    @Test
+    public void degreeOfNodeWithSelfLoopFirstInChain()
+    {
+        createRelationship( FIRST_NODE, FIRST_NODE, 4, 4, true, true );
+        createNode( FIRST_NODE, RELATIONSHIP_ID );
+
+        assertEquals( 4, degreeIfKnown( FIRST_NODE ) );
+    }
+
+    @Test
+    public void unknownDegreeWhenFirstRelationshipDoesNotHeadTheChainOfTheNode()
+    {
+        createRelationship( FIRST_NODE, SECOND_NODE, 10, 11, false, false );
+        createNode( FIRST_NODE, RELATIONSHIP_ID );
+        createNode( SECOND_NODE, RELATIONSHIP_ID );
+
+        assertEquals( -1, degreeIfKnown( FIRST_NODE ) );
+        assertEquals( -1, degreeIfKnown( SECOND_NODE ) );
+    }
+
+    @Test
+    public void unknownDegreeWhenFirstRelationshipBelongsToOtherNodes()
+    {
+        // the relationship record was reused for other nodes, and heads both of their chains
+        createRelationship( FIRST_NODE, SECOND_NODE, 3, 5, true, true );
+        createNode( OTHER_NODE, RELATIONSHIP_ID );
+
+        assertEquals( -1, degreeIfKnown( OTHER_NODE ) );
+    }
+
+    @Test
+    public void unknownDegreeWhenFirstRelationshipIsNotInUse()
+    {
+        neoStores.getRelationshipStore().setHighId( RELATIONSHIP_ID + 1 );
+        neoStores.getRelationshipStore().updateRecord( new RelationshipRecord( RELATIONSHIP_ID ).initialize(
+                false, NO_NEXT_PROPERTY.longValue(), FIRST_NODE, SECOND_NODE, 0, 3, NO_NEXT_RELATIONSHIP.longValue(), 5,
+                NO_NEXT_RELATIONSHIP.longValue(), true, true ) );
+        createNode( FIRST_NODE, RELATIONSHIP_ID );
+
+        assertEquals( -1, degreeIfKnown( FIRST_NODE ) );
+    }
+
+    private void createNode( long id, long firstRelationship )
+    {
+        NodeRecord node = new NodeRecord( id ).initialize( true, NO_NEXT_PROPERTY.longValue(), false, firstRelationship, 0 );
+        neoStores.getNodeStore().updateRecord( node );
+    }
+
+    private void createRelationship( long firstNode, long secondNode, long firstChainLength, long secondChainLength,
+            boolean firstInFirstChain, boolean firstInSecondChain )
+    {
+        neoStores.getRelationshipStore().updateRecord( new RelationshipRecord( RELATIONSHIP_ID ).initialize(
+                true, NO_NEXT_PROPERTY.longValue(), firstNode, secondNode, 0, firstChainLength, NO_NEXT_RELATIONSHIP.longValue(),
+                secondChainLength, NO_NEXT_RELATIONSHIP.longValue(), firstInFirstChain, firstInSecondChain ) );
+    }
+
+    private int degreeIfKnown( long nodeId )
+    {
+        try ( RecordNodeCursor cursor = new RecordNodeCursor( neoStores.getNodeStore(), neoStores.getRelationshipStore() ) )
+        {
+            cursor.single( nodeId );
+            assertTrue( cursor.next() );
+            return cursor.degreeIfKnown();
+        }
+    }
+}
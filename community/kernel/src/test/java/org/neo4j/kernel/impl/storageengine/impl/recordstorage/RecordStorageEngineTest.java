@@ -58,7 +58,7 @@ import org.neo4j.kernel.impl.locking.LockGroup;
 import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.kernel.impl.store.StoreType;
 import org.neo4j.kernel.impl.store.UnderlyingStorageException;
-import org.neo4j.kernel.impl.store.counts.CountsTracker;
+import org.neo4j.kernel.impl.store.counts.CountsStore;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.command.Command;
@@ -170,7 +170,7 @@ public class RecordStorageEngineTest
         Exception applicationError = executeFailingTransaction( engine );
         assertNotNull( applicationError );
 
-        CountsTracker countsStore = engine.testAccessNeoStores().getCounts();
+        CountsStore countsStore = engine.testAccessNeoStores().getCounts();
         // possible to obtain a resetting updater that internally has a write lock on the counts store
         try ( CountsAccessor.Updater updater = countsStore.reset( 0 ) )
         {
@@ -206,10 +206,11 @@ public class RecordStorageEngineTest
         RecordStorageEngine engine = buildRecordStorageEngine();
         final Collection<StoreFileMetadata> files = engine.listStorageFiles();
         Set<File> currentFiles = files.stream().map( StoreFileMetadata::file ).collect( Collectors.toSet() );
-        // current engine files should contain everything except another count store file and label scan store
+        // current engine files should contain everything except another count store file, the other kind of count store and label scan store
         DatabaseLayout databaseLayout = testDirectory.databaseLayout();
         Set<File> allPossibleFiles = databaseLayout.storeFiles();
         allPossibleFiles.remove( databaseLayout.countStoreB() );
+        allPossibleFiles.remove( databaseLayout.countStore() );
         allPossibleFiles.remove( databaseLayout.labelScanStore() );
 
         assertEquals( currentFiles, allPossibleFiles );
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.counts;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.kernel.impl.api.CountsAccessor;
+import org.neo4j.kernel.impl.api.CountsVisitor;
+import org.neo4j.kernel.impl.store.CountsOracle;
+import org.neo4j.kernel.impl.store.kvstore.DataInitializer;
+import org.neo4j.kernel.lifecycle.Lifespan;
+import org.neo4j.test.rule.Resources;
+import org.neo4j.test.rule.concurrent.ThreadingRule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.register.Registers.newDoubleLongRegister;
+
+public class GBPTreeCountsStoreTest
+{
+    @Rule
+    public final Resources resourceManager = new Resources();
+    @Rule
+    public final ThreadingRule threading = new ThreadingRule();
+
+    @Test
+    public void shouldStoreCounts() throws Exception
+    {
+        // given
+        CountsOracle oracle = someData();
+
+        // when
+        try ( Lifespan life = new Lifespan() )
+        {
+            CountsStore store = life.add( newStore() );
+            oracle.update( store, 2 );
+            oracle.verify( store );
+            assertEquals( 2, store.rotate( 2 ) );
+            oracle.verify( store );
+        }
+
+        // then
+        try ( Lifespan life = new Lifespan() )
+        {
+            CountsStore store = life.add( newStore() );
+            assertEquals( 2, store.txId() );
+            oracle.verify( store );
+        }
+    }
+
+    @Test
+    public void shouldUpdateCountsOnExistingStore() throws Exception
+    {
+        // given
+        CountsOracle oracle = someData();
+        try ( Lifespan life = new Lifespan() )
+        {
+            CountsStore store = life.add( newStore() );
+            oracle.update( store, 2 );
+            store.rotate( 2 );
+
+            // when
+            CountsOracle delta = new CountsOracle();
+            {
+                CountsOracle.Node n1 = delta.node( 1 );
+                CountsOracle.Node n2 = delta.node( 1, 4 );
+                delta.relationship( n1, 1, n2 );
+                delta.relationship( n2, 2, n1 );
+            }
+            delta.update( store, 3 );
+            delta.update( oracle );
+
+            // then
+            oracle.verify( store );
+            store.rotate( 3 );
+            oracle.verify( store );
+        }
+
+        // then
+        try ( Lifespan life = new Lifespan() )
+        {
+            oracle.verify( life.add( newStore() ) );
+        }
+    }
+
+    @Test
+    public void shouldRemoveCountsThatDropToZero() throws Exception
+    {
+        try ( Lifespan life = new Lifespan() )
+        {
+            CountsStore store = life.add( newStore() );
+            try ( CountsAccessor.Updater updater = store.apply( 2 ).get() )
+            {
+                updater.incrementNodeCount( 1, 5 );
+            }
+            store.rotate( 2 );
+            try ( CountsAccessor.Updater updater = store.apply( 3 ).get() )
+            {
+                updater.incrementNodeCount( 1, -5 );
+            }
+            store.rotate( 3 );
+
+            // then
+            AtomicLong entries = new AtomicLong();
+            store.accept( new CountsVisitor.Adapter()
+            {
+                @Override
+                public void visitNodeCount( int labelId, long count )
+                {
+                    entries.incrementAndGet();
+                }
+            } );
+            assertEquals( 0, entries.get() );
+            assertEquals( 0, store.nodeCount( 1, newDoubleLongRegister() ).readSecond() );
+        }
+    }
+
+    @Test
+    public void shouldLoseChangesAfterLastRotationOnCrashAndAcceptThemAgain() throws Exception
+    {
+        // given
+        try ( Lifespan life = new Lifespan() )
+        {
+            CountsStore store = life.add( newStore() );
+            incrementNodeCount( store, 2, 1 );
+            store.rotate( 2 );
+            incrementNodeCount( store, 3, 1 );
+            // no rotation, i.e. crash
+        }
+
+        // when
+        try ( Lifespan life = new Lifespan() )
+        {
+            CountsStore store = life.add( newStore() );
+
+            // then
+            assertEquals( 1, store.nodeCount( 1, newDoubleLongRegister() ).readSecond() );
+            assertFalse( store.apply( 2 ).isPresent() );
+            incrementNodeCount( store, 3, 1 );
+            assertEquals( 2, store.nodeCount( 1, newDoubleLongRegister() ).readSecond() );
+        }
+    }
+
+    @Test
+    public void shouldRotateWithoutWaitingForEarlierTransactionsAndRememberTheOnesAppliedOutOfOrder() throws Exception
+    {
+        // given transaction 3 applied while transaction 2 isn't yet
+        try ( Lifespan life = new Lifespan() )
+        {
+            CountsStore store = life.add( newStore() );
+            incrementNodeCount( store, 3, 10 );
+
+            // when
+            assertEquals( 1, store.rotate( 3 ) );
+            // crash
+        }
+
+        // then only transaction 2 is applied again in recovery
+        try ( Lifespan life = new Lifespan() )
+        {
+            CountsStore store = life.add( newStore() );
+            assertEquals( 10, store.nodeCount( 1, newDoubleLongRegister() ).readSecond() );
+            incrementNodeCount( store, 2, 1 );
+            assertFalse( store.apply( 3 ).isPresent() );
+            assertEquals( 11, store.nodeCount( 1, newDoubleLongRegister() ).readSecond() );
+            assertEquals( 3, store.rotate( 3 ) );
+        }
+    }
+
+    @Test
+    public void shouldWaitForOpenUpdatersWhenRotating() throws Exception
+    {
+        try ( Lifespan life = new Lifespan() )
+        {
+            // given
+            CountsStore store = life.add( newStore() );
+            CountsAccessor.Updater updater = store.apply( 2 ).get();
+            updater.incrementNodeCount( 1, 1 );
+
+            // when
+            Future<Long> rotation = threading.execute( s -> s.rotate( 2 ), store );
+            Thread.sleep( 100 );
+            assertFalse( rotation.isDone() );
+            updater.incrementNodeCount( 1, 1 );
+            updater.close();
+
+            // then
+            assertEquals( 2, rotation.get( 1, TimeUnit.MINUTES ).longValue() );
+        }
+        try ( Lifespan life = new Lifespan() )
+        {
+            assertEquals( 2, life.add( newStore() ).nodeCount( 1, newDoubleLongRegister() ).readSecond() );
+        }
+    }
+
+    @Test
+    public void shouldBuildMissingStoreUsingInitializer() throws Exception
+    {
+        // when
+        try ( Lifespan life = new Lifespan() )
+        {
+            CountsStore store = life.add( newStore( new DataInitializer<CountsAccessor.Updater>()
+            {
+                @Override
+                public void initialize( CountsAccessor.Updater updater )
+                {
+                    updater.incrementNodeCount( 1, 3 );
+                    updater.incrementRelationshipCount( 1, 2, -1, 4 );
+                }
+
+                @Override
+                public long initialVersion()
+                {
+                    return 5;
+                }
+            } ) );
+
+            // then
+            assertEquals( 3, store.nodeCount( 1, newDoubleLongRegister() ).readSecond() );
+            assertEquals( 4, store.relationshipCount( 1, 2, -1, newDoubleLongRegister() ).readSecond() );
+            assertEquals( 5, store.txId() );
+            assertFalse( store.apply( 5 ).isPresent() );
+        }
+        assertTrue( resourceManager.fileSystem().fileExists( resourceManager.testDirectory().databaseLayout().countStore() ) );
+        try ( Lifespan life = new Lifespan() )
+        {
+            CountsStore store = life.add( newStore() );
+            assertEquals( 3, store.nodeCount( 1, newDoubleLongRegister() ).readSecond() );
+            assertEquals( 4, store.relationshipCount( 1, 2, -1, newDoubleLongRegister() ).readSecond() );
+        }
+    }
+
+    @Test
+    public void shouldReplaceAllCountsOnReset() throws Exception
+    {
+        // given
+        CountsOracle oracle = someData();
+        try ( Lifespan life = new Lifespan() )
+        {
+            CountsStore store = life.add( newStore() );
+            oracle.update( store, 2 );
+            store.rotate( 2 );
+
+            // when
+            CountsOracle replacement = new CountsOracle();
+            replacement.node( 7 );
+            try ( CountsAccessor.Updater updater = store.reset( 10 ) )
+            {
+                updater.incrementNodeCount( 7, 1 );
+                updater.incrementNodeCount( -1, 1 );
+            }
+
+            // then
+            replacement.verify( store );
+            assertEquals( 10, store.txId() );
+        }
+        try ( Lifespan life = new Lifespan() )
+        {
+            CountsStore store = life.add( newStore() );
+            assertEquals( 0, store.nodeCount( 0, newDoubleLongRegister() ).readSecond() );
+            assertEquals( 1, store.nodeCount( 7, newDoubleLongRegister() ).readSecond() );
+        }
+    }
+
+    private static void incrementNodeCount( CountsStore store, long txId, long delta )
+    {
+        try ( CountsAccessor.Updater updater = store.apply( txId ).get() )
+        {
+            updater.incrementNodeCount( 1, delta );
+        }
+    }
+
+    private GBPTreeCountsStore newStore()
+    {
+        return newStore( new DataInitializer<CountsAccessor.Updater>()
+        {
+            @Override
+            public void initialize( CountsAccessor.Updater updater )
+            {
+            }
+
+            @Override
+            public long initialVersion()
+            {
+                return FileVersion.INITIAL_TX_ID;
+            }
+        } );
+    }
+
+    private GBPTreeCountsStore newStore( DataInitializer<CountsAccessor.Updater> initializer )
+    {
+        return new GBPTreeCountsStore( resourceManager.logProvider(), resourceManager.fileSystem(), resourceManager.pageCache(),
+                resourceManager.testDirectory().databaseLayout(), false ).setInitializer( initializer );
+    }
+
+    private static CountsOracle someData()
+    {
+        CountsOracle oracle = new CountsOracle();
+        CountsOracle.Node n0 = oracle.node( 0, 1 );
+        CountsOracle.Node n1 = oracle.node( 0, 3 );
+        CountsOracle.Node n2 = oracle.node( 2, 3 );
+        CountsOracle.Node n3 = oracle.node( 2 );
+        oracle.relationship( n0, 1, n2 );
+        oracle.relationship( n1, 1, n3 );
+        oracle.relationship( n1, 1, n2 );
+        oracle.relationship( n0, 1, n3 );
+        long indexId = 2;
+        oracle.indexUpdatesAndSize( indexId, 0L, 50L );
+        oracle.indexSampling( indexId, 25L, 50L );
+        return oracle;
+    }
+}
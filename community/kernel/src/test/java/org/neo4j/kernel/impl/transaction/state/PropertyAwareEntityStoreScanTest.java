@@ -28,6 +28,8 @@ import org.junit.Test;
 
 import java.util.function.Supplier;
 
+import org.neo4j.helpers.collection.Visitor;
+import org.neo4j.kernel.impl.api.index.EntityUpdates;
 import org.neo4j.kernel.impl.api.index.StoreScan;
 import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.kernel.impl.storageengine.impl.recordstorage.RecordStorageReader;
@@ -38,6 +40,7 @@ import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.kernel.impl.transaction.state.storeview.PropertyAwareEntityStoreScan;
 import org.neo4j.storageengine.api.StorageNodeCursor;
+import org.neo4j.storageengine.api.StoragePropertyCursor;
 import org.neo4j.storageengine.api.StorageReader;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
 
@@ -84,7 +87,8 @@ public class PropertyAwareEntityStoreScanTest
                     private int read;
 
                     @Override
-                    public boolean process( StorageNodeCursor node )
+                    public boolean process( StorageNodeCursor node, StoragePropertyCursor propertyCursor,
+                            Visitor<EntityUpdates,RuntimeException> propertyUpdatesVisitor )
                     {
                         // then
                         read++;
@@ -42,7 +42,9 @@ import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.NodeStore;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -80,6 +82,40 @@ public class LabelScanViewNodeStoreScanTest
         assertThat( visitedNodeIds, Matchers.hasItems( 1L, 2L, 4L, 8L ) );
     }
 
+    @Test
+    public void iterateOverLabeledNodeIdsInPartition()
+    {
+        int[] labelIds = new int[]{1, 2};
+        when( labelScanReader.nodesWithAnyOfLabels( 3L, labelIds ) )
+                .thenReturn( PrimitiveLongResourceCollections.iterator( null, 4, 8, 12 ) );
+        when( labelScanReader.nodesWithAnyOfLabels( 9L, labelIds ) )
+                .thenReturn( PrimitiveLongResourceCollections.iterator( null, 12, 16 ) );
+
+        LabelScanViewNodeStoreScan<Exception> storeScan = getLabelScanViewStoreScan( labelIds );
+
+        assertThat( PrimitiveLongCollections.asList( storeScan.getEntityIdIterator( 4, 10 ) ), Matchers.contains( 4L, 8L ) );
+        assertThat( PrimitiveLongCollections.asList( storeScan.getEntityIdIterator( 10, PropertyAwareEntityStoreScan.OPEN_ENDED ) ),
+                Matchers.contains( 12L, 16L ) );
+    }
+
+    @Test
+    public void continueAfterLastReturnedIdInPartitionWhenInvalidated()
+    {
+        int[] labelIds = new int[]{1, 2};
+        when( labelScanReader.nodesWithAnyOfLabels( 3L, labelIds ) )
+                .thenReturn( PrimitiveLongResourceCollections.iterator( null, 4, 8 ) );
+        when( labelScanReader.nodesWithAnyOfLabels( 4L, labelIds ) )
+                .thenReturn( PrimitiveLongResourceCollections.iterator( null, 6, 8, 12 ) );
+
+        LabelScanViewNodeStoreScan<Exception> storeScan = getLabelScanViewStoreScan( labelIds );
+        EntityIdIterator idIterator = storeScan.getEntityIdIterator( 4, 10 );
+
+        assertEquals( 4L, idIterator.next() );
+        assertTrue( idIterator.hasNext() );
+        idIterator.invalidateCache();
+        assertThat( PrimitiveLongCollections.asList( idIterator ), Matchers.contains( 6L, 8L ) );
+    }
+
     private LabelScanViewNodeStoreScan<Exception> getLabelScanViewStoreScan( int[] labelIds )
     {
         return new LabelScanViewNodeStoreScan<>( new RecordStorageReader( neoStores ), LockService.NO_LOCK_SERVICE,
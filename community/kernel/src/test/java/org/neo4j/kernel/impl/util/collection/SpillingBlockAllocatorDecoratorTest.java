@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator.MemoryBlock;
+import org.neo4j.logging.AssertableLogProvider;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.memory.MemoryAllocationTracker;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.TestDirectoryExtension;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith( TestDirectoryExtension.class )
+class SpillingBlockAllocatorDecoratorTest
+{
+    @Inject
+    private TestDirectory testDirectory;
+
+    private final AssertableLogProvider logProvider = new AssertableLogProvider();
+
+    @Test
+    void spillToDiskWhenMaxMemoryExceeded()
+    {
+        final MemoryAllocationTracker tracker = new LocalMemoryTracker();
+        final SpillingBlockAllocatorDecorator decorator =
+                new SpillingBlockAllocatorDecorator( new CachingOffHeapBlockAllocator(), 1024, testDirectory.directory( "spill" ),
+                        logProvider.getLog( SpillingBlockAllocatorDecorator.class ) );
+
+        final MemoryBlock inMemory = decorator.allocate( 1024, tracker );
+        assertFalse( inMemory instanceof SpillingBlockAllocatorDecorator.MappedMemoryBlock );
+        assertEquals( 0, decorator.spilledMemory() );
+        final long usedInMemory = tracker.usedDirectMemory();
+
+        final MemoryBlock spilled = decorator.allocate( 4096, tracker );
+        assertTrue( spilled instanceof SpillingBlockAllocatorDecorator.MappedMemoryBlock );
+        assertEquals( 4096, decorator.spilledMemory() );
+        assertEquals( usedInMemory + 4096, tracker.usedDirectMemory() );
+
+        // mapped memory isn't allocated through UnsafeUtil, so native access checks don't know about it
+        final boolean nativeAccessCheckEnabled = UnsafeUtil.exchangeNativeAccessCheckEnabled( false );
+        try
+        {
+            UnsafeUtil.putLong( spilled.addr, 42 );
+            UnsafeUtil.putLong( spilled.addr + 4096 - Long.BYTES, 43 );
+            assertEquals( 42, UnsafeUtil.getLong( spilled.addr ) );
+            assertEquals( 43, UnsafeUtil.getLong( spilled.addr + 4096 - Long.BYTES ) );
+        }
+        finally
+        {
+            UnsafeUtil.exchangeNativeAccessCheckEnabled( nativeAccessCheckEnabled );
+        }
+
+        decorator.free( spilled, tracker );
+        assertEquals( 0, decorator.spilledMemory() );
+        assertEquals( usedInMemory, tracker.usedDirectMemory() );
+
+        decorator.free( inMemory, tracker );
+        final MemoryBlock reused = decorator.allocate( 512, tracker );
+        assertFalse( reused instanceof SpillingBlockAllocatorDecorator.MappedMemoryBlock );
+
+        decorator.free( reused, tracker );
+        decorator.release();
+        assertEquals( 0, tracker.usedDirectMemory() );
+        logProvider.assertNoLoggingOccurred();
+    }
+
+    @Test
+    void releaseFreesSpilledBlocks()
+    {
+        final MemoryAllocationTracker tracker = new LocalMemoryTracker();
+        final SpillingBlockAllocatorDecorator decorator =
+                new SpillingBlockAllocatorDecorator( new CachingOffHeapBlockAllocator(), 128, testDirectory.directory( "spill" ),
+                        logProvider.getLog( SpillingBlockAllocatorDecorator.class ) );
+
+        decorator.allocate( 256, tracker );
+        decorator.allocate( 256, tracker );
+        assertEquals( 512, decorator.spilledMemory() );
+        assertEquals( 512, tracker.usedDirectMemory() );
+
+        decorator.release();
+        assertEquals( 0, decorator.spilledMemory() );
+        assertEquals( 0, tracker.usedDirectMemory() );
+        logProvider.assertNoLoggingOccurred();
+    }
+}
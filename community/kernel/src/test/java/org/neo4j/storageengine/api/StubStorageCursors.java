@@ -41,6 +41,7 @@ import org.neo4j.register.Register;
 import org.neo4j.storageengine.api.schema.CapableIndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexDescriptor;
 import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.IndexValueHistogram;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
 import org.neo4j.values.storable.Value;
@@ -333,6 +334,12 @@ public class StubStorageCursors implements StorageReader
         throw new UnsupportedOperationException( "Not implemented yet" );
     }
 
+    @Override
+    public IndexValueHistogram indexValueHistogram( SchemaDescriptor descriptor )
+    {
+        throw new UnsupportedOperationException( "Not implemented yet" );
+    }
+
     @Override
     public long nodesGetCount()
     {
@@ -528,6 +535,12 @@ public class StubStorageCursors implements StorageReader
             return current.firstRelationship;
         }
 
+        @Override
+        public int degreeIfKnown()
+        {
+            return -1;
+        }
+
         @Override
         public long propertiesReference()
         {
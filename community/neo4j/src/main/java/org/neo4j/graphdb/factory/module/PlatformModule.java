@@ -63,6 +63,7 @@ import org.neo4j.kernel.impl.util.collection.CapacityLimitingBlockAllocatorDecor
 import org.neo4j.kernel.impl.util.collection.CollectionsFactorySupplier;
 import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator;
 import org.neo4j.kernel.impl.util.collection.OffHeapCollectionsFactory;
+import org.neo4j.kernel.impl.util.collection.SpillingBlockAllocatorDecorator;
 import org.neo4j.kernel.info.JvmChecker;
 import org.neo4j.kernel.info.JvmMetadataRepository;
 import org.neo4j.kernel.info.SystemDiagnostics;
@@ -202,7 +203,7 @@ public class PlatformModule
 
         versionContextSupplier = createCursorContextSupplier( config );
 
-        collectionsFactorySupplier = createCollectionsFactorySupplier( config, life );
+        collectionsFactorySupplier = createCollectionsFactorySupplier( config, life, logging );
 
         dependencies.satisfyDependency( versionContextSupplier );
         pageCache = dependencies.satisfyDependency( createPageCache( fileSystem, config, logging, tracers, versionContextSupplier, jobScheduler ) );
@@ -350,7 +351,7 @@ public class PlatformModule
         return pageCache;
     }
 
-    private static CollectionsFactorySupplier createCollectionsFactorySupplier( Config config, LifeSupport life )
+    private static CollectionsFactorySupplier createCollectionsFactorySupplier( Config config, LifeSupport life, LogService logging )
     {
         final GraphDatabaseSettings.TransactionStateMemoryAllocation allocation = config.get( GraphDatabaseSettings.tx_state_memory_allocation );
         switch ( allocation )
@@ -363,7 +364,13 @@ public class PlatformModule
                     config.get( tx_state_off_heap_block_cache_size ) );
             final OffHeapBlockAllocator sharedBlockAllocator;
             final long maxMemory = config.get( GraphDatabaseSettings.tx_state_max_off_heap_memory );
-            if ( maxMemory > 0 )
+            if ( maxMemory > 0 && config.get( GraphDatabaseSettings.tx_state_off_heap_spill_to_disk ) )
+            {
+                sharedBlockAllocator = new SpillingBlockAllocatorDecorator( allocator, maxMemory,
+                        config.get( GraphDatabaseSettings.tx_state_off_heap_spill_directory ),
+                        logging.getInternalLog( SpillingBlockAllocatorDecorator.class ) );
+            }
+            else if ( maxMemory > 0 )
             {
                 sharedBlockAllocator = new CapacityLimitingBlockAllocatorDecorator( allocator, maxMemory );
             }
@@ -26,8 +26,10 @@ import sun.misc.Unsafe;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -72,6 +74,7 @@ public final class UnsafeUtil
 
     private static final Unsafe unsafe;
     private static final MethodHandle sharedStringConstructor;
+    private static final MethodHandle directByteBufferCleaner;
     private static final String allowUnalignedMemoryAccessProperty =
             "org.neo4j.unsafe.impl.internal.dragons.UnsafeUtil.allowUnalignedMemoryAccess";
 
@@ -99,6 +102,7 @@ public final class UnsafeUtil
 
         MethodHandles.Lookup lookup = MethodHandles.lookup();
         sharedStringConstructor = getSharedStringConstructorMethodHandle( lookup );
+        directByteBufferCleaner = getDirectByteBufferCleanerMethodHandle( lookup );
 
         Class<?> dbbClass = null;
         Constructor<?> ctor = null;
@@ -242,6 +246,32 @@ public final class UnsafeUtil
         }
     }
 
+    private static MethodHandle getDirectByteBufferCleanerMethodHandle( MethodHandles.Lookup lookup )
+    {
+        try
+        {
+            // Java 9 and later
+            Method invokeCleaner = Unsafe.class.getMethod( "invokeCleaner", ByteBuffer.class );
+            return lookup.unreflect( invokeCleaner ).bindTo( unsafe );
+        }
+        catch ( Exception e )
+        {
+            // Java 8
+            try
+            {
+                Method cleanerMethod = Class.forName( "sun.nio.ch.DirectBuffer" ).getMethod( "cleaner" );
+                Method cleanMethod = Class.forName( "sun.misc.Cleaner" ).getMethod( "clean" );
+                MethodHandle cleaner = lookup.unreflect( cleanerMethod ).asType( MethodType.methodType( Object.class, ByteBuffer.class ) );
+                MethodHandle clean = lookup.unreflect( cleanMethod ).asType( MethodType.methodType( void.class, Object.class ) );
+                return MethodHandles.filterReturnValue( cleaner, clean );
+            }
+            catch ( Exception e1 )
+            {
+                return null;
+            }
+        }
+    }
+
     /**
      * Get the object-relative field offset.
      */
@@ -1013,6 +1043,35 @@ public final class UnsafeUtil
         return unsafe.getLong( dbb, directByteBufferAddressOffset );
     }
 
+    /**
+     * Release the native memory, or the file mapping, of the given direct byte buffer right away, instead of when the buffer is
+     * garbage collected. The buffer must not be accessed afterwards.
+     * <p>
+     * <strong>NOTE:</strong> calling this method on a non-direct ByteBuffer, or on a slice or duplicate of one, fails.
+     *
+     * @param dbb The direct byte buffer to release.
+     * @throws UnsupportedOperationException if this JVM has no known way of releasing direct byte buffers.
+     */
+    public static void invokeCleaner( ByteBuffer dbb )
+    {
+        if ( directByteBufferCleaner == null )
+        {
+            throw new UnsupportedOperationException( "Releasing direct byte buffers is not supported on this JVM" );
+        }
+        try
+        {
+            directByteBufferCleaner.invokeExact( dbb );
+        }
+        catch ( RuntimeException | Error e )
+        {
+            throw e;
+        }
+        catch ( Throwable throwable )
+        {
+            throw new RuntimeException( throwable );
+        }
+    }
+
     /**
      * Change if native access checking is enabled by setting it to the given new setting, and returning the old
      * setting.
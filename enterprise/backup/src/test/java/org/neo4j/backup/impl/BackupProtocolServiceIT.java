@@ -418,10 +418,12 @@ public class BackupProtocolServiceIT
 
         for ( final File storeFile : backupDatabaseLayout.storeFiles() )
         {
-            if ( backupDatabaseLayout.countStoreA().equals( storeFile ) || backupDatabaseLayout.countStoreB().equals( storeFile ) )
+            if ( backupDatabaseLayout.countStoreA().equals( storeFile ) || backupDatabaseLayout.countStoreB().equals( storeFile ) ||
+                    backupDatabaseLayout.countStore().equals( storeFile ) )
             {
                 assertThat( files, anyOf( hasFile( backupDatabaseLayout.countStoreA() ),
-                                          hasFile( backupDatabaseLayout.countStoreB() ) ) );
+                                          hasFile( backupDatabaseLayout.countStoreB() ),
+                                          hasFile( backupDatabaseLayout.countStore() ) ) );
             }
             else
             {
@@ -97,7 +97,8 @@ public class PrepareStoreCopyFiles implements AutoCloseable
     private static Predicate<StoreFileMetadata> isCountFile( DatabaseLayout databaseLayout )
     {
         return storeFileMetadata -> databaseLayout.countStoreB().equals( storeFileMetadata.file() ) ||
-                databaseLayout.countStoreA().equals( storeFileMetadata.file() );
+                databaseLayout.countStoreA().equals( storeFileMetadata.file() ) ||
+                databaseLayout.countStore().equals( storeFileMetadata.file() );
     }
 
     private StoreResource toStoreResource( StoreFileMetadata storeFileMetadata ) throws IOException
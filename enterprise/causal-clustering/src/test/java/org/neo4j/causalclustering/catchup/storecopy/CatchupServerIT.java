@@ -307,7 +307,8 @@ public class CatchupServerIT
     private static Predicate<StoreFileMetadata> isCountFile( DatabaseLayout databaseLayout )
     {
         return storeFileMetadata -> databaseLayout.countStoreA().equals( storeFileMetadata.file() ) ||
-                databaseLayout.countStoreB().equals( storeFileMetadata.file() );
+                databaseLayout.countStoreB().equals( storeFileMetadata.file() ) ||
+                databaseLayout.countStore().equals( storeFileMetadata.file() );
     }
 
     private static void addData( GraphDatabaseAPI graphDb )
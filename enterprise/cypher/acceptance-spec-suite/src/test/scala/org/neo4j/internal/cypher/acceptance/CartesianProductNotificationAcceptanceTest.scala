@@ -119,6 +119,7 @@ class CartesianProductNotificationAcceptanceTest extends CypherFunSuite with Gra
     useErrorsOverWarnings = false,
     idpMaxTableSize = 128,
     idpIterationDuration = 1000,
+    idpTotalDuration = Long.MaxValue,
     errorIfShortestPathFallbackUsedAtRuntime = false,
     errorIfShortestPathHasCommonNodesAtRuntime = true,
     legacyCsvQuoteEscaping = false,
@@ -58,32 +58,32 @@ class VarLengthExpandQueryPlanAcceptanceTest extends ExecutionEngineFunSuite wit
     val query = "MATCH (a)-[*1..2]->(c) RETURN DISTINCT c"
     executeWith(InterpretedAndSlotted, query, planComparisonStrategy =
       ComparePlansWithAssertion( plan => {
-        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning)")
-      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1))
+        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning,BFS)")
+      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1 + Configs.Version3_4))
   }
 
   test("Plan pruning var expand on distinct var-length match with projection and aggregation") {
     val query = "MATCH (a)-[*1..2]->(c) WITH DISTINCT c RETURN count(*)"
     executeWith(InterpretedAndSlotted, query, planComparisonStrategy =
       ComparePlansWithAssertion( plan => {
-        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning)")
-      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1))
+        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning,BFS)")
+      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1 + Configs.Version3_4))
   }
 
   test("query with distinct aggregation") {
     val query = "MATCH (from)-[*1..3]->(to) RETURN count(DISTINCT to)"
     executeWith(InterpretedAndSlotted, query, planComparisonStrategy =
       ComparePlansWithAssertion( plan => {
-        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning)")
-      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1))
+        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning,BFS)")
+      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1 + Configs.Version3_4))
   }
 
   test("Simple query that filters between expand and distinct") {
     val query = "MATCH (a)-[*1..3]->(b:X) RETURN DISTINCT b"
     executeWith(InterpretedAndSlotted, query, planComparisonStrategy =
       ComparePlansWithAssertion( plan => {
-        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning)")
-      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1))
+        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning,BFS)")
+      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1 + Configs.Version3_4))
   }
 
   test("Query that aggregates before making the result DISTINCT") {
@@ -98,24 +98,24 @@ class VarLengthExpandQueryPlanAcceptanceTest extends ExecutionEngineFunSuite wit
     val query = "MATCH (a)-[:R*1..3]->(b)-[:T*1..3]->(c) RETURN DISTINCT c"
     executeWith(InterpretedAndSlotted, query, planComparisonStrategy =
       ComparePlansWithAssertion( plan => {
-        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning)")
-      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1))
+        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning,BFS)")
+      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1 + Configs.Version3_4))
   }
 
   test("var expand followed by normal expand") {
     val query = "MATCH (a)-[:R*1..3]->(b)-[:T]->(c) RETURN DISTINCT c"
     executeWith(InterpretedAndSlotted, query, planComparisonStrategy =
       ComparePlansWithAssertion( plan => {
-        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning)")
-      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1))
+        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning,BFS)")
+      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1 + Configs.Version3_4))
   }
 
   test("optional match can be solved with PruningVarExpand") {
     val query = "MATCH (a) OPTIONAL MATCH (a)-[:R*1..3]->(b)-[:T]->(c) RETURN DISTINCT c"
     executeWith(InterpretedAndSlotted, query, planComparisonStrategy =
       ComparePlansWithAssertion( plan => {
-        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning)")
-      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1))
+        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning,BFS)")
+      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1 + Configs.Version3_4))
   }
 
   test("should not rewrite when doing non-distinct aggregation") {
@@ -134,6 +134,14 @@ class VarLengthExpandQueryPlanAcceptanceTest extends ExecutionEngineFunSuite wit
       }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1))
   }
 
+  test("on unbounded var-lengths, we use breadth first PruningVarExpand") {
+    val query = "MATCH (a)-[*]->(b) RETURN DISTINCT b"
+    executeWith(InterpretedAndSlotted, query, planComparisonStrategy =
+      ComparePlansWithAssertion( plan => {
+        plan should includeSomewhere.aPlan("VarLengthExpand(Pruning,BFS)")
+      }, expectPlansToFail = Configs.Version2_3 + Configs.Version3_1 + Configs.Version3_4))
+  }
+
   test("Do not plan pruning var expand for length=1") {
     val query = "MATCH (a)-[*1..1]->(b) RETURN DISTINCT b"
     executeWith(InterpretedAndSlotted, query, planComparisonStrategy =
@@ -56,11 +56,12 @@ class PipelineBuilder(physicalPlan: PhysicalPlan, converters: ExpressionConverte
           LazyLabel(label)(SemanticTable()),
           argumentSize)
 
-      case plans.NodeIndexScan(column, labelToken, property, _, _) =>
+      case plans.NodeIndexScan(column, labelToken, property, _, indexOrder) =>
         new NodeIndexScanOperator(
           slots.getLongOffsetFor(column),
           labelToken.nameId.id,
           SlottedIndexedProperty(column, property, slots),
+          indexOrder,
           argumentSize)
 
       case NodeIndexContainsScan(column, labelToken, property, valueExpr, _, indexOrder) =>
@@ -69,6 +70,7 @@ class PipelineBuilder(physicalPlan: PhysicalPlan, converters: ExpressionConverte
           labelToken.nameId.id,
           SlottedIndexedProperty(column, property, slots),
           converters.toCommandExpression(id, valueExpr),
+          indexOrder,
           argumentSize)
 
       case plans.NodeIndexSeek(column, label, properties, valueExpr, _,  indexOrder) =>
@@ -140,6 +142,21 @@ class PipelineBuilder(physicalPlan: PhysicalPlan, converters: ExpressionConverte
           source.addOperator(preTop)
           new MergeSortOperator(ordering, Some(countExpression))
 
+        // Morsels are sorted and merged independently of each other, so there is no single ordered stream to
+        // exploit the already sorted prefix on. Sorting by all columns gives the same result.
+        case PartialSort(_, alreadySortedPrefix, stillToSortSuffix) =>
+          val ordering = (alreadySortedPrefix ++ stillToSortSuffix).map(translateColumnOrder(slots, _))
+          val preSorting = new PreSortOperator(ordering)
+          source.addOperator(preSorting)
+          new MergeSortOperator(ordering)
+
+        case PartialTop(_, alreadySortedPrefix, stillToSortSuffix, limit) =>
+          val ordering = (alreadySortedPrefix ++ stillToSortSuffix).map(translateColumnOrder(slots, _))
+          val countExpression = converters.toCommandExpression(id, limit)
+          val preTop = new PreSortOperator(ordering, Some(countExpression))
+          source.addOperator(preTop)
+          new MergeSortOperator(ordering, Some(countExpression))
+
         case plans.Aggregation(_, groupingExpressions, aggregationExpression) if groupingExpressions.isEmpty =>
           val aggregations = aggregationExpression.map {
             case (key, expression) =>
@@ -20,10 +20,12 @@ package org.neo4j.cypher.internal.runtime.vectorized.operators
 
 import org.neo4j.cypher.internal.compatibility.v3_6.runtime.{SlotConfiguration, SlottedIndexedProperty}
 import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.IndexOrderConversion.asKernelIndexOrder
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.{QueryState => OldQueryState}
 import org.neo4j.cypher.internal.runtime.vectorized._
-import org.neo4j.internal.kernel.api._
+import org.neo4j.cypher.internal.v3_6.logical.plans.IndexOrder
+import org.neo4j.internal.kernel.api.{IndexQuery, IndexReference, NodeValueIndexCursor}
 import org.neo4j.values.storable.{TextValue, Values}
 import org.neo4j.cypher.internal.v3_6.util.CypherTypeException
 
@@ -31,6 +33,7 @@ class NodeIndexContainsScanOperator(nodeOffset: Int,
                                     label: Int,
                                     property: SlottedIndexedProperty,
                                     valueExpr: Expression,
+                                    indexOrder: IndexOrder,
                                     argumentSize: SlotConfiguration.Size)
   extends NodeIndexOperatorWithValues[NodeValueIndexCursor](nodeOffset, property.maybeCachedNodePropertySlot) {
 
@@ -61,7 +64,7 @@ class NodeIndexContainsScanOperator(nodeOffset: Int,
           case value: TextValue =>
             read.nodeIndexSeek(index,
                                valueIndexCursor,
-                               IndexOrder.NONE,
+                               asKernelIndexOrder(indexOrder),
                                property.maybeCachedNodePropertySlot.isDefined,
                                IndexQuery.stringContains(index.properties()(0), value))
 
@@ -20,13 +20,16 @@ package org.neo4j.cypher.internal.runtime.vectorized.operators
 
 import org.neo4j.cypher.internal.compatibility.v3_6.runtime.{SlotConfiguration, SlottedIndexedProperty}
 import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.interpreted.IndexOrderConversion.asKernelIndexOrder
 import org.neo4j.cypher.internal.runtime.vectorized._
-import org.neo4j.internal.kernel.api.{IndexOrder, IndexReference, NodeValueIndexCursor}
+import org.neo4j.cypher.internal.v3_6.logical.plans.IndexOrder
+import org.neo4j.internal.kernel.api.{IndexReference, NodeValueIndexCursor}
 
 
 class NodeIndexScanOperator(nodeOffset: Int,
                             label: Int,
                             property: SlottedIndexedProperty,
+                            indexOrder: IndexOrder,
                             argumentSize: SlotConfiguration.Size)
   extends NodeIndexOperatorWithValues[NodeValueIndexCursor](nodeOffset, property.maybeCachedNodePropertySlot) {
 
@@ -46,7 +49,7 @@ class NodeIndexScanOperator(nodeOffset: Int,
       val read = context.transactionalContext.dataRead
 
       if (!hasMore) {
-        read.nodeIndexScan(index, valueIndexCursor, IndexOrder.NONE, property.maybeCachedNodePropertySlot.isDefined)
+        read.nodeIndexScan(index, valueIndexCursor, asKernelIndexOrder(indexOrder), property.maybeCachedNodePropertySlot.isDefined)
       }
 
       hasMore = iterate(currentRow, valueIndexCursor, argumentSize)
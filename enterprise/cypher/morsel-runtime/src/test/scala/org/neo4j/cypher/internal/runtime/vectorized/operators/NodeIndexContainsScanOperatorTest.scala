@@ -25,6 +25,7 @@ import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Litera
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.IndexMockingHelp
 import org.neo4j.cypher.internal.runtime.vectorized.{Morsel, MorselExecutionContext, QueryState}
 import org.neo4j.cypher.internal.runtime.{NodeValueHit, QueryContext}
+import org.neo4j.cypher.internal.v3_6.logical.plans.IndexOrderNone
 import org.neo4j.internal.kernel.api.helpers.StubNodeValueIndexCursor
 import org.neo4j.values.AnyValue
 import org.neo4j.values.storable.Values
@@ -69,7 +70,7 @@ class NodeIndexContainsScanOperatorTest extends CypherFunSuite with ImplicitDumm
     val slots = SlotConfiguration.empty.newLong("n", nullable = false, CTNode)
       .newReference(nDotProp, nullable = false, CTAny)
     val operator = new NodeIndexContainsScanOperator(slots.getLongOffsetFor("n"), label.nameId.id,
-      SlottedIndexedProperty(propertyKey.nameId.id, Some(slots.getReferenceOffsetFor(nDotProp))), Literal("hell"), slots.size())
+      SlottedIndexedProperty(propertyKey.nameId.id, Some(slots.getReferenceOffsetFor(nDotProp))), Literal("hell"), IndexOrderNone, slots.size())
 
     // When
     operator.init(queryContext, QueryState.EMPTY, inputRow).operate(outputRow, queryContext, QueryState.EMPTY)
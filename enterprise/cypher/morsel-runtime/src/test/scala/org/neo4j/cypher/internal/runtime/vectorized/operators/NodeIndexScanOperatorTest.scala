@@ -18,12 +18,16 @@
  */
 package org.neo4j.cypher.internal.runtime.vectorized.operators
 
-import org.mockito.Mockito.{RETURNS_DEEP_STUBS, when}
+import org.mockito.ArgumentMatchers
+import org.mockito.ArgumentMatchers.{any, anyBoolean}
+import org.mockito.Mockito.{RETURNS_DEEP_STUBS, verify, when}
 import org.neo4j.cypher.internal.compatibility.v3_6.runtime.{SlotConfiguration, SlottedIndexedProperty}
 import org.neo4j.cypher.internal.runtime.interpreted.ImplicitDummyPos
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.IndexMockingHelp
 import org.neo4j.cypher.internal.runtime.vectorized.{Morsel, MorselExecutionContext, QueryState}
 import org.neo4j.cypher.internal.runtime.{NodeValueHit, QueryContext}
+import org.neo4j.cypher.internal.v3_6.logical.plans.{IndexOrderDescending, IndexOrderNone}
+import org.neo4j.internal.kernel.api.{IndexOrder, IndexReference, NodeValueIndexCursor}
 import org.neo4j.values.AnyValue
 import org.neo4j.values.storable.Values
 import org.neo4j.values.virtual.NodeValue
@@ -67,7 +71,7 @@ class NodeIndexScanOperatorTest extends CypherFunSuite with ImplicitDummyPos wit
     val slots = SlotConfiguration.empty.newLong("n", nullable = false, CTNode)
       .newReference(nDotProp, nullable = false, CTAny)
     val operator = new NodeIndexScanOperator(slots.getLongOffsetFor("n"), label.nameId.id,
-      SlottedIndexedProperty(propertyKey.nameId.id, Some(slots.getReferenceOffsetFor(nDotProp))), slots.size())
+      SlottedIndexedProperty(propertyKey.nameId.id, Some(slots.getReferenceOffsetFor(nDotProp))), IndexOrderNone, slots.size())
 
     // When
     operator.init(queryContext, QueryState.EMPTY, inputRow).operate(outputRow, queryContext, QueryState.EMPTY)
@@ -80,6 +84,32 @@ class NodeIndexScanOperatorTest extends CypherFunSuite with ImplicitDummyPos wit
     outputMorsel.validRows should equal(1)
   }
 
+  test("should scan the index in the planned order") {
+    // given
+    val queryContext = kernelScanFor(Seq(nodeValueHit(nodeValue(12)), nodeValueHit(nodeValue(11))))
+
+    // input data
+    val inputMorsel = new Morsel(new Array[Long](0), new Array[AnyValue](0), 0)
+    val inputRow = MorselExecutionContext(inputMorsel, 0, 0)
+
+    // output data
+    val outputMorsel = new Morsel(new Array[Long](2), new Array[AnyValue](0), 2)
+    val outputRow = MorselExecutionContext(outputMorsel, 1, 0)
+
+    val slots = SlotConfiguration.empty.newLong("n", nullable = false, CTNode)
+    val operator = new NodeIndexScanOperator(slots.getLongOffsetFor("n"), label.nameId.id,
+      SlottedIndexedProperty(propertyKey.nameId.id, None), IndexOrderDescending, slots.size())
+
+    // When
+    operator.init(queryContext, QueryState.EMPTY, inputRow).operate(outputRow, queryContext, QueryState.EMPTY)
+
+    // then
+    verify(queryContext.transactionalContext.dataRead).nodeIndexScan(any[IndexReference], any[NodeValueIndexCursor],
+      ArgumentMatchers.eq(IndexOrder.DESCENDING), anyBoolean())
+    outputMorsel.longs should equal(Array(12L, 11L))
+    outputMorsel.validRows should equal(2)
+  }
+
   private def kernelScanFor(results: Iterable[NodeValueHit]): QueryContext = {
     import scala.collection.JavaConverters._
 
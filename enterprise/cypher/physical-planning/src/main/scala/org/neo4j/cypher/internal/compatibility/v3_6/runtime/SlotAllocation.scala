@@ -357,7 +357,9 @@ object SlotAllocation {
            _: Limit |
            _: Skip |
            _: Sort |
+           _: PartialSort |
            _: Top |
+           _: PartialTop |
            _: ActiveRead
       =>
         source
@@ -427,6 +429,17 @@ object SlotAllocation {
         result.newLong(to, nullable, CTNode)
         result
 
+      case BFSPruningVarExpand(_, _, _, _, to, _, _, tempNode, tempRelationship, _, _, _) =>
+        // A new pipeline is not strictly needed here unless we have batching/vectorization
+        val result = source.copy()
+
+        // As for VarExpand, the slots for the predicates are only needed on the incoming rows
+        source.newLong(tempNode, nullable = false, CTNode)
+        source.newLong(tempRelationship, nullable = false, CTRelationship)
+
+        result.newLong(to, nullable, CTNode)
+        result
+
       case Create(_, nodes, relationships) =>
         nodes.foreach(n => source.newLong(n.idName, nullable = false, CTNode))
         relationships.foreach(r => source.newLong(r.idName, nullable = false, CTRelationship))
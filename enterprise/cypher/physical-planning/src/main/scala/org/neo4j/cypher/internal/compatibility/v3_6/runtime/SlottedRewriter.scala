@@ -99,6 +99,17 @@ class SlottedRewriter(tokenContext: TokenContext) {
 
         newPlan
 
+      case oldPlan: BFSPruningVarExpand =>
+        // As for VarExpand, the predicates are evaluated on the incoming rows
+        val incomingSlotConfiguration = slotConfigurations(oldPlan.source.id)
+        val rewriter = rewriteCreator(incomingSlotConfiguration, oldPlan, slotConfigurations)
+
+        oldPlan.copy(
+          nodePredicate = oldPlan.nodePredicate.endoRewrite(rewriter),
+          relationshipPredicate = oldPlan.relationshipPredicate.endoRewrite(rewriter),
+          legacyPredicates = Seq.empty
+        )(SameId(oldPlan.id))
+
       case plan@ValueHashJoin(lhs, rhs, e@Equals(lhsExp, rhsExp)) =>
         val lhsRewriter = rewriteCreator(slotConfigurations(lhs.id), plan, slotConfigurations)
         val rhsRewriter = rewriteCreator(slotConfigurations(rhs.id), plan, slotConfigurations)
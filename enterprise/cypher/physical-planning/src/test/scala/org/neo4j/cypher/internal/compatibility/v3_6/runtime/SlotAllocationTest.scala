@@ -256,6 +256,34 @@ class SlotAllocationTest extends CypherFunSuite with LogicalPlanningTestSupport2
         "z" -> LongSlot(1, nullable = false, CTNode)), numberOfLongs = 2, numberOfReferences = 1))
   }
 
+  test("single node with pruning var length expand") {
+    // given
+    val allNodesScan = AllNodesScan(x, Set.empty)
+    val tempNode = "r_NODES"
+    val tempEdge = "r_EDGES"
+    val expand = BFSPruningVarExpand(allNodesScan, x, SemanticDirection.INCOMING, Seq.empty, z,
+      includeStartNode = false, 15, tempNode, tempEdge, True()(pos), True()(pos))
+
+    // when
+    val allocations = SlotAllocation.allocateSlots(expand, semanticTable).slotConfigurations
+
+    // then we'll end up with two pipelines
+    allocations should have size 2
+    val allNodeScanAllocations = allocations(allNodesScan.id)
+    allNodeScanAllocations should equal(
+      SlotConfiguration(Map(
+        "x" -> LongSlot(0, nullable = false, CTNode),
+        "r_NODES" -> LongSlot(1, nullable = false, CTNode),
+        "r_EDGES" -> LongSlot(2, nullable = false, CTRelationship)),
+        numberOfLongs = 3, numberOfReferences = 0))
+
+    val expandAllocations = allocations(expand.id)
+    expandAllocations should equal(
+      SlotConfiguration(Map(
+        "x" -> LongSlot(0, nullable = false, CTNode),
+        "z" -> LongSlot(1, nullable = false, CTNode)), numberOfLongs = 2, numberOfReferences = 0))
+  }
+
   test("single node with var length expand into") {
     // given
     val allNodesScan = AllNodesScan(x, Set.empty)
@@ -179,6 +179,19 @@ class SlottedPipeBuilder(fallback: PipeBuilder,
           edgePredicate = buildPredicate(id, edgePredicate),
           argumentSize = argumentSize)(id)
 
+      case BFSPruningVarExpand(sourcePlan, fromName, dir, types, toName, includeStartNode, maxLength, tempNode,
+                               tempRelationship, nodePredicate, relationshipPredicate, _) =>
+        // The node/edge predicates are evaluated on the source pipeline, not the produced one
+        val sourceSlots = physicalPlan.slotConfigurations(sourcePlan.id)
+        val argumentSize = SlotConfiguration.Size(sourceSlots.numberOfLongs - 2, sourceSlots.numberOfReferences)
+        BFSPruningVarLengthExpandSlottedPipe(source, slots(fromName), slots.getLongOffsetFor(toName), dir,
+          LazyTypes(types.toArray), includeStartNode, maxLength, slots,
+          tempNodeOffset = sourceSlots.getLongOffsetFor(tempNode),
+          tempEdgeOffset = sourceSlots.getLongOffsetFor(tempRelationship),
+          nodePredicate = buildPredicate(id, nodePredicate),
+          edgePredicate = buildPredicate(id, relationshipPredicate),
+          argumentSize = argumentSize)(id)
+
       case Optional(inner, symbols) =>
         val nullableKeys = inner.availableSymbols -- symbols
         val nullableSlots: Array[Slot] = nullableKeys.map(k => slots.get(k).get).toArray
@@ -296,6 +309,11 @@ class SlottedPipeBuilder(fallback: PipeBuilder,
         TopNPipe(source, convertExpressions(limit),
                  ExecutionContextOrdering.asComparator(sortItems.map(translateColumnOrder(slots, _))))(id = id)
 
+      case PartialTop(_, alreadySortedPrefix, stillToSortSuffix, limit) =>
+        PartialTopNPipe(source, convertExpressions(limit),
+                        ExecutionContextOrdering.asComparator(alreadySortedPrefix.map(translateColumnOrder(slots, _))),
+                        ExecutionContextOrdering.asComparator(stillToSortSuffix.map(translateColumnOrder(slots, _))))(id = id)
+
       case Limit(_, count, IncludeTies) =>
         (source, count) match {
           case (SortSlottedPipe(inner, sortDescription, _), SignedDecimalIntegerLiteral("1")) =>
@@ -314,6 +332,11 @@ class SlottedPipeBuilder(fallback: PipeBuilder,
       case Sort(_, sortItems) =>
         SortSlottedPipe(source, sortItems.map(translateColumnOrder(slots, _)), slots)(id = id)
 
+      case PartialSort(_, alreadySortedPrefix, stillToSortSuffix) =>
+        PartialSortPipe(source,
+                        ExecutionContextOrdering.asComparator(alreadySortedPrefix.map(translateColumnOrder(slots, _))),
+                        ExecutionContextOrdering.asComparator(stillToSortSuffix.map(translateColumnOrder(slots, _))))(id = id)
+
       case Eager(_) =>
         EagerSlottedPipe(source, slots)(id)
 
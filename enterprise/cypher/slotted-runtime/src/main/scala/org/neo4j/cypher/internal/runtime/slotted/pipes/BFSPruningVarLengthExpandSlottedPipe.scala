@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.neo4j.cypher.internal.compatibility.v3_6.runtime.{Slot, SlotConfiguration}
+import org.neo4j.cypher.internal.runtime.interpreted.ExecutionContext
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.{BFSPruningIterator, LazyTypes, Pipe, PipeWithSource, QueryState}
+import org.neo4j.cypher.internal.runtime.slotted.SlottedExecutionContext
+import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker.entityIsNull
+import org.neo4j.cypher.internal.runtime.slotted.helpers.SlottedPipeBuilderUtils.makeGetPrimitiveNodeFromSlotFunctionFor
+import org.neo4j.cypher.internal.v3_6.expressions.SemanticDirection
+import org.neo4j.cypher.internal.v3_6.util.attribution.Id
+import org.neo4j.internal.kernel.api.helpers.RelationshipSelectionCursor
+
+case class BFSPruningVarLengthExpandSlottedPipe(source: Pipe,
+                                                fromSlot: Slot,
+                                                toOffset: Int,
+                                                dir: SemanticDirection,
+                                                types: LazyTypes,
+                                                includeStartNode: Boolean,
+                                                max: Int,
+                                                slots: SlotConfiguration,
+                                                tempNodeOffset: Int,
+                                                tempEdgeOffset: Int,
+                                                nodePredicate: Predicate,
+                                                edgePredicate: Predicate,
+                                                argumentSize: SlotConfiguration.Size)
+                                               (val id: Id = Id.INVALID_ID) extends PipeWithSource(source) {
+  nodePredicate.registerOwningPipe(this)
+  edgePredicate.registerOwningPipe(this)
+
+  private val getFromNodeFunction = makeGetPrimitiveNodeFromSlotFunctionFor(fromSlot)
+
+  protected def internalCreateResults(input: Iterator[ExecutionContext], state: QueryState): Iterator[ExecutionContext] = {
+    input.flatMap {
+      inputRow =>
+        val fromNode = getFromNodeFunction(inputRow)
+        if (entityIsNull(fromNode))
+          Iterator.empty
+        else {
+          // We set the start node on the temp node offset as well, to be able to run our node predicate and make sure
+          // the start node is valid
+          inputRow.setLongAt(tempNodeOffset, fromNode)
+          if (!nodePredicate.isTrue(inputRow, state))
+            Iterator.empty
+          else {
+            val endNodes = new BFSPruningIterator(state.query, fromNode, dir, types.types(state.query), includeStartNode,
+                                                  max, relationshipFilter(inputRow, state))
+            new Iterator[ExecutionContext] {
+              override def hasNext: Boolean = endNodes.hasNext
+
+              override def next(): ExecutionContext = {
+                val resultRow = SlottedExecutionContext(slots)
+                resultRow.copyFrom(inputRow, argumentSize.nLongs, argumentSize.nReferences)
+                resultRow.setLongAt(toOffset, endNodes.next())
+                resultRow
+              }
+            }
+          }
+        }
+    }
+  }
+
+  private def relationshipFilter(row: ExecutionContext, state: QueryState): RelationshipSelectionCursor => Boolean =
+    cursor => {
+      row.setLongAt(tempEdgeOffset, cursor.relationshipReference())
+      row.setLongAt(tempNodeOffset, cursor.otherNodeReference())
+      edgePredicate.isTrue(row, state) && nodePredicate.isTrue(row, state)
+    }
+}
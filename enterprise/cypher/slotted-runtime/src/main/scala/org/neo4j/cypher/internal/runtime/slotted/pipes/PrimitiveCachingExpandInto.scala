@@ -23,6 +23,8 @@
 package org.neo4j.cypher.internal.runtime.slotted.pipes
 
 import org.eclipse.collections.api.iterator.LongIterator
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap
 import org.neo4j.cypher.internal.runtime.QueryContext
 import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.storageengine.api.RelationshipVisitor
@@ -40,6 +42,9 @@ import scala.collection.mutable
   * - if both are non-dense, randomly pick one or the other
   * - cache all found connecting relationships.
   *
+  * When both nodes are dense, the relationships of the node we start from are indexed by neighbour
+  * the first time, as long as the cache has room for them. Later lookups between that node and any other
+  * dense node are then answered from that index instead of walking its relationship chains again.
   */
 trait PrimitiveCachingExpandInto {
 
@@ -54,6 +59,12 @@ trait PrimitiveCachingExpandInto {
 
     //if both nodes are dense, start from the one with the lesser degree
     if (fromNodeIsDense && toNodeIsDense) {
+      //use the neighbour index of either node if we have one
+      val indexed = relCache.getIndexed(fromNode, toNode, dir)
+      if (indexed != null) {
+        return indexed
+      }
+
       //check degree and iterate from the node with smaller degree
       val fromDegree = getDegree(fromNode, relTypes, dir, query)
       if (fromDegree == 0) {
@@ -65,7 +76,14 @@ trait PrimitiveCachingExpandInto {
         return RelationshipIterator.EMPTY
       }
 
-      relIterator(query, fromNode, toNode, preserveDirection = fromDegree < toDegree, relTypes, relCache, dir)
+      val preserveDirection = fromDegree < toDegree
+      val (start, localDirection, degree) = if (preserveDirection) (fromNode, dir, fromDegree) else (toNode, dir.reversed, toDegree)
+      if (relCache.canIndex(degree)) {
+        relCache.index(start, localDirection, query.getRelationshipsForIdsPrimitive(start, localDirection, relTypes))
+        relCache.getIndexed(fromNode, toNode, dir)
+      } else {
+        relIterator(query, fromNode, toNode, preserveDirection, relTypes, relCache, dir)
+      }
     }
     // iterate from a non-dense node
     else if (toNodeIsDense)
@@ -145,10 +163,14 @@ trait PrimitiveCachingExpandInto {
   }
 }
 
-protected final class PrimitiveRelationshipsCache(capacity: Int) {
+protected final class PrimitiveRelationshipsCache(capacity: Int, indexCapacity: Int = PrimitiveRelationshipsCache.INDEX_CAPACITY) {
 
   val table = new mutable.OpenHashMap[(Long, Long), Array[Long]]()
 
+  // relationships of dense nodes, by node and direction, grouped by neighbour
+  private val neighbourIndexes = new mutable.HashMap[(Long, SemanticDirection), LongObjectHashMap[LongArrayList]]()
+  private var indexedRelationships = 0L
+
   def get(start: Long, end: Long, dir: SemanticDirection): Option[LongIterator] = {
     table.get(key(start, end, dir)).map(rels => {
       new LongIterator {
@@ -165,6 +187,51 @@ protected final class PrimitiveRelationshipsCache(capacity: Int) {
     })
   }
 
+  /**
+    * Relationships between start and end from the neighbour index of either node, or null if neither node is indexed.
+    */
+  def getIndexed(start: Long, end: Long, dir: SemanticDirection): LongIterator = {
+    val fromStart = neighbourIndexes.getOrElse((start, dir), null)
+    if (fromStart != null) {
+      return relationshipsTo(fromStart, end)
+    }
+    val fromEnd = neighbourIndexes.getOrElse((end, dir.reversed), null)
+    if (fromEnd != null) {
+      return relationshipsTo(fromEnd, start)
+    }
+    null
+  }
+
+  def canIndex(degree: Int): Boolean = indexedRelationships + degree <= indexCapacity
+
+  /**
+    * Index all the given relationships of node by their other node.
+    */
+  def index(node: Long, dir: SemanticDirection, relationships: RelationshipIterator): Unit = {
+    val neighbours = new LongObjectHashMap[LongArrayList]()
+    val visitor = new RelationshipVisitor[InternalException] {
+      override def visit(relationshipId: Long, typeId: Int, startNodeId: Long, endNodeId: Long): Unit = {
+        val other = if (startNodeId == node) endNodeId else startNodeId
+        var rels = neighbours.get(other)
+        if (rels == null) {
+          rels = new LongArrayList(1)
+          neighbours.put(other, rels)
+        }
+        rels.add(relationshipId)
+      }
+    }
+    while (relationships.hasNext) {
+      relationships.relationshipVisit(relationships.next(), visitor)
+      indexedRelationships += 1
+    }
+    neighbourIndexes.put((node, dir), neighbours)
+  }
+
+  private def relationshipsTo(neighbours: LongObjectHashMap[LongArrayList], other: Long): LongIterator = {
+    val rels = neighbours.get(other)
+    if (rels == null) RelationshipIterator.EMPTY else rels.longIterator()
+  }
+
   def put(start: Long, end: Long, rels: Array[Long], dir: SemanticDirection): Any = {
     if (table.size < capacity) {
       table.put(key(start, end, dir), rels)
@@ -183,3 +250,8 @@ protected final class PrimitiveRelationshipsCache(capacity: Int) {
     }
   }
 }
+
+object PrimitiveRelationshipsCache {
+  // max number of relationships of dense nodes indexed by neighbour, per cache
+  val INDEX_CAPACITY: Int = 1000000
+}
@@ -23,6 +23,7 @@
 package org.neo4j.cypher.internal.runtime.slotted.pipes
 
 import org.neo4j.cypher.internal.compatibility.v3_6.runtime.{Slot, SlotConfiguration}
+import org.neo4j.cypher.internal.runtime.QueryContext
 import org.neo4j.cypher.internal.runtime.interpreted.ExecutionContext
 import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.{LazyTypes, Pipe, PipeWithSource, QueryState}
@@ -67,6 +68,10 @@ case class VarLengthExpandSlottedPipe(source: Pipe,
     if (shouldExpandAll) null // We only need this getter in the ExpandInto case
     else makeGetPrimitiveNodeFromSlotFunctionFor(toSlot)
   private val toOffset = toSlot.offset
+  private val needsFlipping = if (dir == SemanticDirection.BOTH)
+    projectedDir == SemanticDirection.INCOMING
+  else
+    dir != projectedDir
 
   //===========================================================================
   // Runtime code
@@ -74,7 +79,9 @@ case class VarLengthExpandSlottedPipe(source: Pipe,
 
   private def varLengthExpand(node: LNode,
                               state: QueryState,
-                              row: ExecutionContext): Iterator[(LNode, Seq[RelationshipValue])] = {
+                              row: ExecutionContext,
+                              expandDir: SemanticDirection,
+                              flipRels: Boolean): Iterator[(LNode, Seq[RelationshipValue])] = {
     val stack = new mutable.Stack[(LNode, Seq[RelationshipValue])]
     stack.push((node, Seq.empty))
 
@@ -82,7 +89,7 @@ case class VarLengthExpandSlottedPipe(source: Pipe,
       override def next(): (LNode, Seq[RelationshipValue]) = {
         val (fromNode, rels) = stack.pop()
         if (rels.length < maxDepth.getOrElse(Int.MaxValue)) {
-          val relationships: RelationshipIterator = state.query.getRelationshipsForIdsPrimitive(fromNode, dir, types.types(state.query))
+          val relationships: RelationshipIterator = state.query.getRelationshipsForIdsPrimitive(fromNode, expandDir, types.types(state.query))
 
           var relationship: RelationshipValue = null
 
@@ -109,12 +116,7 @@ case class VarLengthExpandSlottedPipe(source: Pipe,
             }
           }
         }
-        val needsFlipping = if (dir == SemanticDirection.BOTH)
-          projectedDir == SemanticDirection.INCOMING
-        else
-          dir != projectedDir
-
-        val projectedRels = if (needsFlipping)
+        val projectedRels = if (flipRels)
           rels.reverse
         else
           rels
@@ -139,15 +141,23 @@ case class VarLengthExpandSlottedPipe(source: Pipe,
           Iterator(resultRow)
         }
         else {
-          // We set the fromNode on the temp node offset as well, to be able to run our node predicate and make sure
+          // When the to node is in scope, we may expand from it instead, against the direction of the pattern. The paths
+          // found then end in the from node and are projected as if they had been found from there.
+          val toNodeInScope = if (shouldExpandAll) -1L else getToNodeFunction(inputRow)
+          val reversed = !shouldExpandAll && !entityIsNull(toNodeInScope) && expandFromToNode(state.query, fromNode, toNodeInScope)
+          val (startNode, endNode) = if (reversed) (toNodeInScope, fromNode) else (fromNode, toNodeInScope)
+
+          // We set the start node on the temp node offset as well, to be able to run our node predicate and make sure
           // the start node is valid
-          inputRow.setLongAt(tempNodeOffset, fromNode)
+          inputRow.setLongAt(tempNodeOffset, startNode)
           if (nodePredicate.isTrue(inputRow, state)) {
 
-            val paths: Iterator[(LNode, Seq[RelationshipValue])] = varLengthExpand(fromNode, state, inputRow)
+            val paths: Iterator[(LNode, Seq[RelationshipValue])] =
+              if (reversed) varLengthExpand(startNode, state, inputRow, dir.reversed, !needsFlipping)
+              else varLengthExpand(startNode, state, inputRow, dir, needsFlipping)
             paths collect {
               case (toNode: LNode, rels: Seq[RelationshipValue])
-                if rels.length >= min && isToNodeValid(inputRow, toNode) =>
+                if rels.length >= min && (shouldExpandAll || toNode == endNode) =>
                 val resultRow = SlottedExecutionContext(slots)
                 resultRow.copyFrom(inputRow, argumentSize.nLongs, argumentSize.nReferences)
                 if (shouldExpandAll)
@@ -163,6 +173,17 @@ case class VarLengthExpandSlottedPipe(source: Pipe,
   }
 
 
-  private def isToNodeValid(row: ExecutionContext, node: LNode): Boolean =
-    shouldExpandAll || getToNodeFunction(row) == node
+  /**
+    * When both ends are known, the expansion fans out from whichever end has the fewer relationships to follow. As
+    * for expand into, degrees are only compared between dense nodes, and a sparse node is always preferred.
+    */
+  private def expandFromToNode(query: QueryContext, fromNode: LNode, toNode: LNode): Boolean =
+    query.nodeIsDense(fromNode) &&
+      (!query.nodeIsDense(toNode) || degree(query, toNode, dir.reversed) < degree(query, fromNode, dir))
+
+  private def degree(query: QueryContext, node: LNode, direction: SemanticDirection): Int =
+    types.types(query) match {
+      case Some(typeIds) => typeIds.foldLeft(0)((acc, typeId) => acc + query.nodeGetDegree(node, direction, typeId))
+      case None => query.nodeGetDegree(node, direction)
+    }
 }
@@ -405,6 +405,41 @@ class SlottedPipeBuilderTest extends CypherFunSuite with LogicalPlanningTestSupp
     )())
   }
 
+  test("single node with pruning varlength expand") {
+    // given
+    val allNodesScan = AllNodesScan(x, Set.empty)
+    val tempNode = "r_NODES"
+    val tempEdge = "r_EDGES"
+    val expand = BFSPruningVarExpand(allNodesScan, x, SemanticDirection.OUTGOING, Seq.empty, z,
+      includeStartNode = false, 15, tempNode, tempEdge, True()(pos), True()(pos))
+
+    // when
+    val pipe = build(expand)
+
+    // then
+    val xNodeSlot = LongSlot(0, nullable = false, CTNode)
+    val tempNodeSlot = LongSlot(1, nullable = false, CTNode)
+    val tempRelSlot = LongSlot(2, nullable = false, CTRelationship)
+    val zNodeSlot = LongSlot(1, nullable = false, CTNode)
+
+    val allNodeScanSlots = SlotConfiguration(Map(
+      "x" -> xNodeSlot,
+      "r_NODES" -> tempNodeSlot,
+      "r_EDGES" -> tempRelSlot), numberOfLongs = 3, numberOfReferences = 0)
+
+    val expandSlots = SlotConfiguration(Map(
+      "x" -> xNodeSlot,
+      "z" -> zNodeSlot), numberOfLongs = 2, numberOfReferences = 0)
+
+    pipe should equal(BFSPruningVarLengthExpandSlottedPipe(
+      AllNodesScanSlottedPipe("x", allNodeScanSlots, Size.zero)(),
+      xNodeSlot, zNodeSlot.offset, SemanticDirection.OUTGOING, LazyTypes.empty, includeStartNode = false, 15,
+      expandSlots,
+      tempNodeSlot.offset, tempRelSlot.offset,
+      commands.predicates.True(), commands.predicates.True(), Size(1, 0)
+    )())
+  }
+
   test("single node with varlength expand into") {
     // given
     val allNodesScan = AllNodesScan(x, Set.empty)
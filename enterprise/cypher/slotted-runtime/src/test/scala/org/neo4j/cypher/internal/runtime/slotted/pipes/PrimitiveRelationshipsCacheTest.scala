@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018-2020 "Graph Foundation"
+ * Graph Foundation, Inc. [https://graphfoundation.org]
+ *
+ * Copyright (c) 2002-2018 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of ONgDB.
+ *
+ * ONgDB is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.eclipse.collections.api.iterator.LongIterator
+import org.neo4j.cypher.internal.v3_6.expressions.SemanticDirection
+import org.neo4j.cypher.internal.v3_6.util.test_helpers.CypherFunSuite
+import org.neo4j.kernel.impl.api.store.RelationshipIterator
+import org.neo4j.storageengine.api.RelationshipVisitor
+
+import scala.collection.mutable.ArrayBuffer
+
+class PrimitiveRelationshipsCacheTest extends CypherFunSuite {
+
+  test("should find indexed relationships from either node") {
+    val cache = new PrimitiveRelationshipsCache(100)
+    cache.index(1, SemanticDirection.OUTGOING, relationships((10, 1, 2), (11, 1, 3), (12, 1, 2)))
+
+    toList(cache.getIndexed(1, 2, SemanticDirection.OUTGOING)) should equal(List(10, 12))
+    toList(cache.getIndexed(3, 1, SemanticDirection.INCOMING)) should equal(List(11))
+    toList(cache.getIndexed(1, 4, SemanticDirection.OUTGOING)) shouldBe empty
+  }
+
+  test("should not find relationships of nodes that are not indexed") {
+    val cache = new PrimitiveRelationshipsCache(100)
+    cache.index(1, SemanticDirection.OUTGOING, relationships((10, 1, 2)))
+
+    cache.getIndexed(1, 2, SemanticDirection.INCOMING) should be(null)
+    cache.getIndexed(2, 3, SemanticDirection.OUTGOING) should be(null)
+  }
+
+  test("should index both directions by the other node") {
+    val cache = new PrimitiveRelationshipsCache(100)
+    cache.index(1, SemanticDirection.BOTH, relationships((10, 1, 2), (11, 2, 1), (12, 1, 1)))
+
+    toList(cache.getIndexed(2, 1, SemanticDirection.BOTH)) should equal(List(10, 11))
+    toList(cache.getIndexed(1, 1, SemanticDirection.BOTH)) should equal(List(12))
+  }
+
+  test("should only index up to capacity") {
+    val cache = new PrimitiveRelationshipsCache(100, indexCapacity = 3)
+    cache.canIndex(3) should be(true)
+    cache.index(1, SemanticDirection.OUTGOING, relationships((10, 1, 2), (11, 1, 3)))
+
+    cache.canIndex(1) should be(true)
+    cache.canIndex(2) should be(false)
+  }
+
+  private def toList(iterator: LongIterator): List[Long] = {
+    val result = ArrayBuffer.empty[Long]
+    while (iterator.hasNext) {
+      result += iterator.next()
+    }
+    result.toList
+  }
+
+  private def relationships(rels: (Long, Long, Long)*): RelationshipIterator = new RelationshipIterator {
+    private val byId = rels.map(r => r._1 -> r).toMap
+    private val ids = rels.map(_._1).iterator
+
+    override def relationshipVisit[EXCEPTION <: Exception](relationshipId: Long, visitor: RelationshipVisitor[EXCEPTION]): Boolean = {
+      val (id, start, end) = byId(relationshipId)
+      visitor.visit(id, 0, start, end)
+      true
+    }
+
+    override def hasNext: Boolean = ids.hasNext
+
+    override def next(): Long = ids.next()
+  }
+}
@@ -22,6 +22,7 @@ import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
 
 import org.neo4j.cypher.PlanCacheMetricsMonitor;
+import org.neo4j.cypher.ResultCacheMetricsMonitor;
 import org.neo4j.kernel.impl.annotations.Documented;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.kernel.monitoring.Monitors;
@@ -39,9 +40,19 @@ public class CypherMetrics extends LifecycleAdapter
     @Documented( "The total number of seconds waited between query replans" )
     public static final String REPLAN_WAIT_TIME = name( NAME_PREFIX, "replan_wait_time" );
 
+    @Documented( "The total number of stale queries that have been replanned in the background, while the stale plan was still in use" )
+    public static final String BACKGROUND_REPLAN_EVENTS = name( NAME_PREFIX, "background_replan_events" );
+
+    @Documented( "The total number of times a cached query result has been reused" )
+    public static final String RESULT_CACHE_HITS = name( NAME_PREFIX, "result_cache_hits" );
+
+    @Documented( "The total number of times a query asking for its result to be cached has been executed because no valid cached result was found" )
+    public static final String RESULT_CACHE_MISSES = name( NAME_PREFIX, "result_cache_misses" );
+
     private final MetricRegistry registry;
     private final Monitors monitors;
     private final PlanCacheMetricsMonitor cacheMonitor = new PlanCacheMetricsMonitor();
+    private final ResultCacheMetricsMonitor resultCacheMonitor = new ResultCacheMetricsMonitor();
 
     public CypherMetrics( MetricRegistry registry, Monitors monitors )
     {
@@ -55,6 +66,10 @@ public class CypherMetrics extends LifecycleAdapter
         monitors.addMonitorListener( cacheMonitor );
         registry.register( REPLAN_EVENTS, (Gauge<Long>) cacheMonitor::numberOfReplans );
         registry.register( REPLAN_WAIT_TIME, (Gauge<Long>) cacheMonitor::replanWaitTime );
+        registry.register( BACKGROUND_REPLAN_EVENTS, (Gauge<Long>) cacheMonitor::numberOfBackgroundReplans );
+        monitors.addMonitorListener( resultCacheMonitor );
+        registry.register( RESULT_CACHE_HITS, (Gauge<Long>) resultCacheMonitor::numberOfHits );
+        registry.register( RESULT_CACHE_MISSES, (Gauge<Long>) resultCacheMonitor::numberOfMisses );
     }
 
     @Override
@@ -62,7 +77,11 @@ public class CypherMetrics extends LifecycleAdapter
     {
         registry.remove( REPLAN_EVENTS );
         registry.remove( REPLAN_WAIT_TIME );
+        registry.remove( BACKGROUND_REPLAN_EVENTS );
+        registry.remove( RESULT_CACHE_HITS );
+        registry.remove( RESULT_CACHE_MISSES );
         monitors.removeMonitorListener( cacheMonitor );
+        monitors.removeMonitorListener( resultCacheMonitor );
     }
 }
 